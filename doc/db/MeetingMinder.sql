@@ -39,6 +39,14 @@ CREATE TABLE reservations (
     FOREIGN KEY (room_id) REFERENCES rooms(id) ON DELETE CASCADE ON UPDATE CASCADE
 );
 
+-- Les index composites et les évolutions suivantes du schéma sont appliqués au démarrage
+-- par les migrations Flyway (src/main/resources/db/migration, à partir de V2)
+
+-- Séquence des réservations (allocation par blocs de 50, émulée par une table sous MySQL)
+CREATE TABLE reservations_seq (
+	next_val BIGINT NOT NULL
+);
+
 -- Insertion de rôles par défaut
 INSERT INTO roles (name) 
 VALUES 
@@ -68,4 +76,7 @@ INSERT INTO reservations (start_time, end_time, description, user_id, room_id) V
 ('2024-08-08 14:00:00', '2024-08-08 15:00:00', 'Réunion avec les clients', 4, 3),
 ('2024-08-08 09:00:00', '2024-08-08 11:00:00', 'Réunion de brainstorming', 5, 4),
 ('2024-08-09 10:00:00', '2024-08-09 11:00:00', 'Réunion de suivi de projet', 2, 1),
-('2024-08-09 13:00:00', '2024-08-09 14:30:00', 'Présentation des résultats', 3, 2);
\ No newline at end of file
+('2024-08-09 13:00:00', '2024-08-09 14:30:00', 'Présentation des résultats', 3, 2);
+
+-- Positionnement de la séquence après les réservations existantes (MAX(id) + taille d'allocation)
+INSERT INTO reservations_seq (next_val) SELECT COALESCE(MAX(id), 0) + 50 FROM reservations;
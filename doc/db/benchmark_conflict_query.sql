@@ -0,0 +1,115 @@
+-- Mesure de la latence de la requête de détection de conflits (ReservationRepository.existsConflict)
+-- quand la table des réservations passe de 10 000 à 10 000 000 de lignes, avec et sans l'index
+-- composite idx_reservations_room_time (migration V2).
+--
+-- À exécuter sur une copie de la base (MySQL 8), après le démarrage de l'application (migrations appliquées) :
+--   mysql -u root MeetingMinder < doc/db/benchmark_conflict_query.sql
+--
+-- Le script ajoute des salles "Bench" et des réservations générées (200 salles, une réservation de
+-- 45 minutes par heure et par salle), puis exécute 1 000 requêtes de conflit par palier.
+-- Le résultat est affiché à la fin (table bench_results) : durée moyenne par requête en microsecondes.
+-- "sans index" correspond au schéma précédent : seul l'index de la clé étrangère room_id est utilisable.
+
+USE MeetingMinder;
+
+SET SESSION cte_max_recursion_depth = 10001;
+
+DROP TABLE IF EXISTS bench_results;
+CREATE TABLE bench_results (
+	row_count INT NOT NULL,
+	with_index_us DECIMAL(12, 1) NOT NULL,
+	without_index_us DECIMAL(12, 1) NOT NULL
+);
+
+-- Salles et utilisateur utilisés par les réservations générées
+INSERT IGNORE INTO roles (name) VALUES ('bench');
+INSERT IGNORE INTO users (name, password, role_id)
+SELECT 'bench', 'bench', id FROM roles WHERE name = 'bench';
+INSERT IGNORE INTO rooms (name, capacity)
+WITH RECURSIVE seq(n) AS (SELECT 0 UNION ALL SELECT n + 1 FROM seq WHERE n < 199)
+SELECT CONCAT('Bench ', n), 10 FROM seq;
+
+SET @bench_user = (SELECT id FROM users WHERE name = 'bench');
+SET @first_room = (SELECT MIN(id) FROM rooms WHERE name LIKE 'Bench %');
+SET @origin = TIMESTAMP('2020-01-01 00:00:00');
+
+DROP PROCEDURE IF EXISTS bench_fill;
+DROP PROCEDURE IF EXISTS bench_conflict;
+
+DELIMITER //
+
+-- Complète la table jusqu'à target réservations générées, par blocs de 10 000 lignes
+CREATE PROCEDURE bench_fill(IN target INT)
+BEGIN
+	DECLARE filled INT;
+	SELECT COUNT(*) INTO filled FROM reservations WHERE user_id = @bench_user;
+	WHILE filled < target DO
+		INSERT INTO reservations (start_time, end_time, description, user_id, room_id)
+		WITH RECURSIVE seq(n) AS (SELECT 0 UNION ALL SELECT n + 1 FROM seq WHERE n < 9999)
+		SELECT @origin + INTERVAL ((filled + n) DIV 200) HOUR,
+		       @origin + INTERVAL ((filled + n) DIV 200) HOUR + INTERVAL 45 MINUTE,
+		       NULL, @bench_user, @first_room + ((filled + n) MOD 200)
+		FROM seq;
+		SET filled = filled + 10000;
+	END WHILE;
+	ANALYZE TABLE reservations;
+END //
+
+-- Exécute runs requêtes de conflit sur des salles et des créneaux répartis dans la période générée
+CREATE PROCEDURE bench_conflict(IN target_rows INT, IN runs INT)
+BEGIN
+	DECLARE i INT DEFAULT 0;
+	DECLARE hours INT DEFAULT GREATEST(target_rows DIV 200, 1);
+	DECLARE conflicts INT;
+	DECLARE slot_start DATETIME;
+	DECLARE started DATETIME(6);
+	DECLARE with_index BIGINT;
+	DECLARE without_index BIGINT;
+
+	SET started = NOW(6);
+	WHILE i < runs DO
+		SET slot_start = @origin + INTERVAL ((i * 7919) MOD hours) HOUR + INTERVAL 30 MINUTE;
+		SELECT COUNT(*) INTO conflicts FROM reservations FORCE INDEX (idx_reservations_room_time)
+		WHERE room_id = @first_room + (i MOD 200)
+		  AND start_time <= slot_start + INTERVAL 1 HOUR AND end_time >= slot_start;
+		SET i = i + 1;
+	END WHILE;
+	SET with_index = TIMESTAMPDIFF(MICROSECOND, started, NOW(6));
+
+	SET i = 0;
+	SET started = NOW(6);
+	WHILE i < runs DO
+		SET slot_start = @origin + INTERVAL ((i * 7919) MOD hours) HOUR + INTERVAL 30 MINUTE;
+		SELECT COUNT(*) INTO conflicts FROM reservations IGNORE INDEX (idx_reservations_room_time)
+		WHERE room_id = @first_room + (i MOD 200)
+		  AND start_time <= slot_start + INTERVAL 1 HOUR AND end_time >= slot_start;
+		SET i = i + 1;
+	END WHILE;
+	SET without_index = TIMESTAMPDIFF(MICROSECOND, started, NOW(6));
+
+	INSERT INTO bench_results VALUES (target_rows, with_index / runs, without_index / runs);
+END //
+
+DELIMITER ;
+
+CALL bench_fill(10000);
+CALL bench_conflict(10000, 1000);
+CALL bench_fill(100000);
+CALL bench_conflict(100000, 1000);
+CALL bench_fill(1000000);
+CALL bench_conflict(1000000, 1000);
+CALL bench_fill(10000000);
+CALL bench_conflict(10000000, 1000);
+
+-- Plan d'exécution de la requête au dernier palier
+EXPLAIN ANALYZE
+SELECT COUNT(*) FROM reservations
+WHERE room_id = @first_room AND start_time <= @origin + INTERVAL 1001 HOUR AND end_time >= @origin + INTERVAL 1000 HOUR;
+
+SELECT * FROM bench_results ORDER BY row_count;
+
+-- Les réservations générées ont été insérées hors de l'application : repositionner la séquence
+UPDATE reservations_seq SET next_val = (SELECT COALESCE(MAX(id), 0) + 50 FROM reservations);
+
+DROP PROCEDURE bench_fill;
+DROP PROCEDURE bench_conflict;
@@ -0,0 +1,128 @@
+package benchmarks;
+
+import com.example.MeetingMinder.MeetingMinderApplication;
+import com.example.MeetingMinder.model.Reservation;
+import com.example.MeetingMinder.model.Role;
+import com.example.MeetingMinder.model.Room;
+import com.example.MeetingMinder.model.User;
+import com.example.MeetingMinder.service.ReservationBatchService;
+import com.example.MeetingMinder.service.RoleService;
+import com.example.MeetingMinder.service.RoomService;
+import com.example.MeetingMinder.service.UserService;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.WebRequest;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Contexte Spring des benchmarks : l'application complète sur la base H2 embarquée
+ * (src/test/resources/application.properties), sans serveur web ni logs par requête.
+ */
+final class BenchmarkContext {
+
+    // Début des créneaux générés (dans le futur pour rester valide)
+    static final LocalDateTime ORIGIN = LocalDateTime.of(2030, 1, 7, 8, 0);
+
+    final ConfigurableApplicationContext context;
+    final Role role;
+    final User user;
+    final List<Room> rooms = new ArrayList<>();
+
+    private BenchmarkContext(ConfigurableApplicationContext context, Role role, User user) {
+        this.context = context;
+        this.role = role;
+        this.user = user;
+    }
+
+    // Démarre l'application et crée roomCount salles avec reservationsPerRoom créneaux de 45 minutes (un par heure)
+    static BenchmarkContext start(int roomCount, int reservationsPerRoom, String... properties) {
+        return start(WebApplicationType.NONE, roomCount, reservationsPerRoom, properties);
+    }
+
+    // Même chose avec le serveur web sur un port libre (voir port())
+    static BenchmarkContext startServer(int roomCount, int reservationsPerRoom, String... properties) {
+        return start(WebApplicationType.SERVLET, roomCount, reservationsPerRoom, properties);
+    }
+
+    private static BenchmarkContext start(WebApplicationType webApplicationType, int roomCount, int reservationsPerRoom,
+                                          String... properties) {
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(MeetingMinderApplication.class)
+                .web(webApplicationType)
+                // Écritures répétées sur la même réservation : le limiteur de débit refuserait l'essentiel des appels
+                .properties("server.port=0", "logging.level.root=WARN", "spring.jpa.show-sql=false", "booking.rate-limit.enabled=false",
+                        "spring.datasource.url=jdbc:h2:mem:benchmark;MODE=MySQL;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE")
+                .properties(properties)
+                .run();
+
+        Role role = new Role();
+        role.setName("bench");
+        role = context.getBean(RoleService.class).save(role);
+
+        User user = new User();
+        user.setName("bench");
+        user.setPassword("benchmark");
+        user.setRole(role);
+        user = context.getBean(UserService.class).save(user);
+
+        BenchmarkContext benchmarkContext = new BenchmarkContext(context, role, user);
+        RoomService roomService = context.getBean(RoomService.class);
+        for (int i = 0; i < roomCount; i++) {
+            Room room = new Room();
+            room.setName("Bench " + i);
+            room.setCapacity(4 + i % 20);
+            benchmarkContext.rooms.add(roomService.save(room));
+        }
+
+        List<Reservation> reservations = new ArrayList<>();
+        for (int hour = 0; hour < reservationsPerRoom; hour++) {
+            for (Room room : benchmarkContext.rooms) {
+                LocalDateTime start = ORIGIN.plusHours(hour);
+                reservations.add(benchmarkContext.reservation(room, start, start.plusMinutes(45)));
+            }
+        }
+        ReservationBatchService batchService = context.getBean(ReservationBatchService.class);
+        for (int from = 0; from < reservations.size(); from += 5000) {
+            batchService.importReservations(reservations.subList(from, Math.min(from + 5000, reservations.size())));
+        }
+        return benchmarkContext;
+    }
+
+    int port() {
+        return context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+    }
+
+    <T> T getBean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    Reservation reservation(Room room, LocalDateTime start, LocalDateTime end) {
+        Reservation reservation = new Reservation();
+        reservation.setStartTime(start);
+        reservation.setEndTime(end);
+        reservation.setDescription("Benchmark");
+        reservation.setUser(user);
+        reservation.setRoom(room);
+        return reservation;
+    }
+
+    // Requête GET passée aux contrôleurs appelés directement, avec un If-None-Match facultatif
+    static WebRequest getRequest(String ifNoneMatch) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/");
+        if (ifNoneMatch != null) {
+            request.addHeader(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+        }
+        return new ServletWebRequest(request, new MockHttpServletResponse());
+    }
+
+    void close() {
+        context.close();
+    }
+}
@@ -0,0 +1,69 @@
+package benchmarks;
+
+import com.example.MeetingMinder.controller.ReservationController;
+import com.example.MeetingMinder.model.Reservation;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.ResponseEntity;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lecture d'une réservation et d'une page de 20 réservations, sans en-tête conditionnel (chargement complet)
+ * et avec un If-None-Match à jour (304 résolu sur la seule projection de version).
+ * La sérialisation JSON, évitée par la réponse 304, n'est pas comptée ici (voir JsonSerializationBenchmark).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ConditionalGetBenchmark {
+
+    private static final Pageable PAGE = PageRequest.of(2, 20);
+
+    private BenchmarkContext context;
+    private ReservationController reservationController;
+    private Long reservationId;
+    private String reservationETag;
+    private String pageETag;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start(20, 200);
+        reservationController = context.getBean(ReservationController.class);
+        reservationId = reservationController.scrollReservations(null, 1).content().get(0).getId();
+        reservationETag = reservationController.getReservationById(reservationId, BenchmarkContext.getRequest(null))
+                .getHeaders().getETag();
+        pageETag = reservationController.getAllReservations(PAGE, BenchmarkContext.getRequest(null))
+                .getHeaders().getETag();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public ResponseEntity<Reservation> getReservation() {
+        return reservationController.getReservationById(reservationId, BenchmarkContext.getRequest(null));
+    }
+
+    @Benchmark
+    public ResponseEntity<Reservation> getReservationNotModified() {
+        return reservationController.getReservationById(reservationId, BenchmarkContext.getRequest(reservationETag));
+    }
+
+    @Benchmark
+    public ResponseEntity<Page<Reservation>> listReservations() {
+        return reservationController.getAllReservations(PAGE, BenchmarkContext.getRequest(null));
+    }
+
+    @Benchmark
+    public ResponseEntity<Page<Reservation>> listReservationsNotModified() {
+        return reservationController.getAllReservations(PAGE, BenchmarkContext.getRequest(pageETag));
+    }
+}
@@ -0,0 +1,91 @@
+package benchmarks;
+
+import com.example.MeetingMinder.model.Reservation;
+import com.example.MeetingMinder.model.Role;
+import com.example.MeetingMinder.model.Room;
+import com.example.MeetingMinder.model.User;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sérialisation Jackson des graphes Reservation -> User -> Role et Reservation -> Room,
+ * avec la même configuration que l'ObjectMapper de Spring Boot (dates ISO-8601).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonSerializationBenchmark {
+
+    private static final int PAGE_SIZE = 100;
+
+    private ObjectMapper objectMapper;
+    private Reservation reservation;
+    private List<Reservation> page;
+    private String reservationJson;
+
+    @Setup
+    public void setUp() throws Exception {
+        objectMapper = JsonMapper.builder()
+                .addModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+
+        Role role = new Role();
+        role.setId(2L);
+        role.setName("user");
+
+        page = new ArrayList<>();
+        LocalDateTime start = LocalDateTime.of(2030, 1, 7, 8, 0);
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            User user = new User();
+            user.setId((long) i);
+            user.setName("user_" + i);
+            user.setPassword("password");
+            user.setRole(role);
+
+            Room room = new Room();
+            room.setId((long) i);
+            room.setName("Salle " + i);
+            room.setCapacity(10);
+            room.setDescription("Projecteur, Tableau blanc");
+
+            Reservation item = new Reservation();
+            item.setId((long) i);
+            item.setStartTime(start.plusHours(i));
+            item.setEndTime(start.plusHours(i).plusMinutes(45));
+            item.setDescription("Réunion de suivi de projet");
+            item.setUser(user);
+            item.setRoom(room);
+            page.add(item);
+        }
+        reservation = page.get(0);
+        reservationJson = objectMapper.writeValueAsString(reservation);
+    }
+
+    @Benchmark
+    public String serializeReservation() throws Exception {
+        return objectMapper.writeValueAsString(reservation);
+    }
+
+    @Benchmark
+    public String serializeReservationPage() throws Exception {
+        return objectMapper.writeValueAsString(page);
+    }
+
+    // Corps d'un POST /api/reservations
+    @Benchmark
+    public Reservation deserializeReservation() throws Exception {
+        return objectMapper.readValue(reservationJson, Reservation.class);
+    }
+}
@@ -0,0 +1,23 @@
+package benchmarks;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Simule l'aller-retour réseau d'une base distante : chaque requête SQL bloque le thread appelant
+ * pendant benchmark.db-latency-ms millisecondes (propriété système, 2 par défaut).
+ * Sans cette attente, H2 en mémoire répond trop vite pour que le modèle d'exécution ait un effet mesurable.
+ */
+public class LatencyStatementInspector implements StatementInspector {
+
+    private static final long LATENCY_NANOS = Long.getLong("benchmark.db-latency-ms", 2) * 1_000_000;
+
+    @Override
+    public String inspect(String sql) {
+        if (LATENCY_NANOS > 0) {
+            LockSupport.parkNanos(LATENCY_NANOS);
+        }
+        return sql;
+    }
+}
@@ -0,0 +1,89 @@
+package benchmarks;
+
+import com.example.MeetingMinder.controller.ReservationController;
+import com.example.MeetingMinder.controller.RoomController;
+import com.example.MeetingMinder.dto.ReservationPatch;
+import com.example.MeetingMinder.model.Reservation;
+import com.example.MeetingMinder.model.Room;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.ResponseEntity;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Coût de la journalisation sur les chemins de requête, la sortie console étant redirigée vers un fichier :
+ * - verbose : détail par requête et SQL (spring.jpa.show-sql) écrits de façon synchrone, comme avant le profil prod ;
+ * - prod : profil prod (appender asynchrone, détail par requête en DEBUG, canal SQL échantillonné).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LoggingBenchmark {
+
+    @Param({"verbose", "prod"})
+    public String logging;
+
+    private PrintStream originalOut;
+    private PrintStream logSink;
+    private File logFile;
+    private BenchmarkContext context;
+    private ReservationController reservationController;
+    private RoomController roomController;
+    private Long reservationId;
+    private Long roomId;
+    private long counter;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        logFile = File.createTempFile("logging-benchmark", ".log");
+        logSink = new PrintStream(new BufferedOutputStream(new FileOutputStream(logFile), 8192), true);
+        originalOut = System.out;
+        System.setOut(logSink);
+
+        context = "prod".equals(logging)
+                ? BenchmarkContext.start(10, 100, "spring.profiles.active=prod")
+                : BenchmarkContext.start(10, 100, "spring.jpa.show-sql=true", "logging.level.com.example.MeetingMinder=DEBUG");
+        reservationController = context.getBean(ReservationController.class);
+        roomController = context.getBean(RoomController.class);
+        roomId = context.rooms.get(0).getId();
+        reservationId = reservationController.scrollReservations(null, 1).content().get(0).getId();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+        System.setOut(originalOut);
+        logSink.close();
+        System.out.printf("%nJournal (%s) : %d octets%n", logging, logFile.length());
+        logFile.delete();
+    }
+
+    @Benchmark
+    public ResponseEntity<Reservation> getReservation() {
+        return reservationController.getReservationById(reservationId, BenchmarkContext.getRequest(null));
+    }
+
+    @Benchmark
+    public ResponseEntity<Page<Room>> listRooms() {
+        return roomController.getAllRooms(PageRequest.of(0, 10), BenchmarkContext.getRequest(null));
+    }
+
+    @Benchmark
+    public ResponseEntity<Reservation> patchReservation() {
+        ReservationPatch patch = new ReservationPatch();
+        patch.setStartTime(BenchmarkContext.ORIGIN);
+        patch.setEndTime(BenchmarkContext.ORIGIN.plusMinutes(45));
+        patch.setDescription("Réunion " + counter++);
+        return reservationController.partialUpdateReservation(reservationId, patch, BenchmarkContext.getRequest(null));
+    }
+}
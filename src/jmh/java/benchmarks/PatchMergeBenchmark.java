@@ -0,0 +1,182 @@
+package benchmarks;
+
+import com.example.MeetingMinder.controller.ReservationController;
+import com.example.MeetingMinder.controller.RoomController;
+import com.example.MeetingMinder.controller.UserController;
+import com.example.MeetingMinder.dto.ReservationPatch;
+import com.example.MeetingMinder.dto.RoomPatch;
+import com.example.MeetingMinder.dto.UserPatch;
+import com.example.MeetingMinder.model.Reservation;
+import com.example.MeetingMinder.model.Room;
+import com.example.MeetingMinder.model.User;
+import com.example.MeetingMinder.service.RoomService;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.ResponseEntity;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mises à jour partielles (PATCH). Les benchmarks map* et typed* comparent, sans sauvegarde, la fusion d'un corps
+ * lu en Map (switch sur les clés, conversions à chaque champ, ancienne implémentation des contrôleurs) à celle
+ * d'un patch typé (lecture directe en ReservationPatch / RoomPatch, validation, application).
+ * Les benchmarks patch* mesurent le PATCH complet par le contrôleur, sauvegarde comprise ; seule la couche HTTP est omise.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PatchMergeBenchmark {
+
+    private static final TypeReference<Map<String, Object>> BODY_TYPE = new TypeReference<>() {
+    };
+
+    private BenchmarkContext context;
+    private ObjectMapper objectMapper;
+    private Validator validator;
+    private RoomService roomService;
+    private ReservationController reservationController;
+    private RoomController roomController;
+    private UserController userController;
+    private Long reservationId;
+    private Long roomId;
+    private Long userId;
+    private String reservationBody;
+    private Reservation reservation;
+    private Room room;
+    private long counter;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start(10, 100);
+        objectMapper = context.getBean(ObjectMapper.class);
+        validator = context.getBean(Validator.class);
+        roomService = context.getBean(RoomService.class);
+        reservationController = context.getBean(ReservationController.class);
+        roomController = context.getBean(RoomController.class);
+        userController = context.getBean(UserController.class);
+
+        roomId = context.rooms.get(0).getId();
+        userId = context.user.getId();
+        reservationId = reservationController.scrollReservations(null, 1).content().get(0).getId();
+        reservationBody = "{\"startTime\":\"" + BenchmarkContext.ORIGIN + "\",\"endTime\":\""
+                + BenchmarkContext.ORIGIN.plusMinutes(45) + "\",\"room\":{\"id\":" + roomId + "},\"description\":\"%s\"}";
+
+        // Entités détachées, cibles des fusions sans sauvegarde
+        reservation = new Reservation();
+        room = new Room();
+        room.setName("Bench patch");
+        room.setCapacity(8);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Reservation mapReservation() throws Exception {
+        Map<String, Object> updates = objectMapper.readValue(reservationBody.formatted("Réunion " + counter++), BODY_TYPE);
+        updates.forEach((key, value) -> {
+            switch (key) {
+                case "startTime" -> reservation.setStartTime(LocalDateTime.parse((String) value));
+                case "endTime" -> reservation.setEndTime(LocalDateTime.parse((String) value));
+                case "description" -> reservation.setDescription((String) value);
+                case "room" -> {
+                    if (value instanceof Map<?, ?> roomMap && roomMap.get("id") instanceof Number id) {
+                        reservation.setRoom(roomService.findById(id.longValue()).orElseThrow());
+                    }
+                }
+                default -> {
+                }
+            }
+        });
+        return reservation;
+    }
+
+    @Benchmark
+    public Reservation typedReservation() throws Exception {
+        ReservationPatch patch = objectMapper.readValue(reservationBody.formatted("Réunion " + counter++), ReservationPatch.class);
+        Set<ConstraintViolation<ReservationPatch>> violations = validator.validate(patch);
+        if (!violations.isEmpty()) {
+            throw new IllegalStateException(violations.toString());
+        }
+        Room target = patch.getRoom() == null ? null : roomService.findById(patch.getRoom().id()).orElseThrow();
+        patch.applyTo(reservation, null, target);
+        return reservation;
+    }
+
+    // Lecture et application seules : part de la validation dans typedReservation
+    @Benchmark
+    public Reservation typedReservationUnvalidated() throws Exception {
+        ReservationPatch patch = objectMapper.readValue(reservationBody.formatted("Réunion " + counter++), ReservationPatch.class);
+        Room target = patch.getRoom() == null ? null : roomService.findById(patch.getRoom().id()).orElseThrow();
+        patch.applyTo(reservation, null, target);
+        return reservation;
+    }
+
+    @Benchmark
+    public Room mapRoom() throws Exception {
+        Map<String, Object> updates = objectMapper.readValue(roomBody(), BODY_TYPE);
+        updates.forEach((key, value) -> {
+            switch (key) {
+                case "name" -> room.setName((String) value);
+                case "capacity" -> room.setCapacity((Integer) value);
+                case "description" -> room.setDescription((String) value);
+                default -> {
+                }
+            }
+        });
+        return room;
+    }
+
+    @Benchmark
+    public Room typedRoom() throws Exception {
+        RoomPatch patch = objectMapper.readValue(roomBody(), RoomPatch.class);
+        Set<ConstraintViolation<RoomPatch>> violations = validator.validate(patch);
+        if (!violations.isEmpty()) {
+            throw new IllegalStateException(violations.toString());
+        }
+        patch.applyTo(room);
+        return room;
+    }
+
+    @Benchmark
+    public Room typedRoomUnvalidated() throws Exception {
+        RoomPatch patch = objectMapper.readValue(roomBody(), RoomPatch.class);
+        patch.applyTo(room);
+        return room;
+    }
+
+    @Benchmark
+    public ResponseEntity<Reservation> patchReservation() throws Exception {
+        String body = reservationBody.formatted("Réunion " + counter++);
+        return reservationController.partialUpdateReservation(reservationId, objectMapper.readValue(body, ReservationPatch.class),
+                BenchmarkContext.getRequest(null));
+    }
+
+    @Benchmark
+    public ResponseEntity<Room> patchRoom() throws Exception {
+        return roomController.partialUpdateRoom(roomId, objectMapper.readValue(roomBody(), RoomPatch.class),
+                BenchmarkContext.getRequest(null));
+    }
+
+    @Benchmark
+    public ResponseEntity<User> patchUser() throws Exception {
+        String body = "{\"password\":\"password" + counter++ + "\",\"role\":{\"id\":" + context.role.getId() + "}}";
+        return userController.partialUpdateUser(userId, objectMapper.readValue(body, UserPatch.class),
+                BenchmarkContext.getRequest(null));
+    }
+
+    private String roomBody() {
+        return "{\"capacity\":" + (10 + counter++ % 10) + ",\"description\":\"Projecteur\"}";
+    }
+}
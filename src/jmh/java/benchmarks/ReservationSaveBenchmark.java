@@ -0,0 +1,68 @@
+package benchmarks;
+
+import com.example.MeetingMinder.model.Reservation;
+import com.example.MeetingMinder.model.Room;
+import com.example.MeetingMinder.service.ReservationService;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Chemin de réservation : ReservationService.save avec détection de conflits (index en mémoire,
+ * puis confirmation en base si reservation.index.verify-with-database est actif).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ReservationSaveBenchmark {
+
+    private static final int ROOMS = 50;
+    private static final int RESERVATIONS_PER_ROOM = 200;
+
+    @Param({"true", "false"})
+    public boolean verifyWithDatabase;
+
+    private BenchmarkContext context;
+    private ReservationService reservationService;
+    private int conflictCounter;
+    private int freeCounter;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start(ROOMS, RESERVATIONS_PER_ROOM,
+                "reservation.index.verify-with-database=" + verifyWithDatabase);
+        reservationService = context.getBean(ReservationService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    // Créneau qui chevauche une réservation existante : rejeté
+    @Benchmark
+    public boolean saveConflicting() {
+        int i = conflictCounter++;
+        Room room = context.rooms.get(i % ROOMS);
+        LocalDateTime start = BenchmarkContext.ORIGIN.plusHours((i / ROOMS) % RESERVATIONS_PER_ROOM).plusMinutes(15);
+        try {
+            reservationService.save(context.reservation(room, start, start.plusMinutes(30)));
+            return true;
+        } catch (RuntimeException ex) {
+            return false;
+        }
+    }
+
+    // Créneau libre après les réservations existantes : vérifié puis inséré
+    @Benchmark
+    public Reservation saveFree() {
+        int i = freeCounter++;
+        Room room = context.rooms.get(i % ROOMS);
+        LocalDateTime start = BenchmarkContext.ORIGIN.plusHours(RESERVATIONS_PER_ROOM + i / ROOMS);
+        return reservationService.save(context.reservation(room, start, start.plusMinutes(45)));
+    }
+}
@@ -0,0 +1,68 @@
+package benchmarks;
+
+import com.example.MeetingMinder.index.DaySchedule;
+import com.example.MeetingMinder.model.ReservationSlot;
+import com.example.MeetingMinder.repository.ReservationRepository;
+import com.example.MeetingMinder.service.RoomScheduleService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Planning d'une salle pour un jour : lecture de l'instantané en mémoire (snapshot*), avec et sans sérialisation,
+ * comparée à la requête des créneaux du jour en base (database*).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RoomScheduleBenchmark {
+
+    private BenchmarkContext context;
+    private RoomScheduleService roomScheduleService;
+    private ReservationRepository reservationRepository;
+    private ObjectMapper objectMapper;
+    private Long roomId;
+    private LocalDate date;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // 10 salles, un créneau par heure pendant 30 jours ; fenêtre élargie pour conserver les jours de 2030 en mémoire
+        context = BenchmarkContext.start(10, 24 * 30, "schedule.cache.future-days=5000");
+        roomScheduleService = context.getBean(RoomScheduleService.class);
+        reservationRepository = context.getBean(ReservationRepository.class);
+        objectMapper = context.getBean(ObjectMapper.class);
+        roomId = context.rooms.get(0).getId();
+        date = BenchmarkContext.ORIGIN.toLocalDate().plusDays(1);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public DaySchedule snapshot() {
+        return roomScheduleService.daySchedule(roomId, date);
+    }
+
+    @Benchmark
+    public byte[] snapshotJson() throws Exception {
+        return objectMapper.writeValueAsBytes(roomScheduleService.findSchedule(roomId, date));
+    }
+
+    @Benchmark
+    public List<ReservationSlot> database() {
+        return reservationRepository.findSlotsByRoomIdsBetween(List.of(roomId), date.atStartOfDay(), date.plusDays(1).atStartOfDay());
+    }
+
+    @Benchmark
+    public byte[] databaseJson() throws Exception {
+        return objectMapper.writeValueAsBytes(database());
+    }
+}
@@ -0,0 +1,145 @@
+package benchmarks;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Test de charge HTTP comparant l'exécution des requêtes sur le pool Tomcat (threads de plateforme)
+ * et sur des threads virtuels (profil "virtual"), avec le même pool JDBC et la même latence SQL simulée.
+ * Chaque client enchaîne des créations de réservations (requêtes SQL bloquantes) et des lectures servies
+ * en mémoire (recherche de disponibilité, salle en cache) : avec le pool Tomcat, les threads bloqués sur
+ * le pool JDBC retardent aussi les lectures qui n'en ont pas besoin.
+ *
+ * mvn -Pbenchmark -DskipTests test-compile exec:java -Dexec.classpathScope=test
+ *     -Dexec.mainClass=benchmarks.ThreadModeLoadTest -Dexec.args="[clients] [secondes]"
+ * Latence SQL simulée : -Dbenchmark.db-latency-ms=2 (0 pour la désactiver)
+ */
+public class ThreadModeLoadTest {
+
+    private static final int ROOMS = 200;
+    private static final int POOL_SIZE = 20;
+
+    public static void main(String[] args) throws Exception {
+        int clients = args.length > 0 ? Integer.parseInt(args[0]) : 500;
+        int seconds = args.length > 1 ? Integer.parseInt(args[1]) : 30;
+
+        List<Result> results = new ArrayList<>();
+        results.add(run("plateforme", clients, seconds));
+        results.add(run("virtuel", clients, seconds, "spring.profiles.active=virtual"));
+
+        System.out.printf("%n%d clients, %d s, latence SQL simulée %s ms, pool JDBC %d%n", clients, seconds,
+                System.getProperty("benchmark.db-latency-ms", "2"), POOL_SIZE);
+        System.out.printf("%-12s %10s %10s %10s %10s %8s%n", "mode", "requêtes", "req/s", "p50 (ms)", "p99 (ms)", "erreurs");
+        for (Result result : results) {
+            System.out.printf("%-12s %10d %10.0f %10.1f %10.1f %8d%n", result.mode, result.requests,
+                    result.requests / (double) seconds, result.p50Millis, result.p99Millis, result.errors);
+        }
+    }
+
+    private static Result run(String mode, int clients, int seconds, String... properties) throws Exception {
+        String[] allProperties = Arrays.copyOf(properties, properties.length + 2);
+        allProperties[properties.length] = "spring.datasource.hikari.maximum-pool-size=" + POOL_SIZE;
+        allProperties[properties.length + 1] =
+                "spring.jpa.properties.hibernate.session_factory.statement_inspector=" + LatencyStatementInspector.class.getName();
+        BenchmarkContext context = BenchmarkContext.startServer(ROOMS, 10, allProperties);
+        try {
+            String baseUrl = "http://localhost:" + context.port();
+            // Premier passage de chauffe (JIT, caches), puis mesure
+            load(context, baseUrl, clients, Math.max(seconds / 3, 5), 1_000_000);
+            return load(context, baseUrl, clients, seconds, 2_000_000).withMode(mode);
+        } finally {
+            context.close();
+        }
+    }
+
+    private static Result load(BenchmarkContext context, String baseUrl, int clients, int seconds, int slotOffset)
+            throws Exception {
+        HttpClient httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+        long deadline = System.nanoTime() + Duration.ofSeconds(seconds).toNanos();
+        List<Future<long[]>> futures = new ArrayList<>();
+        int[] errors = new int[clients];
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int client = 0; client < clients; client++) {
+                int clientId = client;
+                futures.add(executor.submit(() -> runClient(context, httpClient, baseUrl, clientId, clients, slotOffset,
+                        deadline, errors)));
+            }
+        }
+
+        List<long[]> latencies = new ArrayList<>();
+        for (Future<long[]> future : futures) {
+            latencies.add(future.get());
+        }
+        long[] all = latencies.stream().flatMapToLong(Arrays::stream).sorted().toArray();
+        return new Result(null, all.length, percentile(all, 0.50), percentile(all, 0.99), Arrays.stream(errors).sum());
+    }
+
+    private static long[] runClient(BenchmarkContext context, HttpClient httpClient, String baseUrl, int clientId,
+                                    int clients, int slotOffset, long deadline, int[] errors) {
+        long[] latencies = new long[1024];
+        int count = 0;
+        for (int i = 0; System.nanoTime() < deadline; i++) {
+            HttpRequest request = request(context, baseUrl, slotOffset + i * clients + clientId, i);
+            long start = System.nanoTime();
+            try {
+                HttpResponse<Void> response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+                if (response.statusCode() >= 400) {
+                    errors[clientId]++;
+                }
+            } catch (Exception ex) {
+                errors[clientId]++;
+            }
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = System.nanoTime() - start;
+        }
+        return Arrays.copyOf(latencies, count);
+    }
+
+    // Sur cinq requêtes : deux créations de réservation sur un créneau libre, deux recherches, une lecture de salle
+    private static HttpRequest request(BenchmarkContext context, String baseUrl, int slot, int iteration) {
+        LocalDateTime start = BenchmarkContext.ORIGIN.plusHours(100 + slot / ROOMS);
+        Long roomId = context.rooms.get(slot % ROOMS).getId();
+        return switch (iteration % 5) {
+            case 0, 3 -> HttpRequest.newBuilder(URI.create(baseUrl + "/api/reservations"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString("{\"startTime\":\"" + start + "\",\"endTime\":\""
+                            + start.plusMinutes(45) + "\",\"description\":\"Charge\",\"user\":{\"id\":"
+                            + context.user.getId() + "},\"room\":{\"id\":" + roomId + "}}"))
+                    .build();
+            case 1, 2 -> HttpRequest.newBuilder(URI.create(baseUrl + "/api/rooms/available?capacity=8&start="
+                    + start + "&end=" + start.plusHours(1))).build();
+            default -> HttpRequest.newBuilder(URI.create(baseUrl + "/api/rooms/" + roomId)).build();
+        };
+    }
+
+    private static double percentile(long[] sortedNanos, double percentile) {
+        if (sortedNanos.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile * sortedNanos.length) - 1;
+        return sortedNanos[Math.max(index, 0)] / 1_000_000.0;
+    }
+
+    private record Result(String mode, long requests, double p50Millis, double p99Millis, int errors) {
+
+        Result withMode(String mode) {
+            return new Result(mode, requests, p50Millis, p99Millis, errors);
+        }
+    }
+}
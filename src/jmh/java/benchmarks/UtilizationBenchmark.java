@@ -0,0 +1,76 @@
+package benchmarks;
+
+import com.example.MeetingMinder.dto.RoomUtilization;
+import com.example.MeetingMinder.dto.UtilizationBucket;
+import com.example.MeetingMinder.dto.UtilizationGranularity;
+import com.example.MeetingMinder.model.ReservationSlot;
+import com.example.MeetingMinder.model.Room;
+import com.example.MeetingMinder.repository.ReservationRepository;
+import com.example.MeetingMinder.service.RoomUsageService;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Occupation des salles sur trois mois : lecture des agrégats journaliers (rollup*) comparée au calcul
+ * à partir des créneaux de toutes les réservations de la période (scan*).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UtilizationBenchmark {
+
+    private BenchmarkContext context;
+    private RoomUsageService roomUsageService;
+    private ReservationRepository reservationRepository;
+    private List<Long> roomIds;
+    private Long roomId;
+    private LocalDate from;
+    private LocalDate to;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // 20 salles, un créneau par heure pendant 90 jours
+        context = BenchmarkContext.start(20, 24 * 90);
+        roomUsageService = context.getBean(RoomUsageService.class);
+        // Agrégats de l'import appliqués avant la mesure
+        roomUsageService.awaitPendingUpdates();
+        reservationRepository = context.getBean(ReservationRepository.class);
+        roomIds = context.rooms.stream().map(Room::getId).toList();
+        roomId = roomIds.get(0);
+        from = BenchmarkContext.ORIGIN.toLocalDate();
+        to = from.plusDays(90);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<RoomUtilization> rollupAllRooms() {
+        return roomUsageService.findUtilization(from, to);
+    }
+
+    @Benchmark
+    public List<UtilizationBucket> rollupRoomByDay() {
+        return roomUsageService.findRoomUtilization(roomId, from, to, UtilizationGranularity.DAY);
+    }
+
+    @Benchmark
+    public Map<Long, Long> scanAllRooms() {
+        Map<Long, Long> minutes = new HashMap<>();
+        for (ReservationSlot slot : reservationRepository.findSlotsByRoomIdsBetween(roomIds, from.atStartOfDay(), to.atStartOfDay())) {
+            minutes.merge(slot.roomId(), Duration.between(slot.startTime(), slot.endTime()).toMinutes(), Long::sum);
+        }
+        return minutes;
+    }
+}
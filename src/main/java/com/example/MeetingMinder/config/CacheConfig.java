@@ -0,0 +1,17 @@
+package com.example.MeetingMinder.config;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Active le cache de lecture devant RoomService, RoleService et UserService.
+ * L'implémentation (Caffeine par défaut) et ses limites se règlent via spring.cache.* dans application.properties.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String ROOMS = "rooms";
+    public static final String ROLES = "roles";
+    public static final String USERS = "users";
+}
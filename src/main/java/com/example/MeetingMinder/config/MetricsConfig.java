@@ -0,0 +1,51 @@
+package com.example.MeetingMinder.config;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.beans.BeanUtils;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.ClassUtils;
+
+/**
+ * Instrumentation Micrometer, exportée par /actuator/prometheus :
+ * durée des méthodes de service (@Timed, métrique service.calls), nombre de requêtes SQL par requête HTTP.
+ * Les métriques du pool de connexions (hikaricp.connections.acquire : attente d'une connexion)
+ * sont fournies par Spring Boot.
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry meterRegistry) {
+        return new TimedAspect(meterRegistry);
+    }
+
+    @Bean
+    public FilterRegistrationBean<QueryCountFilter> queryCountFilter(MeterRegistry meterRegistry) {
+        return new FilterRegistrationBean<>(new QueryCountFilter(meterRegistry));
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer queryCountInspectorCustomizer() {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR,
+                new QueryCountInspector(toInspector(properties.get(AvailableSettings.STATEMENT_INSPECTOR))));
+    }
+
+    private static StatementInspector toInspector(Object configured) {
+        if (configured == null) {
+            return null;
+        }
+        if (configured instanceof StatementInspector inspector) {
+            return inspector;
+        }
+        Class<?> type = configured instanceof Class<?> clazz
+                ? clazz
+                : ClassUtils.resolveClassName(configured.toString(), MetricsConfig.class.getClassLoader());
+        return (StatementInspector) BeanUtils.instantiateClass(type);
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.MeetingMinder.config;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Compte les requêtes SQL préparées par Hibernate sur le thread courant, entre start() et stop().
+ * Utilisé par QueryCountFilter pour mesurer le nombre de requêtes par requête HTTP.
+ * Un éventuel inspecteur déjà configuré (hibernate.session_factory.statement_inspector) est conservé.
+ */
+public class QueryCountInspector implements StatementInspector {
+
+    private static final ThreadLocal<int[]> COUNTER = new ThreadLocal<>();
+
+    private final StatementInspector delegate;
+
+    public QueryCountInspector(StatementInspector delegate) {
+        this.delegate = delegate;
+    }
+
+    public static void start() {
+        COUNTER.set(new int[1]);
+    }
+
+    // Retourne le nombre de requêtes depuis start() et arrête le comptage sur ce thread
+    public static int stop() {
+        int[] counter = COUNTER.get();
+        COUNTER.remove();
+        return counter != null ? counter[0] : 0;
+    }
+
+    @Override
+    public String inspect(String sql) {
+        int[] counter = COUNTER.get();
+        if (counter != null) {
+            counter[0]++;
+        }
+        return delegate != null ? delegate.inspect(sql) : sql;
+    }
+}
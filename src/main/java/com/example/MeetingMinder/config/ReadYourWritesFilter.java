@@ -0,0 +1,81 @@
+package com.example.MeetingMinder.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+
+/**
+ * Lecture de ses propres écritures avec des réplicas : une requête d'écriture (POST, PUT, PATCH, DELETE) est servie
+ * par la base principale et dépose un cookie ; pendant la fenêtre qui suit (retard de réplication toléré), les lectures
+ * du même client vont aussi sur la base principale. L'en-tête X-Read-Your-Writes: true force ce comportement
+ * pour un client sans cookies.
+ */
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    static final String COOKIE = "MM_PRIMARY_UNTIL";
+    static final String HEADER = "X-Read-Your-Writes";
+
+    private final Duration window;
+
+    public ReadYourWritesFilter(Duration window) {
+        this.window = window;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        boolean write = isWrite(request.getMethod());
+        if (write) {
+            // Déposé avant la réponse, qui peut être écrite en flux par le contrôleur
+            response.addCookie(primaryUntilCookie(request));
+        }
+        if (!write && !readsOwnWrites(request)) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        try (ReplicaRouting.Scope scope = ReplicaRouting.primary()) {
+            filterChain.doFilter(request, response);
+        }
+    }
+
+    private boolean readsOwnWrites(HttpServletRequest request) {
+        if (Boolean.parseBoolean(request.getHeader(HEADER))) {
+            return true;
+        }
+        Cookie[] cookies = request.getCookies();
+        if (cookies == null) {
+            return false;
+        }
+        for (Cookie cookie : cookies) {
+            if (COOKIE.equals(cookie.getName())) {
+                try {
+                    return Long.parseLong(cookie.getValue()) > System.currentTimeMillis();
+                } catch (NumberFormatException ex) {
+                    return false;
+                }
+            }
+        }
+        return false;
+    }
+
+    private Cookie primaryUntilCookie(HttpServletRequest request) {
+        Cookie cookie = new Cookie(COOKIE, Long.toString(System.currentTimeMillis() + window.toMillis()));
+        cookie.setPath(request.getContextPath().isEmpty() ? "/" : request.getContextPath());
+        cookie.setMaxAge((int) Math.max(window.toSeconds(), 1));
+        cookie.setHttpOnly(true);
+        return cookie;
+    }
+
+    private static boolean isWrite(String method) {
+        return switch (method) {
+            case "POST", "PUT", "PATCH", "DELETE" -> true;
+            default -> false;
+        };
+    }
+}
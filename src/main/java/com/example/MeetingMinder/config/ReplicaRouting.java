@@ -0,0 +1,41 @@
+package com.example.MeetingMinder.config;
+
+import java.util.function.Supplier;
+
+/**
+ * Choix de la base pour le thread courant quand des réplicas en lecture sont configurés (voir ReadReplicaConfig) :
+ * les transactions en lecture seule vont sur un réplica, sauf dans un bloc primary() / onPrimary() où toutes les
+ * requêtes vont sur la base principale, pour relire ses propres écritures sans dépendre du retard de réplication.
+ * Sans réplica, ces blocs n'ont aucun effet.
+ */
+public final class ReplicaRouting {
+
+    private static final ThreadLocal<Boolean> PRIMARY_REQUIRED = ThreadLocal.withInitial(() -> Boolean.FALSE);
+
+    private ReplicaRouting() {
+    }
+
+    public static boolean isPrimaryRequired() {
+        return PRIMARY_REQUIRED.get();
+    }
+
+    // Bloc try-with-resources : les lectures du thread vont sur la base principale jusqu'à la fermeture
+    public static Scope primary() {
+        boolean previous = PRIMARY_REQUIRED.get();
+        PRIMARY_REQUIRED.set(Boolean.TRUE);
+        return () -> PRIMARY_REQUIRED.set(previous);
+    }
+
+    public static <T> T onPrimary(Supplier<T> action) {
+        try (Scope scope = primary()) {
+            return action.get();
+        }
+    }
+
+    @FunctionalInterface
+    public interface Scope extends AutoCloseable {
+
+        @Override
+        void close();
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.MeetingMinder.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Aiguillage des connexions : une transaction @Transactional(readOnly = true) ouverte par une méthode de service
+ * reçoit une connexion d'un réplica (à tour de rôle), tout le reste une connexion de la base principale : écritures,
+ * blocs ReplicaRouting.primary(), et transactions en lecture seule ouvertes par les repositories eux-mêmes
+ * (Spring Data les déclare ainsi par défaut), dont dépendent le chargement des index, la vérification des conflits
+ * et la lecture d'une entité avant sa mise à jour.
+ * La clé est lue à l'obtention de la connexion : la source doit être enveloppée dans un LazyConnectionDataSourceProxy
+ * pour que la transaction soit déjà décrite (lecture seule, nom de la méthode).
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource implements DisposableBean {
+
+    static final String PRIMARY = "primary";
+
+    // Préfixe du nom des transactions (classe.méthode) envoyées aux réplicas
+    private final String replicaTransactionPrefix;
+    private final List<String> replicaKeys = new ArrayList<>();
+    private final List<HikariDataSource> replicas;
+    private final AtomicInteger next = new AtomicInteger();
+
+    public ReplicaRoutingDataSource(DataSource primary, List<HikariDataSource> replicas, String replicaTransactionPrefix) {
+        this.replicas = replicas;
+        this.replicaTransactionPrefix = replicaTransactionPrefix;
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        for (int i = 0; i < replicas.size(); i++) {
+            String key = "replica-" + i;
+            replicaKeys.add(key);
+            targets.put(key, replicas.get(i));
+        }
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        setLenientFallback(false);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (replicaKeys.isEmpty() || ReplicaRouting.isPrimaryRequired()
+                || !TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return PRIMARY;
+        }
+        String transactionName = TransactionSynchronizationManager.getCurrentTransactionName();
+        if (transactionName == null || !transactionName.startsWith(replicaTransactionPrefix)) {
+            return PRIMARY;
+        }
+        return replicaKeys.get(Math.floorMod(next.getAndIncrement(), replicaKeys.size()));
+    }
+
+    // Les pools des réplicas ne sont pas des beans : ils sont fermés avec la source d'aiguillage
+    @Override
+    public void destroy() {
+        replicas.forEach(HikariDataSource::close);
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.MeetingMinder.config;
+
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.filter.Filter;
+import ch.qos.logback.core.spi.FilterReply;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Filtre Logback qui ne laisse passer qu'un événement sur rate (1 : tous).
+ * Utilisé dans logback-spring.xml pour le canal SQL (logger org.hibernate.SQL).
+ */
+public class SamplingFilter extends Filter<ILoggingEvent> {
+
+    private final AtomicLong counter = new AtomicLong();
+    private int rate = 1;
+
+    public void setRate(int rate) {
+        this.rate = Math.max(rate, 1);
+    }
+
+    @Override
+    public FilterReply decide(ILoggingEvent event) {
+        if (rate == 1) {
+            return FilterReply.NEUTRAL;
+        }
+        return counter.getAndIncrement() % rate == 0 ? FilterReply.NEUTRAL : FilterReply.DENY;
+    }
+}
@@ -0,0 +1,14 @@
+package com.example.MeetingMinder.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Tâches planifiées (archivage nocturne des réservations), désactivables par scheduling.enabled=false.
+ */
+@Configuration
+@EnableScheduling
+@ConditionalOnProperty(value = "scheduling.enabled", matchIfMissing = true)
+public class SchedulingConfig {
+}
@@ -0,0 +1,56 @@
+package com.example.MeetingMinder.controller;
+
+import org.slf4j.Logger;
+import org.hibernate.exception.ConstraintViolationException;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+/**
+ * Traduction commune des exceptions en réponses HTTP pour l'ensemble des contrôleurs.
+ * Les gestionnaires déclarés dans un contrôleur restent prioritaires.
+ */
+@RestControllerAdvice
+public class ApiExceptionHandler {
+
+    private static final Logger logger = LoggerFactory.getLogger(ApiExceptionHandler.class);
+
+    static final String CONCURRENT_UPDATE_MESSAGE = "La ressource a été modifiée par une autre requête, rechargez-la avant de réessayer.";
+    static final String DUPLICATE_NAME_MESSAGE = "Ce nom est déjà utilisé.";
+    static final String INTEGRITY_MESSAGE = "La modification est incompatible avec les données enregistrées.";
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<String> handleIllegalArgumentException(IllegalArgumentException ex) {
+        logger.warn("Requête invalide: {}", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(ex.getMessage());
+    }
+
+    // Version de l'entité dépassée à la sauvegarde : une autre requête l'a modifiée depuis son chargement
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<String> handleOptimisticLockingFailure(OptimisticLockingFailureException ex) {
+        logger.warn("Mise à jour concurrente: {}", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(CONCURRENT_UPDATE_MESSAGE);
+    }
+
+    // Contraintes vérifiées par la base à l'écriture, sans requête préalable : nom déjà utilisé (index unique)
+    // ou ligne encore référencée (clé étrangère)
+    @ExceptionHandler(DataIntegrityViolationException.class)
+    public ResponseEntity<String> handleDataIntegrityViolation(DataIntegrityViolationException ex) {
+        logger.warn("Contrainte d'intégrité violée: {}", ex.getMostSpecificCause().getMessage());
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(isUniqueViolation(ex) ? DUPLICATE_NAME_MESSAGE : INTEGRITY_MESSAGE);
+    }
+
+    // Violation d'un index unique, reconnue par le dialecte Hibernate à partir du code d'erreur SQL
+    public static boolean isUniqueViolation(Throwable ex) {
+        for (Throwable cause = ex; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException violation) {
+                return violation.getKind() == ConstraintViolationException.ConstraintKind.UNIQUE;
+            }
+        }
+        return false;
+    }
+}
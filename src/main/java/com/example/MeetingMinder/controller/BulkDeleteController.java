@@ -0,0 +1,63 @@
+package com.example.MeetingMinder.controller;
+
+import com.example.MeetingMinder.dto.BulkDeleteJob;
+import com.example.MeetingMinder.service.BulkDeleteService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Optional;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/bulk-deletes")
+@Tag(name = "Suppressions groupées", description = "Suivi des suppressions de toutes les réservations, salles, utilisateurs ou rôles")
+public class BulkDeleteController {
+
+    private static final Logger logger = LoggerFactory.getLogger(BulkDeleteController.class);
+
+    private final BulkDeleteService bulkDeleteService;
+
+    public BulkDeleteController(BulkDeleteService bulkDeleteService) {
+        this.bulkDeleteService = bulkDeleteService;
+    }
+
+    // Réponse 202 des DELETE sans ID : suivi de la suppression et adresse de son avancement
+    static ResponseEntity<BulkDeleteJob> accepted(BulkDeleteJob job) {
+        return ResponseEntity.accepted()
+                .location(ServletUriComponentsBuilder.fromCurrentContextPath()
+                        .path("/api/bulk-deletes/{id}")
+                        .buildAndExpand(job.getId())
+                        .toUri())
+                .body(job);
+    }
+
+    @Operation(summary = "Obtenir l'avancement d'une suppression groupée",
+            description = "Retourne l'état d'une suppression planifiée par DELETE /api/reservations, /api/rooms, /api/users ou /api/roles : table en cours, lignes supprimées et total")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Suppression trouvée",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = BulkDeleteJob.class))),
+            @ApiResponse(responseCode = "404", description = "Suppression inconnue ou trop ancienne", content = @Content)
+    })
+    @GetMapping("/{id}")
+    public ResponseEntity<BulkDeleteJob> getBulkDelete(
+            @Parameter(description = "ID de la suppression", example = "3f1c2a9e-6b7d-4c1e-9a53-0d2f5e8b7c41") @PathVariable UUID id) {
+        Optional<BulkDeleteJob> job = bulkDeleteService.findJob(id);
+        if (job.isPresent()) {
+            return ResponseEntity.ok(job.get());
+        } else {
+            logger.warn("Suppression groupée avec ID: {} non trouvée", id);
+            return ResponseEntity.notFound().build();
+        }
+    }
+}
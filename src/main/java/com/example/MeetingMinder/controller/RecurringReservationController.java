@@ -0,0 +1,131 @@
+package com.example.MeetingMinder.controller;
+
+import com.example.MeetingMinder.dto.ReservationOccurrence;
+import com.example.MeetingMinder.model.RecurringReservation;
+import com.example.MeetingMinder.service.RecurringReservationService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import jakarta.validation.Valid;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@RestController
+@RequestMapping("/api/recurring-reservations")
+@Tag(name = "Gestion des réservations récurrentes", description = "Opérations liées aux réservations répétées quotidiennement ou chaque semaine")
+public class RecurringReservationController {
+
+    private static final Logger logger = LoggerFactory.getLogger(RecurringReservationController.class);
+
+    private final RecurringReservationService recurringReservationService;
+
+    public RecurringReservationController(RecurringReservationService recurringReservationService) {
+        this.recurringReservationService = recurringReservationService;
+    }
+
+    @ExceptionHandler(RuntimeException.class)
+    public ResponseEntity<String> handleRuntimeException(RuntimeException ex) {
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(ex.getMessage());
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<String> handleIllegalArgumentException(IllegalArgumentException ex) {
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(ex.getMessage());
+    }
+
+    @Operation(summary = "Obtenir une réservation récurrente par ID", description = "Retourne le motif d'une réservation récurrente en fonction de son ID")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Réservation récurrente trouvée",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = RecurringReservation.class))),
+            @ApiResponse(responseCode = "404", description = "Réservation récurrente non trouvée", content = @Content)
+    })
+    @GetMapping("/{id}")
+    public ResponseEntity<RecurringReservation> getRecurringReservationById(
+            @Parameter(description = "ID de la réservation récurrente à récupérer", example = "1") @PathVariable Long id) {
+        logger.debug("Requête pour obtenir la réservation récurrente avec ID: {}", id);
+        Optional<RecurringReservation> recurrence = recurringReservationService.findById(id);
+        if (recurrence.isPresent()) {
+            return ResponseEntity.ok(recurrence.get());
+        } else {
+            logger.warn("Réservation récurrente avec ID: {} non trouvée", id);
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    @Operation(summary = "Obtenir les réservations récurrentes d'une salle", description = "Retourne les motifs de répétition d'une salle, triés par première occurrence")
+    @ApiResponse(responseCode = "200", description = "Liste des réservations récurrentes récupérée avec succès",
+            content = @Content(mediaType = "application/json", array = @ArraySchema(schema = @Schema(implementation = RecurringReservation.class))))
+    @GetMapping
+    public List<RecurringReservation> getRecurringReservations(
+            @Parameter(description = "ID de la salle", example = "1") @RequestParam Long roomId) {
+        logger.debug("Requête pour obtenir les réservations récurrentes de la salle avec ID: {}", roomId);
+        return recurringReservationService.findByRoomId(roomId);
+    }
+
+    @Operation(summary = "Obtenir les occurrences d'une période",
+            description = "Calcule les occurrences des réservations récurrentes qui chevauchent la période, pour une salle ou pour toutes, triées par date de début")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Occurrences calculées avec succès",
+                    content = @Content(mediaType = "application/json", array = @ArraySchema(schema = @Schema(implementation = ReservationOccurrence.class)))),
+            @ApiResponse(responseCode = "400", description = "Période invalide ou trop longue", content = @Content)
+    })
+    @GetMapping("/occurrences")
+    public List<ReservationOccurrence> getOccurrences(
+            @Parameter(description = "ID de la salle (toutes les salles si absent)", example = "1") @RequestParam(required = false) Long roomId,
+            @Parameter(description = "Début de la période", example = "2024-09-01T00:00:00")
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @Parameter(description = "Fin de la période", example = "2024-10-01T00:00:00")
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        logger.debug("Requête pour obtenir les occurrences de {} à {}", from, to);
+        return recurringReservationService.findOccurrences(roomId, from, to);
+    }
+
+    @Operation(summary = "Créer une réservation récurrente",
+            description = "Crée un motif de répétition après avoir vérifié qu'aucune de ses occurrences ne chevauche une réservation ou une autre réservation récurrente de la salle")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "201", description = "Réservation récurrente créée avec succès",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = RecurringReservation.class))),
+            @ApiResponse(responseCode = "400", description = "Données invalides fournies", content = @Content),
+            @ApiResponse(responseCode = "409", description = "Une occurrence chevauche un créneau déjà réservé", content = @Content)
+    })
+    @PostMapping
+    public ResponseEntity<RecurringReservation> createRecurringReservation(
+            @Parameter(description = "Motif de la réservation récurrente à créer", required = true)
+            @Valid @RequestBody RecurringReservation recurrence) {
+        logger.debug("Requête pour créer une réservation récurrente pour la salle avec ID: {}", recurrence.getRoom().getId());
+        RecurringReservation createdRecurrence = recurringReservationService.save(recurrence);
+        return ResponseEntity.status(201).body(createdRecurrence);
+    }
+
+    @Operation(summary = "Supprimer une réservation récurrente par ID", description = "Supprime le motif et donc toutes ses occurrences")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "204", description = "Réservation récurrente supprimée avec succès", content = @Content),
+            @ApiResponse(responseCode = "404", description = "Réservation récurrente non trouvée", content = @Content)
+    })
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> deleteRecurringReservationById(
+            @Parameter(description = "ID de la réservation récurrente à supprimer", example = "1") @PathVariable Long id) {
+        logger.debug("Requête pour supprimer la réservation récurrente avec ID: {}", id);
+        if (recurringReservationService.findById(id).isPresent()) {
+            recurringReservationService.deleteById(id);
+            return ResponseEntity.noContent().build();
+        } else {
+            logger.warn("Réservation récurrente avec ID: {} non trouvée pour suppression", id);
+            return ResponseEntity.notFound().build();
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.MeetingMinder.controller;
+
+import com.example.MeetingMinder.model.ArchivedReservation;
+import com.example.MeetingMinder.service.ReservationArchiveService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.web.bind.annotation.*;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.LocalDateTime;
+
+@RestController
+@RequestMapping("/api/reservations/archive")
+@Tag(name = "Archives des réservations", description = "Réservations terminées, déplacées hors de la table des réservations courantes")
+public class ReservationArchiveController {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReservationArchiveController.class);
+
+    private final ReservationArchiveService reservationArchiveService;
+
+    public ReservationArchiveController(ReservationArchiveService reservationArchiveService) {
+        this.reservationArchiveService = reservationArchiveService;
+    }
+
+    @Operation(summary = "Obtenir les réservations archivées d'une période",
+            description = "Retourne une liste paginée des réservations archivées dont le début est compris entre from (inclus) et to (exclu), triées par date de début")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Liste des réservations archivées récupérée avec succès",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = Page.class))),
+            @ApiResponse(responseCode = "400", description = "Période invalide", content = @Content)
+    })
+    @GetMapping
+    public Page<ArchivedReservation> getArchivedReservations(
+            @Parameter(description = "Début de la période (inclus)", example = "2024-01-01T00:00:00")
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @Parameter(description = "Fin de la période (exclue)", example = "2024-07-01T00:00:00")
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            Pageable pageable) {
+        logger.debug("Requête pour obtenir les réservations archivées de {} à {}: {}", from, to, pageable);
+        return reservationArchiveService.findByPeriod(from, to, pageable);
+    }
+
+    @Operation(summary = "Archiver les réservations terminées",
+            description = "Lance immédiatement l'archivage planifié chaque nuit : déplace les réservations terminées depuis plus de reservation.archive.retention et retourne leur nombre")
+    @ApiResponse(responseCode = "200", description = "Archivage effectué",
+            content = @Content(mediaType = "application/json", schema = @Schema(implementation = Integer.class)))
+    @PostMapping
+    public int archiveReservations() {
+        logger.info("Requête pour archiver les réservations terminées");
+        return reservationArchiveService.archiveExpiredReservations();
+    }
+}
@@ -1,8 +1,19 @@
 package com.example.MeetingMinder.controller;
 
+import com.example.MeetingMinder.dto.BulkDeleteJob;
+import com.example.MeetingMinder.dto.BulkDeleteTarget;
+import com.example.MeetingMinder.dto.CursorPage;
+import com.example.MeetingMinder.dto.EntityVersion;
+import com.example.MeetingMinder.dto.ExportFormat;
+import com.example.MeetingMinder.dto.ReservationBatchResult;
+import com.example.MeetingMinder.dto.ReservationPatch;
 import com.example.MeetingMinder.model.Reservation;
 import com.example.MeetingMinder.model.Room;
 import com.example.MeetingMinder.model.User;
+import com.example.MeetingMinder.service.BookingRateLimiter;
+import com.example.MeetingMinder.service.BulkDeleteService;
+import com.example.MeetingMinder.service.ReservationBatchService;
+import com.example.MeetingMinder.service.ReservationExportService;
 import com.example.MeetingMinder.service.ReservationService;
 import com.example.MeetingMinder.service.RoomService;
 import com.example.MeetingMinder.service.UserService;
@@ -14,19 +25,28 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.time.LocalDateTime;
-import java.util.Map;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api/reservations")
@@ -36,14 +56,25 @@ public class ReservationController {
     private static final Logger logger = LoggerFactory.getLogger(ReservationController.class);
 
     private final ReservationService reservationService;
+    private final ReservationBatchService reservationBatchService;
+    private final ReservationExportService reservationExportService;
     private final RoomService roomService;
     private final UserService userService;
+    private final BulkDeleteService bulkDeleteService;
+    private final BookingRateLimiter bookingRateLimiter;
 
     @Autowired
-    public ReservationController(ReservationService reservationService, RoomService roomService, UserService userService) {
+    public ReservationController(ReservationService reservationService, ReservationBatchService reservationBatchService,
+                                 ReservationExportService reservationExportService,
+                                 RoomService roomService, UserService userService, BulkDeleteService bulkDeleteService,
+                                 BookingRateLimiter bookingRateLimiter) {
         this.reservationService = reservationService;
+        this.reservationBatchService = reservationBatchService;
+        this.reservationExportService = reservationExportService;
         this.roomService = roomService;
         this.userService = userService;
+        this.bulkDeleteService = bulkDeleteService;
+        this.bookingRateLimiter = bookingRateLimiter;
     }
 
     @ExceptionHandler(RuntimeException.class)
@@ -51,66 +82,186 @@ public class ReservationController {
         return ResponseEntity.status(HttpStatus.CONFLICT).body(ex.getMessage());
     }
 
-    @Operation(summary = "Obtenir une réservation par ID", description = "Retourne une réservation en fonction de son ID")
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<String> handleIllegalArgumentException(IllegalArgumentException ex) {
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(ex.getMessage());
+    }
+
+    @ExceptionHandler(BookingRateLimiter.LimitExceededException.class)
+    public ResponseEntity<String> handleLimitExceeded(BookingRateLimiter.LimitExceededException ex) {
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, Long.toString(ex.getRetryAfterSeconds()))
+                .body(ex.getMessage());
+    }
+
+    // Prioritaire sur le gestionnaire des RuntimeException : message stable plutôt que celui d'Hibernate
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<String> handleOptimisticLockingFailure(OptimisticLockingFailureException ex) {
+        logger.warn("Mise à jour concurrente d'une réservation: {}", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(ApiExceptionHandler.CONCURRENT_UPDATE_MESSAGE);
+    }
+
+    @Operation(summary = "Obtenir une réservation par ID",
+            description = "Retourne une réservation en fonction de son ID, avec l'en-tête ETag (versions de la réservation, de sa salle, de son utilisateur et de son rôle) ; répond 304 si la version connue du client (If-None-Match) est à jour")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Réservation trouvée",
                     content = @Content(mediaType = "application/json", schema = @Schema(implementation = Reservation.class))),
+            @ApiResponse(responseCode = "304", description = "Réservation non modifiée", content = @Content),
             @ApiResponse(responseCode = "404", description = "Réservation non trouvée", content = @Content)
     })
     @GetMapping("/{id}")
     public ResponseEntity<Reservation> getReservationById(
-            @Parameter(description = "ID de la réservation à récupérer", example = "1") @PathVariable Long id) {
-        logger.info("Requête pour obtenir la réservation avec ID: {}", id);
-        Optional<Reservation> reservation = reservationService.findById(id);
+            @Parameter(description = "ID de la réservation à récupérer", example = "1") @PathVariable Long id,
+            WebRequest webRequest) {
+        logger.debug("Requête pour obtenir la réservation avec ID: {}", id);
+        // Requête conditionnelle résolue sur la seule version, avant le chargement de la réservation
+        Optional<EntityVersion> version = reservationService.findVersion(id);
+        if (version.isPresent() && webRequest.checkNotModified(version.get().eTag())) {
+            logger.debug("Réservation avec ID: {} non modifiée", id);
+            return null;
+        }
+        Optional<Reservation> reservation = version.isPresent() ? reservationService.findById(id) : Optional.empty();
         if (reservation.isPresent()) {
-            logger.info("Réservation trouvée pour l'ID: {}", id);
-            return ResponseEntity.ok(reservation.get());
+            logger.debug("Réservation trouvée pour l'ID: {}", id);
+            return ResponseEntity.ok()
+                    .eTag(version.get().eTag())
+                    .body(reservation.get());
         } else {
             logger.warn("Réservation avec ID: {} non trouvée", id);
             return ResponseEntity.notFound().build();
         }
     }
 
-    @Operation(summary = "Obtenir toutes les réservations", description = "Retourne une liste paginée de toutes les réservations")
-    @ApiResponse(responseCode = "200", description = "Liste des réservations récupérée avec succès",
-            content = @Content(mediaType = "application/json", schema = @Schema(implementation = Page.class)))
+    @Operation(summary = "Obtenir toutes les réservations",
+            description = "Retourne une liste paginée de toutes les réservations (triée par ID sans tri demandé), avec l'en-tête ETag de la page")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Liste des réservations récupérée avec succès",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = Page.class))),
+            @ApiResponse(responseCode = "304", description = "Page non modifiée", content = @Content)
+    })
     @GetMapping
-    public Page<Reservation> getAllReservations(Pageable pageable) {
-        logger.info("Requête pour obtenir toutes les réservations avec pagination: {}", pageable);
-        return reservationService.findAll(pageable);
+    public ResponseEntity<Page<Reservation>> getAllReservations(Pageable pageable, WebRequest webRequest) {
+        logger.debug("Requête pour obtenir toutes les réservations avec pagination: {}", pageable);
+        EntityVersion version = reservationService.findPageVersion(pageable);
+        if (webRequest.checkNotModified(version.eTag())) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .eTag(version.eTag())
+                .body(reservationService.findAll(pageable));
+    }
+
+    @Operation(summary = "Parcourir toutes les réservations par curseur",
+            description = "Retourne une page de réservations triée par (startTime, id) et le jeton de la page suivante, sans calcul du total")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Page récupérée avec succès",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = CursorPage.class))),
+            @ApiResponse(responseCode = "400", description = "Curseur ou taille de page invalide", content = @Content)
+    })
+    @GetMapping("/scroll")
+    public CursorPage<Reservation> scrollReservations(
+            @Parameter(description = "Jeton nextCursor de la page précédente (absent pour la première page)") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Taille de la page", example = "20") @RequestParam(defaultValue = "20") int size) {
+        logger.debug("Requête pour parcourir les réservations par curseur, taille: {}", size);
+        return reservationService.scroll(cursor, size);
+    }
+
+    @Operation(summary = "Exporter les réservations d'une période",
+            description = "Écrit au fil de l'eau, en NDJSON ou en CSV, les réservations dont le début est compris entre from (inclus) et to (exclu), archivées comprises, triées par date de début")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Export en cours d'écriture",
+                    content = {@Content(mediaType = "application/x-ndjson"), @Content(mediaType = "text/csv")}),
+            @ApiResponse(responseCode = "400", description = "Période ou format invalide", content = @Content)
+    })
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportReservations(
+            @Parameter(description = "Début de la période (inclus)", example = "2024-08-01T00:00:00")
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @Parameter(description = "Fin de la période (exclue)", example = "2024-09-01T00:00:00")
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @Parameter(description = "Format de l'export : ndjson ou csv", example = "ndjson") @RequestParam(defaultValue = "ndjson") String format) {
+        logger.info("Requête pour exporter les réservations de {} à {} au format {}", from, to, format);
+        ExportFormat exportFormat = ExportFormat.fromParameter(format);
+        if (!to.isAfter(from)) {
+            logger.warn("Période d'export invalide: {} à {}", from, to);
+            return ResponseEntity.badRequest().build();
+        }
+        StreamingResponseBody body = out -> reservationExportService.export(from, to, exportFormat, out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.getMediaType() + ";charset=UTF-8"))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"reservations." + exportFormat.getExtension() + "\"")
+                .body(body);
     }
 
     @Operation(summary = "Créer une nouvelle réservation", description = "Crée une nouvelle réservation et retourne la réservation créée")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "201", description = "Réservation créée avec succès",
                     content = @Content(mediaType = "application/json", schema = @Schema(implementation = Reservation.class))),
-            @ApiResponse(responseCode = "400", description = "Données invalides fournies", content = @Content)
+            @ApiResponse(responseCode = "400", description = "Données invalides fournies", content = @Content),
+            @ApiResponse(responseCode = "429", description = "Trop d'écritures de réservations pour cet utilisateur ou ce client, voir l'en-tête Retry-After", content = @Content)
     })
     @PostMapping
     public ResponseEntity<Reservation> createReservation(
             @Parameter(description = "Détails de la réservation à créer", required = true)
-            @Valid @RequestBody Reservation reservation) {
-        logger.info("Requête pour créer une nouvelle réservation pour la salle: {}", reservation.getRoom().getName());
+            @Valid @RequestBody Reservation reservation,
+            WebRequest webRequest) {
+        logger.debug("Requête pour créer une nouvelle réservation pour la salle: {}", reservation.getRoom().getName());
+        bookingRateLimiter.acquire(reservation.getUser() == null ? null : reservation.getUser().getId(), clientAddress(webRequest));
         Reservation createdReservation = reservationService.save(reservation);
-        logger.info("Réservation créée avec succès pour la salle: {}", createdReservation.getRoom().getName());
+        logger.debug("Réservation créée avec succès pour la salle: {}", createdReservation.getRoom().getName());
         return ResponseEntity.status(201).body(createdReservation);
     }
 
-    @Operation(summary = "Mettre à jour une réservation par ID", description = "Met à jour une réservation existante avec les nouvelles informations fournies")
+    @Operation(summary = "Importer un lot de réservations",
+            description = "Valide l'ensemble du lot (conflits avec l'existant et au sein du lot), crée les réservations valides en une seule transaction et retourne le résultat de chaque élément. Le lot est soumis à la limitation du débit : un jeton pour le client, un par utilisateur distinct")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Lot traité, voir le statut de chaque élément",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ReservationBatchResult.class))),
+            @ApiResponse(responseCode = "400", description = "Lot trop volumineux", content = @Content),
+            @ApiResponse(responseCode = "429", description = "Trop d'écritures de réservations pour ce client ou un utilisateur du lot, voir l'en-tête Retry-After", content = @Content)
+    })
+    @PostMapping("/batch")
+    public ResponseEntity<ReservationBatchResult> createReservations(
+            @Parameter(description = "Réservations à créer", required = true)
+            @RequestBody List<Reservation> reservations,
+            WebRequest webRequest) {
+        logger.info("Requête pour importer un lot de {} réservations", reservations.size());
+        // Un jeton par lot pour le client, un par utilisateur distinct : le lot ne contourne pas la limite des créations
+        Set<Long> userIds = reservations.stream()
+                .filter(reservation -> reservation != null && reservation.getUser() != null && reservation.getUser().getId() != null)
+                .map(reservation -> reservation.getUser().getId())
+                .collect(Collectors.toSet());
+        bookingRateLimiter.acquireBatch(userIds, clientAddress(webRequest));
+        ReservationBatchResult result = reservationBatchService.importReservations(reservations);
+        logger.info("Lot de réservations importé: {} créées, {} rejetées", result.created(), result.rejected());
+        return ResponseEntity.ok(result);
+    }
+
+    @Operation(summary = "Mettre à jour une réservation par ID",
+            description = "Met à jour une réservation existante avec les nouvelles informations fournies ; avec l'en-tête If-Match, la mise à jour n'est faite que si l'ETag correspond à la version courante")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Réservation mise à jour avec succès",
                     content = @Content(mediaType = "application/json", schema = @Schema(implementation = Reservation.class))),
             @ApiResponse(responseCode = "404", description = "Réservation non trouvée", content = @Content),
-            @ApiResponse(responseCode = "400", description = "Données invalides fournies", content = @Content)
+            @ApiResponse(responseCode = "400", description = "Données invalides fournies", content = @Content),
+            @ApiResponse(responseCode = "409", description = "Réservation modifiée par une autre requête pendant la mise à jour", content = @Content),
+            @ApiResponse(responseCode = "412", description = "La version indiquée par If-Match n'est plus la version courante", content = @Content),
+            @ApiResponse(responseCode = "429", description = "Trop d'écritures de réservations pour cet utilisateur ou ce client, voir l'en-tête Retry-After", content = @Content)
     })
     @PutMapping("/{id}")
     public ResponseEntity<Reservation> updateReservation(
             @Parameter(description = "ID de la réservation à mettre à jour", example = "1") @PathVariable Long id,
             @Parameter(description = "Nouvelles informations de la réservation", required = true)
-            @Valid @RequestBody Reservation reservationDetails) {
-        logger.info("Requête pour mettre à jour la réservation avec ID: {}", id);
+            @Valid @RequestBody Reservation reservationDetails,
+            WebRequest webRequest) {
+        logger.debug("Requête pour mettre à jour la réservation avec ID: {}", id);
         Optional<Reservation> reservation = reservationService.findById(id);
         if (reservation.isPresent()) {
+            if (isModifiedSinceClientVersion(reservation.get(), webRequest)) {
+                return null;
+            }
+            bookingRateLimiter.acquire(reservation.get().getUser().getId(), clientAddress(webRequest));
             Reservation updatedReservation = reservation.get();
             updatedReservation.setStartTime(reservationDetails.getStartTime());
             updatedReservation.setEndTime(reservationDetails.getEndTime());
@@ -118,27 +269,32 @@ public class ReservationController {
             updatedReservation.setUser(reservationDetails.getUser());
             updatedReservation.setRoom(reservationDetails.getRoom());
             Reservation savedReservation = reservationService.save(updatedReservation);
-            logger.info("Réservation mise à jour avec succès pour l'ID: {}", savedReservation.getId());
-            return ResponseEntity.ok(savedReservation);
+            logger.debug("Réservation mise à jour avec succès pour l'ID: {}", savedReservation.getId());
+            return withVersion(savedReservation);
         } else {
             logger.warn("Réservation avec ID: {} non trouvée pour mise à jour", id);
             return ResponseEntity.notFound().build();
         }
     }
 
-    @Operation(summary = "Mettre à jour partiellement une réservation par ID", description = "Met à jour partiellement une réservation existante avec les informations fournies")
+    @Operation(summary = "Mettre à jour partiellement une réservation par ID",
+            description = "Met à jour partiellement une réservation existante avec les informations fournies ; avec l'en-tête If-Match, la mise à jour n'est faite que si l'ETag correspond à la version courante")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Réservation mise à jour avec succès",
                     content = @Content(mediaType = "application/json", schema = @Schema(implementation = Reservation.class))),
             @ApiResponse(responseCode = "404", description = "Réservation non trouvée", content = @Content),
-            @ApiResponse(responseCode = "400", description = "Données invalides fournies", content = @Content)
+            @ApiResponse(responseCode = "400", description = "Données invalides fournies", content = @Content),
+            @ApiResponse(responseCode = "409", description = "Réservation modifiée par une autre requête pendant la mise à jour", content = @Content),
+            @ApiResponse(responseCode = "412", description = "La version indiquée par If-Match n'est plus la version courante", content = @Content),
+            @ApiResponse(responseCode = "429", description = "Trop d'écritures de réservations pour cet utilisateur ou ce client, voir l'en-tête Retry-After", content = @Content)
     })
     @PatchMapping("/{id}")
     public ResponseEntity<Reservation> partialUpdateReservation(
             @Parameter(description = "ID de la réservation à mettre à jour", example = "1") @PathVariable Long id,
             @Parameter(description = "Informations à mettre à jour", required = true)
-            @RequestBody Map<String, Object> updates) {
-        logger.info("Requête pour mise à jour partielle de la réservation avec ID: {}", id);
+            @Valid @RequestBody ReservationPatch patch,
+            WebRequest webRequest) {
+        logger.debug("Requête pour mise à jour partielle de la réservation avec ID: {}", id);
         Optional<Reservation> reservationOptional = reservationService.findById(id);
 
         if (reservationOptional.isEmpty()) {
@@ -147,45 +303,22 @@ public class ReservationController {
         }
 
         Reservation reservation = reservationOptional.get();
+        if (isModifiedSinceClientVersion(reservation, webRequest)) {
+            return null;
+        }
+        // Débit compté pour le propriétaire de la réservation, avant la vérification de conflit
+        bookingRateLimiter.acquire(reservation.getUser().getId(), clientAddress(webRequest));
 
-        updates.forEach((key, value) -> {
-            logger.info("Mise à jour du champ: {} avec la valeur: {}", key, value);
-            switch (key) {
-                case "startTime":
-                    reservation.setStartTime(LocalDateTime.parse((String) value));
-                    break;
-                case "endTime":
-                    reservation.setEndTime(LocalDateTime.parse((String) value));
-                    break;
-                case "description":
-                    reservation.setDescription((String) value);
-                    break;
-                case "user":
-                    if (value instanceof Map<?, ?> userMap) {
-                        Object userIdObj = userMap.get("id");
-                        if (userIdObj instanceof Number) {
-                            Long userId = ((Number) userIdObj).longValue();
-                            User user = userService.findById(userId).orElseThrow(() -> new RuntimeException("Utilisateur non trouvé"));
-                            reservation.setUser(user);
-                        }
-                    }
-                    break;
-                case "room":
-                    if (value instanceof Map<?, ?> roomMap) {
-                        Object roomIdObj = roomMap.get("id");
-                        if (roomIdObj instanceof Number) {
-                            Long roomId = ((Number) roomIdObj).longValue();
-                            Room room = roomService.findById(roomId).orElseThrow(() -> new RuntimeException("Salle non trouvée"));
-                            reservation.setRoom(room);
-                        }
-                    }
-                    break;
-            }
-        });
+        // Références résolues avant toute modification : une référence inconnue laisse la réservation intacte
+        User user = patch.getUser() == null ? null : userService.findById(patch.getUser().id())
+                .orElseThrow(() -> new RuntimeException("Utilisateur non trouvé"));
+        Room room = patch.getRoom() == null ? null : roomService.findById(patch.getRoom().id())
+                .orElseThrow(() -> new RuntimeException("Salle non trouvée"));
+        patch.applyTo(reservation, user, room);
 
         Reservation updatedReservation = reservationService.save(reservation);
-        logger.info("Mise à jour partielle réussie pour la réservation avec ID: {}", updatedReservation.getId());
-        return ResponseEntity.ok(updatedReservation);
+        logger.debug("Mise à jour partielle réussie pour la réservation avec ID: {}", updatedReservation.getId());
+        return withVersion(updatedReservation);
     }
 
 
@@ -197,10 +330,10 @@ public class ReservationController {
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteReservationById(
             @Parameter(description = "ID de la réservation à supprimer", example = "1") @PathVariable Long id) {
-        logger.info("Requête pour supprimer la réservation avec ID: {}", id);
+        logger.debug("Requête pour supprimer la réservation avec ID: {}", id);
         if (reservationService.findById(id).isPresent()) {
             reservationService.deleteById(id);
-            logger.info("Réservation avec ID: {} supprimée avec succès", id);
+            logger.debug("Réservation avec ID: {} supprimée avec succès", id);
             return ResponseEntity.noContent().build();
         } else {
             logger.warn("Réservation avec ID: {} non trouvée pour suppression", id);
@@ -208,13 +341,36 @@ public class ReservationController {
         }
     }
 
-    @Operation(summary = "Supprimer toutes les réservations", description = "Supprime toutes les réservations existantes dans le système")
-    @ApiResponse(responseCode = "204", description = "Toutes les réservations ont été supprimées avec succès", content = @Content)
+    @Operation(summary = "Supprimer toutes les réservations",
+            description = "Planifie la suppression par tranches de toutes les réservations existantes et de leurs agrégats d'occupation ; l'avancement est consultable à l'adresse indiquée par l'en-tête Location")
+    @ApiResponse(responseCode = "202", description = "Suppression planifiée",
+            content = @Content(mediaType = "application/json", schema = @Schema(implementation = BulkDeleteJob.class)))
     @DeleteMapping
-    public ResponseEntity<Void> deleteAllReservations() {
+    public ResponseEntity<BulkDeleteJob> deleteAllReservations() {
         logger.info("Requête pour supprimer toutes les réservations");
-        reservationService.deleteAll();
-        logger.info("Toutes les réservations ont été supprimées avec succès");
-        return ResponseEntity.noContent().build();
+        return BulkDeleteController.accepted(bulkDeleteService.start(BulkDeleteTarget.RESERVATIONS));
+    }
+
+    // Précondition If-Match évaluée sur la version de la réservation chargée : en cas d'échec,
+    // checkNotModified prépare la réponse 412. Une modification concurrente survenue après le chargement est ensuite
+    // détectée par la colonne version lors de la sauvegarde (409)
+    private boolean isModifiedSinceClientVersion(Reservation reservation, WebRequest webRequest) {
+        EntityVersion version = reservationService.versionOf(reservation);
+        if (webRequest.checkNotModified(version.eTag())) {
+            logger.warn("Réservation avec ID: {} modifiée depuis la version connue du client", reservation.getId());
+            return true;
+        }
+        return false;
+    }
+
+    private static String clientAddress(WebRequest webRequest) {
+        return webRequest instanceof ServletWebRequest servletWebRequest ? servletWebRequest.getRequest().getRemoteAddr() : null;
+    }
+
+    private ResponseEntity<Reservation> withVersion(Reservation reservation) {
+        EntityVersion version = reservationService.versionOf(reservation);
+        return ResponseEntity.ok()
+                .eTag(version.eTag())
+                .body(reservation);
     }
 }
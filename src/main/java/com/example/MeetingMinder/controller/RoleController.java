@@ -1,6 +1,12 @@
 package com.example.MeetingMinder.controller;
 
+import com.example.MeetingMinder.dto.BulkDeleteJob;
+import com.example.MeetingMinder.dto.BulkDeleteTarget;
+import com.example.MeetingMinder.dto.CursorPage;
+import com.example.MeetingMinder.dto.EntityVersion;
+import com.example.MeetingMinder.dto.RolePatch;
 import com.example.MeetingMinder.model.Role;
+import com.example.MeetingMinder.service.BulkDeleteService;
 import com.example.MeetingMinder.service.RoleService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -14,12 +20,12 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.Map;
 import java.util.Optional;
 
 @RestController
@@ -30,27 +36,36 @@ public class RoleController {
     private static final Logger logger = LoggerFactory.getLogger(RoleController.class);
 
     private final RoleService roleService;
+    private final BulkDeleteService bulkDeleteService;
 
-    public RoleController(RoleService roleService) {
+    public RoleController(RoleService roleService, BulkDeleteService bulkDeleteService) {
         this.roleService = roleService;
+        this.bulkDeleteService = bulkDeleteService;
     }
 
     @Operation(summary = "Obtenir un rôle par ID",
-            description = "Récupère les détails d'un rôle spécifique à partir de son identifiant unique.")
+            description = "Récupère les détails d'un rôle spécifique à partir de son identifiant unique, avec l'en-tête ETag ; répond 304 si la version connue du client (If-None-Match) est à jour")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Rôle trouvé avec succès",
                     content = @Content(mediaType = "application/json", schema = @Schema(implementation = Role.class))),
+            @ApiResponse(responseCode = "304", description = "Rôle non modifié", content = @Content),
             @ApiResponse(responseCode = "404", description = "Rôle non trouvé", content = @Content)
     })
     @GetMapping("/{id}")
     public ResponseEntity<Role> getRoleById(
             @Parameter(description = "Identifiant unique du rôle recherché", example = "1")
-            @PathVariable Long id) {
-        logger.info("Requête pour obtenir le rôle avec ID: {}", id);
+            @PathVariable Long id,
+            WebRequest webRequest) {
+        logger.debug("Requête pour obtenir le rôle avec ID: {}", id);
         Optional<Role> role = roleService.findById(id);
         if (role.isPresent()) {
-            logger.info("Rôle trouvé: {}", role.get().getName());
-            return ResponseEntity.ok(role.get());
+            // Entité en cache : la version est lue sur l'instance, une réponse 304 évite la sérialisation
+            EntityVersion version = EntityVersion.of(id, role.get().getVersion(), null);
+            if (webRequest.checkNotModified(version.eTag())) {
+                return null;
+            }
+            logger.debug("Rôle trouvé: {}", role.get().getName());
+            return ResponseEntity.ok().eTag(version.eTag()).body(role.get());
         } else {
             logger.warn("Rôle avec ID: {} non trouvé", id);
             return ResponseEntity.notFound().build();
@@ -66,10 +81,25 @@ public class RoleController {
     @GetMapping
     public Page<Role> getAllRoles(
             @Parameter(description = "Paramètres de pagination") Pageable pageable) {
-        logger.info("Requête pour obtenir tous les rôles avec pagination: {}", pageable);
+        logger.debug("Requête pour obtenir tous les rôles avec pagination: {}", pageable);
         return roleService.findAll(pageable);
     }
 
+    @Operation(summary = "Parcourir tous les rôles par curseur",
+            description = "Retourne une page de rôles triée par (id) et le jeton de la page suivante, sans calcul du total")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Page récupérée avec succès",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = CursorPage.class))),
+            @ApiResponse(responseCode = "400", description = "Curseur ou taille de page invalide", content = @Content)
+    })
+    @GetMapping("/scroll")
+    public CursorPage<Role> scrollRoles(
+            @Parameter(description = "Jeton nextCursor de la page précédente (absent pour la première page)") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Taille de la page", example = "20") @RequestParam(defaultValue = "20") int size) {
+        logger.debug("Requête pour parcourir les rôles par curseur, taille: {}", size);
+        return roleService.scroll(cursor, size);
+    }
+
     @Operation(summary = "Créer un nouveau rôle",
             description = "Crée un nouveau rôle avec les détails fournis.")
     @ApiResponses(value = {
@@ -82,48 +112,51 @@ public class RoleController {
     public ResponseEntity<Role> createRole(
             @Parameter(description = "Détails du rôle à créer", required = true)
             @Valid @RequestBody Role role) {
-        logger.info("Requête pour créer un nouveau rôle avec nom: {}", role.getName());
+        logger.debug("Requête pour créer un nouveau rôle avec nom: {}", role.getName());
         try {
-            if (roleService.existsByName(role.getName())) {
-                logger.warn("Le nom du rôle '{}' existe déjà", role.getName());
-                return ResponseEntity.status(HttpStatus.CONFLICT).build();
-            }
+            // Unicité du nom vérifiée par la contrainte de la table, dans l'insertion elle-même
             Role savedRole = roleService.save(role);
-            logger.info("Rôle créé avec succès: {}", savedRole.getName());
+            logger.debug("Rôle créé avec succès: {}", savedRole.getName());
             return ResponseEntity.status(HttpStatus.CREATED).body(savedRole);
         } catch (Exception e) {
+            if (ApiExceptionHandler.isUniqueViolation(e)) {
+                logger.warn("Le nom du rôle '{}' existe déjà", role.getName());
+                return ResponseEntity.status(HttpStatus.CONFLICT).build();
+            }
             logger.error("Erreur lors de la création du rôle: {}", role.getName(), e);
             return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
         }
     }
 
     @Operation(summary = "Mettre à jour un rôle par ID",
-            description = "Met à jour un rôle existant avec les nouvelles informations fournies.")
+            description = "Met à jour un rôle existant avec les nouvelles informations fournies ; avec l'en-tête If-Match, la mise à jour n'est faite que si l'ETag correspond à la version courante")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Rôle mis à jour avec succès",
                     content = @Content(mediaType = "application/json", schema = @Schema(implementation = Role.class))),
             @ApiResponse(responseCode = "404", description = "Rôle non trouvé", content = @Content),
             @ApiResponse(responseCode = "400", description = "Données invalides fournies", content = @Content),
-            @ApiResponse(responseCode = "409", description = "Le nom du rôle existe déjà", content = @Content)
+            @ApiResponse(responseCode = "409", description = "Le nom du rôle existe déjà, ou rôle modifié par une autre requête pendant la mise à jour", content = @Content),
+            @ApiResponse(responseCode = "412", description = "La version indiquée par If-Match n'est plus la version courante", content = @Content)
     })
     @PutMapping("/{id}")
     public ResponseEntity<Role> updateRole(
             @Parameter(description = "Identifiant unique du rôle à mettre à jour", example = "1")
             @PathVariable Long id,
             @Parameter(description = "Nouvelles informations du rôle", required = true)
-            @Valid @RequestBody Role roleDetails) {
-        logger.info("Requête pour mettre à jour le rôle avec ID: {}", id);
+            @Valid @RequestBody Role roleDetails,
+            WebRequest webRequest) {
+        logger.debug("Requête pour mettre à jour le rôle avec ID: {}", id);
         Optional<Role> role = roleService.findById(id);
         if (role.isPresent()) {
-            if (roleService.existsByName(roleDetails.getName()) && !role.get().getName().equals(roleDetails.getName())) {
-                logger.warn("Le nom du rôle '{}' existe déjà", roleDetails.getName());
-                return ResponseEntity.status(HttpStatus.CONFLICT).build();
+            if (isModifiedSinceClientVersion(role.get(), webRequest)) {
+                return null;
             }
-            Role updatedRole = role.get();
+            // L'instance en cache reste inchangée tant que la sauvegarde n'a pas réussi
+            Role updatedRole = role.get().copy();
             updatedRole.setName(roleDetails.getName());
             Role savedRole = roleService.save(updatedRole);
-            logger.info("Rôle mis à jour avec succès: {}", savedRole.getName());
-            return ResponseEntity.ok(savedRole);
+            logger.debug("Rôle mis à jour avec succès: {}", savedRole.getName());
+            return withVersion(savedRole);
         } else {
             logger.warn("Rôle avec ID: {} non trouvé pour mise à jour", id);
             return ResponseEntity.notFound().build();
@@ -131,20 +164,22 @@ public class RoleController {
     }
 
     @Operation(summary = "Mettre à jour partiellement un rôle par ID",
-            description = "Met à jour partiellement un rôle existant avec les informations fournies.")
+            description = "Met à jour partiellement un rôle existant avec les informations fournies ; avec l'en-tête If-Match, la mise à jour n'est faite que si l'ETag correspond à la version courante")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Rôle mis à jour avec succès",
                     content = @Content(mediaType = "application/json", schema = @Schema(implementation = Role.class))),
             @ApiResponse(responseCode = "404", description = "Rôle non trouvé", content = @Content),
             @ApiResponse(responseCode = "400", description = "Données invalides fournies", content = @Content),
-            @ApiResponse(responseCode = "409", description = "Le nom du rôle existe déjà", content = @Content)
+            @ApiResponse(responseCode = "409", description = "Le nom du rôle existe déjà, ou rôle modifié par une autre requête pendant la mise à jour", content = @Content),
+            @ApiResponse(responseCode = "412", description = "La version indiquée par If-Match n'est plus la version courante", content = @Content)
     })
     @PatchMapping("/{id}")
     public ResponseEntity<Role> partialUpdateRole(
             @Parameter(description = "Identifiant unique du rôle à mettre à jour", example = "1") @PathVariable Long id,
             @Parameter(description = "Informations à mettre à jour", required = true)
-            @RequestBody Map<String, Object> updates) {
-        logger.info("Requête pour mise à jour partielle du rôle avec ID: {}", id);
+            @Valid @RequestBody RolePatch patch,
+            WebRequest webRequest) {
+        logger.debug("Requête pour mise à jour partielle du rôle avec ID: {}", id);
         Optional<Role> roleOptional = roleService.findById(id);
 
         if (roleOptional.isEmpty()) {
@@ -153,27 +188,17 @@ public class RoleController {
         }
 
         Role role = roleOptional.get();
-
-        if (updates.containsKey("name")) {
-            String newName = (String) updates.get("name");
-            if (roleService.existsByName(newName) && !role.getName().equals(newName)) {
-                logger.warn("Le nom du rôle '{}' existe déjà", newName);
-                return ResponseEntity.status(HttpStatus.CONFLICT).build();
-            }
+        if (isModifiedSinceClientVersion(role, webRequest)) {
+            return null;
         }
 
-        updates.forEach((key, value) -> {
-            logger.info("Mise à jour du champ: {} avec la valeur: {}", key, value);
-            switch (key) {
-                case "name":
-                    role.setName((String) value);
-                    break;
-            }
-        });
+        // Le patch est appliqué à une copie : le rôle en cache reste inchangé tant que la sauvegarde n'a pas réussi
+        role = role.copy();
+        patch.applyTo(role);
 
         Role updatedRole = roleService.save(role);
-        logger.info("Mise à jour partielle réussie pour le rôle: {}", updatedRole.getName());
-        return ResponseEntity.ok(updatedRole);
+        logger.debug("Mise à jour partielle réussie pour le rôle: {}", updatedRole.getName());
+        return withVersion(updatedRole);
     }
 
 
@@ -181,16 +206,17 @@ public class RoleController {
             description = "Supprime un rôle spécifique en utilisant son identifiant unique.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "204", description = "Rôle supprimé avec succès", content = @Content),
-            @ApiResponse(responseCode = "404", description = "Rôle non trouvé", content = @Content)
+            @ApiResponse(responseCode = "404", description = "Rôle non trouvé", content = @Content),
+            @ApiResponse(responseCode = "409", description = "Rôle encore attribué à des utilisateurs", content = @Content)
     })
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteRoleById(
             @Parameter(description = "Identifiant unique du rôle à supprimer", example = "1")
             @PathVariable Long id) {
-        logger.info("Requête pour supprimer le rôle avec ID: {}", id);
+        logger.debug("Requête pour supprimer le rôle avec ID: {}", id);
         if (roleService.findById(id).isPresent()) {
             roleService.deleteById(id);
-            logger.info("Rôle avec ID: {} supprimé avec succès", id);
+            logger.debug("Rôle avec ID: {} supprimé avec succès", id);
             return ResponseEntity.noContent().build();
         } else {
             logger.warn("Rôle avec ID: {} non trouvé pour suppression", id);
@@ -199,15 +225,30 @@ public class RoleController {
     }
 
     @Operation(summary = "Supprimer tous les rôles",
-            description = "Supprime tous les rôles existants dans le système.")
+            description = "Planifie la suppression par tranches de tous les rôles, avec leurs utilisateurs et leurs réservations ; l'avancement est consultable à l'adresse indiquée par l'en-tête Location.")
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "204", description = "Tous les rôles ont été supprimés avec succès", content = @Content)
+            @ApiResponse(responseCode = "202", description = "Suppression planifiée",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = BulkDeleteJob.class)))
     })
     @DeleteMapping
-    public ResponseEntity<Void> deleteAllRoles() {
+    public ResponseEntity<BulkDeleteJob> deleteAllRoles() {
         logger.info("Requête pour supprimer tous les rôles");
-        roleService.deleteAll();
-        logger.info("Tous les rôles ont été supprimés avec succès");
-        return ResponseEntity.noContent().build();
+        return BulkDeleteController.accepted(bulkDeleteService.start(BulkDeleteTarget.ROLES));
+    }
+
+    // Précondition If-Match évaluée sur l'instance en cache, avant toute modification (412 préparée par checkNotModified) ;
+    // une modification concurrente survenue entre-temps est détectée par la colonne version à la sauvegarde (409)
+    private boolean isModifiedSinceClientVersion(Role role, WebRequest webRequest) {
+        if (webRequest.checkNotModified(EntityVersion.of(role.getId(), role.getVersion(), null).eTag())) {
+            logger.warn("Rôle avec ID: {} modifié depuis la version connue du client", role.getId());
+            return true;
+        }
+        return false;
+    }
+
+    private ResponseEntity<Role> withVersion(Role role) {
+        return ResponseEntity.ok()
+                .eTag(EntityVersion.of(role.getId(), role.getVersion(), null).eTag())
+                .body(role);
     }
 }
@@ -1,6 +1,15 @@
 package com.example.MeetingMinder.controller;
 
+import com.example.MeetingMinder.dto.BulkDeleteJob;
+import com.example.MeetingMinder.dto.BulkDeleteTarget;
+import com.example.MeetingMinder.dto.CursorPage;
+import com.example.MeetingMinder.dto.EntityVersion;
+import com.example.MeetingMinder.dto.RoomPatch;
+import com.example.MeetingMinder.dto.RoomSchedule;
 import com.example.MeetingMinder.model.Room;
+import com.example.MeetingMinder.service.BulkDeleteService;
+import com.example.MeetingMinder.service.ReservationEventBroadcaster;
+import com.example.MeetingMinder.service.RoomScheduleService;
 import com.example.MeetingMinder.service.RoomService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -11,15 +20,21 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.Map;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 @RestController
@@ -30,26 +45,43 @@ public class RoomController {
     private static final Logger logger = LoggerFactory.getLogger(RoomController.class);
 
     private final RoomService roomService;
+    private final ReservationEventBroadcaster reservationEventBroadcaster;
+    private final BulkDeleteService bulkDeleteService;
+    private final RoomScheduleService roomScheduleService;
 
-    public RoomController(RoomService roomService) {
+    public RoomController(RoomService roomService, ReservationEventBroadcaster reservationEventBroadcaster,
+                          BulkDeleteService bulkDeleteService, RoomScheduleService roomScheduleService) {
         this.roomService = roomService;
+        this.reservationEventBroadcaster = reservationEventBroadcaster;
+        this.bulkDeleteService = bulkDeleteService;
+        this.roomScheduleService = roomScheduleService;
     }
 
     @Operation(summary = "Obtenir une salle par ID",
-            description = "Retourne une salle de réunion en fonction de son ID")
+            description = "Retourne une salle de réunion en fonction de son ID, avec les en-têtes ETag et Last-Modified ; répond 304 si la version connue du client est à jour")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Salle trouvée",
                     content = @Content(mediaType = "application/json", schema = @Schema(implementation = Room.class))),
+            @ApiResponse(responseCode = "304", description = "Salle non modifiée", content = @Content),
             @ApiResponse(responseCode = "404", description = "Salle non trouvée", content = @Content)
     })
     @GetMapping("/{id}")
     public ResponseEntity<Room> getRoomById(
-            @Parameter(description = "ID de la salle à récupérer", example = "1") @PathVariable Long id) {
-        logger.info("Requête pour obtenir la salle avec ID: {}", id);
+            @Parameter(description = "ID de la salle à récupérer", example = "1") @PathVariable Long id,
+            WebRequest webRequest) {
+        logger.debug("Requête pour obtenir la salle avec ID: {}", id);
+        // La salle vient du cache : la version est lue sur l'entité, une réponse 304 évite la sérialisation
         Optional<Room> room = roomService.findById(id);
         if (room.isPresent()) {
-            logger.info("Salle trouvée: {}", room.get().getName());
-            return ResponseEntity.ok(room.get());
+            EntityVersion version = EntityVersion.of(id, room.get().getVersion(), room.get().getUpdatedAt());
+            if (webRequest.checkNotModified(version.eTag(), version.lastModifiedMillis())) {
+                return null;
+            }
+            logger.debug("Salle trouvée: {}", room.get().getName());
+            return ResponseEntity.ok()
+                    .eTag(version.eTag())
+                    .lastModified(version.lastModifiedMillis())
+                    .body(room.get());
         } else {
             logger.warn("Salle avec ID: {} non trouvée", id);
             return ResponseEntity.notFound().build();
@@ -57,13 +89,109 @@ public class RoomController {
     }
 
     @Operation(summary = "Obtenir toutes les salles",
-            description = "Retourne une liste paginée de toutes les salles de réunion")
-    @ApiResponse(responseCode = "200", description = "Liste des salles récupérée avec succès",
-            content = @Content(mediaType = "application/json", schema = @Schema(implementation = Page.class)))
+            description = "Retourne une liste paginée de toutes les salles de réunion (triée par ID sans tri demandé), avec l'en-tête ETag de la page")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Liste des salles récupérée avec succès",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = Page.class))),
+            @ApiResponse(responseCode = "304", description = "Page non modifiée", content = @Content)
+    })
     @GetMapping
-    public Page<Room> getAllRooms(Pageable pageable) {
-        logger.info("Requête pour obtenir toutes les salles avec pagination: {}", pageable);
-        return roomService.findAll(pageable);
+    public ResponseEntity<Page<Room>> getAllRooms(Pageable pageable, WebRequest webRequest) {
+        logger.debug("Requête pour obtenir toutes les salles avec pagination: {}", pageable);
+        EntityVersion version = roomService.findPageVersion(pageable);
+        if (webRequest.checkNotModified(version.eTag())) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .eTag(version.eTag())
+                .body(roomService.findAll(pageable));
+    }
+
+    @Operation(summary = "Parcourir toutes les salles par curseur",
+            description = "Retourne une page de salles triée par (id) et le jeton de la page suivante, sans calcul du total")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Page récupérée avec succès",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = CursorPage.class))),
+            @ApiResponse(responseCode = "400", description = "Curseur ou taille de page invalide", content = @Content)
+    })
+    @GetMapping("/scroll")
+    public CursorPage<Room> scrollRooms(
+            @Parameter(description = "Jeton nextCursor de la page précédente (absent pour la première page)") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Taille de la page", example = "20") @RequestParam(defaultValue = "20") int size) {
+        logger.debug("Requête pour parcourir les salles par curseur, taille: {}", size);
+        return roomService.scroll(cursor, size);
+    }
+
+    @Operation(summary = "Obtenir le planning d'une salle pour un jour",
+            description = "Réservations qui chevauchent le jour, triées par début, et occurrences des réservations récurrentes. Le planning est servi depuis la mémoire.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Planning récupéré avec succès",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = RoomSchedule.class))),
+            @ApiResponse(responseCode = "400", description = "Date invalide", content = @Content),
+            @ApiResponse(responseCode = "404", description = "Salle non trouvée", content = @Content)
+    })
+    @GetMapping("/{id}/schedule")
+    public ResponseEntity<RoomSchedule> getRoomSchedule(
+            @Parameter(description = "ID de la salle", example = "1") @PathVariable Long id,
+            @Parameter(description = "Jour du planning", example = "2024-08-25")
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+        logger.debug("Requête pour obtenir le planning de la salle avec ID: {} le {}", id, date);
+        if (roomService.findById(id).isEmpty()) {
+            logger.warn("Salle avec ID: {} non trouvée pour le planning", id);
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(roomScheduleService.findSchedule(id, date));
+    }
+
+    @Operation(summary = "Suivre l'occupation d'une salle",
+            description = "Flux Server-Sent Events des réservations créées (CREATED), modifiées (UPDATED) ou supprimées (DELETED) dans la salle ; CLEARED signale la suppression de toutes les réservations")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Flux d'événements ouvert", content = @Content(mediaType = "text/event-stream")),
+            @ApiResponse(responseCode = "404", description = "Salle non trouvée", content = @Content)
+    })
+    @GetMapping(value = "/{id}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> getRoomEvents(
+            @Parameter(description = "ID de la salle à suivre", example = "1") @PathVariable Long id) {
+        logger.debug("Requête d'abonnement aux événements de la salle avec ID: {}", id);
+        if (roomService.findById(id).isEmpty()) {
+            logger.warn("Salle avec ID: {} non trouvée pour abonnement", id);
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(reservationEventBroadcaster.subscribe(id));
+    }
+
+    @Operation(summary = "Suivre l'occupation de toutes les salles",
+            description = "Flux Server-Sent Events des changements de réservation de toutes les salles")
+    @ApiResponse(responseCode = "200", description = "Flux d'événements ouvert", content = @Content(mediaType = "text/event-stream"))
+    @GetMapping(value = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter getAllRoomsEvents() {
+        logger.debug("Requête d'abonnement aux événements de toutes les salles");
+        return reservationEventBroadcaster.subscribe(null);
+    }
+
+    @Operation(summary = "Rechercher les salles disponibles",
+            description = "Retourne les salles d'une capacité minimale libres sur un créneau, les plus petites d'abord. La recherche est servie depuis la mémoire.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Salles disponibles",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = Room.class))),
+            @ApiResponse(responseCode = "400", description = "Créneau invalide", content = @Content)
+    })
+    @GetMapping("/available")
+    public ResponseEntity<List<Room>> getAvailableRooms(
+            @Parameter(description = "Capacité minimale", example = "10") @RequestParam(defaultValue = "0") int capacity,
+            @Parameter(description = "Début du créneau", example = "2024-08-25T10:00:00")
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime start,
+            @Parameter(description = "Fin du créneau", example = "2024-08-25T12:00:00")
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime end,
+            @Parameter(description = "Nombre maximal de salles retournées", example = "50") @RequestParam(defaultValue = "100") int limit) {
+        if (logger.isDebugEnabled()) {
+            logger.debug("Requête pour rechercher les salles d'au moins {} places disponibles de {} à {}", capacity, start, end);
+        }
+        if (!end.isAfter(start) || limit < 1) {
+            logger.warn("Créneau de recherche invalide: {} à {}", start, end);
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(roomService.findAvailable(capacity, start, end, limit));
     }
 
     @Operation(summary = "Créer une nouvelle salle de réunion",
@@ -78,49 +206,52 @@ public class RoomController {
     public ResponseEntity<Room> createRoom(
             @Parameter(description = "Détails de la salle à créer", required = true)
             @Valid @RequestBody Room room) {
-        logger.info("Requête pour créer une nouvelle salle: {}", room.getName());
+        logger.debug("Requête pour créer une nouvelle salle: {}", room.getName());
         try {
-            if (roomService.existsByName(room.getName())) {  // Vérification de l'unicité du nom de la salle
-                logger.warn("Le nom de la salle '{}' existe déjà", room.getName());
-                return ResponseEntity.status(HttpStatus.CONFLICT).build();
-            }
+            // Unicité du nom vérifiée par la contrainte de la table, dans l'insertion elle-même
             Room createdRoom = roomService.save(room);
-            logger.info("Salle créée avec succès: {}", createdRoom.getName());
+            logger.debug("Salle créée avec succès: {}", createdRoom.getName());
             return ResponseEntity.status(HttpStatus.CREATED).body(createdRoom);
         } catch (Exception e) {
+            if (ApiExceptionHandler.isUniqueViolation(e)) {
+                logger.warn("Le nom de la salle '{}' existe déjà", room.getName());
+                return ResponseEntity.status(HttpStatus.CONFLICT).build();
+            }
             logger.error("Erreur lors de la création de la salle: {}", room.getName(), e);
             return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
         }
     }
 
     @Operation(summary = "Mettre à jour une salle de réunion par ID",
-            description = "Met à jour une salle de réunion existante avec les nouvelles informations fournies")
+            description = "Met à jour une salle de réunion existante avec les nouvelles informations fournies ; avec l'en-tête If-Match, la mise à jour n'est faite que si l'ETag correspond à la version courante")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Salle mise à jour avec succès",
                     content = @Content(mediaType = "application/json", schema = @Schema(implementation = Room.class))),
             @ApiResponse(responseCode = "404", description = "Salle non trouvée", content = @Content),
             @ApiResponse(responseCode = "400", description = "Données invalides fournies", content = @Content),
-            @ApiResponse(responseCode = "409", description = "Le nom de la salle existe déjà", content = @Content)
+            @ApiResponse(responseCode = "409", description = "Le nom de la salle existe déjà, ou salle modifiée par une autre requête pendant la mise à jour", content = @Content),
+            @ApiResponse(responseCode = "412", description = "La version indiquée par If-Match n'est plus la version courante", content = @Content)
     })
     @PutMapping("/{id}")
     public ResponseEntity<Room> updateRoom(
             @Parameter(description = "ID de la salle à mettre à jour", example = "1") @PathVariable Long id,
             @Parameter(description = "Nouvelles informations de la salle", required = true)
-            @Valid @RequestBody Room roomDetails) {
-        logger.info("Requête pour mettre à jour la salle avec ID: {}", id);
+            @Valid @RequestBody Room roomDetails,
+            WebRequest webRequest) {
+        logger.debug("Requête pour mettre à jour la salle avec ID: {}", id);
         Optional<Room> room = roomService.findById(id);
         if (room.isPresent()) {
-            if (roomService.existsByName(roomDetails.getName()) && !room.get().getName().equals(roomDetails.getName())) {
-                logger.warn("Le nom de la salle '{}' existe déjà", roomDetails.getName());
-                return ResponseEntity.status(HttpStatus.CONFLICT).build();
+            if (isModifiedSinceClientVersion(room.get(), webRequest)) {
+                return null;
             }
-            Room updatedRoom = room.get();
+            // L'instance en cache reste inchangée tant que la sauvegarde n'a pas réussi
+            Room updatedRoom = room.get().copy();
             updatedRoom.setName(roomDetails.getName());
             updatedRoom.setCapacity(roomDetails.getCapacity());
             updatedRoom.setDescription(roomDetails.getDescription());
             Room savedRoom = roomService.save(updatedRoom);
-            logger.info("Salle mise à jour avec succès: {}", savedRoom.getName());
-            return ResponseEntity.ok(savedRoom);
+            logger.debug("Salle mise à jour avec succès: {}", savedRoom.getName());
+            return withVersion(savedRoom);
         } else {
             logger.warn("Salle avec ID: {} non trouvée pour mise à jour", id);
             return ResponseEntity.notFound().build();
@@ -128,20 +259,22 @@ public class RoomController {
     }
 
     @Operation(summary = "Mettre à jour partiellement une salle par ID",
-            description = "Met à jour partiellement une salle existante avec les informations fournies")
+            description = "Met à jour partiellement une salle existante avec les informations fournies ; avec l'en-tête If-Match, la mise à jour n'est faite que si l'ETag correspond à la version courante")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Salle mise à jour avec succès",
                     content = @Content(mediaType = "application/json", schema = @Schema(implementation = Room.class))),
             @ApiResponse(responseCode = "404", description = "Salle non trouvée", content = @Content),
             @ApiResponse(responseCode = "400", description = "Données invalides fournies", content = @Content),
-            @ApiResponse(responseCode = "409", description = "Le nom de la salle existe déjà", content = @Content)
+            @ApiResponse(responseCode = "409", description = "Le nom de la salle existe déjà, ou salle modifiée par une autre requête pendant la mise à jour", content = @Content),
+            @ApiResponse(responseCode = "412", description = "La version indiquée par If-Match n'est plus la version courante", content = @Content)
     })
     @PatchMapping("/{id}")
     public ResponseEntity<Room> partialUpdateRoom(
             @Parameter(description = "ID de la salle à mettre à jour", example = "1") @PathVariable Long id,
             @Parameter(description = "Informations à mettre à jour", required = true)
-            @RequestBody Map<String, Object> updates) {
-        logger.info("Requête pour mise à jour partielle de la salle avec ID: {}", id);
+            @Valid @RequestBody RoomPatch patch,
+            WebRequest webRequest) {
+        logger.debug("Requête pour mise à jour partielle de la salle avec ID: {}", id);
         Optional<Room> roomOptional = roomService.findById(id);
 
         if (roomOptional.isEmpty()) {
@@ -150,33 +283,17 @@ public class RoomController {
         }
 
         Room room = roomOptional.get();
-
-        if (updates.containsKey("name")) {
-            String newName = (String) updates.get("name");
-            if (roomService.existsByName(newName) && !room.getName().equals(newName)) {
-                logger.warn("Le nom de la salle '{}' existe déjà", newName);
-                return ResponseEntity.status(HttpStatus.CONFLICT).build();
-            }
+        if (isModifiedSinceClientVersion(room, webRequest)) {
+            return null;
         }
 
-        updates.forEach((key, value) -> {
-            logger.info("Mise à jour du champ: {} avec la valeur: {}", key, value);
-            switch (key) {
-                case "name":
-                    room.setName((String) value);
-                    break;
-                case "capacity":
-                    room.setCapacity((Integer) value);
-                    break;
-                case "description":
-                    room.setDescription((String) value);
-                    break;
-            }
-        });
+        // Le patch est appliqué à une copie : la salle en cache reste inchangée tant que la sauvegarde n'a pas réussi
+        room = room.copy();
+        patch.applyTo(room);
 
         Room updatedRoom = roomService.save(room);
-        logger.info("Mise à jour partielle réussie pour la salle: {}", updatedRoom.getName());
-        return ResponseEntity.ok(updatedRoom);
+        logger.debug("Mise à jour partielle réussie pour la salle: {}", updatedRoom.getName());
+        return withVersion(updatedRoom);
     }
 
 
@@ -189,10 +306,10 @@ public class RoomController {
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteRoomById(
             @Parameter(description = "ID de la salle à supprimer", example = "1") @PathVariable Long id) {
-        logger.info("Requête pour supprimer la salle avec ID: {}", id);
+        logger.debug("Requête pour supprimer la salle avec ID: {}", id);
         if (roomService.findById(id).isPresent()) {
             roomService.deleteById(id);
-            logger.info("Salle avec ID: {} supprimée avec succès", id);
+            logger.debug("Salle avec ID: {} supprimée avec succès", id);
             return ResponseEntity.noContent().build();
         } else {
             logger.warn("Salle avec ID: {} non trouvée pour suppression", id);
@@ -201,13 +318,31 @@ public class RoomController {
     }
 
     @Operation(summary = "Supprimer toutes les salles",
-            description = "Supprime toutes les salles existantes dans le système")
-    @ApiResponse(responseCode = "204", description = "Toutes les salles ont été supprimées avec succès", content = @Content)
+            description = "Planifie la suppression par tranches de toutes les salles, avec leurs réservations (simples et récurrentes) ; l'avancement est consultable à l'adresse indiquée par l'en-tête Location")
+    @ApiResponse(responseCode = "202", description = "Suppression planifiée",
+            content = @Content(mediaType = "application/json", schema = @Schema(implementation = BulkDeleteJob.class)))
     @DeleteMapping
-    public ResponseEntity<Void> deleteAllRooms() {
+    public ResponseEntity<BulkDeleteJob> deleteAllRooms() {
         logger.info("Requête pour supprimer toutes les salles");
-        roomService.deleteAll();
-        logger.info("Toutes les salles ont été supprimées avec succès");
-        return ResponseEntity.noContent().build();
+        return BulkDeleteController.accepted(bulkDeleteService.start(BulkDeleteTarget.ROOMS));
+    }
+
+    // Précondition If-Match évaluée sur la salle en cache, avant toute modification (412 préparée par checkNotModified) ;
+    // une modification concurrente survenue entre-temps est détectée par la colonne version à la sauvegarde (409)
+    private boolean isModifiedSinceClientVersion(Room room, WebRequest webRequest) {
+        EntityVersion version = EntityVersion.of(room.getId(), room.getVersion(), room.getUpdatedAt());
+        if (webRequest.checkNotModified(version.eTag(), version.lastModifiedMillis())) {
+            logger.warn("Salle avec ID: {} modifiée depuis la version connue du client", room.getId());
+            return true;
+        }
+        return false;
+    }
+
+    private ResponseEntity<Room> withVersion(Room room) {
+        EntityVersion version = EntityVersion.of(room.getId(), room.getVersion(), room.getUpdatedAt());
+        return ResponseEntity.ok()
+                .eTag(version.eTag())
+                .lastModified(version.lastModifiedMillis())
+                .body(room);
     }
 }
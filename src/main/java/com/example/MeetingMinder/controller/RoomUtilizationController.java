@@ -0,0 +1,93 @@
+package com.example.MeetingMinder.controller;
+
+import com.example.MeetingMinder.dto.RoomUtilization;
+import com.example.MeetingMinder.dto.UtilizationBucket;
+import com.example.MeetingMinder.dto.UtilizationGranularity;
+import com.example.MeetingMinder.service.RoomService;
+import com.example.MeetingMinder.service.RoomUsageService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/analytics/rooms")
+@Tag(name = "Statistiques d'occupation des salles", description = "Taux d'occupation des salles calculés à partir des agrégats horaires et journaliers")
+public class RoomUtilizationController {
+
+    private static final Logger logger = LoggerFactory.getLogger(RoomUtilizationController.class);
+
+    private final RoomUsageService roomUsageService;
+    private final RoomService roomService;
+
+    public RoomUtilizationController(RoomUsageService roomUsageService, RoomService roomService) {
+        this.roomUsageService = roomUsageService;
+        this.roomService = roomService;
+    }
+
+    @Operation(summary = "Obtenir l'occupation des salles sur une période",
+            description = "Retourne, pour chaque salle réservée sur la période, les minutes réservées et le taux d'occupation, de la salle la plus occupée à la moins occupée")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Occupation calculée avec succès",
+                    content = @Content(mediaType = "application/json", array = @ArraySchema(schema = @Schema(implementation = RoomUtilization.class)))),
+            @ApiResponse(responseCode = "400", description = "Période invalide ou trop longue", content = @Content)
+    })
+    @GetMapping("/utilization")
+    public List<RoomUtilization> getUtilization(
+            @Parameter(description = "Premier jour de la période", example = "2024-09-01")
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @Parameter(description = "Jour suivant la fin de la période (exclu)", example = "2024-12-01")
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        logger.debug("Requête pour obtenir l'occupation des salles de {} à {}", from, to);
+        return roomUsageService.findUtilization(from, to);
+    }
+
+    @Operation(summary = "Obtenir l'occupation d'une salle par heure, jour ou semaine",
+            description = "Retourne les minutes réservées, le nombre de réservations et le taux d'occupation de chaque tranche de la période, tranches vides comprises")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Occupation calculée avec succès",
+                    content = @Content(mediaType = "application/json", array = @ArraySchema(schema = @Schema(implementation = UtilizationBucket.class)))),
+            @ApiResponse(responseCode = "400", description = "Période trop longue pour la granularité, ou granularité inconnue", content = @Content),
+            @ApiResponse(responseCode = "404", description = "Salle non trouvée", content = @Content)
+    })
+    @GetMapping("/{id}/utilization")
+    public ResponseEntity<List<UtilizationBucket>> getRoomUtilization(
+            @Parameter(description = "ID de la salle", example = "1") @PathVariable Long id,
+            @Parameter(description = "Premier jour de la période", example = "2024-09-01")
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @Parameter(description = "Jour suivant la fin de la période (exclu)", example = "2024-10-01")
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @Parameter(description = "Granularité : hour (31 jours au plus), day ou week", example = "day")
+            @RequestParam(defaultValue = "day") String granularity) {
+        logger.debug("Requête pour obtenir l'occupation de la salle avec ID: {} de {} à {}", id, from, to);
+        UtilizationGranularity utilizationGranularity = UtilizationGranularity.fromParameter(granularity);
+        if (roomService.findById(id).isEmpty()) {
+            logger.warn("Salle avec ID: {} non trouvée", id);
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(roomUsageService.findRoomUtilization(id, from, to, utilizationGranularity));
+    }
+
+    @Operation(summary = "Recalculer les agrégats d'occupation",
+            description = "Reconstruit les agrégats horaires et journaliers à partir des réservations enregistrées (après une mise à jour des agrégats en échec)")
+    @ApiResponse(responseCode = "204", description = "Agrégats recalculés avec succès", content = @Content)
+    @PostMapping("/rollups/rebuild")
+    public ResponseEntity<Void> rebuildRollups() {
+        logger.info("Requête pour recalculer les agrégats d'occupation");
+        roomUsageService.rebuild();
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -1,7 +1,13 @@
 package com.example.MeetingMinder.controller;
 
+import com.example.MeetingMinder.dto.BulkDeleteJob;
+import com.example.MeetingMinder.dto.BulkDeleteTarget;
+import com.example.MeetingMinder.dto.CursorPage;
+import com.example.MeetingMinder.dto.EntityVersion;
+import com.example.MeetingMinder.dto.UserPatch;
 import com.example.MeetingMinder.model.Role;
 import com.example.MeetingMinder.model.User;
+import com.example.MeetingMinder.service.BulkDeleteService;
 import com.example.MeetingMinder.service.RoleService;
 import com.example.MeetingMinder.service.UserService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -16,12 +22,12 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.Map;
 import java.util.Optional;
 
 @RestController
@@ -33,10 +39,12 @@ public class UserController {
 
     private final UserService userService;
     private final RoleService roleService;
+    private final BulkDeleteService bulkDeleteService;
 
-    public UserController(UserService userService, RoleService roleService) {
+    public UserController(UserService userService, RoleService roleService, BulkDeleteService bulkDeleteService) {
         this.userService = userService;
         this.roleService = roleService;
+        this.bulkDeleteService = bulkDeleteService;
     }
 
     @Operation(summary = "Obtenir tous les utilisateurs",
@@ -45,25 +53,47 @@ public class UserController {
             content = @Content(mediaType = "application/json", schema = @Schema(implementation = Page.class)))
     @GetMapping
     public Page<User> getAllUsers(Pageable pageable) {
-        logger.info("Requête pour obtenir tous les utilisateurs avec pagination: {}", pageable);
+        logger.debug("Requête pour obtenir tous les utilisateurs avec pagination: {}", pageable);
         return userService.findAll(pageable);
     }
 
+    @Operation(summary = "Parcourir tous les utilisateurs par curseur",
+            description = "Retourne une page de utilisateurs triée par (id) et le jeton de la page suivante, sans calcul du total")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Page récupérée avec succès",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = CursorPage.class))),
+            @ApiResponse(responseCode = "400", description = "Curseur ou taille de page invalide", content = @Content)
+    })
+    @GetMapping("/scroll")
+    public CursorPage<User> scrollUsers(
+            @Parameter(description = "Jeton nextCursor de la page précédente (absent pour la première page)") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Taille de la page", example = "20") @RequestParam(defaultValue = "20") int size) {
+        logger.debug("Requête pour parcourir les utilisateurs par curseur, taille: {}", size);
+        return userService.scroll(cursor, size);
+    }
+
     @Operation(summary = "Obtenir un utilisateur par ID",
-            description = "Retourne un utilisateur en fonction de son ID")
+            description = "Retourne un utilisateur en fonction de son ID, avec l'en-tête ETag ; répond 304 si la version connue du client (If-None-Match) est à jour")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Utilisateur trouvé",
                     content = @Content(mediaType = "application/json", schema = @Schema(implementation = User.class))),
+            @ApiResponse(responseCode = "304", description = "Utilisateur non modifié", content = @Content),
             @ApiResponse(responseCode = "404", description = "Utilisateur non trouvé", content = @Content)
     })
     @GetMapping("/{id}")
     public ResponseEntity<User> getUserById(
-            @Parameter(description = "ID de l'utilisateur à récupérer", example = "1") @PathVariable Long id) {
-        logger.info("Requête pour obtenir l'utilisateur avec ID: {}", id);
+            @Parameter(description = "ID de l'utilisateur à récupérer", example = "1") @PathVariable Long id,
+            WebRequest webRequest) {
+        logger.debug("Requête pour obtenir l'utilisateur avec ID: {}", id);
         Optional<User> user = userService.findById(id);
         if (user.isPresent()) {
-            logger.info("Utilisateur trouvé: {}", user.get().getName());
-            return ResponseEntity.ok(user.get());
+            // Entité en cache : la version est lue sur l'instance, une réponse 304 évite la sérialisation
+            EntityVersion version = EntityVersion.of(id, user.get().getVersion(), null);
+            if (webRequest.checkNotModified(version.eTag())) {
+                return null;
+            }
+            logger.debug("Utilisateur trouvé: {}", user.get().getName());
+            return ResponseEntity.ok().eTag(version.eTag()).body(user.get());
         } else {
             logger.warn("Utilisateur avec ID: {} non trouvé", id);
             return ResponseEntity.notFound().build();
@@ -82,49 +112,52 @@ public class UserController {
     public ResponseEntity<User> createUser(
             @Parameter(description = "Détails de l'utilisateur à créer", required = true)
             @Valid @RequestBody User user) {
-        logger.info("Requête pour créer un nouvel utilisateur avec nom: {}", user.getName());
+        logger.debug("Requête pour créer un nouvel utilisateur avec nom: {}", user.getName());
         try {
-            if (userService.existsByName(user.getName())) {  // Vérification de l'unicité du nom d'utilisateur
-                logger.warn("Le nom d'utilisateur '{}' existe déjà", user.getName());
-                return ResponseEntity.status(HttpStatus.CONFLICT).build();
-            }
+            // Unicité du nom vérifiée par la contrainte de la table, dans l'insertion elle-même
             User createdUser = userService.save(user);
-            logger.info("Utilisateur créé avec succès: {}", createdUser.getName());
+            logger.debug("Utilisateur créé avec succès: {}", createdUser.getName());
             return ResponseEntity.status(HttpStatus.CREATED).body(createdUser);
         } catch (Exception e) {
+            if (ApiExceptionHandler.isUniqueViolation(e)) {
+                logger.warn("Le nom d'utilisateur '{}' existe déjà", user.getName());
+                return ResponseEntity.status(HttpStatus.CONFLICT).build();
+            }
             logger.error("Erreur lors de la création de l'utilisateur: {}", user.getName(), e);
             return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
         }
     }
 
     @Operation(summary = "Mettre à jour un utilisateur par ID",
-            description = "Met à jour un utilisateur existant avec les nouvelles informations fournies")
+            description = "Met à jour un utilisateur existant avec les nouvelles informations fournies ; avec l'en-tête If-Match, la mise à jour n'est faite que si l'ETag correspond à la version courante")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Utilisateur mis à jour avec succès",
                     content = @Content(mediaType = "application/json", schema = @Schema(implementation = User.class))),
             @ApiResponse(responseCode = "404", description = "Utilisateur non trouvé", content = @Content),
             @ApiResponse(responseCode = "400", description = "Données invalides fournies", content = @Content),
-            @ApiResponse(responseCode = "409", description = "Le nom d'utilisateur existe déjà", content = @Content)
+            @ApiResponse(responseCode = "409", description = "Le nom d'utilisateur existe déjà, ou utilisateur modifié par une autre requête pendant la mise à jour", content = @Content),
+            @ApiResponse(responseCode = "412", description = "La version indiquée par If-Match n'est plus la version courante", content = @Content)
     })
     @PutMapping("/{id}")
     public ResponseEntity<User> updateUser(
             @Parameter(description = "ID de l'utilisateur à mettre à jour", example = "1") @PathVariable Long id,
             @Parameter(description = "Nouvelles informations de l'utilisateur", required = true)
-            @Valid @RequestBody User userDetails) {
-        logger.info("Requête pour mettre à jour l'utilisateur avec ID: {}", id);
+            @Valid @RequestBody User userDetails,
+            WebRequest webRequest) {
+        logger.debug("Requête pour mettre à jour l'utilisateur avec ID: {}", id);
         Optional<User> user = userService.findById(id);
         if (user.isPresent()) {
-            if (userService.existsByName(userDetails.getName()) && !user.get().getName().equals(userDetails.getName())) {
-                logger.warn("Le nom d'utilisateur '{}' existe déjà", userDetails.getName());
-                return ResponseEntity.status(HttpStatus.CONFLICT).build();
+            if (isModifiedSinceClientVersion(user.get(), webRequest)) {
+                return null;
             }
-            User updatedUser = user.get();
+            // L'instance en cache reste inchangée tant que la sauvegarde n'a pas réussi
+            User updatedUser = user.get().copy();
             updatedUser.setName(userDetails.getName());
             updatedUser.setPassword(userDetails.getPassword());
             updatedUser.setRole(userDetails.getRole());
             User savedUser = userService.save(updatedUser);
-            logger.info("Utilisateur mis à jour avec succès: {}", savedUser.getName());
-            return ResponseEntity.ok(savedUser);
+            logger.debug("Utilisateur mis à jour avec succès: {}", savedUser.getName());
+            return withVersion(savedUser);
         } else {
             logger.warn("Utilisateur avec ID: {} non trouvé pour mise à jour", id);
             return ResponseEntity.notFound().build();
@@ -132,20 +165,22 @@ public class UserController {
     }
 
     @Operation(summary = "Mettre à jour partiellement un utilisateur par ID",
-            description = "Met à jour partiellement un utilisateur existant avec les informations fournies")
+            description = "Met à jour partiellement un utilisateur existant avec les informations fournies ; avec l'en-tête If-Match, la mise à jour n'est faite que si l'ETag correspond à la version courante")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Utilisateur mis à jour avec succès",
                     content = @Content(mediaType = "application/json", schema = @Schema(implementation = User.class))),
             @ApiResponse(responseCode = "404", description = "Utilisateur non trouvé", content = @Content),
             @ApiResponse(responseCode = "400", description = "Données invalides fournies", content = @Content),
-            @ApiResponse(responseCode = "409", description = "Le nom d'utilisateur existe déjà", content = @Content)
+            @ApiResponse(responseCode = "409", description = "Le nom d'utilisateur existe déjà, ou utilisateur modifié par une autre requête pendant la mise à jour", content = @Content),
+            @ApiResponse(responseCode = "412", description = "La version indiquée par If-Match n'est plus la version courante", content = @Content)
     })
     @PatchMapping("/{id}")
     public ResponseEntity<User> partialUpdateUser(
             @Parameter(description = "ID de l'utilisateur à mettre à jour", example = "1") @PathVariable Long id,
             @Parameter(description = "Informations à mettre à jour", required = true)
-            @RequestBody Map<String, Object> updates) {
-        logger.info("Requête pour mise à jour partielle de l'utilisateur avec ID: {}", id);
+            @Valid @RequestBody UserPatch patch,
+            WebRequest webRequest) {
+        logger.debug("Requête pour mise à jour partielle de l'utilisateur avec ID: {}", id);
         Optional<User> userOptional = userService.findById(id);
 
         if (userOptional.isEmpty()) {
@@ -154,49 +189,25 @@ public class UserController {
         }
 
         User user = userOptional.get();
-
-        if (updates.containsKey("name")) {
-            String newName = (String) updates.get("name");
-            if (userService.existsByName(newName) && !user.getName().equals(newName)) {
-                logger.warn("Le nom d'utilisateur '{}' existe déjà", newName);
-                return ResponseEntity.status(HttpStatus.CONFLICT).build();
-            }
+        if (isModifiedSinceClientVersion(user, webRequest)) {
+            return null;
         }
 
-        updates.forEach((key, value) -> {
-            logger.info("Mise à jour du champ: {} avec la valeur: {}", key, value);
-            switch (key) {
-                case "name":
-                    user.setName((String) value);
-                    break;
-                case "password":
-                    user.setPassword((String) value);
-                    break;
-                case "role":
-                    if (value instanceof Map<?, ?> roleMap) {
-                        if (roleMap.containsKey("id")) {
-                            Object roleIdObj = roleMap.get("id");
-                            if (roleIdObj instanceof Number) {
-                                Long role_id = ((Number) roleIdObj).longValue();
-                                Role role = roleService.findById(role_id).orElse(null);
-                                if (role == null) {
-                                    logger.warn("Rôle avec ID: {} non trouvé", role_id);
-                                    throw new RuntimeException("Rôle non trouvé");
-                                }
-                                user.setRole(role);
-                            } else {
-                                logger.warn("L'ID du rôle n'est pas un type numérique valide");
-                                throw new RuntimeException("ID de rôle invalide");
-                            }
-                        }
-                    }
-                    break;
+        // Rôle résolu avant toute modification ; le patch est appliqué à une copie de l'utilisateur en cache
+        Role role = null;
+        if (patch.getRole() != null) {
+            role = roleService.findById(patch.getRole().id()).orElse(null);
+            if (role == null) {
+                logger.warn("Rôle avec ID: {} non trouvé", patch.getRole().id());
+                throw new RuntimeException("Rôle non trouvé");
             }
-        });
+        }
+        user = user.copy();
+        patch.applyTo(user, role);
 
         User updatedUser = userService.save(user);
-        logger.info("Mise à jour partielle réussie pour l'utilisateur: {}", updatedUser.getName());
-        return ResponseEntity.ok(updatedUser);
+        logger.debug("Mise à jour partielle réussie pour l'utilisateur: {}", updatedUser.getName());
+        return withVersion(updatedUser);
     }
 
     @Operation(summary = "Supprimer un utilisateur par ID",
@@ -208,10 +219,10 @@ public class UserController {
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteUserById(
             @Parameter(description = "ID de l'utilisateur à supprimer", example = "1") @PathVariable Long id) {
-        logger.info("Requête pour supprimer l'utilisateur avec ID: {}", id);
+        logger.debug("Requête pour supprimer l'utilisateur avec ID: {}", id);
         if (userService.findById(id).isPresent()) {
             userService.deleteById(id);
-            logger.info("Utilisateur avec ID: {} supprimé avec succès", id);
+            logger.debug("Utilisateur avec ID: {} supprimé avec succès", id);
             return ResponseEntity.noContent().build();
         } else {
             logger.warn("Utilisateur avec ID: {} non trouvé pour suppression", id);
@@ -220,13 +231,28 @@ public class UserController {
     }
 
     @Operation(summary = "Supprimer tous les utilisateurs",
-            description = "Supprime tous les utilisateurs existants dans le système")
-    @ApiResponse(responseCode = "204", description = "Tous les utilisateurs ont été supprimés avec succès", content = @Content)
+            description = "Planifie la suppression par tranches de tous les utilisateurs, avec leurs réservations (simples et récurrentes) ; l'avancement est consultable à l'adresse indiquée par l'en-tête Location")
+    @ApiResponse(responseCode = "202", description = "Suppression planifiée",
+            content = @Content(mediaType = "application/json", schema = @Schema(implementation = BulkDeleteJob.class)))
     @DeleteMapping
-    public ResponseEntity<Void> deleteAllUsers() {
+    public ResponseEntity<BulkDeleteJob> deleteAllUsers() {
         logger.info("Requête pour supprimer tous les utilisateurs");
-        userService.deleteAll();
-        logger.info("Tous les utilisateurs ont été supprimés avec succès");
-        return ResponseEntity.noContent().build();
+        return BulkDeleteController.accepted(bulkDeleteService.start(BulkDeleteTarget.USERS));
+    }
+
+    // Précondition If-Match évaluée sur l'instance en cache, avant toute modification (412 préparée par checkNotModified) ;
+    // une modification concurrente survenue entre-temps est détectée par la colonne version à la sauvegarde (409)
+    private boolean isModifiedSinceClientVersion(User user, WebRequest webRequest) {
+        if (webRequest.checkNotModified(EntityVersion.of(user.getId(), user.getVersion(), null).eTag())) {
+            logger.warn("Utilisateur avec ID: {} modifié depuis la version connue du client", user.getId());
+            return true;
+        }
+        return false;
+    }
+
+    private ResponseEntity<User> withVersion(User user) {
+        return ResponseEntity.ok()
+                .eTag(EntityVersion.of(user.getId(), user.getVersion(), null).eTag())
+                .body(user);
     }
 }
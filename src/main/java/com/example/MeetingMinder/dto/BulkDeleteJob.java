@@ -0,0 +1,121 @@
+package com.example.MeetingMinder.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Avancement d'une suppression groupée, exécutée en arrière-plan par tranches (voir BulkDeleteService).
+ * Les champs sont mis à jour par le thread de suppression et lus par GET /api/bulk-deletes/{id}.
+ */
+public class BulkDeleteJob {
+
+    public enum Status {
+        QUEUED,
+        RUNNING,
+        COMPLETED,
+        FAILED
+    }
+
+    @Schema(description = "Identifiant de la suppression", example = "3f1c2a9e-6b7d-4c1e-9a53-0d2f5e8b7c41")
+    private final UUID id;
+
+    @Schema(description = "Ressources supprimées", example = "RESERVATIONS")
+    private final BulkDeleteTarget target;
+
+    @Schema(description = "Date de la demande", example = "2024-09-01T10:00:00")
+    private final LocalDateTime requestedAt = LocalDateTime.now();
+
+    @Schema(description = "État de la suppression", example = "RUNNING")
+    private volatile Status status = Status.QUEUED;
+
+    @Schema(description = "Table en cours de suppression", example = "reservations")
+    private volatile String currentTable;
+
+    @Schema(description = "Lignes à supprimer, comptées au démarrage", example = "250000")
+    private volatile long totalRows;
+
+    @Schema(description = "Lignes supprimées", example = "120000")
+    private volatile long deletedRows;
+
+    @Schema(description = "Date de fin", example = "2024-09-01T10:00:42")
+    private volatile LocalDateTime finishedAt;
+
+    @Schema(description = "Cause de l'échec", example = "null")
+    private volatile String error;
+
+    public BulkDeleteJob(BulkDeleteTarget target) {
+        this.id = UUID.randomUUID();
+        this.target = target;
+    }
+
+    public UUID getId() {
+        return id;
+    }
+
+    public BulkDeleteTarget getTarget() {
+        return target;
+    }
+
+    public LocalDateTime getRequestedAt() {
+        return requestedAt;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public String getCurrentTable() {
+        return currentTable;
+    }
+
+    public long getTotalRows() {
+        return totalRows;
+    }
+
+    public long getDeletedRows() {
+        return deletedRows;
+    }
+
+    @Schema(description = "Avancement en pourcentage", example = "48.0")
+    public double getProgressPercent() {
+        if (status == Status.COMPLETED) {
+            return 100;
+        }
+        return totalRows == 0 ? 0 : Math.round(Math.min(deletedRows, totalRows) * 1000.0 / totalRows) / 10.0;
+    }
+
+    public LocalDateTime getFinishedAt() {
+        return finishedAt;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void start(long totalRows) {
+        this.totalRows = totalRows;
+        this.status = Status.RUNNING;
+    }
+
+    public void enterTable(String table) {
+        this.currentTable = table;
+    }
+
+    public void addDeleted(long rows) {
+        this.deletedRows += rows;
+    }
+
+    public void complete() {
+        this.currentTable = null;
+        this.finishedAt = LocalDateTime.now();
+        this.status = Status.COMPLETED;
+    }
+
+    public void fail(String error) {
+        this.error = error;
+        this.finishedAt = LocalDateTime.now();
+        this.status = Status.FAILED;
+    }
+}
@@ -0,0 +1,12 @@
+package com.example.MeetingMinder.dto;
+
+/**
+ * Ressources supprimées en bloc par DELETE /api/reservations, /api/rooms, /api/users et /api/roles.
+ */
+public enum BulkDeleteTarget {
+
+    RESERVATIONS,
+    ROOMS,
+    USERS,
+    ROLES
+}
@@ -0,0 +1,27 @@
+package com.example.MeetingMinder.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Page d'une pagination par curseur : les éléments et le jeton opaque de la page suivante.
+ * Aucun total n'est calculé, le coût d'une page ne dépend pas de sa profondeur.
+ */
+public record CursorPage<T>(
+        @Schema(description = "Éléments de la page")
+        List<T> content,
+        @Schema(description = "Jeton à passer en paramètre cursor pour obtenir la page suivante, absent sur la dernière page",
+                example = "MTI4")
+        String nextCursor) {
+
+    // Construit la page à partir de size + 1 éléments lus : l'élément en trop signale l'existence d'une page suivante
+    public static <T> CursorPage<T> of(List<T> fetched, int size, Function<T, String> cursorOf) {
+        if (fetched.size() <= size) {
+            return new CursorPage<>(fetched, null);
+        }
+        List<T> content = fetched.subList(0, size);
+        return new CursorPage<>(List.copyOf(content), cursorOf.apply(content.get(size - 1)));
+    }
+}
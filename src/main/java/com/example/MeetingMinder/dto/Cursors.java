@@ -0,0 +1,86 @@
+package com.example.MeetingMinder.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Encodage des jetons de pagination par curseur (base64url de la clé de la dernière ligne lue).
+ */
+public final class Cursors {
+
+    public static final int DEFAULT_SIZE = 20;
+    public static final int MAX_SIZE = 1000;
+
+    private static final String SEPARATOR = "|";
+
+    // Clé composite (startTime, id) des réservations
+    public record TimeAndId(LocalDateTime startTime, Long id) {
+    }
+
+    private Cursors() {
+    }
+
+    public static String encodeId(Long id) {
+        return encode(String.valueOf(id));
+    }
+
+    // Retourne 0 pour la première page (aucun curseur)
+    public static long decodeId(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return 0L;
+        }
+        try {
+            return Long.parseLong(decode(cursor));
+        } catch (NumberFormatException e) {
+            throw invalid();
+        }
+    }
+
+    public static String encodeTimeAndId(LocalDateTime startTime, Long id) {
+        return encode(startTime + SEPARATOR + id);
+    }
+
+    // Retourne null pour la première page (aucun curseur)
+    public static TimeAndId decodeTimeAndId(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        String value = decode(cursor);
+        int separator = value.lastIndexOf(SEPARATOR);
+        if (separator < 0) {
+            throw invalid();
+        }
+        try {
+            return new TimeAndId(LocalDateTime.parse(value.substring(0, separator)),
+                    Long.parseLong(value.substring(separator + 1)));
+        } catch (DateTimeParseException | NumberFormatException e) {
+            throw invalid();
+        }
+    }
+
+    // Vérifie la taille de page demandée
+    public static int checkSize(int size) {
+        if (size < 1 || size > MAX_SIZE) {
+            throw new IllegalArgumentException("La taille de page doit être comprise entre 1 et " + MAX_SIZE + ".");
+        }
+        return size;
+    }
+
+    private static String encode(String value) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String decode(String cursor) {
+        try {
+            return new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw invalid();
+        }
+    }
+
+    private static IllegalArgumentException invalid() {
+        return new IllegalArgumentException("Curseur de pagination invalide.");
+    }
+}
@@ -0,0 +1,13 @@
+package com.example.MeetingMinder.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+
+/**
+ * Référence à une entité existante dans le corps d'une mise à jour partielle : seul l'identifiant est lu.
+ */
+public record EntityReference(
+        @NotNull(message = "L'identifiant de l'entité référencée est obligatoire")
+        @Schema(description = "Identifiant de l'entité référencée", example = "1")
+        Long id) {
+}
@@ -0,0 +1,61 @@
+package com.example.MeetingMinder.dto;
+
+import org.springframework.data.domain.Page;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.HexFormat;
+
+/**
+ * Version d'une ressource lue sans hydrater les entités (projection JPQL) : source des en-têtes
+ * ETag et Last-Modified des réponses, et des requêtes conditionnelles (304 Not Modified).
+ * lastModified n'est renseigné que pour une ressource faite d'une seule ligne : la date d'une représentation
+ * composée (réservation et ses entités incluses, page) ne suit pas tous les changements qui modifient son ETag.
+ */
+public record EntityVersion(Long id, String version, LocalDateTime lastModified) {
+
+    // Version sans date de modification : l'ETag seul sert aux requêtes conditionnelles
+    public EntityVersion(Long id, String version) {
+        this(id, version, null);
+    }
+
+    // Nombre d'octets de l'empreinte SHA-256 conservés dans l'ETag d'une page
+    private static final int PAGE_TAG_BYTES = 12;
+
+    public static EntityVersion of(Long id, long version, LocalDateTime lastModified) {
+        return new EntityVersion(id, Long.toString(version), lastModified);
+    }
+
+    // Version d'une page : empreinte du total et des (id, version) des lignes dans l'ordre ; sans date de modification,
+    // une suppression ne pouvant pas s'y refléter
+    public static EntityVersion ofPage(Page<EntityVersion> page) {
+        MessageDigest digest = sha256();
+        digest.update(Long.toString(page.getTotalElements()).getBytes(StandardCharsets.US_ASCII));
+        for (EntityVersion row : page) {
+            digest.update((";" + row.id() + ":" + row.version()).getBytes(StandardCharsets.US_ASCII));
+        }
+        byte[] hash = digest.digest();
+        return new EntityVersion(null, HexFormat.of().formatHex(hash, 0, PAGE_TAG_BYTES));
+    }
+
+    // ETag fort : la version change à chaque modification de la représentation
+    public String eTag() {
+        return '"' + version + '"';
+    }
+
+    // Date de dernière modification en millisecondes (-1 si inconnue, l'en-tête Last-Modified est alors omis)
+    public long lastModifiedMillis() {
+        return lastModified == null ? -1 : lastModified.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+}
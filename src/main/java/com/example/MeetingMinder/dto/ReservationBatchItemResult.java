@@ -0,0 +1,35 @@
+package com.example.MeetingMinder.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * Résultat de l'import d'une réservation au sein d'un lot.
+ */
+public record ReservationBatchItemResult(
+        @Schema(description = "Position de la réservation dans le lot", example = "0")
+        int index,
+        @Schema(description = "Statut de l'import", example = "CREATED")
+        Status status,
+        @Schema(description = "Identifiant de la réservation créée", example = "42")
+        Long reservationId,
+        @Schema(description = "Motif du rejet", example = "La salle est déjà réservée pour les créneaux horaires spécifiés.")
+        String message) {
+
+    public enum Status {
+        CREATED,
+        CONFLICT,
+        INVALID
+    }
+
+    public static ReservationBatchItemResult created(int index, Long reservationId) {
+        return new ReservationBatchItemResult(index, Status.CREATED, reservationId, null);
+    }
+
+    public static ReservationBatchItemResult conflict(int index, String message) {
+        return new ReservationBatchItemResult(index, Status.CONFLICT, null, message);
+    }
+
+    public static ReservationBatchItemResult invalid(int index, String message) {
+        return new ReservationBatchItemResult(index, Status.INVALID, null, message);
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.MeetingMinder.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+/**
+ * Bilan de l'import d'un lot de réservations, avec le résultat de chaque élément.
+ */
+public record ReservationBatchResult(
+        @Schema(description = "Nombre de réservations créées", example = "998")
+        int created,
+        @Schema(description = "Nombre de réservations rejetées", example = "2")
+        int rejected,
+        @Schema(description = "Résultat de chaque réservation, dans l'ordre du lot")
+        List<ReservationBatchItemResult> items) {
+
+    public static ReservationBatchResult of(List<ReservationBatchItemResult> items) {
+        int created = (int) items.stream()
+                .filter(item -> item.status() == ReservationBatchItemResult.Status.CREATED)
+                .count();
+        return new ReservationBatchResult(created, items.size() - created, items);
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.MeetingMinder.dto;
+
+import com.example.MeetingMinder.model.ReservationSlot;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import java.time.LocalDateTime;
+
+/**
+ * Changement d'occupation d'une salle, publié par ReservationService après chaque écriture
+ * et diffusé aux abonnés du flux d'événements (Server-Sent Events).
+ * previousRoomId est renseigné quand une mise à jour déplace la réservation dans une autre salle ;
+ * previous (créneau avant une mise à jour) sert aux abonnés internes et n'est pas diffusé.
+ */
+public record ReservationChangedEvent(Type type, Long reservationId, Long roomId, Long previousRoomId,
+                                      LocalDateTime startTime, LocalDateTime endTime, LocalDateTime occurredAt,
+                                      @JsonIgnore ReservationSlot previous) {
+
+    public enum Type {
+        CREATED,
+        UPDATED,
+        DELETED,
+        // Réservation terminée déplacée dans l'archive : elle ne compte plus dans les conflits mais reste dans l'historique
+        ARCHIVED,
+        // Suppression de toutes les réservations : les abonnés doivent recharger l'occupation
+        CLEARED
+    }
+
+    public static ReservationChangedEvent of(Type type, ReservationSlot slot, ReservationSlot previous) {
+        return new ReservationChangedEvent(type, slot.id(), slot.roomId(), previous == null ? null : previous.roomId(),
+                slot.startTime(), slot.endTime(), LocalDateTime.now(), previous);
+    }
+
+    public static ReservationChangedEvent cleared() {
+        return new ReservationChangedEvent(Type.CLEARED, null, null, null, null, null, LocalDateTime.now(), null);
+    }
+
+    // Vrai si l'événement concerne la salle (ancienne salle comprise pour un déplacement)
+    public boolean concernsRoom(Long id) {
+        return roomId == null || id.equals(roomId) || id.equals(previousRoomId);
+    }
+}
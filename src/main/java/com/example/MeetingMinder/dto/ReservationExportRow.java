@@ -0,0 +1,10 @@
+package com.example.MeetingMinder.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Ligne d'export d'une réservation : projection JPQL à plat, sans entité gérée par le contexte de persistance.
+ */
+public record ReservationExportRow(Long id, LocalDateTime startTime, LocalDateTime endTime, String description,
+                                   Long roomId, String roomName, Long userId, String userName) {
+}
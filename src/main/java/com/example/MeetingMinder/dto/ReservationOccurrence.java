@@ -0,0 +1,10 @@
+package com.example.MeetingMinder.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Occurrence d'une réservation récurrente, calculée pour la période consultée (jamais enregistrée).
+ */
+public record ReservationOccurrence(Long recurringReservationId, Long roomId, Long userId,
+                                    LocalDateTime startTime, LocalDateTime endTime, String description) {
+}
@@ -0,0 +1,97 @@
+package com.example.MeetingMinder.dto;
+
+import com.example.MeetingMinder.model.Reservation;
+import com.example.MeetingMinder.model.Room;
+import com.example.MeetingMinder.model.User;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+
+import java.time.LocalDateTime;
+
+/**
+ * Mise à jour partielle d'une réservation (JSON Merge Patch) : un champ absent du corps n'est pas modifié,
+ * une description à null est effacée. Les dates sont converties une seule fois, à la lecture du corps ;
+ * l'utilisateur et la salle sont désignés par leur identifiant et résolus par l'appelant avant l'application.
+ */
+public class ReservationPatch {
+
+    @Schema(description = "Nouvelle date et heure de début", example = "2024-08-25T10:00:00")
+    private LocalDateTime startTime;
+
+    @Schema(description = "Nouvelle date et heure de fin", example = "2024-08-25T12:00:00")
+    private LocalDateTime endTime;
+
+    @Schema(description = "Nouvelle description (null pour l'effacer)", example = "Réunion de projet")
+    private String description;
+
+    // Vrai si la description figure dans le corps, même à null
+    private boolean descriptionPresent;
+
+    @Valid
+    @Schema(description = "Nouvel utilisateur de la réservation")
+    private EntityReference user;
+
+    @Valid
+    @Schema(description = "Nouvelle salle de la réservation")
+    private EntityReference room;
+
+    // user et room sont les entités résolues à partir des références, ou null si le patch ne les modifie pas
+    public void applyTo(Reservation reservation, User user, Room room) {
+        if (startTime != null) {
+            reservation.setStartTime(startTime);
+        }
+        if (endTime != null) {
+            reservation.setEndTime(endTime);
+        }
+        if (descriptionPresent) {
+            reservation.setDescription(description);
+        }
+        if (user != null) {
+            reservation.setUser(user);
+        }
+        if (room != null) {
+            reservation.setRoom(room);
+        }
+    }
+
+    public LocalDateTime getStartTime() {
+        return startTime;
+    }
+
+    public void setStartTime(LocalDateTime startTime) {
+        this.startTime = startTime;
+    }
+
+    public LocalDateTime getEndTime() {
+        return endTime;
+    }
+
+    public void setEndTime(LocalDateTime endTime) {
+        this.endTime = endTime;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public void setDescription(String description) {
+        this.description = description;
+        this.descriptionPresent = true;
+    }
+
+    public EntityReference getUser() {
+        return user;
+    }
+
+    public void setUser(EntityReference user) {
+        this.user = user;
+    }
+
+    public EntityReference getRoom() {
+        return room;
+    }
+
+    public void setRoom(EntityReference room) {
+        this.room = room;
+    }
+}
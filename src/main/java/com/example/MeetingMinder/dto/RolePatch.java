@@ -0,0 +1,29 @@
+package com.example.MeetingMinder.dto;
+
+import com.example.MeetingMinder.model.Role;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.Pattern;
+
+/**
+ * Mise à jour partielle d'un rôle (JSON Merge Patch) : un champ absent du corps n'est pas modifié.
+ */
+public class RolePatch {
+
+    @Pattern(regexp = "(?s).*\\S.*", message = "Le nom du rôle est obligatoire")
+    @Schema(description = "Nouveau nom unique du rôle", example = "Admin")
+    private String name;
+
+    public void applyTo(Role role) {
+        if (name != null) {
+            role.setName(name);
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.MeetingMinder.dto;
+
+import com.example.MeetingMinder.model.Room;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.Pattern;
+
+/**
+ * Mise à jour partielle d'une salle (JSON Merge Patch) : un champ absent du corps n'est pas modifié,
+ * une description à null est effacée. Les contraintes de l'entité sont vérifiées avant toute modification.
+ * Les setters ne sont appelés par Jackson que pour les champs présents : c'est ce qui distingue un champ absent d'un null.
+ */
+public class RoomPatch {
+
+    @Pattern(regexp = "(?s).*\\S.*", message = "Le nom de la salle est obligatoire")
+    @Schema(description = "Nouveau nom unique de la salle", example = "Salle de Conférence")
+    private String name;
+
+    @Min(value = 1, message = "La capacité doit être d'au moins 1 personne")
+    @Schema(description = "Nouvelle capacité de la salle", example = "50")
+    private Integer capacity;
+
+    @Schema(description = "Nouvelle description de la salle (null pour l'effacer)", example = "Une salle équipée pour les présentations.")
+    private String description;
+
+    private boolean descriptionPresent;
+
+    public void applyTo(Room room) {
+        if (name != null) {
+            room.setName(name);
+        }
+        if (capacity != null) {
+            room.setCapacity(capacity);
+        }
+        if (descriptionPresent) {
+            room.setDescription(description);
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public Integer getCapacity() {
+        return capacity;
+    }
+
+    public void setCapacity(Integer capacity) {
+        this.capacity = capacity;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public void setDescription(String description) {
+        this.description = description;
+        this.descriptionPresent = true;
+    }
+}
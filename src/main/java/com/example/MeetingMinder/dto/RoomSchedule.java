@@ -0,0 +1,89 @@
+package com.example.MeetingMinder.dto;
+
+import com.example.MeetingMinder.index.DaySchedule;
+import com.example.MeetingMinder.index.IntervalTree;
+import com.example.MeetingMinder.index.RecurrenceSlot;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Planning d'une salle pour un jour : réservations simples lues dans l'instantané en mémoire du jour,
+ * occurrences des motifs récurrents calculées depuis leurs créneaux en mémoire. Sérialisé directement
+ * depuis les tableaux de l'instantané, sans objet intermédiaire par réservation.
+ */
+@JsonSerialize(using = RoomSchedule.Serializer.class)
+@Schema(description = "Planning d'une salle pour un jour",
+        example = "{\"roomId\": 1, \"date\": \"2024-09-02\", \"reservations\": [{\"id\": 12, \"userId\": 3, "
+                + "\"startTime\": \"2024-09-02T09:00:00\", \"endTime\": \"2024-09-02T10:30:00\"}], "
+                + "\"occurrences\": [{\"recurringReservationId\": 4, \"userId\": 3, "
+                + "\"startTime\": \"2024-09-02T14:00:00\", \"endTime\": \"2024-09-02T15:00:00\"}]}")
+public record RoomSchedule(Long roomId, LocalDate date, DaySchedule reservations, List<RecurrenceSlot> recurrences) {
+
+    static final class Serializer extends StdSerializer<RoomSchedule> {
+
+        Serializer() {
+            super(RoomSchedule.class);
+        }
+
+        @Override
+        public void serialize(RoomSchedule schedule, JsonGenerator generator, SerializerProvider provider) throws IOException {
+            generator.writeStartObject();
+            generator.writeNumberField("roomId", schedule.roomId());
+            provider.defaultSerializeField("date", schedule.date(), generator);
+
+            DaySchedule reservations = schedule.reservations();
+            generator.writeArrayFieldStart("reservations");
+            for (int i = 0; i < reservations.size(); i++) {
+                writeBooking(generator, provider, "id", reservations.id(i), reservations.userId(i),
+                        DaySchedule.toDateTime(reservations.startMinute(i)), DaySchedule.toDateTime(reservations.endMinute(i)));
+            }
+            generator.writeEndArray();
+
+            // Occurrences qui chevauchent le jour (bornes exclues, comme pour les réservations)
+            long dayStart = IntervalTree.toKey(schedule.date().atStartOfDay());
+            long dayEnd = IntervalTree.toKey(schedule.date().plusDays(1).atStartOfDay());
+            generator.writeArrayFieldStart("occurrences");
+            for (RecurrenceSlot recurrence : schedule.recurrences()) {
+                try {
+                    recurrence.forEachOccurrence(dayStart + 1, dayEnd - 1, start -> {
+                        try {
+                            writeBooking(generator, provider, "recurringReservationId", recurrence.id(),
+                                    recurrence.userId() == null ? 0 : recurrence.userId(), IntervalTree.toDateTime(start),
+                                    IntervalTree.toDateTime(start + recurrence.duration()));
+                        } catch (IOException ex) {
+                            throw new UncheckedIOException(ex);
+                        }
+                    });
+                } catch (UncheckedIOException ex) {
+                    throw ex.getCause();
+                }
+            }
+            generator.writeEndArray();
+            generator.writeEndObject();
+        }
+
+        // Dates écrites au format des autres réponses de l'API ; utilisateur 0 : inconnu
+        private static void writeBooking(JsonGenerator generator, SerializerProvider provider, String idField, long id,
+                                         long userId, LocalDateTime start, LocalDateTime end) throws IOException {
+            generator.writeStartObject();
+            generator.writeNumberField(idField, id);
+            if (userId == 0) {
+                generator.writeNullField("userId");
+            } else {
+                generator.writeNumberField("userId", userId);
+            }
+            provider.defaultSerializeField("startTime", start, generator);
+            provider.defaultSerializeField("endTime", end, generator);
+            generator.writeEndObject();
+        }
+    }
+}
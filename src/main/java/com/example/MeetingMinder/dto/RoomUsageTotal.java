@@ -0,0 +1,7 @@
+package com.example.MeetingMinder.dto;
+
+/**
+ * Somme des agrégats journaliers d'une salle sur une période (projection JPQL).
+ */
+public record RoomUsageTotal(Long roomId, Long bookedMinutes, Long bookingCount) {
+}
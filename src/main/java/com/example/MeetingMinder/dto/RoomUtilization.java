@@ -0,0 +1,13 @@
+package com.example.MeetingMinder.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * Occupation totale d'une salle sur la période consultée.
+ */
+public record RoomUtilization(
+        @Schema(description = "ID de la salle", example = "1") Long roomId,
+        @Schema(description = "Minutes réservées sur la période", example = "5400") long bookedMinutes,
+        @Schema(description = "Réservations par jour touché, additionnées sur la période", example = "42") long bookingCount,
+        @Schema(description = "Part des heures d'ouverture réservée, en pourcentage", example = "37.5") double occupancyPercent) {
+}
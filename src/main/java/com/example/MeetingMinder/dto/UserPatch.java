@@ -0,0 +1,64 @@
+package com.example.MeetingMinder.dto;
+
+import com.example.MeetingMinder.model.Role;
+import com.example.MeetingMinder.model.User;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+
+/**
+ * Mise à jour partielle d'un utilisateur (JSON Merge Patch) : un champ absent du corps n'est pas modifié.
+ * Le rôle est désigné par son identifiant et résolu par l'appelant avant l'application.
+ */
+public class UserPatch {
+
+    @Pattern(regexp = "(?s).*\\S.*", message = "Le nom d'utilisateur est obligatoire")
+    @Schema(description = "Nouveau nom unique de l'utilisateur", example = "Andrey")
+    private String name;
+
+    @Size(min = 6, message = "Le mot de passe doit comporter au moins 6 caractères")
+    @Schema(description = "Nouveau mot de passe", example = "motdepasse")
+    private String password;
+
+    @Valid
+    @Schema(description = "Nouveau rôle de l'utilisateur")
+    private EntityReference role;
+
+    // role est le rôle résolu à partir de getRole(), ou null si le patch ne le modifie pas
+    public void applyTo(User user, Role role) {
+        if (name != null) {
+            user.setName(name);
+        }
+        if (password != null) {
+            user.setPassword(password);
+        }
+        if (role != null) {
+            user.setRole(role);
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getPassword() {
+        return password;
+    }
+
+    public void setPassword(String password) {
+        this.password = password;
+    }
+
+    public EntityReference getRole() {
+        return role;
+    }
+
+    public void setRole(EntityReference role) {
+        this.role = role;
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.MeetingMinder.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.LocalDateTime;
+
+/**
+ * Occupation d'une salle sur une tranche (heure, jour ou semaine) de la période consultée.
+ */
+public record UtilizationBucket(
+        @Schema(description = "Début de la tranche", example = "2024-09-02T00:00:00") LocalDateTime start,
+        @Schema(description = "Minutes réservées dans la tranche", example = "270") long bookedMinutes,
+        @Schema(description = "Réservations qui touchent la tranche", example = "3") long bookingCount,
+        @Schema(description = "Part des heures d'ouverture réservée, en pourcentage", example = "45.0") double occupancyPercent) {
+}
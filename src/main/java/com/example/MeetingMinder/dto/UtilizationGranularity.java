@@ -0,0 +1,21 @@
+package com.example.MeetingMinder.dto;
+
+import java.util.Locale;
+
+/**
+ * Découpage des statistiques d'occupation d'une salle : par heure, par jour ou par semaine (du lundi au dimanche).
+ */
+public enum UtilizationGranularity {
+
+    HOUR,
+    DAY,
+    WEEK;
+
+    public static UtilizationGranularity fromParameter(String value) {
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException ex) {
+            throw new IllegalArgumentException("Granularité inconnue: " + value + " (hour, day ou week).");
+        }
+    }
+}
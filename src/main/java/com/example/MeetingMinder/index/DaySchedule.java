@@ -0,0 +1,173 @@
+package com.example.MeetingMinder.index;
+
+import com.example.MeetingMinder.model.ReservationSlot;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Planning d'une salle pour un jour : réservations qui chevauchent le jour, triées par (début, id), rangées dans des
+ * tableaux de primitives (dates en minutes depuis l'epoch). Immuable : une modification produit une copie, publiée
+ * à la place de l'ancienne ; une lecture parcourt les tableaux sans verrou ni allocation.
+ */
+public final class DaySchedule {
+
+    public static final DaySchedule EMPTY = new DaySchedule(new long[0], new long[0], new int[0], new int[0]);
+
+    private final long[] ids;
+    private final long[] userIds;
+    private final int[] startMinutes;
+    private final int[] endMinutes;
+
+    private DaySchedule(long[] ids, long[] userIds, int[] startMinutes, int[] endMinutes) {
+        this.ids = ids;
+        this.userIds = userIds;
+        this.startMinutes = startMinutes;
+        this.endMinutes = endMinutes;
+    }
+
+    public static DaySchedule of(Collection<ReservationSlot> slots) {
+        List<ReservationSlot> sorted = slots.stream()
+                .sorted(Comparator.comparing(ReservationSlot::startTime).thenComparing(ReservationSlot::id))
+                .toList();
+        int size = sorted.size();
+        long[] ids = new long[size];
+        long[] userIds = new long[size];
+        int[] startMinutes = new int[size];
+        int[] endMinutes = new int[size];
+        for (int i = 0; i < size; i++) {
+            ReservationSlot slot = sorted.get(i);
+            ids[i] = slot.id();
+            userIds[i] = slot.userId() == null ? 0 : slot.userId();
+            startMinutes[i] = toMinute(slot.startTime());
+            endMinutes[i] = toMinute(slot.endTime());
+        }
+        return size == 0 ? EMPTY : new DaySchedule(ids, userIds, startMinutes, endMinutes);
+    }
+
+    public int size() {
+        return ids.length;
+    }
+
+    public long id(int index) {
+        return ids[index];
+    }
+
+    // Utilisateur de la réservation (0 si inconnu)
+    public long userId(int index) {
+        return userIds[index];
+    }
+
+    public int startMinute(int index) {
+        return startMinutes[index];
+    }
+
+    public int endMinute(int index) {
+        return endMinutes[index];
+    }
+
+    // Copie avec le créneau ajouté, ou remplacé s'il figure déjà (changement d'horaire)
+    public DaySchedule with(ReservationSlot slot) {
+        DaySchedule base = without(slot.id());
+        int start = toMinute(slot.startTime());
+        int end = toMinute(slot.endTime());
+        int position = base.insertionPoint(start, slot.id());
+        int size = base.size() + 1;
+        long[] newIds = new long[size];
+        long[] newUserIds = new long[size];
+        int[] newStarts = new int[size];
+        int[] newEnds = new int[size];
+        int tail = base.size() - position;
+        System.arraycopy(base.ids, 0, newIds, 0, position);
+        System.arraycopy(base.userIds, 0, newUserIds, 0, position);
+        System.arraycopy(base.startMinutes, 0, newStarts, 0, position);
+        System.arraycopy(base.endMinutes, 0, newEnds, 0, position);
+        System.arraycopy(base.ids, position, newIds, position + 1, tail);
+        System.arraycopy(base.userIds, position, newUserIds, position + 1, tail);
+        System.arraycopy(base.startMinutes, position, newStarts, position + 1, tail);
+        System.arraycopy(base.endMinutes, position, newEnds, position + 1, tail);
+        newIds[position] = slot.id();
+        newUserIds[position] = slot.userId() == null ? 0 : slot.userId();
+        newStarts[position] = start;
+        newEnds[position] = end;
+        return new DaySchedule(newIds, newUserIds, newStarts, newEnds);
+    }
+
+    // Copie sans la réservation (la même instance si elle n'y figure pas)
+    public DaySchedule without(long reservationId) {
+        int position = indexOf(reservationId);
+        if (position < 0) {
+            return this;
+        }
+        if (size() == 1) {
+            return EMPTY;
+        }
+        int size = size() - 1;
+        long[] newIds = new long[size];
+        long[] newUserIds = new long[size];
+        int[] newStarts = new int[size];
+        int[] newEnds = new int[size];
+        System.arraycopy(ids, 0, newIds, 0, position);
+        System.arraycopy(userIds, 0, newUserIds, 0, position);
+        System.arraycopy(startMinutes, 0, newStarts, 0, position);
+        System.arraycopy(endMinutes, 0, newEnds, 0, position);
+        System.arraycopy(ids, position + 1, newIds, position, size - position);
+        System.arraycopy(userIds, position + 1, newUserIds, position, size - position);
+        System.arraycopy(startMinutes, position + 1, newStarts, position, size - position);
+        System.arraycopy(endMinutes, position + 1, newEnds, position, size - position);
+        return new DaySchedule(newIds, newUserIds, newStarts, newEnds);
+    }
+
+    public boolean contains(long reservationId) {
+        return indexOf(reservationId) >= 0;
+    }
+
+    // Quelques dizaines de réservations par jour au plus : parcours linéaire
+    private int indexOf(long reservationId) {
+        for (int i = 0; i < ids.length; i++) {
+            if (ids[i] == reservationId) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    // Première position dont la clé (début, id) est supérieure à celle fournie
+    private int insertionPoint(int start, long id) {
+        int low = 0;
+        int high = ids.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (startMinutes[middle] < start || (startMinutes[middle] == start && ids[middle] < id)) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    // Dates à la minute : les secondes éventuelles sont ignorées
+    public static int toMinute(LocalDateTime dateTime) {
+        return Math.toIntExact(Math.floorDiv(dateTime.toEpochSecond(ZoneOffset.UTC), 60));
+    }
+
+    public static LocalDateTime toDateTime(int minute) {
+        return LocalDateTime.ofEpochSecond(minute * 60L, 0, ZoneOffset.UTC);
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof DaySchedule schedule && Arrays.equals(ids, schedule.ids) && Arrays.equals(userIds, schedule.userIds)
+                && Arrays.equals(startMinutes, schedule.startMinutes) && Arrays.equals(endMinutes, schedule.endMinutes);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(ids);
+    }
+}
@@ -0,0 +1,220 @@
+package com.example.MeetingMinder.index;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Arbre d'intervalles augmenté (AVL trié par début puis par identifiant, chaque nœud
+ * mémorisant la fin maximale de son sous-arbre).
+ * Les bornes sont inclusives, comme la requête de conflit historique du repository.
+ * Cette classe n'est pas thread-safe : la synchronisation est assurée par l'appelant.
+ */
+public class IntervalTree {
+
+    @FunctionalInterface
+    public interface IntervalVisitor {
+        void visit(long id, long start, long end);
+    }
+
+    private static final class Node {
+        final long id;
+        final long start;
+        final long end;
+        long maxEnd;
+        int height = 1;
+        Node left;
+        Node right;
+
+        Node(long id, long start, long end) {
+            this.id = id;
+            this.start = start;
+            this.end = end;
+            this.maxEnd = end;
+        }
+    }
+
+    private Node root;
+    private int size;
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    // Insère un intervalle ; un intervalle de même début et même identifiant est remplacé
+    public void insert(long id, long start, long end) {
+        root = insert(root, new Node(id, start, end));
+    }
+
+    // Supprime l'intervalle identifié par son début et son identifiant
+    public boolean remove(long id, long start) {
+        int before = size;
+        root = remove(root, id, start);
+        return size < before;
+    }
+
+    // Indique si un intervalle (autre que excludedId) chevauche [start, end] en O(log n)
+    public boolean overlaps(long start, long end, long excludedId) {
+        return overlaps(root, start, end, excludedId);
+    }
+
+    // Parcourt, dans l'ordre des débuts, les intervalles qui chevauchent [start, end]
+    public void forEachOverlapping(long start, long end, IntervalVisitor visitor) {
+        forEachOverlapping(root, start, end, visitor);
+    }
+
+    // Clé d'une date dans l'arbre : secondes écoulées depuis l'epoch, en UTC
+    public static long toKey(LocalDateTime dateTime) {
+        return dateTime.toEpochSecond(ZoneOffset.UTC);
+    }
+
+    public static LocalDateTime toDateTime(long key) {
+        return LocalDateTime.ofEpochSecond(key, 0, ZoneOffset.UTC);
+    }
+
+    private static boolean overlaps(Node node, long start, long end, long excludedId) {
+        while (node != null && node.maxEnd >= start) {
+            if (node.start <= end && node.end >= start && node.id != excludedId) {
+                // Premier chevauchement trouvé : inutile de parcourir le reste de l'arbre
+                return true;
+            }
+            if (node.left != null && node.left.maxEnd >= start && overlaps(node.left, start, end, excludedId)) {
+                return true;
+            }
+            if (node.start > end) {
+                // Tous les intervalles à droite commencent encore plus tard
+                return false;
+            }
+            node = node.right;
+        }
+        return false;
+    }
+
+    private static void forEachOverlapping(Node node, long start, long end, IntervalVisitor visitor) {
+        if (node == null || node.maxEnd < start) {
+            return;
+        }
+        forEachOverlapping(node.left, start, end, visitor);
+        if (node.start > end) {
+            return;
+        }
+        if (node.end >= start) {
+            visitor.visit(node.id, node.start, node.end);
+        }
+        forEachOverlapping(node.right, start, end, visitor);
+    }
+
+    private Node insert(Node node, Node inserted) {
+        if (node == null) {
+            size++;
+            return inserted;
+        }
+        int cmp = compare(inserted.start, inserted.id, node.start, node.id);
+        if (cmp < 0) {
+            node.left = insert(node.left, inserted);
+        } else if (cmp > 0) {
+            node.right = insert(node.right, inserted);
+        } else {
+            inserted.left = node.left;
+            inserted.right = node.right;
+            node = inserted;
+        }
+        return rebalance(node);
+    }
+
+    private Node remove(Node node, long id, long start) {
+        if (node == null) {
+            return null;
+        }
+        int cmp = compare(start, id, node.start, node.id);
+        if (cmp < 0) {
+            node.left = remove(node.left, id, start);
+        } else if (cmp > 0) {
+            node.right = remove(node.right, id, start);
+        } else {
+            size--;
+            if (node.left == null) {
+                return node.right;
+            }
+            if (node.right == null) {
+                return node.left;
+            }
+            Node successor = node.right;
+            while (successor.left != null) {
+                successor = successor.left;
+            }
+            successor.right = removeMin(node.right);
+            successor.left = node.left;
+            node = successor;
+        }
+        return rebalance(node);
+    }
+
+    private static Node removeMin(Node node) {
+        if (node.left == null) {
+            return node.right;
+        }
+        node.left = removeMin(node.left);
+        return rebalance(node);
+    }
+
+    private static int compare(long startA, long idA, long startB, long idB) {
+        int cmp = Long.compare(startA, startB);
+        return cmp != 0 ? cmp : Long.compare(idA, idB);
+    }
+
+    private static int height(Node node) {
+        return node == null ? 0 : node.height;
+    }
+
+    private static void update(Node node) {
+        node.height = 1 + Math.max(height(node.left), height(node.right));
+        long maxEnd = node.end;
+        if (node.left != null && node.left.maxEnd > maxEnd) {
+            maxEnd = node.left.maxEnd;
+        }
+        if (node.right != null && node.right.maxEnd > maxEnd) {
+            maxEnd = node.right.maxEnd;
+        }
+        node.maxEnd = maxEnd;
+    }
+
+    private static Node rebalance(Node node) {
+        update(node);
+        int balance = height(node.left) - height(node.right);
+        if (balance > 1) {
+            if (height(node.left.left) < height(node.left.right)) {
+                node.left = rotateLeft(node.left);
+            }
+            return rotateRight(node);
+        }
+        if (balance < -1) {
+            if (height(node.right.right) < height(node.right.left)) {
+                node.right = rotateRight(node.right);
+            }
+            return rotateLeft(node);
+        }
+        return node;
+    }
+
+    private static Node rotateRight(Node node) {
+        Node pivot = node.left;
+        node.left = pivot.right;
+        pivot.right = node;
+        update(node);
+        update(pivot);
+        return pivot;
+    }
+
+    private static Node rotateLeft(Node node) {
+        Node pivot = node.right;
+        node.right = pivot.left;
+        pivot.left = node;
+        update(node);
+        update(pivot);
+        return pivot;
+    }
+}
@@ -0,0 +1,109 @@
+package com.example.MeetingMinder.index;
+
+import com.example.MeetingMinder.model.RecurringReservation;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.function.LongConsumer;
+
+/**
+ * Motif d'une réservation récurrente réduit à une suite arithmétique de créneaux (en secondes) :
+ * l'occurrence k commence à start + k * period, dure duration et k varie de 0 à lastIndex.
+ * Les chevauchements se calculent sur cette suite, sans énumérer les occurrences.
+ */
+public record RecurrenceSlot(Long id, Long roomId, Long userId, long start, long duration, long period, long lastIndex) {
+
+    // Répétition sans date de fin
+    public static final long UNBOUNDED = Long.MAX_VALUE;
+
+    private static final long SECONDS_PER_DAY = 86_400;
+
+    public static RecurrenceSlot of(RecurringReservation recurrence) {
+        long start = IntervalTree.toKey(recurrence.getStartTime());
+        long period = (long) recurrence.getFrequency().getDays() * recurrence.getRepeatInterval() * SECONDS_PER_DAY;
+        long lastIndex = UNBOUNDED;
+        if (recurrence.getUntilDate() != null) {
+            // Dernière occurrence commençant au plus tard le jour untilDate
+            long untilKey = IntervalTree.toKey(recurrence.getUntilDate().plusDays(1).atStartOfDay()) - 1;
+            lastIndex = Math.floorDiv(untilKey - start, period);
+        }
+        Long userId = recurrence.getUser() != null ? recurrence.getUser().getId() : null;
+        return new RecurrenceSlot(recurrence.getId(), recurrence.getRoom().getId(), userId, start,
+                ChronoUnit.SECONDS.between(recurrence.getStartTime(), recurrence.getEndTime()), period, lastIndex);
+    }
+
+    public boolean isBounded() {
+        return lastIndex != UNBOUNDED;
+    }
+
+    public long startOf(long index) {
+        return start + index * period;
+    }
+
+    // Vrai si une occurrence chevauche [from, to] (bornes incluses, comme pour les réservations simples)
+    public boolean overlaps(long from, long to) {
+        long index = firstIndexEndingFrom(from);
+        return index <= lastIndex && startOf(index) <= to;
+    }
+
+    public boolean overlaps(LocalDateTime from, LocalDateTime to) {
+        return overlaps(IntervalTree.toKey(from), IntervalTree.toKey(to));
+    }
+
+    // Vrai si une occurrence de ce motif chevauche une occurrence de l'autre motif
+    public boolean overlaps(RecurrenceSlot other) {
+        // Parcours des occurrences du motif de plus grande période, chacune testée en temps constant contre l'autre
+        RecurrenceSlot a = period >= other.period ? this : other;
+        RecurrenceSlot b = a == this ? other : this;
+        long first = a.firstIndexEndingFrom(b.start);
+        long last = b.isBounded() ? a.lastIndexStartingBy(b.startOf(b.lastIndex) + b.duration) : a.lastIndex;
+
+        // Loin des bords de b, le résultat ne dépend que de la position de l'occurrence k de a dans la grille de b,
+        // qui se répète toutes les ppcm(Pa, Pb) / Pa occurrences : un cycle complet sans conflit suffit
+        long cycle = b.period / gcd(a.period, b.period);
+        long interiorFirst = Math.max(0, Math.ceilDiv(b.start + b.period - a.start, a.period));
+        long interiorLast = b.isBounded()
+                ? Math.floorDiv(b.startOf(b.lastIndex) - b.period - a.duration - a.start, a.period)
+                : UNBOUNDED;
+        for (long k = first; k <= last; k++) {
+            long occurrenceStart = a.startOf(k);
+            if (b.overlaps(occurrenceStart, occurrenceStart + a.duration)) {
+                return true;
+            }
+            if (k == interiorFirst + cycle - 1 && k <= interiorLast) {
+                if (interiorLast >= last) {
+                    return false;
+                }
+                k = interiorLast;
+            }
+        }
+        return false;
+    }
+
+    // Transmet le début (en secondes) de chaque occurrence qui chevauche [from, to]
+    public void forEachOccurrence(long from, long to, LongConsumer action) {
+        long last = lastIndexStartingBy(to);
+        for (long k = firstIndexEndingFrom(from); k <= last; k++) {
+            action.accept(startOf(k));
+        }
+    }
+
+    // Première occurrence dont la fin est postérieure ou égale à time
+    private long firstIndexEndingFrom(long time) {
+        return Math.max(0, Math.ceilDiv(time - duration - start, period));
+    }
+
+    // Dernière occurrence dont le début est antérieur ou égal à time (-1 si aucune)
+    private long lastIndexStartingBy(long time) {
+        return Math.min(lastIndex, Math.floorDiv(time - start, period));
+    }
+
+    private static long gcd(long a, long b) {
+        while (b != 0) {
+            long r = a % b;
+            a = b;
+            b = r;
+        }
+        return a;
+    }
+}
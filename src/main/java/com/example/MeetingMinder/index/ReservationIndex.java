@@ -0,0 +1,235 @@
+package com.example.MeetingMinder.index;
+
+import com.example.MeetingMinder.model.Reservation;
+import com.example.MeetingMinder.model.ReservationSlot;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Index en mémoire des créneaux réservés, avec un arbre d'intervalles par salle.
+ * Chargé au démarrage puis tenu à jour par ReservationService à chaque sauvegarde ou suppression.
+ * Chaque arbre est protégé par un verrou lecture/écriture (et non par synchronized, qui épinglerait
+ * les threads virtuels en attente sur leur thread porteur) : les vérifications de conflit d'une salle
+ * s'exécutent en parallèle.
+ * Les motifs des réservations récurrentes sont conservés à part, par salle, et testés arithmétiquement
+ * (voir RecurrenceSlot) : aucune occurrence n'est insérée dans les arbres.
+ */
+@Component
+public class ReservationIndex {
+
+    // Identifiant qui ne correspond à aucune réservation (aucune exclusion)
+    private static final long NO_RESERVATION = Long.MIN_VALUE;
+
+    private final ConcurrentMap<Long, RoomTree> roomTrees = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Long, ReservationSlot> slots = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Long, List<RecurrenceSlot>> roomRecurrences = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Long, RecurrenceSlot> recurrences = new ConcurrentHashMap<>();
+    private volatile boolean loaded;
+
+    // Remplace les créneaux des réservations simples par ceux fournis (les motifs récurrents sont conservés)
+    public void load(Collection<ReservationSlot> initialSlots) {
+        clearReservations();
+        initialSlots.forEach(this::put);
+        loaded = true;
+    }
+
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    public int size() {
+        return slots.size();
+    }
+
+    // Vérifie si la salle a déjà un créneau, simple ou récurrent, qui chevauche [startTime, endTime]
+    public boolean hasConflict(Long roomId, LocalDateTime startTime, LocalDateTime endTime, Long excludedReservationId) {
+        if (hasRecurrenceConflict(roomId, startTime, endTime)) {
+            return true;
+        }
+        RoomTree roomTree = roomTrees.get(roomId);
+        if (roomTree == null) {
+            return false;
+        }
+        long excludedId = excludedReservationId != null ? excludedReservationId : NO_RESERVATION;
+        roomTree.lock.readLock().lock();
+        try {
+            return roomTree.tree.overlaps(IntervalTree.toKey(startTime), IntervalTree.toKey(endTime), excludedId);
+        } finally {
+            roomTree.lock.readLock().unlock();
+        }
+    }
+
+    // Retourne les créneaux de la salle qui chevauchent [startTime, endTime], triés par début
+    public List<ReservationSlot> findOverlapping(Long roomId, LocalDateTime startTime, LocalDateTime endTime) {
+        RoomTree roomTree = roomTrees.get(roomId);
+        List<ReservationSlot> result = new ArrayList<>();
+        if (roomTree == null) {
+            return result;
+        }
+        roomTree.lock.readLock().lock();
+        try {
+            roomTree.tree.forEachOverlapping(IntervalTree.toKey(startTime), IntervalTree.toKey(endTime), (id, start, end) -> {
+                ReservationSlot slot = slots.get(id);
+                if (slot != null) {
+                    result.add(slot);
+                }
+            });
+        } finally {
+            roomTree.lock.readLock().unlock();
+        }
+        return result;
+    }
+
+    // Vérifie si une occurrence d'un motif récurrent de la salle chevauche [startTime, endTime]
+    public boolean hasRecurrenceConflict(Long roomId, LocalDateTime startTime, LocalDateTime endTime) {
+        List<RecurrenceSlot> candidates = roomRecurrences.get(roomId);
+        if (candidates == null) {
+            return false;
+        }
+        long start = IntervalTree.toKey(startTime);
+        long end = IntervalTree.toKey(endTime);
+        for (RecurrenceSlot recurrence : candidates) {
+            if (recurrence.overlaps(start, end)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Retourne le premier motif de la même salle dont une occurrence chevauche une occurrence du motif fourni
+    public Optional<RecurrenceSlot> findConflictingRecurrence(RecurrenceSlot candidate) {
+        return findRecurrences(candidate.roomId()).stream()
+                .filter(recurrence -> !recurrence.id().equals(candidate.id()))
+                .filter(recurrence -> recurrence.overlaps(candidate))
+                .findFirst();
+    }
+
+    public List<RecurrenceSlot> findRecurrences(Long roomId) {
+        return roomRecurrences.getOrDefault(roomId, List.of());
+    }
+
+    // Remplace les motifs récurrents par ceux fournis
+    public void loadRecurrences(Collection<RecurrenceSlot> initialRecurrences) {
+        clearRecurrences();
+        initialRecurrences.forEach(this::putRecurrence);
+    }
+
+    // Ajoute ou remplace le motif d'une réservation récurrente
+    public void putRecurrence(RecurrenceSlot recurrence) {
+        removeRecurrence(recurrence.id());
+        recurrences.put(recurrence.id(), recurrence);
+        roomRecurrences.computeIfAbsent(recurrence.roomId(), roomId -> new CopyOnWriteArrayList<>()).add(recurrence);
+    }
+
+    public Optional<RecurrenceSlot> removeRecurrence(Long recurrenceId) {
+        RecurrenceSlot previous = recurrences.remove(recurrenceId);
+        if (previous != null) {
+            List<RecurrenceSlot> candidates = roomRecurrences.get(previous.roomId());
+            if (candidates != null) {
+                candidates.remove(previous);
+            }
+        }
+        return Optional.ofNullable(previous);
+    }
+
+    public Optional<ReservationSlot> find(Long reservationId) {
+        return Optional.ofNullable(slots.get(reservationId));
+    }
+
+    public void put(Reservation reservation) {
+        put(ReservationSlot.of(reservation));
+    }
+
+    // Ajoute ou remplace le créneau d'une réservation (changement d'horaire ou de salle)
+    public void put(ReservationSlot slot) {
+        ReservationSlot previous = slots.put(slot.id(), slot);
+        if (previous != null) {
+            removeFromTree(previous);
+        }
+        RoomTree roomTree = roomTrees.computeIfAbsent(slot.roomId(), roomId -> new RoomTree());
+        roomTree.lock.writeLock().lock();
+        try {
+            roomTree.tree.insert(slot.id(), IntervalTree.toKey(slot.startTime()), IntervalTree.toKey(slot.endTime()));
+        } finally {
+            roomTree.lock.writeLock().unlock();
+        }
+    }
+
+    // Retire une réservation de l'index et retourne son créneau s'il était connu
+    public Optional<ReservationSlot> remove(Long reservationId) {
+        ReservationSlot previous = slots.remove(reservationId);
+        if (previous != null) {
+            removeFromTree(previous);
+        }
+        return Optional.ofNullable(previous);
+    }
+
+    // Retire les créneaux d'une salle supprimée (suppression en cascade côté base) et les retourne
+    public List<ReservationSlot> removeRoom(Long roomId) {
+        List<ReservationSlot> removed = slots.values().stream()
+                .filter(slot -> slot.roomId().equals(roomId))
+                .toList();
+        removed.forEach(slot -> slots.remove(slot.id()));
+        roomTrees.remove(roomId);
+        recurrences.values().removeIf(recurrence -> recurrence.roomId().equals(roomId));
+        roomRecurrences.remove(roomId);
+        return removed;
+    }
+
+    // Retire les créneaux d'un utilisateur supprimé (suppression en cascade côté base) et les retourne
+    public List<ReservationSlot> removeUser(Long userId) {
+        List<ReservationSlot> removed = slots.values().stream()
+                .filter(slot -> userId.equals(slot.userId()))
+                .toList();
+        removed.forEach(slot -> remove(slot.id()));
+        recurrences.values().stream()
+                .filter(recurrence -> userId.equals(recurrence.userId()))
+                .map(RecurrenceSlot::id)
+                .toList()
+                .forEach(this::removeRecurrence);
+        return removed;
+    }
+
+    public void clear() {
+        clearReservations();
+        clearRecurrences();
+    }
+
+    // Vide les créneaux des réservations simples (suppression de toutes les réservations)
+    public void clearReservations() {
+        slots.clear();
+        roomTrees.clear();
+    }
+
+    private void clearRecurrences() {
+        recurrences.clear();
+        roomRecurrences.clear();
+    }
+
+    private void removeFromTree(ReservationSlot slot) {
+        RoomTree roomTree = roomTrees.get(slot.roomId());
+        if (roomTree != null) {
+            roomTree.lock.writeLock().lock();
+            try {
+                roomTree.tree.remove(slot.id(), IntervalTree.toKey(slot.startTime()));
+            } finally {
+                roomTree.lock.writeLock().unlock();
+            }
+        }
+    }
+
+    private static final class RoomTree {
+        private final IntervalTree tree = new IntervalTree();
+        private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    }
+}
@@ -0,0 +1,105 @@
+package com.example.MeetingMinder.index;
+
+import com.example.MeetingMinder.model.Room;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Catalogue en mémoire des salles trié par capacité, combiné à l'index des réservations
+ * pour répondre aux recherches de disponibilité sans interroger la base.
+ * Le tableau est remplacé à chaque modification (copie sur écriture) : les lectures sont sans verrou.
+ */
+@Component
+public class RoomAvailabilityIndex {
+
+    private static final Comparator<Room> BY_CAPACITY = Comparator
+            .comparingInt(RoomAvailabilityIndex::capacityOf)
+            .thenComparing(Room::getId);
+
+    private final ReservationIndex reservationIndex;
+    private final Object writeLock = new Object();
+    private volatile Room[] roomsByCapacity = new Room[0];
+
+    public RoomAvailabilityIndex(ReservationIndex reservationIndex) {
+        this.reservationIndex = reservationIndex;
+    }
+
+    public void load(Collection<Room> rooms) {
+        synchronized (writeLock) {
+            roomsByCapacity = rooms.stream().map(RoomAvailabilityIndex::copyOf).sorted(BY_CAPACITY).toArray(Room[]::new);
+        }
+    }
+
+    public int size() {
+        return roomsByCapacity.length;
+    }
+
+    // Ajoute ou remplace une salle (la copie conservée n'est pas affectée par les modifications ultérieures de l'entité)
+    public void put(Room room) {
+        synchronized (writeLock) {
+            Room[] rooms = Arrays.stream(roomsByCapacity).filter(r -> !r.getId().equals(room.getId())).toArray(Room[]::new);
+            Room[] updated = Arrays.copyOf(rooms, rooms.length + 1);
+            updated[rooms.length] = copyOf(room);
+            Arrays.sort(updated, BY_CAPACITY);
+            roomsByCapacity = updated;
+        }
+    }
+
+    public void remove(Long roomId) {
+        synchronized (writeLock) {
+            roomsByCapacity = Arrays.stream(roomsByCapacity).filter(r -> !r.getId().equals(roomId)).toArray(Room[]::new);
+        }
+    }
+
+    public void clear() {
+        synchronized (writeLock) {
+            roomsByCapacity = new Room[0];
+        }
+    }
+
+    // Retourne les salles d'au moins minCapacity places libres sur [startTime, endTime], les plus petites d'abord
+    public List<Room> findAvailable(int minCapacity, LocalDateTime startTime, LocalDateTime endTime, int limit) {
+        Room[] rooms = roomsByCapacity;
+        List<Room> available = new ArrayList<>();
+        for (int i = firstWithCapacity(rooms, minCapacity); i < rooms.length && available.size() < limit; i++) {
+            if (!reservationIndex.hasConflict(rooms[i].getId(), startTime, endTime, null)) {
+                available.add(rooms[i]);
+            }
+        }
+        return available;
+    }
+
+    // Recherche dichotomique de la première salle de capacité suffisante
+    private static int firstWithCapacity(Room[] rooms, int minCapacity) {
+        int low = 0;
+        int high = rooms.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (capacityOf(rooms[mid]) < minCapacity) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static int capacityOf(Room room) {
+        return room.getCapacity() != null ? room.getCapacity() : 0;
+    }
+
+    private static Room copyOf(Room room) {
+        Room copy = new Room();
+        copy.setId(room.getId());
+        copy.setName(room.getName());
+        copy.setCapacity(room.getCapacity());
+        copy.setDescription(room.getDescription());
+        return copy;
+    }
+}
@@ -0,0 +1,105 @@
+package com.example.MeetingMinder.model;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.persistence.*;
+import org.hibernate.annotations.Immutable;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.LocalDateTime;
+
+// Réservation terminée, déplacée hors de la table reservations par l'archivage (voir V6__reservations_archive.sql) ;
+// lecture seule : l'identifiant et la version sont ceux de la réservation d'origine
+@Entity
+@Immutable
+@Table(name = "reservations_archive", indexes = {
+        @Index(name = "idx_reservations_archive_start_id", columnList = "start_time, id")
+})
+public class ArchivedReservation {
+
+    @Id
+    @JdbcTypeCode(SqlTypes.INTEGER)
+    @Schema(description = "Identifiant de la réservation d'origine", example = "1")
+    private Long id;
+
+    @Schema(description = "Date et heure de début de la réservation", example = "2024-08-25T10:00:00")
+    @Column(name = "start_time", nullable = false)
+    private LocalDateTime startTime;
+
+    @Schema(description = "Date et heure de fin de la réservation", example = "2024-08-25T12:00:00")
+    @Column(name = "end_time", nullable = false)
+    private LocalDateTime endTime;
+
+    @Schema(description = "Description de la réservation", example = "Réunion de projet")
+    @Column(nullable = true)
+    private String description;
+
+    @Schema(description = "Version de la réservation au moment de l'archivage", example = "0")
+    @Column(nullable = false)
+    private long version;
+
+    @Schema(description = "Date et heure de création de la réservation", example = "2024-08-01T08:00:00")
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    @Schema(description = "Date et heure de la dernière mise à jour de la réservation", example = "2024-08-01T09:00:00")
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    @Schema(description = "Date et heure de l'archivage", example = "2024-12-01T03:30:00")
+    @Column(name = "archived_at", nullable = false)
+    private LocalDateTime archivedAt;
+
+    @ManyToOne
+    @JoinColumn(name = "user_id", nullable = false)
+    @Schema(description = "Utilisateur ayant créé la réservation", implementation = User.class)
+    private User user;
+
+    @ManyToOne
+    @JoinColumn(name = "room_id", nullable = false)
+    @Schema(description = "Salle réservée", implementation = Room.class)
+    private Room room;
+
+    protected ArchivedReservation() {
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public LocalDateTime getStartTime() {
+        return startTime;
+    }
+
+    public LocalDateTime getEndTime() {
+        return endTime;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public LocalDateTime getArchivedAt() {
+        return archivedAt;
+    }
+
+    public User getUser() {
+        return user;
+    }
+
+    public Room getRoom() {
+        return room;
+    }
+}
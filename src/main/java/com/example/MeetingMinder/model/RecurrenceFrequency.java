@@ -0,0 +1,21 @@
+package com.example.MeetingMinder.model;
+
+/**
+ * Fréquences de répétition d'une réservation récurrente (équivalent des FREQ=DAILY et FREQ=WEEKLY d'une RRULE).
+ */
+public enum RecurrenceFrequency {
+
+    DAILY(1),
+    WEEKLY(7);
+
+    private final int days;
+
+    RecurrenceFrequency(int days) {
+        this.days = days;
+    }
+
+    // Nombre de jours entre deux occurrences pour un intervalle de 1
+    public int getDays() {
+        return days;
+    }
+}
@@ -0,0 +1,175 @@
+package com.example.MeetingMinder.model;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import io.swagger.v3.oas.annotations.media.Schema;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Réservation répétée à intervalle régulier, stockée en une seule ligne (motif de type RRULE :
+ * fréquence, intervalle et date de fin facultative). Les occurrences ne sont jamais enregistrées :
+ * elles sont calculées à la demande pour la période consultée.
+ */
+@Entity
+@Table(name = "recurring_reservations", indexes = {
+        @Index(name = "idx_recurring_reservations_room_start", columnList = "room_id, start_time")
+})
+public class RecurringReservation {
+
+    @Id
+    @JdbcTypeCode(SqlTypes.INTEGER)
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Schema(description = "Identifiant unique de la réservation récurrente", example = "1")
+    private Long id;
+
+    @NotNull(message = "La date de début est obligatoire")
+    @Schema(description = "Date et heure de début de la première occurrence", example = "2024-09-02T10:00:00")
+    @Column(name = "start_time", nullable = false)
+    private LocalDateTime startTime;
+
+    @NotNull(message = "La date de fin est obligatoire")
+    @Schema(description = "Date et heure de fin de la première occurrence", example = "2024-09-02T11:00:00")
+    @Column(name = "end_time", nullable = false)
+    private LocalDateTime endTime;
+
+    @NotNull(message = "La fréquence est obligatoire")
+    @Enumerated(EnumType.STRING)
+    @Schema(description = "Fréquence de répétition", example = "WEEKLY")
+    @Column(nullable = false, length = 10)
+    private RecurrenceFrequency frequency;
+
+    @Min(value = 1, message = "L'intervalle doit être d'au moins 1")
+    @Schema(description = "Intervalle entre deux occurrences, en unités de la fréquence (2 avec WEEKLY : une semaine sur deux)", example = "1")
+    @Column(name = "repeat_interval", nullable = false)
+    private int repeatInterval = 1;
+
+    @Schema(description = "Date de la dernière occurrence possible (incluse), absente pour une répétition sans fin", example = "2024-12-20")
+    @Column(name = "until_date")
+    private LocalDate untilDate;
+
+    @Schema(description = "Description de la réservation", example = "Point d'équipe hebdomadaire")
+    @Column(nullable = true)
+    private String description;
+
+    @Schema(description = "Date et heure de création de la réservation récurrente", example = "2024-08-01T08:00:00", accessMode = Schema.AccessMode.READ_ONLY)
+    @Column(name = "created_at", updatable = false, nullable = false)
+    private LocalDateTime createdAt;
+
+    @Schema(description = "Date et heure de la dernière mise à jour de la réservation récurrente", example = "2024-08-01T09:00:00", accessMode = Schema.AccessMode.READ_ONLY)
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    @ManyToOne
+    @JoinColumn(name = "user_id", nullable = false)
+    @Schema(description = "Utilisateur ayant créé la réservation récurrente", implementation = User.class)
+    private User user;
+
+    @ManyToOne
+    @JoinColumn(name = "room_id", nullable = false)
+    @Schema(description = "Salle réservée", implementation = Room.class)
+    private Room room;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+        updatedAt = createdAt;
+    }
+
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = LocalDateTime.now();
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public LocalDateTime getStartTime() {
+        return startTime;
+    }
+
+    public void setStartTime(LocalDateTime startTime) {
+        this.startTime = startTime;
+    }
+
+    public LocalDateTime getEndTime() {
+        return endTime;
+    }
+
+    public void setEndTime(LocalDateTime endTime) {
+        this.endTime = endTime;
+    }
+
+    public RecurrenceFrequency getFrequency() {
+        return frequency;
+    }
+
+    public void setFrequency(RecurrenceFrequency frequency) {
+        this.frequency = frequency;
+    }
+
+    public int getRepeatInterval() {
+        return repeatInterval;
+    }
+
+    public void setRepeatInterval(int repeatInterval) {
+        this.repeatInterval = repeatInterval;
+    }
+
+    public LocalDate getUntilDate() {
+        return untilDate;
+    }
+
+    public void setUntilDate(LocalDate untilDate) {
+        this.untilDate = untilDate;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public void setDescription(String description) {
+        this.description = description;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
+    public User getUser() {
+        return user;
+    }
+
+    public void setUser(User user) {
+        this.user = user;
+    }
+
+    public Room getRoom() {
+        return room;
+    }
+
+    public void setRoom(Room room) {
+        this.room = room;
+    }
+}
@@ -4,14 +4,24 @@ import jakarta.persistence.*;
 import jakarta.validation.constraints.Future;
 import jakarta.validation.constraints.NotNull;
 import io.swagger.v3.oas.annotations.media.Schema;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "reservations")
+// Index composites : détection de conflits par salle, réservations d'un utilisateur, parcours par période
+@Table(name = "reservations", indexes = {
+        @Index(name = "idx_reservations_room_time", columnList = "room_id, start_time, end_time"),
+        @Index(name = "idx_reservations_user_start", columnList = "user_id, start_time"),
+        @Index(name = "idx_reservations_start_id", columnList = "start_time, id")
+})
 public class Reservation {
 
+    // Séquence à allocation groupée (table reservations_seq sous MySQL) : compatible avec le batching JDBC
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @JdbcTypeCode(SqlTypes.INTEGER)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "reservation_seq")
+    @SequenceGenerator(name = "reservation_seq", sequenceName = "reservations_seq", allocationSize = 50)
     @Schema(description = "Identifiant unique de la réservation", example = "1")
     private Long id;
 
@@ -29,6 +39,13 @@ public class Reservation {
     @Column(nullable = true)
     private String description;
 
+    // Incrémentée à chaque mise à jour (verrouillage optimiste de Hibernate) ; avec les versions de la salle
+    // et de l'utilisateur, elle forme l'ETag de la réservation
+    @Version
+    @Schema(description = "Version de la réservation, incrémentée à chaque modification", example = "0", accessMode = Schema.AccessMode.READ_ONLY)
+    @Column(nullable = false)
+    private long version;
+
     @Schema(description = "Date et heure de création de la réservation", example = "2024-08-01T08:00:00", accessMode = Schema.AccessMode.READ_ONLY)
     @Column(name = "created_at", updatable = false, nullable = false)
     private LocalDateTime createdAt;
@@ -91,6 +108,14 @@ public class Reservation {
         this.description = description;
     }
 
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
+
     public LocalDateTime getCreatedAt() {
         return createdAt;
     }
@@ -0,0 +1,16 @@
+package com.example.MeetingMinder.model;
+
+import java.time.LocalDateTime;
+
+/**
+ * Vue légère d'une réservation : uniquement les colonnes utiles à la détection de conflits.
+ * Utilisée comme projection JPQL pour éviter l'hydratation des entités User et Room.
+ */
+public record ReservationSlot(Long id, Long roomId, Long userId, LocalDateTime startTime, LocalDateTime endTime) {
+
+    public static ReservationSlot of(Reservation reservation) {
+        Long userId = reservation.getUser() != null ? reservation.getUser().getId() : null;
+        return new ReservationSlot(reservation.getId(), reservation.getRoom().getId(), userId,
+                reservation.getStartTime(), reservation.getEndTime());
+    }
+}
@@ -3,12 +3,15 @@ package com.example.MeetingMinder.model;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import io.swagger.v3.oas.annotations.media.Schema;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
 
 @Entity
 @Table(name = "roles")
 public class Role {
 
     @Id
+    @JdbcTypeCode(SqlTypes.INTEGER)
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     @Schema(description = "Identifiant unique du rôle", example = "1")
     private Long id;
@@ -18,6 +21,11 @@ public class Role {
     @Schema(description = "Nom unique du rôle", example = "Admin")
     private String name;
 
+    @Version
+    @Schema(description = "Version du rôle, incrémentée à chaque modification", example = "0", accessMode = Schema.AccessMode.READ_ONLY)
+    @Column(nullable = false)
+    private long version;
+
     // Getter pour l'identifiant du rôle
     public Long getId() {
         return id;
@@ -37,4 +45,21 @@ public class Role {
     public void setName(String name) {
         this.name = name;
     }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
+
+    // Copie détachée, modifiée à la place de l'instance partagée par le cache des rôles
+    public Role copy() {
+        Role copy = new Role();
+        copy.id = id;
+        copy.name = name;
+        copy.version = version;
+        return copy;
+    }
 }
@@ -4,12 +4,16 @@ import jakarta.persistence.*;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import io.swagger.v3.oas.annotations.media.Schema;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "rooms")
 public class Room {
 
     @Id
+    @JdbcTypeCode(SqlTypes.INTEGER)
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     @Schema(description = "Identifiant unique de la salle", example = "1")
     private Long id;
@@ -27,6 +31,22 @@ public class Room {
     @Column()
     private String description;
 
+    // Version et date de mise à jour : ETag et Last-Modified des réponses
+    @Version
+    @Schema(description = "Version de la salle, incrémentée à chaque modification", example = "0", accessMode = Schema.AccessMode.READ_ONLY)
+    @Column(nullable = false)
+    private long version;
+
+    @Schema(description = "Date et heure de la dernière mise à jour de la salle", example = "2024-08-01T09:00:00", accessMode = Schema.AccessMode.READ_ONLY)
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    @PrePersist
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = LocalDateTime.now();
+    }
+
     // Getters et Setters
     public Long getId() {
         return id;
@@ -59,4 +79,32 @@ public class Room {
     public void setDescription(String description) {
         this.description = description;
     }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
+    // Copie détachée, modifiée à la place de l'instance partagée par le cache des salles
+    public Room copy() {
+        Room copy = new Room();
+        copy.id = id;
+        copy.name = name;
+        copy.capacity = capacity;
+        copy.description = description;
+        copy.version = version;
+        copy.updatedAt = updatedAt;
+        return copy;
+    }
 }
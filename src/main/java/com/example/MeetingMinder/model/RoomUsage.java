@@ -0,0 +1,64 @@
+package com.example.MeetingMinder.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.MappedSuperclass;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.Transient;
+import org.springframework.data.domain.Persistable;
+
+/**
+ * Agrégat d'occupation d'une salle sur une tranche : minutes réservées et nombre de réservations
+ * qui touchent la tranche. Une réservation à cheval sur plusieurs tranches compte dans chacune d'elles.
+ * La clé étant fournie, isNew indique à Spring Data qu'une ligne créée doit être insérée sans lecture préalable
+ * (recalcul complet des agrégats par lots JDBC).
+ */
+@MappedSuperclass
+public abstract class RoomUsage implements Persistable<RoomUsageId> {
+
+    @EmbeddedId
+    private RoomUsageId id;
+
+    @Column(name = "booked_minutes", nullable = false)
+    private long bookedMinutes;
+
+    @Column(name = "booking_count", nullable = false)
+    private int bookingCount;
+
+    @Transient
+    private boolean isNew = true;
+
+    protected RoomUsage() {
+    }
+
+    protected RoomUsage(RoomUsageId id, long bookedMinutes, int bookingCount) {
+        this.id = id;
+        this.bookedMinutes = bookedMinutes;
+        this.bookingCount = bookingCount;
+    }
+
+    @PostLoad
+    @PostPersist
+    protected void markNotNew() {
+        isNew = false;
+    }
+
+    @Override
+    public RoomUsageId getId() {
+        return id;
+    }
+
+    @Override
+    public boolean isNew() {
+        return isNew;
+    }
+
+    public long getBookedMinutes() {
+        return bookedMinutes;
+    }
+
+    public int getBookingCount() {
+        return bookingCount;
+    }
+}
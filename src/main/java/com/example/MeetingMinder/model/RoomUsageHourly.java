@@ -0,0 +1,17 @@
+package com.example.MeetingMinder.model;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+
+// Occupation d'une salle par heure (la ligne est supprimée en cascade avec la salle, voir V5__room_usage_rollups.sql)
+@Entity
+@Table(name = "room_usage_hourly")
+public class RoomUsageHourly extends RoomUsage {
+
+    protected RoomUsageHourly() {
+    }
+
+    public RoomUsageHourly(RoomUsageId id, long bookedMinutes, int bookingCount) {
+        super(id, bookedMinutes, bookingCount);
+    }
+}
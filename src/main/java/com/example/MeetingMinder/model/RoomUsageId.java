@@ -0,0 +1,56 @@
+package com.example.MeetingMinder.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * Clé d'un agrégat d'occupation : salle et début de la tranche (heure ou jour).
+ */
+@Embeddable
+public class RoomUsageId implements Serializable {
+
+    @Column(name = "room_id", nullable = false)
+    @JdbcTypeCode(SqlTypes.INTEGER)
+    private Long roomId;
+
+    @Column(name = "bucket_start", nullable = false)
+    private LocalDateTime bucketStart;
+
+    protected RoomUsageId() {
+    }
+
+    public RoomUsageId(Long roomId, LocalDateTime bucketStart) {
+        this.roomId = roomId;
+        this.bucketStart = bucketStart;
+    }
+
+    public Long getRoomId() {
+        return roomId;
+    }
+
+    public LocalDateTime getBucketStart() {
+        return bucketStart;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof RoomUsageId other)) {
+            return false;
+        }
+        return Objects.equals(roomId, other.roomId) && Objects.equals(bucketStart, other.bucketStart);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(roomId, bucketStart);
+    }
+}
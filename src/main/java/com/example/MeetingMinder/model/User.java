@@ -5,11 +5,14 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
 
 @Entity
 @Table(name = "users")
 public class User {
     @Id
+    @JdbcTypeCode(SqlTypes.INTEGER)
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     @Schema(description = "Identifiant unique de l'utilisateur ", example = "1")
     private Long id;
@@ -29,6 +32,11 @@ public class User {
     @JoinColumn(name = "role_id", nullable = false)
     private Role role;
 
+    @Version
+    @Schema(description = "Version de l'utilisateur, incrémentée à chaque modification", example = "0", accessMode = Schema.AccessMode.READ_ONLY)
+    @Column(nullable = false)
+    private long version;
+
     // Getters et Setters
     public Long getId() {
         return id;
@@ -61,4 +69,23 @@ public class User {
     public void setRole(Role role) {
         this.role = role;
     }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
+
+    // Copie détachée, modifiée à la place de l'instance partagée par le cache des utilisateurs
+    public User copy() {
+        User copy = new User();
+        copy.id = id;
+        copy.name = name;
+        copy.password = password;
+        copy.role = role;
+        copy.version = version;
+        return copy;
+    }
 }
@@ -0,0 +1,60 @@
+package com.example.MeetingMinder.repository;
+
+import com.example.MeetingMinder.dto.ReservationExportRow;
+import com.example.MeetingMinder.model.ArchivedReservation;
+import com.example.MeetingMinder.model.ReservationSlot;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+@Repository
+public interface ArchivedReservationRepository extends JpaRepository<ArchivedReservation, Long> {
+
+    // Copie des réservations en une instruction, sans les charger ; leur suppression suit dans la même transaction
+    @Modifying
+    @Query(value = "insert into reservations_archive (id, start_time, end_time, description, version, created_at, updated_at, " +
+            "archived_at, user_id, room_id) select id, start_time, end_time, description, version, created_at, updated_at, " +
+            ":archivedAt, user_id, room_id from reservations where id in :ids",
+            nativeQuery = true)
+    int copyFromReservations(@Param("ids") Collection<Long> ids, @Param("archivedAt") LocalDateTime archivedAt);
+
+    // Historique d'une période, avec ses utilisateurs, rôles et salles en une seule requête
+    @EntityGraph(attributePaths = {"user", "user.role", "room"})
+    @Query(value = "select a from ArchivedReservation a where a.startTime >= :from and a.startTime < :to",
+            countQuery = "select count(a) from ArchivedReservation a where a.startTime >= :from and a.startTime < :to")
+    Page<ArchivedReservation> findByPeriod(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to, Pageable pageable);
+
+    // Créneaux archivés, pour le recalcul des agrégats d'occupation
+    @Query("select new com.example.MeetingMinder.model.ReservationSlot(a.id, a.room.id, a.user.id, a.startTime, a.endTime) " +
+            "from ArchivedReservation a")
+    List<ReservationSlot> findAllSlots();
+
+    // Créneaux archivés d'une salle qui chevauchent ]from, to[, pour le planning d'un jour passé
+    @Query("select new com.example.MeetingMinder.model.ReservationSlot(a.id, a.room.id, a.user.id, a.startTime, a.endTime) " +
+            "from ArchivedReservation a where a.room.id = :roomId and a.startTime < :to and a.endTime > :from")
+    List<ReservationSlot> findSlotsOverlapping(@Param("roomId") Long roomId, @Param("from") LocalDateTime from,
+                                               @Param("to") LocalDateTime to);
+
+    // Export : même projection que ReservationRepository.streamExportRows
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select new com.example.MeetingMinder.dto.ReservationExportRow(a.id, a.startTime, a.endTime, a.description, " +
+            "ro.id, ro.name, u.id, u.name) from ArchivedReservation a join a.room ro join a.user u " +
+            "where a.startTime >= :from and a.startTime < :to order by a.startTime, a.id")
+    Stream<ReservationExportRow> streamExportRows(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+}
@@ -0,0 +1,27 @@
+package com.example.MeetingMinder.repository;
+
+import com.example.MeetingMinder.model.RecurringReservation;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface RecurringReservationRepository extends JpaRepository<RecurringReservation, Long> {
+
+    // Charge les motifs avec leurs utilisateurs, rôles et salles en une seule requête (initialisation de l'index)
+    @Override
+    @EntityGraph(attributePaths = {"user", "user.role", "room"})
+    List<RecurringReservation> findAll();
+
+    @EntityGraph(attributePaths = {"user", "user.role", "room"})
+    List<RecurringReservation> findByRoomIdOrderByStartTimeAsc(Long roomId);
+
+    // Motifs commencés avant la fin de la période, pour une salle ou toutes ; les occurrences sont ensuite calculées en mémoire
+    @EntityGraph(attributePaths = {"user", "user.role", "room"})
+    @Query("select r from RecurringReservation r where (:roomId is null or r.room.id = :roomId) and r.startTime <= :to")
+    List<RecurringReservation> findStartedBefore(@Param("roomId") Long roomId, @Param("to") LocalDateTime to);
+}
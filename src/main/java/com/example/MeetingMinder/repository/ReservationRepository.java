@@ -1,15 +1,113 @@
 package com.example.MeetingMinder.repository;
 
+import com.example.MeetingMinder.dto.EntityVersion;
+import com.example.MeetingMinder.dto.ReservationExportRow;
 import com.example.MeetingMinder.model.Reservation;
+import com.example.MeetingMinder.model.ReservationSlot;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface ReservationRepository extends JpaRepository<Reservation, Long> {
 
-    List<Reservation> findByRoomIdAndStartTimeLessThanEqualAndEndTimeGreaterThanEqual(
-            Long roomId, LocalDateTime endTime, LocalDateTime startTime);
+    String VERSION_EXPRESSION = "concat(cast(r.version as String), '.', cast(ro.version as String), '.', " +
+            "cast(u.version as String), '.', cast(rl.version as String))";
 
+    // Charge la page avec ses utilisateurs, rôles et salles en une seule requête (pas de N+1)
+    @Override
+    @EntityGraph(attributePaths = {"user", "user.role", "room"})
+    Page<Reservation> findAll(Pageable pageable);
+
+    // Première page de la pagination par curseur (startTime, id)
+    @EntityGraph(attributePaths = {"user", "user.role", "room"})
+    List<Reservation> findAllByOrderByStartTimeAscIdAsc(Limit limit);
+
+    // Pages suivantes : lignes strictement après la clé (startTime, id) du curseur
+    @EntityGraph(attributePaths = {"user", "user.role", "room"})
+    @Query("select r from Reservation r where r.startTime > :startTime or (r.startTime = :startTime and r.id > :id) " +
+            "order by r.startTime, r.id")
+    List<Reservation> findAfter(@Param("startTime") LocalDateTime startTime, @Param("id") Long id, Limit limit);
+
+    // Version de la réservation et des entités incluses dans sa représentation (salle, utilisateur, rôle),
+    // lue sans hydrater les entités ; sans date de modification, celle de la réservation ignorant les trois autres
+    @Query("select new com.example.MeetingMinder.dto.EntityVersion(r.id, " + VERSION_EXPRESSION + ") " +
+            "from Reservation r join r.room ro join r.user u join u.role rl where r.id = :id")
+    Optional<EntityVersion> findVersionById(@Param("id") Long id);
+
+    // Versions des lignes d'une page, dans l'ordre du Pageable
+    @Query(value = "select new com.example.MeetingMinder.dto.EntityVersion(r.id, " + VERSION_EXPRESSION + ") " +
+            "from Reservation r join r.room ro join r.user u join u.role rl",
+            countQuery = "select count(r) from Reservation r")
+    Page<EntityVersion> findVersions(Pageable pageable);
+
+    // Vérifie un conflit de créneau sans charger les entités (la réservation exclue est celle en cours de mise à jour)
+    @Query("select case when count(r) > 0 then true else false end from Reservation r " +
+            "where r.room.id = :roomId and r.startTime <= :endTime and r.endTime >= :startTime " +
+            "and (:excludedId is null or r.id <> :excludedId)")
+    boolean existsConflict(@Param("roomId") Long roomId, @Param("startTime") LocalDateTime startTime,
+                           @Param("endTime") LocalDateTime endTime, @Param("excludedId") Long excludedId);
+
+    // Charge tous les créneaux pour initialiser l'index en mémoire
+    @Query("select new com.example.MeetingMinder.model.ReservationSlot(r.id, r.room.id, r.user.id, r.startTime, r.endTime) " +
+            "from Reservation r")
+    List<ReservationSlot> findAllSlots();
+
+    // Charge en une requête les créneaux existants des salles d'un lot sur la période couverte par le lot
+    @Query("select new com.example.MeetingMinder.model.ReservationSlot(r.id, r.room.id, r.user.id, r.startTime, r.endTime) " +
+            "from Reservation r where r.room.id in :roomIds and r.startTime <= :endTime and r.endTime >= :startTime")
+    List<ReservationSlot> findSlotsByRoomIdsBetween(@Param("roomIds") Collection<Long> roomIds,
+                                                    @Param("startTime") LocalDateTime startTime,
+                                                    @Param("endTime") LocalDateTime endTime);
+
+    // Créneaux d'une salle qui se terminent après startTime et, si endTime est fourni, commencent avant endTime
+    // (période couverte par un motif récurrent, sans fin lorsque endTime est null)
+    @Query("select new com.example.MeetingMinder.model.ReservationSlot(r.id, r.room.id, r.user.id, r.startTime, r.endTime) " +
+            "from Reservation r where r.room.id = :roomId and r.endTime >= :startTime " +
+            "and (:endTime is null or r.startTime <= :endTime)")
+    List<ReservationSlot> findSlotsByRoomIdFrom(@Param("roomId") Long roomId, @Param("startTime") LocalDateTime startTime,
+                                                @Param("endTime") LocalDateTime endTime);
+
+    // Export : lignes lues au fil de l'eau par un curseur JDBC, à consommer dans une transaction en lecture seule
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select new com.example.MeetingMinder.dto.ReservationExportRow(r.id, r.startTime, r.endTime, r.description, " +
+            "ro.id, ro.name, u.id, u.name) from Reservation r join r.room ro join r.user u " +
+            "where r.startTime >= :from and r.startTime < :to order by r.startTime, r.id")
+    Stream<ReservationExportRow> streamExportRows(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    // Réservations terminées avant la date limite, à archiver : le filtre sur start_time (toujours antérieur à end_time)
+    // parcourt l'index (start_time, id) sur la seule plage concernée
+    @Query("select new com.example.MeetingMinder.model.ReservationSlot(r.id, r.room.id, r.user.id, r.startTime, r.endTime) " +
+            "from Reservation r where r.startTime < :cutoff and r.endTime < :cutoff order by r.startTime, r.id")
+    List<ReservationSlot> findSlotsEndedBefore(@Param("cutoff") LocalDateTime cutoff, Limit limit);
+
+    // Relecture des réservations à archiver, verrouillées jusqu'à la fin de la transaction : une modification
+    // validée entre-temps (déplacée dans une autre salle ou à une date ultérieure) exclut la réservation du lot
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select r.id from Reservation r where r.id in :ids and r.room.id in :roomIds and r.endTime < :cutoff")
+    List<Long> lockIdsEndedBefore(@Param("ids") Collection<Long> ids, @Param("roomIds") Collection<Long> roomIds,
+                                  @Param("cutoff") LocalDateTime cutoff);
+
+    @Modifying
+    @Query("delete from Reservation r where r.id in :ids")
+    int deleteByIds(@Param("ids") Collection<Long> ids);
 }
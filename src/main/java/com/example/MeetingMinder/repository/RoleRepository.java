@@ -1,10 +1,16 @@
 package com.example.MeetingMinder.repository;
 
 import com.example.MeetingMinder.model.Role;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 @Repository
 public interface RoleRepository extends JpaRepository<Role, Long> {
     boolean existsByName(String name);
+
+    // Pagination par curseur sur la clé primaire
+    List<Role> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
 }
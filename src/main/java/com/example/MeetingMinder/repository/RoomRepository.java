@@ -1,11 +1,33 @@
 package com.example.MeetingMinder.repository;
 
+import com.example.MeetingMinder.dto.EntityVersion;
 import com.example.MeetingMinder.model.Room;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
 @Repository
 public interface RoomRepository extends JpaRepository<Room, Long> {
 
     boolean existsByName(String name);
+
+    // Pagination par curseur sur la clé primaire
+    List<Room> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+    // Versions des salles d'une page, sans hydratation (requêtes conditionnelles sur la liste)
+    @Query(value = "select new com.example.MeetingMinder.dto.EntityVersion(r.id, cast(r.version as String)) from Room r",
+            countQuery = "select count(r) from Room r")
+    Page<EntityVersion> findVersions(Pageable pageable);
+
+    // Identifiants existants parmi ceux fournis, sans charger les salles
+    @Query("select r.id from Room r where r.id in :ids")
+    Set<Long> findExistingIds(@Param("ids") Collection<Long> ids);
 }
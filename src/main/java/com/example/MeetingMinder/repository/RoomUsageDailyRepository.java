@@ -0,0 +1,47 @@
+package com.example.MeetingMinder.repository;
+
+import com.example.MeetingMinder.dto.RoomUsageTotal;
+import com.example.MeetingMinder.model.RoomUsageDaily;
+import com.example.MeetingMinder.model.RoomUsageId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface RoomUsageDailyRepository extends JpaRepository<RoomUsageDaily, RoomUsageId> {
+
+    // Ajout (ou retrait, valeurs négatives) en une instruction atomique, la ligne est créée au premier ajout
+    @Modifying
+    @Query(value = "insert into room_usage_daily (room_id, bucket_start, booked_minutes, booking_count) " +
+            "values (:roomId, :bucketStart, :minutes, :count) on duplicate key update " +
+            "booked_minutes = booked_minutes + values(booked_minutes), booking_count = booking_count + values(booking_count)",
+            nativeQuery = true)
+    void add(@Param("roomId") Long roomId, @Param("bucketStart") LocalDateTime bucketStart,
+             @Param("minutes") long minutes, @Param("count") int count);
+
+    // Retrait d'un créneau : seule une ligne existante est modifiée, celles d'une salle supprimée ont disparu avec elle
+    @Modifying
+    @Query(value = "update room_usage_daily set booked_minutes = booked_minutes - :minutes, booking_count = booking_count - :count " +
+            "where room_id = :roomId and bucket_start = :bucketStart", nativeQuery = true)
+    void subtract(@Param("roomId") Long roomId, @Param("bucketStart") LocalDateTime bucketStart,
+                  @Param("minutes") long minutes, @Param("count") int count);
+
+    @Query("select u from RoomUsageDaily u where u.id.roomId = :roomId and u.id.bucketStart >= :from and u.id.bucketStart < :to " +
+            "order by u.id.bucketStart")
+    List<RoomUsageDaily> findByRoomBetween(@Param("roomId") Long roomId, @Param("from") LocalDateTime from,
+                                           @Param("to") LocalDateTime to);
+
+    // Totaux de toutes les salles sur une période, calculés par la base sur les lignes journalières
+    @Query("select new com.example.MeetingMinder.dto.RoomUsageTotal(u.id.roomId, sum(u.bookedMinutes), sum(u.bookingCount)) " +
+            "from RoomUsageDaily u where u.id.bucketStart >= :from and u.id.bucketStart < :to group by u.id.roomId")
+    List<RoomUsageTotal> sumByRoomBetween(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    @Modifying
+    @Query("delete from RoomUsageDaily")
+    void deleteAllRows();
+}
@@ -1,11 +1,34 @@
 package com.example.MeetingMinder.repository;
 
 import com.example.MeetingMinder.model.User;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
 
+    // Charge la page avec les rôles en une seule requête (pas de N+1)
+    @Override
+    @EntityGraph(attributePaths = {"role"})
+    Page<User> findAll(Pageable pageable);
+
     boolean existsByName(String name);
+
+    // Pagination par curseur sur la clé primaire
+    @EntityGraph(attributePaths = {"role"})
+    List<User> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+    // Identifiants existants parmi ceux fournis, sans charger les utilisateurs
+    @Query("select u.id from User u where u.id in :ids")
+    Set<Long> findExistingIds(@Param("ids") Collection<Long> ids);
 }
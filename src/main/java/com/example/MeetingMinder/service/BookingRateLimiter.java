@@ -0,0 +1,171 @@
+package com.example.MeetingMinder.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Limitation du débit des écritures de réservations (création, import groupé, mise à jour), par utilisateur et par adresse IP du client :
+ * chaque écriture coûte une vérification de conflit, un client défaillant ne doit pas saturer la base.
+ * Seau à jetons sous la forme GCRA : l'état d'une clé est une seule date théorique d'arrivée (AtomicLong), avancée
+ * par compareAndSet, sans verrou ni allocation par requête. Les clés inactives depuis le temps de remplissage complet
+ * de leur seau (état alors identique à celui d'une clé nouvelle) sont évincées, et leur nombre est borné.
+ */
+@Service
+public class BookingRateLimiter {
+
+    private static final Logger logger = LoggerFactory.getLogger(BookingRateLimiter.class);
+
+    /**
+     * Débit dépassé : la requête est refusée (429) et peut être réessayée après retryAfter.
+     */
+    public static class LimitExceededException extends RuntimeException {
+
+        private final Duration retryAfter;
+
+        LimitExceededException(String message, Duration retryAfter) {
+            super(message);
+            this.retryAfter = retryAfter;
+        }
+
+        public Duration getRetryAfter() {
+            return retryAfter;
+        }
+
+        // Valeur de l'en-tête Retry-After, arrondie à la seconde supérieure
+        public long getRetryAfterSeconds() {
+            return retryAfterSeconds(retryAfter);
+        }
+    }
+
+    private final boolean enabled;
+    private final Limit userLimit;
+    private final Limit clientLimit;
+
+    public BookingRateLimiter(@Value("${booking.rate-limit.enabled:true}") boolean enabled,
+                              @Value("${booking.rate-limit.user.capacity:20}") int userCapacity,
+                              @Value("${booking.rate-limit.user.per-minute:60}") int userPerMinute,
+                              @Value("${booking.rate-limit.client.capacity:50}") int clientCapacity,
+                              @Value("${booking.rate-limit.client.per-minute:300}") int clientPerMinute,
+                              @Value("${booking.rate-limit.max-keys:100000}") long maxKeys,
+                              MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.userLimit = new Limit("user", userCapacity, userPerMinute, maxKeys, meterRegistry);
+        this.clientLimit = new Limit("client", clientCapacity, clientPerMinute, maxKeys, meterRegistry);
+    }
+
+    // Consomme un jeton de l'adresse du client puis un de l'utilisateur (s'il est connu) ; lève LimitExceededException sinon
+    public void acquire(Long userId, String clientAddress) {
+        if (!enabled) {
+            return;
+        }
+        if (clientAddress != null) {
+            clientLimit.acquire(clientAddress);
+        }
+        if (userId != null) {
+            userLimit.acquire(userId);
+        }
+    }
+
+    // Import groupé : un jeton de l'adresse du client pour le lot, puis un par utilisateur distinct du lot
+    public void acquireBatch(Collection<Long> userIds, String clientAddress) {
+        if (!enabled) {
+            return;
+        }
+        if (clientAddress != null) {
+            clientLimit.acquire(clientAddress);
+        }
+        for (Long userId : userIds) {
+            userLimit.acquire(userId);
+        }
+    }
+
+    private static long retryAfterSeconds(Duration retryAfter) {
+        return Math.max(1, (retryAfter.toMillis() + 999) / 1000);
+    }
+
+    private static final class Limit {
+
+        private final String name;
+        private final int capacity;
+        private final int perMinute;
+        // Intervalle entre deux jetons, et avance maximale de la date théorique sur l'horloge (seau plein consommé)
+        private final long emissionIntervalNanos;
+        private final long burstNanos;
+        private final Cache<Object, AtomicLong> buckets;
+        private final Counter allowed;
+        private final Counter rejected;
+
+        private Limit(String name, int capacity, int perMinute, long maxKeys, MeterRegistry meterRegistry) {
+            if (capacity < 1 || perMinute < 1) {
+                throw new IllegalArgumentException("Limite de débit " + name + " invalide: " + capacity + " jetons, " + perMinute + " par minute");
+            }
+            this.name = name;
+            this.capacity = capacity;
+            this.perMinute = perMinute;
+            this.emissionIntervalNanos = TimeUnit.MINUTES.toNanos(1) / perMinute;
+            this.burstNanos = emissionIntervalNanos * capacity;
+            this.buckets = Caffeine.newBuilder()
+                    .maximumSize(maxKeys)
+                    .expireAfterAccess(burstNanos, TimeUnit.NANOSECONDS)
+                    .build();
+            Gauge.builder("booking.rate.limit.capacity", this, limit -> limit.capacity)
+                    .description("Jetons du seau : écritures de réservations acceptées en rafale")
+                    .tag("key", name)
+                    .register(meterRegistry);
+            Gauge.builder("booking.rate.limit.refill", this, limit -> limit.perMinute)
+                    .description("Jetons rendus par minute : débit soutenu autorisé")
+                    .tag("key", name)
+                    .register(meterRegistry);
+            Gauge.builder("booking.rate.keys", buckets, Cache::estimatedSize)
+                    .description("Clés suivies par le limiteur de débit")
+                    .tag("key", name)
+                    .register(meterRegistry);
+            this.allowed = counter(meterRegistry, name, "allowed");
+            this.rejected = counter(meterRegistry, name, "rejected");
+        }
+
+        private static Counter counter(MeterRegistry meterRegistry, String name, String outcome) {
+            return Counter.builder("booking.rate.requests")
+                    .description("Écritures de réservations soumises au limiteur de débit")
+                    .tag("key", name)
+                    .tag("outcome", outcome)
+                    .register(meterRegistry);
+        }
+
+        void acquire(Object key) {
+            AtomicLong theoreticalArrival = buckets.get(key, k -> new AtomicLong(Long.MIN_VALUE));
+            long now = System.nanoTime();
+            while (true) {
+                long current = theoreticalArrival.get();
+                // Date nulle ou dépassée : seau plein
+                long start = current == Long.MIN_VALUE || current - now < 0 ? now : current;
+                long next = start + emissionIntervalNanos;
+                if (next - now > burstNanos) {
+                    rejected.increment();
+                    Duration retryAfter = Duration.ofNanos(next - now - burstNanos);
+                    // Journalisé en DEBUG : un client défaillant ne doit pas non plus saturer les journaux (compteur rejected)
+                    logger.debug("Débit d'écriture des réservations dépassé pour {} {}, nouvel essai dans {} ms",
+                            name, key, retryAfter.toMillis());
+                    throw new LimitExceededException("Trop de réservations demandées, réessayez dans "
+                            + retryAfterSeconds(retryAfter) + " s.", retryAfter);
+                }
+                if (theoreticalArrival.compareAndSet(current, next)) {
+                    allowed.increment();
+                    return;
+                }
+            }
+        }
+    }
+}
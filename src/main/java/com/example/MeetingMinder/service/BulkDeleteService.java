@@ -0,0 +1,223 @@
+package com.example.MeetingMinder.service;
+
+import com.example.MeetingMinder.config.CacheConfig;
+import com.example.MeetingMinder.dto.BulkDeleteJob;
+import com.example.MeetingMinder.dto.BulkDeleteTarget;
+import com.example.MeetingMinder.dto.ReservationChangedEvent;
+import io.micrometer.core.annotation.Timed;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Suppression de toutes les réservations, salles, utilisateurs ou rôles sans charger les entités : chaque table est vidée
+ * par requêtes DELETE sur des plages de clé primaire, une transaction courte par tranche, dans l'ordre des clés
+ * étrangères (réservations courantes et archivées, motifs récurrents, agrégats d'occupation, puis utilisateurs, salles ou rôles).
+ * Les suppressions s'exécutent une à la fois sur un thread dédié ; leur avancement est consultable pendant l'exécution.
+ * Les bornes de chaque table sont lues au début de sa suppression : une réservation créée pendant la suppression
+ * des réservations est conservée.
+ */
+@Service
+@Timed(value = "service.calls", histogram = true)
+public class BulkDeleteService {
+
+    private static final Logger logger = LoggerFactory.getLogger(BulkDeleteService.class);
+
+    // Suppressions terminées conservées pour la consultation de leur avancement
+    private static final int RETAINED_JOBS = 100;
+
+    // Tables vidées par tranches : entité JPQL, nom de la table (avancement) et clé des plages
+    private record Step(String entity, String table, String key) {
+    }
+
+    private static final Step RESERVATIONS = new Step("Reservation", "reservations", "id");
+    private static final Step ARCHIVED_RESERVATIONS = new Step("ArchivedReservation", "reservations_archive", "id");
+    private static final Step RECURRING_RESERVATIONS = new Step("RecurringReservation", "recurring_reservations", "id");
+    private static final Step ROOM_USAGE_HOURLY = new Step("RoomUsageHourly", "room_usage_hourly", "id.roomId");
+    private static final Step ROOM_USAGE_DAILY = new Step("RoomUsageDaily", "room_usage_daily", "id.roomId");
+    private static final Step USERS = new Step("User", "users", "id");
+    private static final Step ROOMS = new Step("Room", "rooms", "id");
+    private static final Step ROLES = new Step("Role", "roles", "id");
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final TransactionTemplate transactionTemplate;
+    private final ReservationService reservationService;
+    private final RecurringReservationService recurringReservationService;
+    private final RoomService roomService;
+    private final RoomUsageService roomUsageService;
+    private final CacheManager cacheManager;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(
+            Thread.ofPlatform().name("bulk-delete").daemon().factory());
+    private final Map<UUID, BulkDeleteJob> jobs = new LinkedHashMap<>() {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<UUID, BulkDeleteJob> eldest) {
+            return size() > RETAINED_JOBS && eldest.getValue().getFinishedAt() != null;
+        }
+    };
+
+    // Nombre de lignes visé par tranche (une transaction par tranche)
+    @Value("${bulk-delete.chunk-size:1000}")
+    private int chunkSize = 1000;
+
+    public BulkDeleteService(TransactionTemplate transactionTemplate, ReservationService reservationService,
+                             RecurringReservationService recurringReservationService, RoomService roomService,
+                             RoomUsageService roomUsageService, CacheManager cacheManager,
+                             ApplicationEventPublisher eventPublisher) {
+        this.transactionTemplate = transactionTemplate;
+        this.reservationService = reservationService;
+        this.recurringReservationService = recurringReservationService;
+        this.roomService = roomService;
+        this.roomUsageService = roomUsageService;
+        this.cacheManager = cacheManager;
+        this.eventPublisher = eventPublisher;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    // Planifie la suppression et retourne aussitôt son suivi
+    public BulkDeleteJob start(BulkDeleteTarget target) {
+        BulkDeleteJob job = register(target);
+        logger.info("Suppression groupée {} planifiée: {}", job.getId(), target);
+        executor.execute(() -> execute(job));
+        return job;
+    }
+
+    // Exécute la suppression dans le thread appelant (tests, outils d'administration)
+    public BulkDeleteJob run(BulkDeleteTarget target) {
+        BulkDeleteJob job = register(target);
+        execute(job);
+        return job;
+    }
+
+    public Optional<BulkDeleteJob> findJob(UUID id) {
+        synchronized (jobs) {
+            return Optional.ofNullable(jobs.get(id));
+        }
+    }
+
+    private BulkDeleteJob register(BulkDeleteTarget target) {
+        BulkDeleteJob job = new BulkDeleteJob(target);
+        synchronized (jobs) {
+            jobs.put(job.getId(), job);
+        }
+        return job;
+    }
+
+    private void execute(BulkDeleteJob job) {
+        List<Step> steps = stepsOf(job.getTarget());
+        try {
+            // Les agrégats d'occupation déjà en file sont écrits avant le comptage des lignes à supprimer
+            roomUsageService.awaitPendingUpdates();
+            job.start(steps.stream().mapToLong(this::count).sum());
+            logger.info("Suppression groupée {} démarrée: {} lignes", job.getId(), job.getTotalRows());
+            for (Step step : steps) {
+                deleteInChunks(step, job);
+            }
+            refreshInMemoryState(job.getTarget());
+            job.complete();
+            logger.info("Suppression groupée {} terminée: {} lignes supprimées", job.getId(), job.getDeletedRows());
+        } catch (RuntimeException ex) {
+            logger.error("Échec de la suppression groupée {} ({}) dans la table {}", job.getId(), job.getTarget(), job.getCurrentTable(), ex);
+            job.fail(ex.getMessage());
+            // Les tranches déjà validées sont supprimées : index et caches sont resynchronisés avec la base
+            refreshInMemoryState(job.getTarget());
+        }
+    }
+
+    // Tables à vider, enfants avant parents (les clés étrangères des tables MySQL suppriment aussi en cascade)
+    private static List<Step> stepsOf(BulkDeleteTarget target) {
+        return switch (target) {
+            case RESERVATIONS -> List.of(RESERVATIONS, ARCHIVED_RESERVATIONS, ROOM_USAGE_HOURLY, ROOM_USAGE_DAILY);
+            case ROOMS -> List.of(RESERVATIONS, ARCHIVED_RESERVATIONS, RECURRING_RESERVATIONS, ROOM_USAGE_HOURLY,
+                    ROOM_USAGE_DAILY, ROOMS);
+            case USERS -> List.of(RESERVATIONS, ARCHIVED_RESERVATIONS, RECURRING_RESERVATIONS, ROOM_USAGE_HOURLY,
+                    ROOM_USAGE_DAILY, USERS);
+            case ROLES -> List.of(RESERVATIONS, ARCHIVED_RESERVATIONS, RECURRING_RESERVATIONS, ROOM_USAGE_HOURLY,
+                    ROOM_USAGE_DAILY, USERS, ROLES);
+        };
+    }
+
+    // Plages de clé de largeur adaptée à la densité de la table : environ chunkSize lignes par tranche
+    private void deleteInChunks(Step step, BulkDeleteJob job) {
+        job.enterTable(step.table());
+        Object[] bounds = entityManager.createQuery(
+                        "select min(e." + step.key() + "), max(e." + step.key() + "), count(e) from " + step.entity() + " e",
+                        Object[].class)
+                .getSingleResult();
+        if (bounds[0] == null) {
+            return;
+        }
+        long min = ((Number) bounds[0]).longValue();
+        long max = ((Number) bounds[1]).longValue();
+        long rows = ((Number) bounds[2]).longValue();
+        long width = Math.max(1, (max - min + 1) * chunkSize / rows);
+        String delete = "delete from " + step.entity() + " e where e." + step.key() + " >= :from and e." + step.key() + " < :to";
+        logger.debug("Suppression de {} lignes de {} par plages de {} clés", rows, step.table(), width);
+        for (long from = min; from <= max; from += width) {
+            long chunkFrom = from;
+            long chunkTo = Math.min(from + width, max + 1);
+            Integer deleted = transactionTemplate.execute(status -> entityManager.createQuery(delete)
+                    .setParameter("from", chunkFrom)
+                    .setParameter("to", chunkTo)
+                    .executeUpdate());
+            job.addDeleted(deleted == null ? 0 : deleted);
+        }
+    }
+
+    private long count(Step step) {
+        return entityManager.createQuery("select count(e) from " + step.entity() + " e", Long.class).getSingleResult();
+    }
+
+    // Index en mémoire, agrégats et caches rechargés depuis la base, qui fait foi après la suppression
+    private void refreshInMemoryState(BulkDeleteTarget target) {
+        eventPublisher.publishEvent(ReservationChangedEvent.cleared());
+        reservationService.loadReservationIndex();
+        roomUsageService.rebuild();
+        if (target == BulkDeleteTarget.RESERVATIONS) {
+            return;
+        }
+        recurringReservationService.loadRecurrences();
+        switch (target) {
+            case ROOMS -> {
+                roomService.loadAvailabilityIndex();
+                clearCache(CacheConfig.ROOMS);
+            }
+            case USERS -> clearCache(CacheConfig.USERS);
+            case ROLES -> {
+                clearCache(CacheConfig.USERS);
+                clearCache(CacheConfig.ROLES);
+            }
+            default -> {
+            }
+        }
+    }
+
+    private void clearCache(String name) {
+        Cache cache = cacheManager.getCache(name);
+        if (cache != null) {
+            cache.clear();
+        }
+    }
+}
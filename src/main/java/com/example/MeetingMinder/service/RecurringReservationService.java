@@ -0,0 +1,152 @@
+package com.example.MeetingMinder.service;
+
+import com.example.MeetingMinder.dto.ReservationOccurrence;
+import com.example.MeetingMinder.index.IntervalTree;
+import com.example.MeetingMinder.index.RecurrenceSlot;
+import com.example.MeetingMinder.index.ReservationIndex;
+import com.example.MeetingMinder.model.RecurringReservation;
+import com.example.MeetingMinder.model.ReservationSlot;
+import com.example.MeetingMinder.repository.RecurringReservationRepository;
+import com.example.MeetingMinder.repository.ReservationRepository;
+import io.micrometer.core.annotation.Timed;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Réservations récurrentes : un motif par ligne, des occurrences calculées uniquement pour la période consultée.
+ * Les conflits (avec les réservations simples et avec les autres motifs de la salle) sont détectés par calcul
+ * sur les suites d'occurrences (voir RecurrenceSlot), sans les énumérer.
+ */
+@Service
+@Timed(value = "service.calls", histogram = true)
+public class RecurringReservationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(RecurringReservationService.class);
+
+    private final RecurringReservationRepository recurringReservationRepository;
+    private final ReservationRepository reservationRepository;
+    private final ReservationIndex reservationIndex;
+    private final RoomLockStripes roomLockStripes;
+
+    // Durée maximale de la période dont les occurrences sont calculées en une requête
+    @Value("${reservation.recurrence.max-window-days:366}")
+    private int maxWindowDays = 366;
+
+    public RecurringReservationService(RecurringReservationRepository recurringReservationRepository,
+                                       ReservationRepository reservationRepository, ReservationIndex reservationIndex,
+                                       RoomLockStripes roomLockStripes) {
+        this.recurringReservationRepository = recurringReservationRepository;
+        this.reservationRepository = reservationRepository;
+        this.reservationIndex = reservationIndex;
+        this.roomLockStripes = roomLockStripes;
+    }
+
+    @PostConstruct
+    public void loadRecurrences() {
+        List<RecurrenceSlot> recurrences = recurringReservationRepository.findAll().stream().map(RecurrenceSlot::of).toList();
+        reservationIndex.loadRecurrences(recurrences);
+        logger.info("Index des réservations chargé avec {} motifs récurrents", recurrences.size());
+    }
+
+    public Optional<RecurringReservation> findById(Long id) {
+        logger.debug("Recherche de la réservation récurrente avec ID: {}", id);
+        return recurringReservationRepository.findById(id);
+    }
+
+    public List<RecurringReservation> findByRoomId(Long roomId) {
+        logger.debug("Obtention des réservations récurrentes de la salle avec ID: {}", roomId);
+        return recurringReservationRepository.findByRoomIdOrderByStartTimeAsc(roomId);
+    }
+
+    // Occurrences qui chevauchent [from, to], pour une salle ou pour toutes si roomId est null, triées par début
+    public List<ReservationOccurrence> findOccurrences(Long roomId, LocalDateTime from, LocalDateTime to) {
+        if (!to.isAfter(from)) {
+            throw new IllegalArgumentException("La fin de la période doit être postérieure à son début.");
+        }
+        if (Duration.between(from, to).toDays() > maxWindowDays) {
+            throw new IllegalArgumentException("La période consultée ne peut pas dépasser " + maxWindowDays + " jours.");
+        }
+        logger.debug("Calcul des occurrences de {} à {}", from, to);
+        List<ReservationOccurrence> occurrences = new ArrayList<>();
+        for (RecurringReservation recurrence : recurringReservationRepository.findStartedBefore(roomId, to)) {
+            RecurrenceSlot slot = RecurrenceSlot.of(recurrence);
+            slot.forEachOccurrence(IntervalTree.toKey(from), IntervalTree.toKey(to), start ->
+                    occurrences.add(new ReservationOccurrence(slot.id(), slot.roomId(), slot.userId(),
+                            IntervalTree.toDateTime(start), IntervalTree.toDateTime(start + slot.duration()),
+                            recurrence.getDescription())));
+        }
+        occurrences.sort(Comparator.comparing(ReservationOccurrence::startTime)
+                .thenComparing(ReservationOccurrence::recurringReservationId));
+        return occurrences;
+    }
+
+    // Même verrou de salle que ReservationService : un motif et une réservation simple ne peuvent pas
+    // être acceptés simultanément sur des créneaux qui se chevauchent
+    public RecurringReservation save(RecurringReservation recurrence) {
+        validate(recurrence);
+        return roomLockStripes.withRoomLock(recurrence.getRoom().getId(), () -> saveLocked(recurrence));
+    }
+
+    private RecurringReservation saveLocked(RecurringReservation recurrence) {
+        RecurrenceSlot candidate = RecurrenceSlot.of(recurrence);
+        Optional<RecurrenceSlot> conflictingRecurrence = reservationIndex.findConflictingRecurrence(candidate);
+        if (conflictingRecurrence.isPresent()) {
+            logger.warn("Réservation récurrente refusée: chevauchement avec la réservation récurrente {} dans la salle {}",
+                    conflictingRecurrence.get().id(), candidate.roomId());
+            throw new RuntimeException("La salle est déjà réservée par une autre réservation récurrente sur certaines occurrences.");
+        }
+        if (hasReservationConflict(candidate, recurrence.getStartTime())) {
+            logger.warn("Réservation récurrente refusée: chevauchement avec une réservation de la salle {}", candidate.roomId());
+            throw new RuntimeException("La salle est déjà réservée pour certaines occurrences de la réservation récurrente.");
+        }
+        logger.debug("Sauvegarde de la réservation récurrente pour la salle: {}", candidate.roomId());
+        RecurringReservation saved = recurringReservationRepository.save(recurrence);
+        reservationIndex.putRecurrence(RecurrenceSlot.of(saved));
+        return saved;
+    }
+
+    // Seules les réservations simples comprises dans la période du motif sont lues, chacune testée en temps constant
+    private boolean hasReservationConflict(RecurrenceSlot candidate, LocalDateTime firstStart) {
+        LocalDateTime lastEnd = candidate.isBounded()
+                ? IntervalTree.toDateTime(candidate.startOf(candidate.lastIndex()) + candidate.duration())
+                : null;
+        for (ReservationSlot slot : reservationRepository.findSlotsByRoomIdFrom(candidate.roomId(), firstStart, lastEnd)) {
+            if (candidate.overlaps(slot.startTime(), slot.endTime())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public void deleteById(Long id) {
+        logger.debug("Suppression de la réservation récurrente avec ID: {}", id);
+        recurringReservationRepository.deleteById(id);
+        reservationIndex.removeRecurrence(id);
+    }
+
+    private void validate(RecurringReservation recurrence) {
+        if (!recurrence.getEndTime().isAfter(recurrence.getStartTime())) {
+            throw new IllegalArgumentException("La date de fin doit être postérieure à la date de début.");
+        }
+        if (recurrence.getRepeatInterval() < 1) {
+            throw new IllegalArgumentException("L'intervalle doit être d'au moins 1.");
+        }
+        Duration period = Duration.ofDays((long) recurrence.getFrequency().getDays() * recurrence.getRepeatInterval());
+        if (Duration.between(recurrence.getStartTime(), recurrence.getEndTime()).compareTo(period) >= 0) {
+            throw new IllegalArgumentException("La durée d'une occurrence doit être inférieure à l'intervalle de répétition.");
+        }
+        if (recurrence.getUntilDate() != null && recurrence.getUntilDate().isBefore(recurrence.getStartTime().toLocalDate())) {
+            throw new IllegalArgumentException("La date de fin de répétition doit être postérieure ou égale à la première occurrence.");
+        }
+    }
+}
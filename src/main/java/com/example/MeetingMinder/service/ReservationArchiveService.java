@@ -0,0 +1,132 @@
+package com.example.MeetingMinder.service;
+
+import com.example.MeetingMinder.dto.ReservationChangedEvent;
+import com.example.MeetingMinder.index.ReservationIndex;
+import com.example.MeetingMinder.model.ArchivedReservation;
+import com.example.MeetingMinder.model.ReservationSlot;
+import com.example.MeetingMinder.repository.ArchivedReservationRepository;
+import com.example.MeetingMinder.repository.ReservationRepository;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Archivage des réservations terminées depuis plus de reservation.archive.retention : chaque nuit, elles sont copiées
+ * dans la table reservations_archive puis supprimées de la table reservations, par lots d'une transaction chacun.
+ * La détection de conflits, les listes, la pagination et l'index en mémoire ne portent ainsi que sur les réservations
+ * récentes et à venir ; l'historique reste consultable, exporté et compté dans les statistiques d'occupation.
+ * Chaque lot est déplacé sous le verrou des salles concernées, comme une écriture de ReservationService, et publie
+ * un ReservationChangedEvent ARCHIVED par réservation retirée de l'index.
+ */
+@Service
+@Timed(value = "service.calls", histogram = true)
+public class ReservationArchiveService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReservationArchiveService.class);
+
+    private final ReservationRepository reservationRepository;
+    private final ArchivedReservationRepository archivedReservationRepository;
+    private final ReservationIndex reservationIndex;
+    private final RoomLockStripes roomLockStripes;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Counter archivedReservations;
+
+    // Durée pendant laquelle une réservation terminée reste dans la table reservations
+    @Value("${reservation.archive.retention:90d}")
+    private Duration retention = Duration.ofDays(90);
+
+    // Réservations déplacées par transaction
+    @Value("${reservation.archive.batch-size:1000}")
+    private int batchSize = 1000;
+
+    public ReservationArchiveService(ReservationRepository reservationRepository,
+                                     ArchivedReservationRepository archivedReservationRepository,
+                                     ReservationIndex reservationIndex, RoomLockStripes roomLockStripes,
+                                     TransactionTemplate transactionTemplate, ApplicationEventPublisher eventPublisher,
+                                     MeterRegistry meterRegistry) {
+        this.reservationRepository = reservationRepository;
+        this.archivedReservationRepository = archivedReservationRepository;
+        this.reservationIndex = reservationIndex;
+        this.roomLockStripes = roomLockStripes;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+        this.archivedReservations = Counter.builder("reservation.archived")
+                .description("Réservations déplacées dans la table reservations_archive")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(cron = "${reservation.archive.cron:0 30 3 * * *}")
+    public int archiveExpiredReservations() {
+        return archiveEndedBefore(LocalDateTime.now().minus(retention));
+    }
+
+    // Déplace les réservations terminées avant cutoff ; retourne le nombre de réservations archivées
+    public int archiveEndedBefore(LocalDateTime cutoff) {
+        logger.info("Archivage des réservations terminées avant {}", cutoff);
+        LocalDateTime archivedAt = LocalDateTime.now();
+        int total = 0;
+        List<ReservationSlot> candidates;
+        do {
+            candidates = reservationRepository.findSlotsEndedBefore(cutoff, Limit.of(batchSize));
+            total += moveBatch(candidates, cutoff, archivedAt);
+        } while (candidates.size() == batchSize);
+        logger.info("Archivage terminé: {} réservations déplacées", total);
+        return total;
+    }
+
+    @Transactional(readOnly = true)
+    public Page<ArchivedReservation> findByPeriod(LocalDateTime from, LocalDateTime to, Pageable pageable) {
+        logger.debug("Obtention des réservations archivées de {} à {}: {}", from, to, pageable);
+        if (!to.isAfter(from)) {
+            throw new IllegalArgumentException("La fin de la période doit être postérieure à son début.");
+        }
+        Pageable ordered = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(),
+                pageable.getSortOr(Sort.by("startTime", "id")));
+        return archivedReservationRepository.findByPeriod(from, to, ordered);
+    }
+
+    // Les réservations sont relues sous le verrou de leurs salles : une modification concurrente est soit validée avant
+    // (la réservation est écartée si elle ne se termine plus avant cutoff), soit rejetée après (ligne supprimée)
+    private int moveBatch(List<ReservationSlot> candidates, LocalDateTime cutoff, LocalDateTime archivedAt) {
+        if (candidates.isEmpty()) {
+            return 0;
+        }
+        List<Long> candidateIds = candidates.stream().map(ReservationSlot::id).toList();
+        Set<Long> roomIds = candidates.stream().map(ReservationSlot::roomId).collect(Collectors.toSet());
+        return roomLockStripes.withRoomLocks(roomIds, () -> {
+            List<Long> ids = transactionTemplate.execute(status -> {
+                List<Long> locked = reservationRepository.lockIdsEndedBefore(candidateIds, roomIds, cutoff);
+                if (!locked.isEmpty()) {
+                    archivedReservationRepository.copyFromReservations(locked, archivedAt);
+                    reservationRepository.deleteByIds(locked);
+                }
+                return locked;
+            });
+            // Les réservations archivées ne sont plus candidates aux conflits : retirées de l'index avant la libération du verrou
+            ids.forEach(id -> reservationIndex.remove(id).ifPresent(slot ->
+                    eventPublisher.publishEvent(ReservationChangedEvent.of(ReservationChangedEvent.Type.ARCHIVED, slot, null))));
+            archivedReservations.increment(ids.size());
+            return ids.size();
+        });
+    }
+}
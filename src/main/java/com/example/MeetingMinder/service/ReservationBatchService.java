@@ -0,0 +1,212 @@
+package com.example.MeetingMinder.service;
+
+import com.example.MeetingMinder.dto.ReservationBatchItemResult;
+import com.example.MeetingMinder.dto.ReservationBatchResult;
+import com.example.MeetingMinder.dto.ReservationChangedEvent;
+import com.example.MeetingMinder.index.IntervalTree;
+import com.example.MeetingMinder.index.ReservationIndex;
+import com.example.MeetingMinder.model.Reservation;
+import com.example.MeetingMinder.model.ReservationSlot;
+import com.example.MeetingMinder.repository.ReservationRepository;
+import com.example.MeetingMinder.repository.RoomRepository;
+import com.example.MeetingMinder.repository.UserRepository;
+import io.micrometer.core.annotation.Timed;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Import groupé de réservations : validation de tout le lot en mémoire (conflits avec l'existant
+ * et conflits internes au lot), puis insertion en une seule transaction avec batching JDBC.
+ */
+@Service
+@Timed(value = "service.calls", histogram = true)
+public class ReservationBatchService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReservationBatchService.class);
+
+    private static final String CONFLICT_MESSAGE = "La salle est déjà réservée pour les créneaux horaires spécifiés.";
+    private static final String BATCH_CONFLICT_MESSAGE = "Le créneau chevauche une autre réservation du lot.";
+    private static final String UNKNOWN_ROOM_MESSAGE = "La salle n'existe pas.";
+    private static final String UNKNOWN_USER_MESSAGE = "L'utilisateur n'existe pas.";
+
+    private final ReservationRepository reservationRepository;
+    private final RoomRepository roomRepository;
+    private final UserRepository userRepository;
+    private final ReservationIndex reservationIndex;
+    private final RoomLockStripes roomLockStripes;
+    private final Validator validator;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${reservation.batch.max-size:5000}")
+    private int maxBatchSize = 5000;
+
+    public ReservationBatchService(ReservationRepository reservationRepository, RoomRepository roomRepository,
+                                   UserRepository userRepository, ReservationIndex reservationIndex,
+                                   RoomLockStripes roomLockStripes, Validator validator,
+                                   TransactionTemplate transactionTemplate, ApplicationEventPublisher eventPublisher) {
+        this.reservationRepository = reservationRepository;
+        this.roomRepository = roomRepository;
+        this.userRepository = userRepository;
+        this.reservationIndex = reservationIndex;
+        this.roomLockStripes = roomLockStripes;
+        this.validator = validator;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+    }
+
+    public ReservationBatchResult importReservations(List<Reservation> reservations) {
+        if (reservations.size() > maxBatchSize) {
+            throw new IllegalArgumentException("Le lot dépasse la taille maximale de " + maxBatchSize + " réservations.");
+        }
+        logger.info("Import d'un lot de {} réservations", reservations.size());
+
+        ReservationBatchItemResult[] results = new ReservationBatchItemResult[reservations.size()];
+        List<Integer> valid = new ArrayList<>();
+        for (int i = 0; i < reservations.size(); i++) {
+            String error = validate(reservations.get(i));
+            if (error != null) {
+                results[i] = ReservationBatchItemResult.invalid(i, error);
+            } else {
+                valid.add(i);
+            }
+        }
+
+        // Une référence inconnue ferait échouer la clé étrangère, et avec elle l'insertion de tout le lot
+        List<Integer> candidates = rejectUnknownReferences(reservations, valid, results);
+
+        if (!candidates.isEmpty()) {
+            Set<Long> roomIds = candidates.stream()
+                    .map(i -> reservations.get(i).getRoom().getId())
+                    .collect(Collectors.toCollection(LinkedHashSet::new));
+            // Les verrous des salles du lot sont détenus jusqu'à la validation de la transaction
+            roomLockStripes.withRoomLocks(roomIds, () -> {
+                importLocked(reservations, candidates, roomIds, results);
+                return null;
+            });
+        }
+
+        ReservationBatchResult result = ReservationBatchResult.of(List.of(results));
+        logger.info("Lot importé: {} réservations créées, {} rejetées", result.created(), result.rejected());
+        return result;
+    }
+
+    private void importLocked(List<Reservation> reservations, List<Integer> candidates, Set<Long> roomIds,
+                              ReservationBatchItemResult[] results) {
+        LocalDateTime minStart = candidates.stream().map(i -> reservations.get(i).getStartTime())
+                .min(LocalDateTime::compareTo).orElseThrow();
+        LocalDateTime maxEnd = candidates.stream().map(i -> reservations.get(i).getEndTime())
+                .max(LocalDateTime::compareTo).orElseThrow();
+
+        // Une seule requête pour l'existant, ensuite tout se joue en mémoire
+        Map<Long, IntervalTree> trees = new HashMap<>();
+        for (ReservationSlot slot : reservationRepository.findSlotsByRoomIdsBetween(roomIds, minStart, maxEnd)) {
+            trees.computeIfAbsent(slot.roomId(), id -> new IntervalTree())
+                    .insert(slot.id(), IntervalTree.toKey(slot.startTime()), IntervalTree.toKey(slot.endTime()));
+        }
+
+        List<Integer> accepted = new ArrayList<>();
+        for (int i : candidates) {
+            Reservation reservation = reservations.get(i);
+            IntervalTree tree = trees.computeIfAbsent(reservation.getRoom().getId(), id -> new IntervalTree());
+            long start = IntervalTree.toKey(reservation.getStartTime());
+            long end = IntervalTree.toKey(reservation.getEndTime());
+            if (tree.overlaps(start, end, Long.MIN_VALUE)) {
+                String message = overlapsBatchItem(tree, start, end) ? BATCH_CONFLICT_MESSAGE : CONFLICT_MESSAGE;
+                results[i] = ReservationBatchItemResult.conflict(i, message);
+            } else if (reservationIndex.hasRecurrenceConflict(reservation.getRoom().getId(),
+                    reservation.getStartTime(), reservation.getEndTime())) {
+                results[i] = ReservationBatchItemResult.conflict(i, CONFLICT_MESSAGE);
+            } else {
+                // Les éléments acceptés du lot sont indexés avec des identifiants négatifs
+                tree.insert(-(i + 1L), start, end);
+                accepted.add(i);
+            }
+        }
+
+        if (accepted.isEmpty()) {
+            return;
+        }
+        List<Reservation> toSave = accepted.stream().map(reservations::get).toList();
+        List<Reservation> saved = transactionTemplate.execute(status -> {
+            List<Reservation> persisted = reservationRepository.saveAll(toSave);
+            reservationRepository.flush();
+            return persisted;
+        });
+        for (int k = 0; k < accepted.size(); k++) {
+            Reservation reservation = saved.get(k);
+            ReservationSlot slot = ReservationSlot.of(reservation);
+            reservationIndex.put(slot);
+            eventPublisher.publishEvent(ReservationChangedEvent.of(ReservationChangedEvent.Type.CREATED, slot, null));
+            results[accepted.get(k)] = ReservationBatchItemResult.created(accepted.get(k), reservation.getId());
+        }
+    }
+
+    // Une requête par table pour les salles et les utilisateurs distincts du lot ; retourne les candidats restants
+    private List<Integer> rejectUnknownReferences(List<Reservation> reservations, List<Integer> candidates,
+                                                  ReservationBatchItemResult[] results) {
+        if (candidates.isEmpty()) {
+            return candidates;
+        }
+        Set<Long> rooms = roomRepository.findExistingIds(candidates.stream()
+                .map(i -> reservations.get(i).getRoom().getId()).collect(Collectors.toSet()));
+        Set<Long> users = userRepository.findExistingIds(candidates.stream()
+                .map(i -> reservations.get(i).getUser().getId()).collect(Collectors.toSet()));
+        List<Integer> known = new ArrayList<>(candidates.size());
+        for (int i : candidates) {
+            Reservation reservation = reservations.get(i);
+            if (!rooms.contains(reservation.getRoom().getId())) {
+                results[i] = ReservationBatchItemResult.invalid(i, UNKNOWN_ROOM_MESSAGE);
+            } else if (!users.contains(reservation.getUser().getId())) {
+                results[i] = ReservationBatchItemResult.invalid(i, UNKNOWN_USER_MESSAGE);
+            } else {
+                known.add(i);
+            }
+        }
+        return known;
+    }
+
+    private static boolean overlapsBatchItem(IntervalTree tree, long start, long end) {
+        boolean[] found = new boolean[1];
+        tree.forEachOverlapping(start, end, (id, s, e) -> found[0] |= id < 0);
+        return found[0];
+    }
+
+    // Retourne le motif de rejet, ou null si la réservation est importable
+    private String validate(Reservation reservation) {
+        if (reservation == null) {
+            return "Réservation manquante.";
+        }
+        // Un import crée toujours de nouvelles réservations
+        reservation.setId(null);
+        Set<ConstraintViolation<Reservation>> violations = validator.validate(reservation);
+        if (!violations.isEmpty()) {
+            return violations.stream().map(ConstraintViolation::getMessage).sorted().collect(Collectors.joining(" "));
+        }
+        if (reservation.getRoom() == null || reservation.getRoom().getId() == null) {
+            return "La salle est obligatoire.";
+        }
+        if (reservation.getUser() == null || reservation.getUser().getId() == null) {
+            return "L'utilisateur est obligatoire.";
+        }
+        if (!reservation.getEndTime().isAfter(reservation.getStartTime())) {
+            return "La date de fin doit être postérieure à la date de début.";
+        }
+        return null;
+    }
+}
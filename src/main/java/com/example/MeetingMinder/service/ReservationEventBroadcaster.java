@@ -0,0 +1,213 @@
+package com.example.MeetingMinder.service;
+
+import com.example.MeetingMinder.dto.ReservationChangedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Diffusion des changements d'occupation des salles aux abonnés Server-Sent Events.
+ * Un abonné inactif ne coûte qu'une connexion asynchrone et une file bornée : aucun thread ne lui est attribué.
+ * La publication ne fait que déposer l'événement dans les files des abonnés concernés ; l'écriture sur le réseau
+ * est faite par des threads virtuels, une seule à la fois par abonné. Un abonné trop lent dont la file déborde
+ * est déconnecté : le client EventSource se reconnecte et recharge l'état des salles.
+ * L'ensemble des abonnés d'une salle est retiré avec son dernier abonné : seules les salles suivies occupent la mémoire.
+ */
+@Service
+public class ReservationEventBroadcaster {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReservationEventBroadcaster.class);
+
+    // Commentaires SSE envoyés à la connexion et périodiquement (détection des connexions fermées, proxys)
+    private static final String CONNECTED = "connected";
+    private static final String HEARTBEAT = "heartbeat";
+
+    private final Set<Subscriber> allRoomsSubscribers = ConcurrentHashMap.newKeySet();
+    private final ConcurrentMap<Long, Set<Subscriber>> roomSubscribers = new ConcurrentHashMap<>();
+    private final ExecutorService sender = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("sse-", 0).factory());
+    private final ScheduledExecutorService heartbeatScheduler = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("sse-heartbeat").daemon().factory());
+    private final Counter droppedSubscribers;
+
+    // Nombre d'événements en attente d'envoi au-delà duquel un abonné est déconnecté
+    @Value("${reservation.events.queue-capacity:64}")
+    private int queueCapacity = 64;
+
+    @Value("${reservation.events.timeout:30m}")
+    private Duration timeout = Duration.ofMinutes(30);
+
+    @Value("${reservation.events.heartbeat:30s}")
+    private Duration heartbeat = Duration.ofSeconds(30);
+
+    public ReservationEventBroadcaster(MeterRegistry meterRegistry) {
+        Gauge.builder("reservation.events.subscribers", this, ReservationEventBroadcaster::subscriberCount)
+                .description("Abonnés au flux des changements d'occupation")
+                .register(meterRegistry);
+        this.droppedSubscribers = Counter.builder("reservation.events.dropped")
+                .description("Abonnés déconnectés car leur file d'événements a débordé")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void startHeartbeat() {
+        heartbeatScheduler.scheduleAtFixedRate(this::sendHeartbeats, heartbeat.toMillis(), heartbeat.toMillis(),
+                TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        heartbeatScheduler.shutdownNow();
+        allRoomsSubscribers.forEach(subscriber -> subscriber.emitter.complete());
+        roomSubscribers.values().forEach(subscribers -> subscribers.forEach(subscriber -> subscriber.emitter.complete()));
+        sender.shutdown();
+    }
+
+    // Abonnement aux événements d'une salle, ou de toutes les salles si roomId est null
+    public SseEmitter subscribe(Long roomId) {
+        Subscriber subscriber = new Subscriber(roomId, new SseEmitter(timeout.toMillis()), queueCapacity);
+        subscriber.emitter.onCompletion(subscriber::close);
+        subscriber.emitter.onTimeout(subscriber::close);
+        subscriber.emitter.onError(ex -> subscriber.close());
+        if (roomId == null) {
+            allRoomsSubscribers.add(subscriber);
+        } else {
+            // Ajout sous le verrou de l'entrée : l'ensemble ne peut pas être retiré par le départ de son dernier abonné entre-temps
+            roomSubscribers.compute(roomId, (id, subscribers) -> {
+                Set<Subscriber> set = subscribers == null ? ConcurrentHashMap.newKeySet() : subscribers;
+                set.add(subscriber);
+                return set;
+            });
+        }
+        subscriber.offer(CONNECTED);
+        logger.debug("Nouvel abonné aux événements de {}", roomId == null ? "toutes les salles" : "la salle " + roomId);
+        return subscriber.emitter;
+    }
+
+    // Appelé dans le thread de la réservation : dépôt dans les files uniquement, sans écriture réseau
+    @EventListener
+    public void onReservationChanged(ReservationChangedEvent event) {
+        allRoomsSubscribers.forEach(subscriber -> subscriber.offer(event));
+        if (event.roomId() == null) {
+            roomSubscribers.values().forEach(subscribers -> subscribers.forEach(subscriber -> subscriber.offer(event)));
+            return;
+        }
+        offerToRoom(event.roomId(), event);
+        if (event.previousRoomId() != null && !event.previousRoomId().equals(event.roomId())) {
+            offerToRoom(event.previousRoomId(), event);
+        }
+    }
+
+    public int subscriberCount() {
+        return allRoomsSubscribers.size() + roomSubscribers.values().stream().mapToInt(Set::size).sum();
+    }
+
+    // Salles ayant au moins un abonné
+    public int subscribedRoomCount() {
+        return roomSubscribers.size();
+    }
+
+    private void offerToRoom(Long roomId, ReservationChangedEvent event) {
+        Set<Subscriber> subscribers = roomSubscribers.get(roomId);
+        if (subscribers != null) {
+            subscribers.forEach(subscriber -> subscriber.offer(event));
+        }
+    }
+
+    private void sendHeartbeats() {
+        allRoomsSubscribers.forEach(subscriber -> subscriber.offer(HEARTBEAT));
+        roomSubscribers.values().forEach(subscribers -> subscribers.forEach(subscriber -> subscriber.offer(HEARTBEAT)));
+    }
+
+    private final class Subscriber {
+
+        // Salle suivie, null pour toutes les salles
+        private final Long roomId;
+        private final SseEmitter emitter;
+        private final Queue<Object> queue;
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private volatile boolean overflowed;
+        private volatile boolean closed;
+
+        private Subscriber(Long roomId, SseEmitter emitter, int capacity) {
+            this.roomId = roomId;
+            this.emitter = emitter;
+            this.queue = new ArrayBlockingQueue<>(capacity);
+        }
+
+        void offer(Object item) {
+            if (closed) {
+                return;
+            }
+            if (!queue.offer(item)) {
+                overflowed = true;
+            }
+            if (draining.compareAndSet(false, true)) {
+                sender.execute(this::drain);
+            }
+        }
+
+        // Un seul envoi à la fois par abonné : les événements sont écrits dans l'ordre de publication
+        private void drain() {
+            try {
+                if (overflowed) {
+                    droppedSubscribers.increment();
+                    logger.warn("Abonné aux événements déconnecté: file de {} événements pleine", queueCapacity);
+                    close();
+                    emitter.complete();
+                    return;
+                }
+                Object item;
+                while ((item = queue.poll()) != null) {
+                    if (item instanceof ReservationChangedEvent event) {
+                        emitter.send(SseEmitter.event().name(event.type().name()).data(event, MediaType.APPLICATION_JSON));
+                    } else {
+                        emitter.send(SseEmitter.event().comment((String) item));
+                    }
+                }
+            } catch (IOException | IllegalStateException ex) {
+                // Connexion fermée par le client
+                close();
+            } finally {
+                draining.set(false);
+            }
+            if ((!queue.isEmpty() || overflowed) && !closed && draining.compareAndSet(false, true)) {
+                sender.execute(this::drain);
+            }
+        }
+
+        private void close() {
+            closed = true;
+            queue.clear();
+            if (roomId == null) {
+                allRoomsSubscribers.remove(this);
+                return;
+            }
+            roomSubscribers.computeIfPresent(roomId, (id, subscribers) -> {
+                subscribers.remove(this);
+                return subscribers.isEmpty() ? null : subscribers;
+            });
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.example.MeetingMinder.service;
+
+import com.example.MeetingMinder.dto.ExportFormat;
+import com.example.MeetingMinder.dto.ReservationExportRow;
+import com.example.MeetingMinder.repository.ArchivedReservationRepository;
+import com.example.MeetingMinder.repository.ReservationRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.micrometer.core.annotation.Timed;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Export des réservations d'une période en NDJSON ou CSV.
+ * Les lignes sont lues par un curseur JDBC et écrites une à une dans le flux de sortie :
+ * la mémoire utilisée ne dépend pas du nombre de réservations exportées. Les réservations archivées de la période
+ * sont écrites en premier, suivies des réservations courantes.
+ */
+@Service
+@Timed(value = "service.calls", histogram = true)
+public class ReservationExportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReservationExportService.class);
+
+    private static final String CSV_HEADER = "id,startTime,endTime,description,roomId,roomName,userId,userName";
+
+    private final ReservationRepository reservationRepository;
+    private final ArchivedReservationRepository archivedReservationRepository;
+    private final ObjectMapper objectMapper;
+
+    public ReservationExportService(ReservationRepository reservationRepository,
+                                   ArchivedReservationRepository archivedReservationRepository, ObjectMapper objectMapper) {
+        this.reservationRepository = reservationRepository;
+        this.archivedReservationRepository = archivedReservationRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    // La transaction garde la connexion et le curseur ouverts pendant toute l'écriture ; retourne le nombre de lignes
+    @Transactional(readOnly = true)
+    public long export(LocalDateTime from, LocalDateTime to, ExportFormat format, OutputStream out) throws IOException {
+        logger.info("Export {} des réservations de {} à {}", format, from, to);
+        long count;
+        // Les réservations archivées se terminent avant les réservations courantes : l'ordre par date de début n'est rompu
+        // d'une table à l'autre que par une réservation courante plus longue que la durée de conservation
+        try (Stream<ReservationExportRow> rows = Stream.concat(archivedReservationRepository.streamExportRows(from, to),
+                reservationRepository.streamExportRows(from, to))) {
+            count = format == ExportFormat.CSV ? writeCsv(rows.iterator(), out) : writeNdjson(rows.iterator(), out);
+        }
+        logger.info("Export terminé: {} réservations écrites", count);
+        return count;
+    }
+
+    private long writeNdjson(Iterator<ReservationExportRow> rows, OutputStream out) throws IOException {
+        long count = 0;
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            // Le flux de la réponse appartient au conteneur : il ne doit pas être fermé ici
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            // Pas de flush par ligne : la fermeture du générateur vide le flux une seule fois
+            ObjectWriter writer = objectMapper.writerFor(ReservationExportRow.class)
+                    .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+            while (rows.hasNext()) {
+                writer.writeValue(generator, rows.next());
+                generator.writeRaw('\n');
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private long writeCsv(Iterator<ReservationExportRow> rows, OutputStream out) throws IOException {
+        long count = 0;
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        writer.write(CSV_HEADER);
+        writer.write("\r\n");
+        while (rows.hasNext()) {
+            ReservationExportRow row = rows.next();
+            writer.write(String.valueOf(row.id()));
+            writer.write(',');
+            writer.write(csvValue(row.startTime()));
+            writer.write(',');
+            writer.write(csvValue(row.endTime()));
+            writer.write(',');
+            writer.write(csvValue(row.description()));
+            writer.write(',');
+            writer.write(csvValue(row.roomId()));
+            writer.write(',');
+            writer.write(csvValue(row.roomName()));
+            writer.write(',');
+            writer.write(csvValue(row.userId()));
+            writer.write(',');
+            writer.write(csvValue(row.userName()));
+            writer.write("\r\n");
+            count++;
+        }
+        writer.flush();
+        return count;
+    }
+
+    // Échappement RFC 4180 : guillemets autour des valeurs contenant un séparateur, un guillemet ou un saut de ligne
+    private static String csvValue(Object value) {
+        if (value == null) {
+            return "";
+        }
+        // Même représentation des dates qu'en JSON (les secondes nulles ne sont pas omises)
+        String text = value instanceof LocalDateTime dateTime
+                ? DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(dateTime)
+                : value.toString();
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            return text;
+        }
+        return '"' + text.replace("\"", "\"\"") + '"';
+    }
+}
@@ -1,11 +1,27 @@
 package com.example.MeetingMinder.service;
 
+import com.example.MeetingMinder.dto.CursorPage;
+import com.example.MeetingMinder.dto.ReservationChangedEvent;
+import com.example.MeetingMinder.dto.Cursors;
+import com.example.MeetingMinder.dto.EntityVersion;
+import com.example.MeetingMinder.index.ReservationIndex;
 import com.example.MeetingMinder.model.Reservation;
+import com.example.MeetingMinder.model.ReservationSlot;
 import com.example.MeetingMinder.repository.ReservationRepository;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -14,50 +30,148 @@ import java.util.List;
 import java.util.Optional;
 
 @Service
+@Timed(value = "service.calls", histogram = true)
 public class ReservationService {
 
     private static final Logger logger = LoggerFactory.getLogger(ReservationService.class);
 
     private final ReservationRepository reservationRepository;
+    private final ReservationIndex reservationIndex;
+    private final RoomLockStripes roomLockStripes;
+    private final ApplicationEventPublisher eventPublisher;
+
+    // Vérifications de conflit par source et par résultat : un conflit trouvé en base après un « libre »
+    // de l'index signale un index désynchronisé
+    private final Counter indexConflicts;
+    private final Counter indexFree;
+    private final Counter databaseConflicts;
+    private final Counter databaseFree;
+
+    // Confirme en base les créneaux jugés libres par l'index (la base reste l'autorité finale)
+    @Value("${reservation.index.verify-with-database:true}")
+    private boolean verifyWithDatabase = true;
 
     @Autowired
-    public ReservationService(ReservationRepository reservationRepository) {
+    public ReservationService(ReservationRepository reservationRepository, ReservationIndex reservationIndex,
+                              RoomLockStripes roomLockStripes, MeterRegistry meterRegistry,
+                              ApplicationEventPublisher eventPublisher) {
         this.reservationRepository = reservationRepository;
+        this.reservationIndex = reservationIndex;
+        this.roomLockStripes = roomLockStripes;
+        this.eventPublisher = eventPublisher;
+        this.indexConflicts = conflictCounter(meterRegistry, "index", "conflict");
+        this.indexFree = conflictCounter(meterRegistry, "index", "free");
+        this.databaseConflicts = conflictCounter(meterRegistry, "database", "conflict");
+        this.databaseFree = conflictCounter(meterRegistry, "database", "free");
+    }
+
+    @PostConstruct
+    public void loadReservationIndex() {
+        List<ReservationSlot> slots = reservationRepository.findAllSlots();
+        reservationIndex.load(slots);
+        logger.info("Index des réservations chargé avec {} créneaux", slots.size());
     }
 
+    @Transactional(readOnly = true)
     public Page<Reservation> findAll(Pageable pageable) {
-        logger.info("Obtention de toutes les réservations avec pagination: {}", pageable);
-        return reservationRepository.findAll(pageable);
+        logger.debug("Obtention de toutes les réservations avec pagination: {}", pageable);
+        return reservationRepository.findAll(withStableOrder(pageable));
+    }
+
+    // Version de la page retournée par findAll, calculée sans charger les entités
+    @Transactional(readOnly = true)
+    public EntityVersion findPageVersion(Pageable pageable) {
+        return EntityVersion.ofPage(reservationRepository.findVersions(withStableOrder(pageable)));
+    }
+
+    public Optional<EntityVersion> findVersion(Long id) {
+        return reservationRepository.findVersionById(id);
+    }
+
+    // Version d'une réservation déjà chargée, composée comme ReservationRepository.VERSION_EXPRESSION
+    public EntityVersion versionOf(Reservation reservation) {
+        String version = reservation.getVersion() + "." + reservation.getRoom().getVersion() + "."
+                + reservation.getUser().getVersion() + "." + reservation.getUser().getRole().getVersion();
+        return new EntityVersion(reservation.getId(), version);
+    }
+
+    // Pagination par curseur sur (startTime, id) : une page profonde coûte autant que la première
+    @Transactional(readOnly = true)
+    public CursorPage<Reservation> scroll(String cursor, int size) {
+        logger.debug("Obtention des réservations par curseur, taille: {}", size);
+        Cursors.TimeAndId after = Cursors.decodeTimeAndId(cursor);
+        Limit limit = Limit.of(Cursors.checkSize(size) + 1);
+        List<Reservation> reservations = after == null
+                ? reservationRepository.findAllByOrderByStartTimeAscIdAsc(limit)
+                : reservationRepository.findAfter(after.startTime(), after.id(), limit);
+        return CursorPage.of(reservations, size, r -> Cursors.encodeTimeAndId(r.getStartTime(), r.getId()));
     }
 
     public Optional<Reservation> findById(Long id) {
-        logger.info("Recherche de la réservation avec ID: {}", id);
+        logger.debug("Recherche de la réservation avec ID: {}", id);
         return reservationRepository.findById(id);
     }
 
+    // La vérification et l'insertion se font sous le verrou de la salle : la sauvegarde du repository
+    // étant validée avant la libération du verrou, deux requêtes concurrentes ne peuvent pas réserver le même créneau
     public Reservation save(Reservation reservation) {
-        if (isRoomAlreadyReserved(reservation.getRoom().getId(), reservation.getStartTime(), reservation.getEndTime())) {
+        return roomLockStripes.withRoomLock(reservation.getRoom().getId(), () -> saveLocked(reservation));
+    }
+
+    private Reservation saveLocked(Reservation reservation) {
+        if (isRoomAlreadyReserved(reservation.getId(), reservation.getRoom().getId(), reservation.getStartTime(), reservation.getEndTime())) {
             logger.warn("Tentative de réservation échouée. La salle avec ID: {} est déjà réservée pour les créneaux horaires de {} à {}",
                     reservation.getRoom().getId(), reservation.getStartTime(), reservation.getEndTime());
             throw new RuntimeException("La salle est déjà réservée pour les créneaux horaires spécifiés.");
         }
-        logger.info("Sauvegarde de la réservation pour la salle: {}", reservation.getRoom().getName());
-        return reservationRepository.save(reservation);
-    }
-
-    public void deleteAll() {
-        logger.info("Suppression de toutes les réservations");
-        reservationRepository.deleteAll();
+        logger.debug("Sauvegarde de la réservation pour la salle: {}", reservation.getRoom().getName());
+        boolean update = reservation.getId() != null;
+        ReservationSlot previous = update ? reservationIndex.find(reservation.getId()).orElse(null) : null;
+        Reservation savedReservation = reservationRepository.save(reservation);
+        ReservationSlot slot = ReservationSlot.of(savedReservation);
+        reservationIndex.put(slot);
+        eventPublisher.publishEvent(ReservationChangedEvent.of(
+                update ? ReservationChangedEvent.Type.UPDATED : ReservationChangedEvent.Type.CREATED, slot, previous));
+        return savedReservation;
     }
 
     public void deleteById(Long id) {
-        logger.info("Suppression de la réservation avec ID: {}", id);
+        logger.debug("Suppression de la réservation avec ID: {}", id);
         reservationRepository.deleteById(id);
+        reservationIndex.remove(id).ifPresent(slot ->
+                eventPublisher.publishEvent(ReservationChangedEvent.of(ReservationChangedEvent.Type.DELETED, slot, null)));
+    }
+
+    // La réservation elle-même est exclue pour qu'une mise à jour ne soit pas en conflit avec son propre créneau
+    private boolean isRoomAlreadyReserved(Long reservationId, Long roomId, LocalDateTime startTime, LocalDateTime endTime) {
+        if (reservationIndex.isLoaded()) {
+            if (reservationIndex.hasConflict(roomId, startTime, endTime, reservationId)) {
+                indexConflicts.increment();
+                return true;
+            }
+            indexFree.increment();
+            if (!verifyWithDatabase) {
+                return false;
+            }
+        }
+        boolean conflict = reservationRepository.existsConflict(roomId, startTime, endTime, reservationId);
+        (conflict ? databaseConflicts : databaseFree).increment();
+        return conflict;
+    }
+
+    // Sans tri explicite, les lignes sont triées par identifiant : la page et sa version portent sur les mêmes lignes
+    private static Pageable withStableOrder(Pageable pageable) {
+        if (pageable.isUnpaged() || pageable.getSort().isSorted()) {
+            return pageable;
+        }
+        return PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), Sort.by("id"));
     }
 
-    private boolean isRoomAlreadyReserved(Long roomId, LocalDateTime startTime, LocalDateTime endTime) {
-        List<Reservation> conflictingReservations = reservationRepository.findByRoomIdAndStartTimeLessThanEqualAndEndTimeGreaterThanEqual(
-                roomId, endTime, startTime);
-        return !conflictingReservations.isEmpty();
+    private static Counter conflictCounter(MeterRegistry meterRegistry, String source, String result) {
+        return Counter.builder("reservation.conflict.checks")
+                .description("Vérifications de conflit de créneau")
+                .tag("source", source)
+                .tag("result", result)
+                .register(meterRegistry);
     }
 }
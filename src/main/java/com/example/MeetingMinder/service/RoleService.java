@@ -1,17 +1,29 @@
 package com.example.MeetingMinder.service;
 
+import com.example.MeetingMinder.config.CacheConfig;
+import com.example.MeetingMinder.controller.ApiExceptionHandler;
+import com.example.MeetingMinder.dto.CursorPage;
+import com.example.MeetingMinder.dto.Cursors;
 import com.example.MeetingMinder.model.Role;
 import com.example.MeetingMinder.repository.RoleRepository;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.List;
 import java.util.Optional;
 
 @Service
+@Timed(value = "service.calls", histogram = true)
 public class RoleService {
 
     private static final Logger logger = LoggerFactory.getLogger(RoleService.class);
@@ -23,43 +35,59 @@ public class RoleService {
     }
 
     // Cherche un rôle par son ID
+    @Cacheable(cacheNames = CacheConfig.ROLES, key = "#id", unless = "#result == null")
     public Optional<Role> findById(Long id) {
-        logger.info("Recherche du rôle avec ID: {}", id);
+        logger.debug("Recherche du rôle avec ID: {}", id);
         return roleRepository.findById(id);
     }
 
     // Récupère tous les rôles avec pagination
+    @Transactional(readOnly = true)
     public Page<Role> findAll(Pageable pageable) {
-        logger.info("Obtention de tous les rôles avec pagination: {}", pageable);
+        logger.debug("Obtention de tous les rôles avec pagination: {}", pageable);
         return roleRepository.findAll(pageable);
     }
 
+    // Récupère les rôles par curseur (sans calcul du total)
+    @Transactional(readOnly = true)
+    public CursorPage<Role> scroll(String cursor, int size) {
+        logger.debug("Obtention des rôles par curseur, taille: {}", size);
+        List<Role> roles = roleRepository.findByIdGreaterThanOrderByIdAsc(Cursors.decodeId(cursor), Limit.of(Cursors.checkSize(size) + 1));
+        return CursorPage.of(roles, size, role -> Cursors.encodeId(role.getId()));
+    }
+
     // Sauvegarde un rôle dans la base de données
+    // Les utilisateurs en cache embarquent leur rôle : ils sont invalidés avec lui
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.ROLES, key = "#role.id", condition = "#role.id != null", beforeInvocation = true),
+            @CacheEvict(cacheNames = CacheConfig.ROLES, key = "#role.id", condition = "#role.id != null"),
+            @CacheEvict(cacheNames = CacheConfig.USERS, allEntries = true)
+    })
     public Role save(Role role) {
         try {
-            logger.info("Sauvegarde du rôle: {}", role.getName());
+            logger.debug("Sauvegarde du rôle: {}", role.getName());
             return roleRepository.save(role);
         } catch (DataIntegrityViolationException e) {
-            logger.error("Erreur lors de la sauvegarde du rôle: {}", role.getName(), e);
-            throw new RuntimeException("Un rôle avec ce nom existe déjà.");
+            // Seule la violation de l'index unique est un doublon de nom ; les autres violations remontent telles quelles
+            if (!ApiExceptionHandler.isUniqueViolation(e)) {
+                throw e;
+            }
+            // La cause est conservée : ApiExceptionHandler y reconnaît la violation de l'index unique (409)
+            logger.warn("Erreur lors de la sauvegarde du rôle: {}", role.getName());
+            throw new DataIntegrityViolationException("Un rôle avec ce nom existe déjà.", e);
         }
     }
 
     // Supprime un rôle par son ID
+    @CacheEvict(cacheNames = CacheConfig.ROLES, key = "#id")
     public void deleteById(Long id) {
-        logger.info("Suppression du rôle avec ID: {}", id);
+        logger.debug("Suppression du rôle avec ID: {}", id);
         roleRepository.deleteById(id);
     }
 
-    // Supprime tous les rôles
-    public void deleteAll() {
-        logger.info("Suppression de tous les rôles");
-        roleRepository.deleteAll();
-    }
-
     // Vérifie si un rôle avec un nom donné existe déjà
     public boolean existsByName(String name) {
-        logger.info("Vérification de l'existence du rôle avec nom: {}", name);
+        logger.debug("Vérification de l'existence du rôle avec nom: {}", name);
         return roleRepository.existsByName(name);
     }
 }
@@ -0,0 +1,60 @@
+package com.example.MeetingMinder.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Verrous de réservation répartis par salle : deux réservations sur la même salle sont sérialisées,
+ * tandis que les réservations sur des salles de bandes différentes s'exécutent en parallèle.
+ */
+@Component
+public class RoomLockStripes {
+
+    private final ReentrantLock[] locks;
+
+    public RoomLockStripes(@Value("${reservation.lock.stripes:64}") int stripes) {
+        if (stripes < 1) {
+            throw new IllegalArgumentException("Le nombre de verrous doit être positif");
+        }
+        this.locks = new ReentrantLock[stripes];
+        for (int i = 0; i < stripes; i++) {
+            locks[i] = new ReentrantLock();
+        }
+    }
+
+    // Exécute l'action en détenant le verrou de la salle
+    public <T> T withRoomLock(Long roomId, Supplier<T> action) {
+        ReentrantLock lock = locks[stripeFor(roomId)];
+        lock.lock();
+        try {
+            return action.get();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Exécute l'action en détenant les verrous de toutes les salles, acquis dans l'ordre des bandes pour éviter les interblocages
+    public <T> T withRoomLocks(Collection<Long> roomIds, Supplier<T> action) {
+        int[] stripes = roomIds.stream().mapToInt(this::stripeFor).distinct().sorted().toArray();
+        int acquired = 0;
+        try {
+            for (int stripe : stripes) {
+                locks[stripe].lock();
+                acquired++;
+            }
+            return action.get();
+        } finally {
+            for (int i = acquired - 1; i >= 0; i--) {
+                locks[stripes[i]].unlock();
+            }
+        }
+    }
+
+    int stripeFor(Long roomId) {
+        return Math.floorMod(Long.hashCode(roomId), locks.length);
+    }
+}
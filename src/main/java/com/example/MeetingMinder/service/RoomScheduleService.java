@@ -0,0 +1,169 @@
+package com.example.MeetingMinder.service;
+
+import com.example.MeetingMinder.dto.ReservationChangedEvent;
+import com.example.MeetingMinder.dto.RoomSchedule;
+import com.example.MeetingMinder.index.DaySchedule;
+import com.example.MeetingMinder.index.ReservationIndex;
+import com.example.MeetingMinder.model.ReservationSlot;
+import com.example.MeetingMinder.repository.ArchivedReservationRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Planning journalier des salles servi depuis la mémoire. Chaque jour d'une salle est un instantané immuable
+ * (DaySchedule) construit à la première lecture depuis l'index des réservations, puis remplacé par une copie
+ * modifiée à chaque événement de ReservationService qui touche ce jour : une lecture ne prend aucun verrou
+ * et n'alloue rien hors sérialisation. Seuls les jours proches (schedule.cache.past-days en arrière,
+ * schedule.cache.future-days en avant) sont conservés ; les autres sont recalculés à chaque demande.
+ */
+@Service
+public class RoomScheduleService {
+
+    private static final Logger logger = LoggerFactory.getLogger(RoomScheduleService.class);
+
+    private final ReservationIndex reservationIndex;
+    private final ArchivedReservationRepository archivedReservationRepository;
+    private final ConcurrentMap<Long, ConcurrentMap<LocalDate, DaySchedule>> snapshots = new ConcurrentHashMap<>();
+
+    @Value("${schedule.cache.past-days:7}")
+    private int pastDays = 7;
+
+    @Value("${schedule.cache.future-days:90}")
+    private int futureDays = 90;
+
+    public RoomScheduleService(ReservationIndex reservationIndex, ArchivedReservationRepository archivedReservationRepository,
+                               MeterRegistry meterRegistry) {
+        this.reservationIndex = reservationIndex;
+        this.archivedReservationRepository = archivedReservationRepository;
+        Gauge.builder("room.schedule.days", this, RoomScheduleService::cachedDays)
+                .description("Jours de planning conservés en mémoire")
+                .register(meterRegistry);
+    }
+
+    public RoomSchedule findSchedule(Long roomId, LocalDate date) {
+        return new RoomSchedule(roomId, date, daySchedule(roomId, date), reservationIndex.findRecurrences(roomId));
+    }
+
+    // Réservations simples qui chevauchent le jour, triées par début
+    public DaySchedule daySchedule(Long roomId, LocalDate date) {
+        ConcurrentMap<LocalDate, DaySchedule> days = snapshots.get(roomId);
+        DaySchedule schedule = days == null ? null : days.get(date);
+        if (schedule != null) {
+            return schedule;
+        }
+        if (!isCached(date)) {
+            return build(roomId, date);
+        }
+        // Construction sous le verrou de l'entrée : un événement du même jour attend la fin de la lecture de l'index
+        return snapshots.computeIfAbsent(roomId, id -> new ConcurrentHashMap<>())
+                .computeIfAbsent(date, day -> build(roomId, day));
+    }
+
+    // Appelé après la mise à jour de l'index, sous le verrou de la salle : les jours concernés déjà en mémoire
+    // sont remplacés par une copie modifiée, les autres seront construits à leur première lecture
+    @EventListener
+    public void onReservationChanged(ReservationChangedEvent event) {
+        switch (event.type()) {
+            case CLEARED -> snapshots.clear();
+            // Le créneau archivé reste au planning : un jour passé est construit avec l'archive
+            case ARCHIVED -> { }
+            case DELETED -> remove(new ReservationSlot(event.reservationId(), event.roomId(), null,
+                    event.startTime(), event.endTime()));
+            case CREATED, UPDATED -> {
+                if (event.previous() != null) {
+                    remove(event.previous());
+                }
+                ReservationSlot slot = reservationIndex.find(event.reservationId())
+                        .orElseGet(() -> new ReservationSlot(event.reservationId(), event.roomId(), null,
+                                event.startTime(), event.endTime()));
+                add(slot);
+            }
+        }
+    }
+
+    // Suppression d'une salle : ses réservations disparaissent avec elle, sans événement
+    public void removeRoom(Long roomId) {
+        snapshots.remove(roomId);
+    }
+
+    // Les jours sortis de la fenêtre ne sont plus conservés
+    @Scheduled(cron = "${schedule.cache.purge-cron:0 5 0 * * *}")
+    public void purgeExpiredDays() {
+        LocalDate today = LocalDate.now();
+        LocalDate first = today.minusDays(pastDays);
+        LocalDate last = today.plusDays(futureDays);
+        snapshots.values().forEach(days -> days.keySet().removeIf(date -> date.isBefore(first) || date.isAfter(last)));
+        logger.debug("Planning en mémoire: {} jours conservés", cachedDays());
+    }
+
+    public int cachedDays() {
+        return snapshots.values().stream().mapToInt(Map::size).sum();
+    }
+
+    private boolean isCached(LocalDate date) {
+        LocalDate today = LocalDate.now();
+        return !date.isBefore(today.minusDays(pastDays)) && !date.isAfter(today.plusDays(futureDays));
+    }
+
+    // Lecture de l'index, complétée par l'archive pour un jour passé ; une réservation en cours d'archivage
+    // peut figurer dans les deux, d'où le dédoublonnage par identifiant
+    private DaySchedule build(Long roomId, LocalDate date) {
+        LocalDateTime dayStart = date.atStartOfDay();
+        LocalDateTime dayEnd = dayStart.plusDays(1);
+        Map<Long, ReservationSlot> slots = new LinkedHashMap<>();
+        for (ReservationSlot slot : reservationIndex.findOverlapping(roomId, dayStart, dayEnd)) {
+            if (overlapsDay(slot, dayStart, dayEnd)) {
+                slots.put(slot.id(), slot);
+            }
+        }
+        if (dayStart.isBefore(LocalDateTime.now())) {
+            archivedReservationRepository.findSlotsOverlapping(roomId, dayStart, dayEnd)
+                    .forEach(slot -> slots.putIfAbsent(slot.id(), slot));
+        }
+        logger.debug("Construction du planning de la salle {} pour le {}: {} réservations", roomId, date, slots.size());
+        return DaySchedule.of(slots.values());
+    }
+
+    private void add(ReservationSlot slot) {
+        ConcurrentMap<LocalDate, DaySchedule> days = snapshots.get(slot.roomId());
+        if (days == null) {
+            return;
+        }
+        for (LocalDate date = slot.startTime().toLocalDate(); !date.isAfter(lastDay(slot)); date = date.plusDays(1)) {
+            days.computeIfPresent(date, (day, schedule) -> schedule.with(slot));
+        }
+    }
+
+    private void remove(ReservationSlot slot) {
+        ConcurrentMap<LocalDate, DaySchedule> days = snapshots.get(slot.roomId());
+        if (days == null) {
+            return;
+        }
+        for (LocalDate date = slot.startTime().toLocalDate(); !date.isAfter(lastDay(slot)); date = date.plusDays(1)) {
+            days.computeIfPresent(date, (day, schedule) -> schedule.without(slot.id()));
+        }
+    }
+
+    // Dernier jour occupé : une réservation qui se termine à minuit n'apparaît pas le lendemain
+    private static LocalDate lastDay(ReservationSlot slot) {
+        LocalDate last = slot.endTime().minusNanos(1).toLocalDate();
+        return last.isBefore(slot.startTime().toLocalDate()) ? slot.startTime().toLocalDate() : last;
+    }
+
+    private static boolean overlapsDay(ReservationSlot slot, LocalDateTime dayStart, LocalDateTime dayEnd) {
+        return slot.startTime().isBefore(dayEnd) && slot.endTime().isAfter(dayStart);
+    }
+}
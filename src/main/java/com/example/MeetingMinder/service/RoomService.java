@@ -1,52 +1,127 @@
 package com.example.MeetingMinder.service;
 
+import com.example.MeetingMinder.config.CacheConfig;
+import com.example.MeetingMinder.dto.CursorPage;
+import com.example.MeetingMinder.dto.Cursors;
+import com.example.MeetingMinder.dto.EntityVersion;
+import com.example.MeetingMinder.dto.ReservationChangedEvent;
+import com.example.MeetingMinder.index.ReservationIndex;
+import com.example.MeetingMinder.index.RoomAvailabilityIndex;
 import com.example.MeetingMinder.model.Room;
 import com.example.MeetingMinder.repository.RoomRepository;
+import io.micrometer.core.annotation.Timed;
+import jakarta.annotation.PostConstruct;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 @Service
+@Timed(value = "service.calls", histogram = true)
 public class RoomService {
 
     private static final Logger logger = LoggerFactory.getLogger(RoomService.class);
 
     private final RoomRepository roomRepository;
+    private final RoomAvailabilityIndex roomAvailabilityIndex;
+    private final ReservationIndex reservationIndex;
+    private final RoomScheduleService roomScheduleService;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public RoomService(RoomRepository roomRepository) {
+    public RoomService(RoomRepository roomRepository, RoomAvailabilityIndex roomAvailabilityIndex,
+                       ReservationIndex reservationIndex, RoomScheduleService roomScheduleService,
+                       ApplicationEventPublisher eventPublisher) {
         this.roomRepository = roomRepository;
+        this.roomAvailabilityIndex = roomAvailabilityIndex;
+        this.reservationIndex = reservationIndex;
+        this.roomScheduleService = roomScheduleService;
+        this.eventPublisher = eventPublisher;
     }
 
+    @PostConstruct
+    public void loadAvailabilityIndex() {
+        List<Room> rooms = roomRepository.findAll();
+        roomAvailabilityIndex.load(rooms);
+        logger.info("Catalogue de disponibilité chargé avec {} salles", rooms.size());
+    }
+
+    @Transactional(readOnly = true)
     public Page<Room> findAll(Pageable pageable) {
-        logger.info("Obtention de toutes les salles avec pagination: {}", pageable);
-        return roomRepository.findAll(pageable);
+        logger.debug("Obtention de toutes les salles avec pagination: {}", pageable);
+        return roomRepository.findAll(withStableOrder(pageable));
+    }
+
+    @Transactional(readOnly = true)
+    public EntityVersion findPageVersion(Pageable pageable) {
+        return EntityVersion.ofPage(roomRepository.findVersions(withStableOrder(pageable)));
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPage<Room> scroll(String cursor, int size) {
+        logger.debug("Obtention des salles par curseur, taille: {}", size);
+        List<Room> rooms = roomRepository.findByIdGreaterThanOrderByIdAsc(Cursors.decodeId(cursor), Limit.of(Cursors.checkSize(size) + 1));
+        return CursorPage.of(rooms, size, room -> Cursors.encodeId(room.getId()));
     }
 
+    @Cacheable(cacheNames = CacheConfig.ROOMS, key = "#id", unless = "#result == null")
     public Optional<Room> findById(Long id) {
-        logger.info("Recherche de la salle avec ID: {}", id);
+        logger.debug("Recherche de la salle avec ID: {}", id);
         return roomRepository.findById(id);
     }
 
-    public Room save(Room room) {
-        logger.info("Sauvegarde de la salle: {}", room.getName());
-        return roomRepository.save(room);
+    // Recherche en mémoire des salles libres, sans accès à la base
+    public List<Room> findAvailable(int minCapacity, LocalDateTime startTime, LocalDateTime endTime, int limit) {
+        if (logger.isDebugEnabled()) {
+            logger.debug("Recherche des salles d'au moins {} places disponibles de {} à {}", minCapacity, startTime, endTime);
+        }
+        return roomAvailabilityIndex.findAvailable(minCapacity, startTime, endTime, limit);
     }
 
-    public void deleteAll() {
-        logger.info("Suppression de toutes les salles");
-        roomRepository.deleteAll();
+    // L'entrée est invalidée avant l'appel (l'entité en cache a pu être modifiée par l'appelant) et après la validation
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.ROOMS, key = "#room.id", condition = "#room.id != null", beforeInvocation = true),
+            @CacheEvict(cacheNames = CacheConfig.ROOMS, key = "#room.id", condition = "#room.id != null")
+    })
+    public Room save(Room room) {
+        logger.debug("Sauvegarde de la salle: {}", room.getName());
+        Room savedRoom = roomRepository.save(room);
+        roomAvailabilityIndex.put(savedRoom);
+        return savedRoom;
     }
 
+    @CacheEvict(cacheNames = CacheConfig.ROOMS, key = "#id")
     public void deleteById(Long id) {
-        logger.info("Suppression de la salle avec ID: {}", id);
+        logger.debug("Suppression de la salle avec ID: {}", id);
         roomRepository.deleteById(id);
+        roomAvailabilityIndex.remove(id);
+        // Les réservations de la salle sont supprimées en cascade : les abonnés en sont informés
+        reservationIndex.removeRoom(id).forEach(slot ->
+                eventPublisher.publishEvent(ReservationChangedEvent.of(ReservationChangedEvent.Type.DELETED, slot, null)));
+        roomScheduleService.removeRoom(id);
     }
 
     public boolean existsByName(String name) {
         return roomRepository.existsByName(name);
     }
+
+    // Même ordre que la version de la page
+    private static Pageable withStableOrder(Pageable pageable) {
+        if (pageable.isUnpaged() || pageable.getSort().isSorted()) {
+            return pageable;
+        }
+        return PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), Sort.by("id"));
+    }
 }
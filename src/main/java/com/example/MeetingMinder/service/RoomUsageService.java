@@ -0,0 +1,380 @@
+package com.example.MeetingMinder.service;
+
+import com.example.MeetingMinder.dto.ReservationChangedEvent;
+import com.example.MeetingMinder.dto.ReservationOccurrence;
+import com.example.MeetingMinder.dto.RoomUsageTotal;
+import com.example.MeetingMinder.dto.RoomUtilization;
+import com.example.MeetingMinder.dto.UtilizationBucket;
+import com.example.MeetingMinder.dto.UtilizationGranularity;
+import com.example.MeetingMinder.model.ReservationSlot;
+import com.example.MeetingMinder.model.RoomUsage;
+import com.example.MeetingMinder.model.RoomUsageDaily;
+import com.example.MeetingMinder.model.RoomUsageHourly;
+import com.example.MeetingMinder.model.RoomUsageId;
+import com.example.MeetingMinder.repository.ArchivedReservationRepository;
+import com.example.MeetingMinder.repository.ReservationRepository;
+import com.example.MeetingMinder.repository.RoomUsageDailyRepository;
+import com.example.MeetingMinder.repository.RoomUsageHourlyRepository;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BiConsumer;
+
+/**
+ * Statistiques d'occupation des salles. Les réservations simples sont agrégées au fil de l'eau par salle, par heure
+ * et par jour (tables room_usage_hourly et room_usage_daily) à chaque ReservationChangedEvent : une requête sur
+ * plusieurs mois lit au plus une ligne par salle et par jour au lieu de toutes les réservations de la période.
+ * Les occurrences des réservations récurrentes, jamais enregistrées, sont ajoutées au moment de la requête.
+ * Les mises à jour des agrégats sont mises en file et appliquées dans l'ordre par un thread dédié, hors du verrou
+ * de la salle et du temps de réponse de la réservation. Une mise à jour perdue (échec, file pleine) marque les agrégats
+ * comme à recalculer : le recalcul complet est alors lancé par la vérification périodique (analytics.rollup.reconcile-cron).
+ */
+@Service
+@Timed(value = "service.calls", histogram = true)
+public class RoomUsageService {
+
+    private static final Logger logger = LoggerFactory.getLogger(RoomUsageService.class);
+
+    private static final long MINUTES_PER_HOUR = 60;
+
+    private final RoomUsageHourlyRepository hourlyRepository;
+    private final RoomUsageDailyRepository dailyRepository;
+    private final ReservationRepository reservationRepository;
+    private final ArchivedReservationRepository archivedReservationRepository;
+    private final RecurringReservationService recurringReservationService;
+    private final TransactionTemplate transactionTemplate;
+    private final AtomicBoolean stale = new AtomicBoolean();
+    private final Counter droppedUpdates;
+    // Un seul thread : les mises à jour et les recalculs s'appliquent dans l'ordre des événements
+    private ThreadPoolExecutor updater;
+
+    // Mises à jour en attente au-delà desquelles les suivantes sont abandonnées (agrégats à recalculer)
+    @Value("${analytics.rollup.queue-capacity:10000}")
+    private int queueCapacity = 10000;
+
+    // Heures d'ouverture par jour : dénominateur du taux d'occupation des jours et des semaines
+    @Value("${analytics.open-hours-per-day:24}")
+    private int openHoursPerDay = 24;
+
+    @Value("${analytics.max-window-days:366}")
+    private int maxWindowDays = 366;
+
+    @Value("${analytics.max-hourly-window-days:31}")
+    private int maxHourlyWindowDays = 31;
+
+    public RoomUsageService(RoomUsageHourlyRepository hourlyRepository, RoomUsageDailyRepository dailyRepository,
+                            ReservationRepository reservationRepository, ArchivedReservationRepository archivedReservationRepository,
+                            RecurringReservationService recurringReservationService, TransactionTemplate transactionTemplate,
+                            MeterRegistry meterRegistry) {
+        this.hourlyRepository = hourlyRepository;
+        this.dailyRepository = dailyRepository;
+        this.reservationRepository = reservationRepository;
+        this.archivedReservationRepository = archivedReservationRepository;
+        this.recurringReservationService = recurringReservationService;
+        this.transactionTemplate = transactionTemplate;
+        this.droppedUpdates = Counter.builder("room.usage.rollup.dropped")
+                .description("Mises à jour des agrégats d'occupation perdues (échec ou file pleine), rattrapées par un recalcul")
+                .register(meterRegistry);
+        Gauge.builder("room.usage.rollup.pending", this, service -> service.updater == null ? 0 : service.updater.getQueue().size())
+                .description("Mises à jour des agrégats d'occupation en attente")
+                .register(meterRegistry);
+    }
+
+    // Base existante sans agrégats (première mise en service) : calcul à partir des réservations
+    @PostConstruct
+    public void initializeRollups() {
+        updater = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(queueCapacity),
+                Thread.ofPlatform().name("room-usage").daemon().factory());
+        if (dailyRepository.count() == 0 && reservationRepository.count() > 0) {
+            rebuild();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        updater.shutdown();
+    }
+
+    // Recalcule tous les agrégats à partir des réservations enregistrées, archivées comprises ; retourne le nombre de réservations agrégées.
+    // Exécuté dans le thread des mises à jour, après celles déjà en file
+    public int rebuild() {
+        try {
+            return updater.submit(this::rebuildNow).get();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Recalcul des agrégats d'occupation interrompu", ex);
+        } catch (ExecutionException ex) {
+            throw ex.getCause() instanceof RuntimeException runtime ? runtime : new IllegalStateException(ex.getCause());
+        }
+    }
+
+    // Attend l'application des mises à jour déjà en file (tests, outils d'administration)
+    public void awaitPendingUpdates() {
+        try {
+            updater.submit(() -> { }).get();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException ex) {
+            throw new IllegalStateException(ex.getCause());
+        }
+    }
+
+    // Vrai si une mise à jour a été perdue depuis le dernier recalcul
+    public boolean isStale() {
+        return stale.get();
+    }
+
+    // Rattrapage des mises à jour perdues
+    @Scheduled(cron = "${analytics.rollup.reconcile-cron:0 */5 * * * *}")
+    public void reconcile() {
+        if (stale.get()) {
+            logger.warn("Agrégats d'occupation incomplets, recalcul");
+            rebuild();
+        }
+    }
+
+    private int rebuildNow() {
+        // Levé avant la lecture : une mise à jour perdue pendant le recalcul le redemandera
+        stale.set(false);
+        List<ReservationSlot> slots = new ArrayList<>(reservationRepository.findAllSlots());
+        slots.addAll(archivedReservationRepository.findAllSlots());
+        Map<RoomUsageId, long[]> hourly = new HashMap<>();
+        Map<RoomUsageId, long[]> daily = new HashMap<>();
+        for (ReservationSlot slot : slots) {
+            forEachBucket(slot.startTime(), slot.endTime(), ChronoUnit.HOURS, (bucket, minutes) ->
+                    accumulate(hourly.computeIfAbsent(new RoomUsageId(slot.roomId(), bucket), id -> new long[2]), minutes, 1));
+            forEachBucket(slot.startTime(), slot.endTime(), ChronoUnit.DAYS, (bucket, minutes) ->
+                    accumulate(daily.computeIfAbsent(new RoomUsageId(slot.roomId(), bucket), id -> new long[2]), minutes, 1));
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            hourlyRepository.deleteAllRows();
+            dailyRepository.deleteAllRows();
+            hourlyRepository.saveAll(hourly.entrySet().stream()
+                    .map(entry -> new RoomUsageHourly(entry.getKey(), entry.getValue()[0], (int) entry.getValue()[1]))
+                    .toList());
+            dailyRepository.saveAll(daily.entrySet().stream()
+                    .map(entry -> new RoomUsageDaily(entry.getKey(), entry.getValue()[0], (int) entry.getValue()[1]))
+                    .toList());
+        });
+        logger.info("Agrégats d'occupation recalculés à partir de {} réservations ({} heures, {} jours)",
+                slots.size(), hourly.size(), daily.size());
+        return slots.size();
+    }
+
+    // Appelé dans le thread de la réservation, sous le verrou de la salle : mise en file uniquement
+    @EventListener
+    public void onReservationChanged(ReservationChangedEvent event) {
+        if (event.type() == ReservationChangedEvent.Type.ARCHIVED) {
+            // Les agrégats conservent les réservations archivées
+            return;
+        }
+        try {
+            updater.execute(() -> update(event));
+        } catch (RejectedExecutionException ex) {
+            markStale();
+            logger.error("File des agrégats d'occupation pleine, événement {} de la réservation {} abandonné",
+                    event.type(), event.reservationId());
+        }
+    }
+
+    private void update(ReservationChangedEvent event) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> apply(event));
+        } catch (RuntimeException ex) {
+            markStale();
+            logger.error("Agrégats d'occupation non mis à jour pour l'événement {} de la réservation {}, recalcul planifié",
+                    event.type(), event.reservationId(), ex);
+        }
+    }
+
+    private void markStale() {
+        stale.set(true);
+        droppedUpdates.increment();
+    }
+
+    // Occupation d'une salle sur [from, to[ par tranche, tranches vides comprises
+    @Transactional(readOnly = true)
+    public List<UtilizationBucket> findRoomUtilization(Long roomId, LocalDate from, LocalDate to, UtilizationGranularity granularity) {
+        checkWindow(from, to, granularity == UtilizationGranularity.HOUR ? maxHourlyWindowDays : maxWindowDays);
+        logger.debug("Calcul de l'occupation de la salle {} de {} à {} par {}", roomId, from, to, granularity);
+        LocalDateTime start = from.atStartOfDay();
+        LocalDateTime end = to.atStartOfDay();
+        boolean hourly = granularity == UtilizationGranularity.HOUR;
+        ChronoUnit unit = hourly ? ChronoUnit.HOURS : ChronoUnit.DAYS;
+        long bucketCapacity = hourly ? MINUTES_PER_HOUR : openMinutesPerDay();
+
+        // Minutes, réservations et capacité de chaque heure ou jour de la période
+        Map<LocalDateTime, long[]> buckets = new LinkedHashMap<>();
+        for (LocalDateTime bucket = start; bucket.isBefore(end); bucket = bucket.plus(1, unit)) {
+            buckets.put(bucket, new long[]{0, 0, bucketCapacity});
+        }
+        List<? extends RoomUsage> rows = hourly
+                ? hourlyRepository.findByRoomBetween(roomId, start, end)
+                : dailyRepository.findByRoomBetween(roomId, start, end);
+        rows.forEach(row -> accumulate(buckets.get(row.getId().getBucketStart()), row.getBookedMinutes(), row.getBookingCount()));
+        for (ReservationOccurrence occurrence : recurringReservationService.findOccurrences(roomId, start, end)) {
+            forEachBucket(max(occurrence.startTime(), start), min(occurrence.endTime(), end), unit,
+                    (bucket, minutes) -> accumulate(buckets.get(bucket), minutes, 1));
+        }
+
+        if (granularity == UtilizationGranularity.WEEK) {
+            // Semaines du lundi au dimanche, la première et la dernière limitées à la période
+            Map<LocalDateTime, long[]> weeks = new LinkedHashMap<>();
+            buckets.forEach((day, values) -> {
+                LocalDateTime week = max(day.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY)), start);
+                long[] totals = weeks.computeIfAbsent(week, key -> new long[3]);
+                totals[0] += values[0];
+                totals[1] += values[1];
+                totals[2] += values[2];
+            });
+            return toBuckets(weeks);
+        }
+        return toBuckets(buckets);
+    }
+
+    // Occupation totale des salles réservées sur [from, to[, de la plus occupée à la moins occupée
+    @Transactional(readOnly = true)
+    public List<RoomUtilization> findUtilization(LocalDate from, LocalDate to) {
+        checkWindow(from, to, maxWindowDays);
+        logger.debug("Calcul de l'occupation des salles de {} à {}", from, to);
+        LocalDateTime start = from.atStartOfDay();
+        LocalDateTime end = to.atStartOfDay();
+
+        Map<Long, long[]> totals = new HashMap<>();
+        for (RoomUsageTotal total : dailyRepository.sumByRoomBetween(start, end)) {
+            totals.put(total.roomId(), new long[]{total.bookedMinutes(), total.bookingCount()});
+        }
+        // Une occurrence compte, comme une réservation simple, une fois par jour touché
+        for (ReservationOccurrence occurrence : recurringReservationService.findOccurrences(null, start, end)) {
+            long[] roomTotals = totals.computeIfAbsent(occurrence.roomId(), id -> new long[2]);
+            forEachBucket(max(occurrence.startTime(), start), min(occurrence.endTime(), end), ChronoUnit.DAYS,
+                    (bucket, minutes) -> accumulate(roomTotals, minutes, 1));
+        }
+
+        long capacity = ChronoUnit.DAYS.between(from, to) * openMinutesPerDay();
+        List<RoomUtilization> utilizations = new ArrayList<>(totals.size());
+        totals.forEach((roomId, values) ->
+                utilizations.add(new RoomUtilization(roomId, values[0], values[1], occupancyPercent(values[0], capacity))));
+        utilizations.sort(Comparator.comparingLong(RoomUtilization::bookedMinutes).reversed()
+                .thenComparing(RoomUtilization::roomId));
+        return utilizations;
+    }
+
+    // Découpe [start, end[ en heures ou en jours : début de chaque tranche touchée et minutes réservées dans la tranche
+    static void forEachBucket(LocalDateTime start, LocalDateTime end, ChronoUnit unit, BiConsumer<LocalDateTime, Long> consumer) {
+        for (LocalDateTime bucket = start.truncatedTo(unit); bucket.isBefore(end); bucket = bucket.plus(1, unit)) {
+            LocalDateTime next = bucket.plus(1, unit);
+            LocalDateTime segmentStart = max(start, bucket);
+            LocalDateTime segmentEnd = min(end, next);
+            if (segmentEnd.isAfter(segmentStart)) {
+                consumer.accept(bucket, Duration.between(segmentStart, segmentEnd).toMinutes());
+            }
+        }
+    }
+
+    private void apply(ReservationChangedEvent event) {
+        switch (event.type()) {
+            case CREATED -> add(event.roomId(), event.startTime(), event.endTime(), 1);
+            case UPDATED -> {
+                ReservationSlot previous = event.previous();
+                if (previous == null) {
+                    logger.warn("Créneau précédent de la réservation {} inconnu, agrégats d'occupation à recalculer", event.reservationId());
+                } else if (previous.roomId().equals(event.roomId()) && previous.startTime().equals(event.startTime())
+                        && previous.endTime().equals(event.endTime())) {
+                    // Salle et horaires inchangés (description) : rien à mettre à jour
+                    return;
+                } else {
+                    add(previous.roomId(), previous.startTime(), previous.endTime(), -1);
+                }
+                add(event.roomId(), event.startTime(), event.endTime(), 1);
+            }
+            case DELETED -> add(event.roomId(), event.startTime(), event.endTime(), -1);
+            case ARCHIVED -> {
+                // Écarté à la réception : les agrégats conservent l'historique
+            }
+            case CLEARED -> {
+                hourlyRepository.deleteAllRows();
+                dailyRepository.deleteAllRows();
+            }
+        }
+    }
+
+    // Ajoute (sign = 1) ou retire (sign = -1) un créneau des agrégats horaires et journaliers de la salle
+    private void add(Long roomId, LocalDateTime start, LocalDateTime end, int sign) {
+        if (sign < 0) {
+            forEachBucket(start, end, ChronoUnit.HOURS, (bucket, minutes) -> hourlyRepository.subtract(roomId, bucket, minutes, 1));
+            forEachBucket(start, end, ChronoUnit.DAYS, (bucket, minutes) -> dailyRepository.subtract(roomId, bucket, minutes, 1));
+            return;
+        }
+        forEachBucket(start, end, ChronoUnit.HOURS, (bucket, minutes) -> hourlyRepository.add(roomId, bucket, minutes, 1));
+        forEachBucket(start, end, ChronoUnit.DAYS, (bucket, minutes) -> dailyRepository.add(roomId, bucket, minutes, 1));
+    }
+
+    private void checkWindow(LocalDate from, LocalDate to, int maxDays) {
+        if (!to.isAfter(from)) {
+            throw new IllegalArgumentException("La fin de la période doit être postérieure à son début.");
+        }
+        if (ChronoUnit.DAYS.between(from, to) > maxDays) {
+            throw new IllegalArgumentException("La période consultée ne peut pas dépasser " + maxDays + " jours pour cette granularité.");
+        }
+    }
+
+    private long openMinutesPerDay() {
+        return openHoursPerDay * MINUTES_PER_HOUR;
+    }
+
+    private static List<UtilizationBucket> toBuckets(Map<LocalDateTime, long[]> buckets) {
+        List<UtilizationBucket> result = new ArrayList<>(buckets.size());
+        buckets.forEach((start, values) ->
+                result.add(new UtilizationBucket(start, values[0], values[1], occupancyPercent(values[0], values[2]))));
+        return result;
+    }
+
+    private static void accumulate(long[] values, long minutes, long count) {
+        values[0] += minutes;
+        values[1] += count;
+    }
+
+    // Pourcentage arrondi au dixième
+    private static double occupancyPercent(long bookedMinutes, long capacityMinutes) {
+        return capacityMinutes == 0 ? 0 : Math.round(bookedMinutes * 1000.0 / capacityMinutes) / 10.0;
+    }
+
+    private static LocalDateTime max(LocalDateTime a, LocalDateTime b) {
+        return a.isAfter(b) ? a : b;
+    }
+
+    private static LocalDateTime min(LocalDateTime a, LocalDateTime b) {
+        return a.isBefore(b) ? a : b;
+    }
+}
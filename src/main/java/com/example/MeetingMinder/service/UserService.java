@@ -1,51 +1,82 @@
 package com.example.MeetingMinder.service;
 
+import com.example.MeetingMinder.config.CacheConfig;
+import com.example.MeetingMinder.dto.CursorPage;
+import com.example.MeetingMinder.dto.Cursors;
+import com.example.MeetingMinder.dto.ReservationChangedEvent;
+import com.example.MeetingMinder.index.ReservationIndex;
 import com.example.MeetingMinder.model.User;
 import com.example.MeetingMinder.repository.UserRepository;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.List;
 import java.util.Optional;
 
 @Service
+@Timed(value = "service.calls", histogram = true)
 public class UserService {
 
     private static final Logger logger = LoggerFactory.getLogger(UserService.class);
 
     private final UserRepository userRepository;
+    private final ReservationIndex reservationIndex;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Autowired
-    public UserService(UserRepository userRepository) {
+    public UserService(UserRepository userRepository, ReservationIndex reservationIndex, ApplicationEventPublisher eventPublisher) {
         this.userRepository = userRepository;
+        this.reservationIndex = reservationIndex;
+        this.eventPublisher = eventPublisher;
     }
 
+    @Transactional(readOnly = true)
     public Page<User> findAll(Pageable pageable) {
-        logger.info("Obtention de tous les utilisateurs avec pagination: {}", pageable);
+        logger.debug("Obtention de tous les utilisateurs avec pagination: {}", pageable);
         return userRepository.findAll(pageable);
     }
 
+    @Transactional(readOnly = true)
+    public CursorPage<User> scroll(String cursor, int size) {
+        logger.debug("Obtention des utilisateurs par curseur, taille: {}", size);
+        List<User> users = userRepository.findByIdGreaterThanOrderByIdAsc(Cursors.decodeId(cursor), Limit.of(Cursors.checkSize(size) + 1));
+        return CursorPage.of(users, size, user -> Cursors.encodeId(user.getId()));
+    }
+
+    @Cacheable(cacheNames = CacheConfig.USERS, key = "#id", unless = "#result == null")
     public Optional<User> findById(Long id) {
-        logger.info("Recherche de l'utilisateur avec ID: {}", id);
+        logger.debug("Recherche de l'utilisateur avec ID: {}", id);
         return userRepository.findById(id);
     }
 
+    // L'entrée est invalidée avant l'appel (l'entité en cache a pu être modifiée par l'appelant) et après la validation
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.USERS, key = "#user.id", condition = "#user.id != null", beforeInvocation = true),
+            @CacheEvict(cacheNames = CacheConfig.USERS, key = "#user.id", condition = "#user.id != null")
+    })
     public User save(User user) {
-        logger.info("Sauvegarde de l'utilisateur: {}", user.getName());
+        logger.debug("Sauvegarde de l'utilisateur: {}", user.getName());
         return userRepository.save(user);
     }
 
-    public void deleteAll() {
-        logger.info("Suppression de tous les utilisateurs");
-        userRepository.deleteAll();
-    }
-
+    @CacheEvict(cacheNames = CacheConfig.USERS, key = "#id")
     public void deleteById(Long id) {
-        logger.info("Suppression de l'utilisateur avec ID: {}", id);
+        logger.debug("Suppression de l'utilisateur avec ID: {}", id);
         userRepository.deleteById(id);
+        // Les réservations de l'utilisateur sont supprimées en cascade : leurs salles sont libérées
+        reservationIndex.removeUser(id).forEach(slot ->
+                eventPublisher.publishEvent(ReservationChangedEvent.of(ReservationChangedEvent.Type.DELETED, slot, null)));
     }
 
     public boolean existsByName(String name) {
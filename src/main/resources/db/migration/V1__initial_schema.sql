@@ -0,0 +1,45 @@
+-- Schéma initial (identique à doc/db/MeetingMinder.sql, sans les données d'exemple)
+
+-- Table des rôles
+CREATE TABLE roles (
+	id INT AUTO_INCREMENT PRIMARY KEY,
+    name VARCHAR(20) NOT NULL UNIQUE
+);
+
+-- Table des utilisateurs
+CREATE TABLE users (
+	id INT AUTO_INCREMENT PRIMARY KEY,
+	name VARCHAR(50) NOT NULL UNIQUE,
+	password VARCHAR(255) NOT NULL,
+	role_id INT NOT NULL,
+    FOREIGN KEY (role_id) REFERENCES roles(id) ON DELETE RESTRICT ON UPDATE CASCADE
+);
+
+-- Table des salles de réunions
+CREATE TABLE rooms (
+	id INT AUTO_INCREMENT PRIMARY KEY,
+	name VARCHAR(100) NOT NULL UNIQUE,
+	capacity INT NULL,
+	description TEXT NULL
+);
+
+-- Table des reservations
+CREATE TABLE reservations (
+	id INT AUTO_INCREMENT PRIMARY KEY,
+	start_time DATETIME NOT NULL,
+	end_time DATETIME NOT NULL,
+	description TEXT NULL,
+    created_at DATETIME DEFAULT CURRENT_TIMESTAMP,
+    updated_at DATETIME DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+	user_id INT NOT NULL,
+	room_id INT NOT NULL,
+	FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE ON UPDATE CASCADE,
+    FOREIGN KEY (room_id) REFERENCES rooms(id) ON DELETE CASCADE ON UPDATE CASCADE
+);
+
+-- Séquence des réservations (allocation par blocs de 50, émulée par une table sous MySQL)
+CREATE TABLE reservations_seq (
+	next_val BIGINT NOT NULL
+);
+
+INSERT INTO reservations_seq (next_val) VALUES (1);
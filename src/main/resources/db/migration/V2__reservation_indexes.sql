@@ -0,0 +1,9 @@
+-- Détection de conflits : room_id = ? AND start_time <= ? AND end_time >= ?
+-- (end_time dans l'index : le filtre est résolu sans lire les lignes)
+CREATE INDEX idx_reservations_room_time ON reservations (room_id, start_time, end_time);
+
+-- Réservations d'un utilisateur, triées par date de début
+CREATE INDEX idx_reservations_user_start ON reservations (user_id, start_time);
+
+-- Parcours par période : pagination par curseur (start_time, id) et export
+CREATE INDEX idx_reservations_start_id ON reservations (start_time, id);
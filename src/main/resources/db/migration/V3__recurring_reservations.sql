@@ -0,0 +1,19 @@
+-- Réservations récurrentes : une ligne par motif de répétition, les occurrences sont calculées à la demande
+CREATE TABLE recurring_reservations (
+	id INT AUTO_INCREMENT PRIMARY KEY,
+	start_time DATETIME NOT NULL,
+	end_time DATETIME NOT NULL,
+	frequency VARCHAR(10) NOT NULL,
+	repeat_interval INT NOT NULL DEFAULT 1,
+	until_date DATE NULL,
+	description TEXT NULL,
+	created_at DATETIME DEFAULT CURRENT_TIMESTAMP,
+	updated_at DATETIME DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+	user_id INT NOT NULL,
+	room_id INT NOT NULL,
+	FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE ON UPDATE CASCADE,
+	FOREIGN KEY (room_id) REFERENCES rooms(id) ON DELETE CASCADE ON UPDATE CASCADE
+);
+
+-- Motifs d'une salle, par date de première occurrence
+CREATE INDEX idx_recurring_reservations_room_start ON recurring_reservations (room_id, start_time);
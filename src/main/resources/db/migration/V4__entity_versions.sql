@@ -0,0 +1,6 @@
+-- Colonnes de version (verrouillage optimiste, ETag des réponses) et date de mise à jour des salles (Last-Modified)
+ALTER TABLE roles ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE users ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE rooms ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE rooms ADD COLUMN updated_at DATETIME DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP;
+ALTER TABLE reservations ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
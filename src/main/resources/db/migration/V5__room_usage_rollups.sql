@@ -0,0 +1,22 @@
+-- Agrégats d'occupation des salles, tenus à jour à chaque création, modification ou suppression de réservation :
+-- minutes réservées et nombre de réservations par salle et par heure (room_usage_hourly) ou par jour (room_usage_daily)
+CREATE TABLE room_usage_hourly (
+	room_id INT NOT NULL,
+	bucket_start DATETIME NOT NULL,
+	booked_minutes BIGINT NOT NULL DEFAULT 0,
+	booking_count INT NOT NULL DEFAULT 0,
+	PRIMARY KEY (room_id, bucket_start),
+	FOREIGN KEY (room_id) REFERENCES rooms(id) ON DELETE CASCADE ON UPDATE CASCADE
+);
+
+CREATE TABLE room_usage_daily (
+	room_id INT NOT NULL,
+	bucket_start DATETIME NOT NULL,
+	booked_minutes BIGINT NOT NULL DEFAULT 0,
+	booking_count INT NOT NULL DEFAULT 0,
+	PRIMARY KEY (room_id, bucket_start),
+	FOREIGN KEY (room_id) REFERENCES rooms(id) ON DELETE CASCADE ON UPDATE CASCADE
+);
+
+-- Totaux de toutes les salles sur une période
+CREATE INDEX idx_room_usage_daily_bucket ON room_usage_daily (bucket_start, room_id);
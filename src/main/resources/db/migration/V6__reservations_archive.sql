@@ -0,0 +1,20 @@
+-- Réservations terminées depuis plus de reservation.archive.retention, déplacées chaque nuit hors de la table reservations :
+-- la détection de conflits, les listes et l'index en mémoire ne portent plus que sur les réservations récentes et à venir.
+-- Table distincte plutôt que partitionnement RANGE de reservations : MySQL n'accepte pas de clé étrangère sur une table partitionnée.
+CREATE TABLE reservations_archive (
+	id INT PRIMARY KEY,
+	start_time DATETIME NOT NULL,
+	end_time DATETIME NOT NULL,
+	description TEXT NULL,
+	version BIGINT NOT NULL,
+	created_at DATETIME NULL,
+	updated_at DATETIME NULL,
+	archived_at DATETIME NOT NULL,
+	user_id INT NOT NULL,
+	room_id INT NOT NULL,
+	FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE ON UPDATE CASCADE,
+	FOREIGN KEY (room_id) REFERENCES rooms(id) ON DELETE CASCADE ON UPDATE CASCADE
+);
+
+-- Consultation et export de l'historique par période
+CREATE INDEX idx_reservations_archive_start_id ON reservations_archive (start_time, id);
@@ -0,0 +1,13 @@
+-- Séquence des réservations pour les bases existantes : marquées en version 1 (baseline), elles n'ont pas exécuté V1
+-- et n'ont pas forcément la table reservations_seq, ou une valeur antérieure aux identifiants déjà attribués.
+-- Valeur placée après les réservations existantes (MAX(id) + taille d'allocation), comme doc/db/MeetingMinder.sql
+CREATE TABLE IF NOT EXISTS reservations_seq (
+	next_val BIGINT NOT NULL
+);
+
+INSERT INTO reservations_seq (next_val)
+SELECT seq.next_val FROM (SELECT COALESCE(MAX(id), 0) + 50 AS next_val FROM reservations) seq
+WHERE NOT EXISTS (SELECT 1 FROM reservations_seq);
+
+UPDATE reservations_seq SET next_val = (SELECT MAX(id) + 50 FROM reservations)
+WHERE next_val < (SELECT MAX(id) + 50 FROM reservations);
@@ -0,0 +1,64 @@
+package repository;
+
+import com.example.MeetingMinder.MeetingMinderApplication;
+import com.example.MeetingMinder.model.Reservation;
+import com.example.MeetingMinder.model.Role;
+import com.example.MeetingMinder.model.Room;
+import com.example.MeetingMinder.model.User;
+import com.example.MeetingMinder.repository.ReservationRepository;
+import com.example.MeetingMinder.repository.RoleRepository;
+import com.example.MeetingMinder.repository.RoomRepository;
+import com.example.MeetingMinder.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+// Schéma créé par les migrations Flyway et non par Hibernate : le démarrage échoue si le mapping des entités
+// ne correspond plus aux migrations (ddl-auto=validate). Dialecte MySQL, comme en production : la séquence
+// des réservations y est une table
+@SpringBootTest(classes = MeetingMinderApplication.class, properties = {
+        "spring.datasource.url=jdbc:h2:mem:flyway;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "spring.jpa.database-platform=org.hibernate.dialect.MySQLDialect",
+        "spring.jpa.properties.jakarta.persistence.database-major-version=8",
+        "spring.flyway.enabled=true",
+        "spring.jpa.hibernate.ddl-auto=validate"
+})
+class FlywaySchemaValidationTest {
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Test
+    void testEntitiesMatchTheMigratedSchema() {
+        // Enregistrer une réservation : identifiant attribué par la séquence créée par les migrations
+        Role role = new Role();
+        role.setName("role_flyway");
+        User user = new User();
+        user.setName("user_flyway");
+        user.setPassword("password");
+        user.setRole(roleRepository.save(role));
+        Room room = new Room();
+        room.setName("Room Flyway");
+        room.setCapacity(4);
+        Reservation reservation = new Reservation();
+        reservation.setStartTime(LocalDateTime.of(2030, 2, 4, 9, 0));
+        reservation.setEndTime(LocalDateTime.of(2030, 2, 4, 10, 0));
+        reservation.setUser(userRepository.save(user));
+        reservation.setRoom(roomRepository.save(room));
+
+        assertNotNull(reservationRepository.save(reservation).getId());
+    }
+}
@@ -0,0 +1,153 @@
+package repository;
+
+import com.example.MeetingMinder.MeetingMinderApplication;
+import com.example.MeetingMinder.dto.CursorPage;
+import com.example.MeetingMinder.dto.Cursors;
+import com.example.MeetingMinder.dto.EntityVersion;
+import com.example.MeetingMinder.model.Reservation;
+import com.example.MeetingMinder.model.Role;
+import com.example.MeetingMinder.model.Room;
+import com.example.MeetingMinder.model.User;
+import com.example.MeetingMinder.repository.ReservationRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ContextConfiguration;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ContextConfiguration(classes = MeetingMinderApplication.class)
+class ReservationRepositoryTest {
+
+    private static final int PAGE_SIZE = 100;
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        // Créer des données fictives : chaque réservation a son propre utilisateur, rôle et salle
+        LocalDateTime start = LocalDateTime.of(2030, 1, 1, 8, 0);
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            Role role = new Role();
+            role.setName("role_" + i);
+            entityManager.persist(role);
+
+            User user = new User();
+            user.setName("user_" + i);
+            user.setPassword("password");
+            user.setRole(role);
+            entityManager.persist(user);
+
+            Room room = new Room();
+            room.setName("Room " + i);
+            room.setCapacity(10);
+            entityManager.persist(room);
+
+            Reservation reservation = new Reservation();
+            reservation.setStartTime(start.plusHours(i));
+            reservation.setEndTime(start.plusHours(i).plusMinutes(30));
+            reservation.setUser(user);
+            reservation.setRoom(room);
+            entityManager.persist(reservation);
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void testFindAllPageUsesConstantNumberOfStatements() throws Exception {
+        // Exécuter la requête paginée puis sérialiser la page comme le ferait le contrôleur
+        Page<Reservation> page = reservationRepository.findAll(PageRequest.of(0, PAGE_SIZE));
+        String json = new ObjectMapper().registerModule(new JavaTimeModule()).writeValueAsString(page.getContent());
+
+        // Vérifier le résultat : une requête pour la page, une pour le total, aucune par ligne
+        assertEquals(PAGE_SIZE, page.getContent().size());
+        assertTrue(json.contains("role_99"));
+        assertTrue(statistics.getPrepareStatementCount() <= 2,
+                "Nombre de requêtes SQL: " + statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void testKeysetPaginationWalksAllRowsInOrder() {
+        // Parcourir toutes les pages de 30 réservations en suivant les curseurs
+        List<Long> ids = new ArrayList<>();
+        CursorPage<Reservation> page = CursorPage.of(reservationRepository.findAllByOrderByStartTimeAscIdAsc(Limit.of(31)), 30,
+                r -> Cursors.encodeTimeAndId(r.getStartTime(), r.getId()));
+        page.content().forEach(r -> ids.add(r.getId()));
+        int pages = 1;
+        while (page.nextCursor() != null) {
+            statistics.clear();
+            Cursors.TimeAndId after = Cursors.decodeTimeAndId(page.nextCursor());
+            page = CursorPage.of(reservationRepository.findAfter(after.startTime(), after.id(), Limit.of(31)), 30,
+                    r -> Cursors.encodeTimeAndId(r.getStartTime(), r.getId()));
+            page.content().forEach(r -> ids.add(r.getId()));
+            pages++;
+
+            // Une seule requête par page, sans COUNT(*)
+            assertEquals(1, statistics.getPrepareStatementCount());
+        }
+
+        // Vérifier le résultat
+        assertEquals(4, pages);
+        assertEquals(PAGE_SIZE, ids.size());
+        assertEquals(PAGE_SIZE, ids.stream().distinct().count());
+        assertNull(page.nextCursor());
+    }
+
+    @Test
+    void testVersionChangesWhenIncludedRoomChanges() {
+        // Lire la version d'une réservation et celle de la page qui la contient, sans charger les entités
+        Reservation reservation = reservationRepository.findAllByOrderByStartTimeAscIdAsc(Limit.of(1)).get(0);
+        entityManager.clear();
+        statistics.clear();
+        EntityVersion before = reservationRepository.findVersionById(reservation.getId()).orElseThrow();
+        EntityVersion pageBefore = EntityVersion.ofPage(reservationRepository.findVersions(PageRequest.of(0, 10, Sort.by("id"))));
+        assertEquals(0, statistics.getEntityLoadCount());
+
+        // Renommer la salle : la réservation elle-même n'est pas modifiée
+        Room room = entityManager.find(Room.class, reservation.getRoom().getId());
+        room.setName("Room renommée");
+        entityManager.flush();
+        entityManager.clear();
+
+        // Vérifier le résultat : la représentation de la réservation a changé, sa version aussi
+        EntityVersion after = reservationRepository.findVersionById(reservation.getId()).orElseThrow();
+        EntityVersion pageAfter = EntityVersion.ofPage(reservationRepository.findVersions(PageRequest.of(0, 10, Sort.by("id"))));
+        assertEquals("0.0.0.0", before.version());
+        assertEquals("0.1.0.0", after.version());
+        assertNotEquals(before.eTag(), after.eTag());
+        assertNotEquals(pageBefore.eTag(), pageAfter.eTag());
+        assertTrue(reservationRepository.findVersionById(-1L).isEmpty());
+    }
+}
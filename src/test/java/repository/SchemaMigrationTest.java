@@ -0,0 +1,56 @@
+package repository;
+
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.output.MigrateResult;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SchemaMigrationTest {
+
+    @Test
+    void testMigrationsCreateCompositeIndexes() {
+        // Appliquer les migrations sur une base vide (H2 en mode MySQL)
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:migrations;MODE=MySQL;DB_CLOSE_DELAY=-1", "sa", "");
+        MigrateResult result = Flyway.configure().dataSource(dataSource).load().migrate();
+
+        // Vérifier le résultat
+        assertEquals(7, result.migrationsExecuted);
+        List<String> indexes = new JdbcTemplate(dataSource).queryForList(
+                "select index_name from information_schema.indexes where table_name = 'RESERVATIONS'", String.class);
+        assertTrue(indexes.contains("IDX_RESERVATIONS_ROOM_TIME"), indexes.toString());
+        assertTrue(indexes.contains("IDX_RESERVATIONS_USER_START"), indexes.toString());
+        assertTrue(indexes.contains("IDX_RESERVATIONS_START_ID"), indexes.toString());
+        assertEquals(1L, new JdbcTemplate(dataSource).queryForObject("select next_val from reservations_seq", Long.class));
+    }
+
+    @Test
+    void testBaselinedDatabaseGetsTheReservationSequence() {
+        // Base existante créée avant Flyway : schéma initial sans la table reservations_seq, réservations déjà attribuées
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:baseline;MODE=MySQL;DB_CLOSE_DELAY=-1", "sa", "");
+        Flyway.configure().dataSource(dataSource).target("1").load().migrate();
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("drop table reservations_seq");
+        jdbcTemplate.execute("drop table \"flyway_schema_history\"");
+        jdbcTemplate.update("insert into roles (name) values ('admin')");
+        jdbcTemplate.update("insert into users (name, password, role_id) values ('admin', 'admin', 1)");
+        jdbcTemplate.update("insert into rooms (name, capacity) values ('Salle Alpha', 10)");
+        jdbcTemplate.update("insert into reservations (id, start_time, end_time, user_id, room_id) " +
+                "values (12, '2024-08-07 09:00:00', '2024-08-07 10:00:00', 1, 1)");
+
+        // Appliquer les migrations comme au démarrage de l'application
+        MigrateResult result = Flyway.configure().dataSource(dataSource)
+                .baselineOnMigrate(true).baselineVersion("1").load().migrate();
+
+        // Vérifier le résultat : la séquence reprend après les identifiants existants
+        assertEquals(6, result.migrationsExecuted);
+        assertEquals(62L, jdbcTemplate.queryForObject("select next_val from reservations_seq", Long.class));
+    }
+}
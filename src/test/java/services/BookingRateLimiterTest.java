@@ -0,0 +1,78 @@
+package services;
+
+import com.example.MeetingMinder.service.BookingRateLimiter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BookingRateLimiterTest {
+
+    private MeterRegistry meterRegistry;
+    private BookingRateLimiter bookingRateLimiter;
+
+    @BeforeEach
+    void setUp() {
+        // 3 écritures en rafale par utilisateur, 5 par client, un jeton rendu par seconde
+        meterRegistry = new SimpleMeterRegistry();
+        bookingRateLimiter = new BookingRateLimiter(true, 3, 60, 5, 60, 1000, meterRegistry);
+    }
+
+    @Test
+    void testUserBurstIsLimited() {
+        for (int i = 0; i < 3; i++) {
+            bookingRateLimiter.acquire(1L, "10.0.0.1");
+        }
+
+        // Vérifier le résultat : la quatrième écriture est refusée, environ une seconde avant le prochain jeton
+        BookingRateLimiter.LimitExceededException ex = assertThrows(BookingRateLimiter.LimitExceededException.class,
+                () -> bookingRateLimiter.acquire(1L, "10.0.0.2"));
+        assertEquals(1, ex.getRetryAfterSeconds());
+        assertTrue(ex.getRetryAfter().toMillis() <= 1000);
+
+        // Un autre utilisateur garde ses jetons
+        assertDoesNotThrow(() -> bookingRateLimiter.acquire(2L, "10.0.0.2"));
+        assertEquals(1.0, meterRegistry.get("booking.rate.requests").tag("key", "user").tag("outcome", "rejected").counter().count());
+        assertEquals(4.0, meterRegistry.get("booking.rate.requests").tag("key", "user").tag("outcome", "allowed").counter().count());
+        assertEquals(3.0, meterRegistry.get("booking.rate.limit.capacity").tag("key", "user").gauge().value());
+    }
+
+    @Test
+    void testClientAddressIsLimitedAcrossUsers() {
+        for (long user = 1; user <= 5; user++) {
+            bookingRateLimiter.acquire(user, "10.0.0.1");
+        }
+
+        assertThrows(BookingRateLimiter.LimitExceededException.class, () -> bookingRateLimiter.acquire(6L, "10.0.0.1"));
+        assertDoesNotThrow(() -> bookingRateLimiter.acquire(6L, "10.0.0.9"));
+        assertEquals(2.0, meterRegistry.get("booking.rate.keys").tag("key", "client").gauge().value());
+    }
+
+    @Test
+    void testBatchCostsOneClientTokenAndOneTokenPerUser() {
+        // Un lot de trois utilisateurs : un jeton du client, un de chaque utilisateur
+        bookingRateLimiter.acquireBatch(Set.of(1L, 2L, 3L), "10.0.0.1");
+        bookingRateLimiter.acquire(1L, "10.0.0.2");
+        bookingRateLimiter.acquire(1L, "10.0.0.2");
+        assertThrows(BookingRateLimiter.LimitExceededException.class, () -> bookingRateLimiter.acquireBatch(Set.of(1L), "10.0.0.3"));
+
+        // Le client épuise ses cinq jetons avec des lots, y compris sans utilisateur connu
+        for (int i = 0; i < 4; i++) {
+            bookingRateLimiter.acquireBatch(Set.of(), "10.0.0.1");
+        }
+        assertThrows(BookingRateLimiter.LimitExceededException.class, () -> bookingRateLimiter.acquireBatch(Set.of(), "10.0.0.1"));
+    }
+
+    @Test
+    void testDisabledLimiterAcceptsEverything() {
+        BookingRateLimiter disabled = new BookingRateLimiter(false, 1, 1, 1, 1, 10, new SimpleMeterRegistry());
+
+        for (int i = 0; i < 10; i++) {
+            disabled.acquire(1L, "10.0.0.1");
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package services;
+
+import com.example.MeetingMinder.MeetingMinderApplication;
+import com.example.MeetingMinder.dto.BulkDeleteJob;
+import com.example.MeetingMinder.dto.BulkDeleteTarget;
+import com.example.MeetingMinder.model.Reservation;
+import com.example.MeetingMinder.model.Role;
+import com.example.MeetingMinder.model.Room;
+import com.example.MeetingMinder.model.User;
+import com.example.MeetingMinder.repository.ReservationRepository;
+import com.example.MeetingMinder.repository.RoleRepository;
+import com.example.MeetingMinder.repository.RoomRepository;
+import com.example.MeetingMinder.repository.UserRepository;
+import com.example.MeetingMinder.service.BulkDeleteService;
+import com.example.MeetingMinder.service.ReservationService;
+import com.example.MeetingMinder.service.RoomService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(classes = MeetingMinderApplication.class)
+class BulkDeleteServiceTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2034, 2, 6, 9, 0);
+
+    @Autowired
+    private BulkDeleteService bulkDeleteService;
+
+    @Autowired
+    private ReservationService reservationService;
+
+    @Autowired
+    private RoomService roomService;
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @BeforeEach
+    void setUp() {
+        // Petites tranches : plusieurs transactions par table
+        ReflectionTestUtils.setField(bulkDeleteService, "chunkSize", 3);
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReflectionTestUtils.setField(bulkDeleteService, "chunkSize", 1000);
+    }
+
+    @Test
+    void testDeleteReservationsKeepsRooms() {
+        // Créer des données fictives pour le test
+        User user = user("user_bulk_a");
+        Room room = room("Room Bulk A");
+        for (int i = 0; i < 10; i++) {
+            reservationService.save(reservation(user, room, START.plusHours(2L * i)));
+        }
+        long total = reservationRepository.count();
+
+        BulkDeleteJob job = bulkDeleteService.run(BulkDeleteTarget.RESERVATIONS);
+
+        // Vérifier le résultat
+        assertEquals(BulkDeleteJob.Status.COMPLETED, job.getStatus());
+        assertTrue(job.getTotalRows() >= total);
+        assertEquals(job.getTotalRows(), job.getDeletedRows());
+        assertEquals(100.0, job.getProgressPercent());
+        assertEquals(0, reservationRepository.count());
+        assertTrue(roomRepository.existsById(room.getId()));
+
+        // L'index des créneaux est vidé : le créneau est de nouveau libre
+        assertDoesNotThrow(() -> reservationService.save(reservation(user, room, START)));
+    }
+
+    @Test
+    void testDeleteRoomsRemovesTheirReservationsFirst() {
+        // Créer des données fictives pour le test
+        User user = user("user_bulk_b");
+        for (int i = 0; i < 4; i++) {
+            Room room = room("Room Bulk B" + i);
+            reservationService.save(reservation(user, room, START.plusDays(1)));
+            reservationService.save(reservation(user, room, START.plusDays(2)));
+        }
+
+        BulkDeleteJob job = bulkDeleteService.run(BulkDeleteTarget.ROOMS);
+
+        // Vérifier le résultat : salles et réservations supprimées, utilisateurs conservés
+        assertEquals(BulkDeleteJob.Status.COMPLETED, job.getStatus());
+        assertNotNull(job.getFinishedAt());
+        assertEquals(job.getTotalRows(), job.getDeletedRows());
+        assertEquals(0, roomRepository.count());
+        assertEquals(0, reservationRepository.count());
+        assertTrue(userRepository.existsById(user.getId()));
+        assertSame(job, bulkDeleteService.findJob(job.getId()).orElseThrow());
+    }
+
+    private Room room(String name) {
+        Room room = new Room();
+        room.setName(name);
+        room.setCapacity(6);
+        return roomService.save(room);
+    }
+
+    private User user(String name) {
+        Role role = new Role();
+        role.setName("role_" + name);
+        User user = new User();
+        user.setName(name);
+        user.setPassword("password");
+        user.setRole(roleRepository.save(role));
+        return userRepository.save(user);
+    }
+
+    private static Reservation reservation(User user, Room room, LocalDateTime start) {
+        Reservation reservation = new Reservation();
+        reservation.setStartTime(start);
+        reservation.setEndTime(start.plusHours(1));
+        reservation.setUser(user);
+        reservation.setRoom(room);
+        return reservation;
+    }
+}
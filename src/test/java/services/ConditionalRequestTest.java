@@ -0,0 +1,102 @@
+package services;
+
+import com.example.MeetingMinder.MeetingMinderApplication;
+import com.example.MeetingMinder.model.Reservation;
+import com.example.MeetingMinder.model.Role;
+import com.example.MeetingMinder.model.Room;
+import com.example.MeetingMinder.model.User;
+import com.example.MeetingMinder.repository.RoleRepository;
+import com.example.MeetingMinder.repository.UserRepository;
+import com.example.MeetingMinder.service.ReservationService;
+import com.example.MeetingMinder.service.RoomService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDateTime;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(classes = MeetingMinderApplication.class, webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class ConditionalRequestTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2033, 4, 4, 9, 0);
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private RoomService roomService;
+
+    @Autowired
+    private ReservationService reservationService;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+
+    @Test
+    void testRoomChangeIsVisibleToConditionalReservationRequests() throws Exception {
+        // Créer des données fictives pour le test
+        Room room = new Room();
+        room.setName("Room Conditional");
+        room.setCapacity(8);
+        room = roomService.save(room);
+        Role role = new Role();
+        role.setName("role_conditional");
+        User user = new User();
+        user.setName("user_conditional");
+        user.setPassword("password");
+        user.setRole(roleRepository.save(role));
+        user = userRepository.save(user);
+        Reservation reservation = new Reservation();
+        reservation.setStartTime(START);
+        reservation.setEndTime(START.plusHours(1));
+        reservation.setUser(user);
+        reservation.setRoom(room);
+        reservation = reservationService.save(reservation);
+        String path = "/api/reservations/" + reservation.getId();
+
+        // La réponse porte un ETag, sans Last-Modified (représentation composée)
+        HttpResponse<String> first = get(path, null, null);
+        assertEquals(200, first.statusCode());
+        String eTag = first.headers().firstValue("ETag").orElseThrow();
+        assertTrue(first.headers().firstValue("Last-Modified").isEmpty());
+        assertEquals(304, get(path, "If-None-Match", eTag).statusCode());
+
+        // Renommer la salle : ni l'ancien ETag ni une date postérieure à la réservation ne donnent 304
+        Room renamed = roomService.findById(room.getId()).orElseThrow();
+        renamed.setName("Room Conditional renamed");
+        roomService.save(renamed);
+        String modifiedSince = DateTimeFormatter.RFC_1123_DATE_TIME.format(ZonedDateTime.now().plusDays(1));
+        assertEquals(200, get(path, "If-None-Match", eTag).statusCode());
+        HttpResponse<String> sinceDate = get(path, "If-Modified-Since", modifiedSince);
+        assertEquals(200, sinceDate.statusCode());
+        assertTrue(sinceDate.body().contains("Room Conditional renamed"), sinceDate.body());
+
+        // Les pages ne portent que l'ETag
+        HttpResponse<String> page = get("/api/reservations?size=5", null, null);
+        assertTrue(page.headers().firstValue("ETag").isPresent());
+        assertTrue(page.headers().firstValue("Last-Modified").isEmpty());
+        assertEquals(200, get("/api/reservations?size=5", "If-Modified-Since", modifiedSince).statusCode());
+    }
+
+    private HttpResponse<String> get(String path, String header, String value) throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path)).GET();
+        if (header != null) {
+            request.header(header, value);
+        }
+        return httpClient.send(request.build(), HttpResponse.BodyHandlers.ofString());
+    }
+}
@@ -0,0 +1,92 @@
+package services;
+
+import com.example.MeetingMinder.dto.ReservationPatch;
+import com.example.MeetingMinder.dto.RoomPatch;
+import com.example.MeetingMinder.dto.UserPatch;
+import com.example.MeetingMinder.model.Reservation;
+import com.example.MeetingMinder.model.Room;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EntityPatchTest {
+
+    // Module enregistré par Spring Boot sur l'ObjectMapper de l'application
+    private final ObjectMapper objectMapper = JsonMapper.builder()
+            .addModule(new JavaTimeModule())
+            .build();
+
+    private final Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+
+    @Test
+    void testAbsentFieldsAreLeftUnchanged() throws Exception {
+        Room room = room();
+
+        // Appeler la méthode à tester avec la seule capacité
+        RoomPatch patch = objectMapper.readValue("{\"capacity\": 12}", RoomPatch.class);
+        assertTrue(validator.validate(patch).isEmpty());
+        patch.applyTo(room);
+
+        // Vérifier le résultat
+        assertEquals("Salle A", room.getName());
+        assertEquals(12, room.getCapacity());
+        assertEquals("Projecteur", room.getDescription());
+    }
+
+    @Test
+    void testNullDescriptionIsCleared() throws Exception {
+        Room room = room();
+
+        objectMapper.readValue("{\"description\": null}", RoomPatch.class).applyTo(room);
+
+        assertNull(room.getDescription());
+        assertEquals(8, room.getCapacity());
+    }
+
+    @Test
+    void testEntityConstraintsAreChecked() throws Exception {
+        RoomPatch roomPatch = objectMapper.readValue("{\"name\": \" \", \"capacity\": 0}", RoomPatch.class);
+        UserPatch userPatch = objectMapper.readValue("{\"password\": \"abc\", \"role\": {}}", UserPatch.class);
+
+        Set<ConstraintViolation<RoomPatch>> roomViolations = validator.validate(roomPatch);
+        Set<ConstraintViolation<UserPatch>> userViolations = validator.validate(userPatch);
+
+        assertEquals(2, roomViolations.size());
+        assertEquals(2, userViolations.size());
+    }
+
+    @Test
+    void testReservationDatesAreParsedOnce() throws Exception {
+        Reservation reservation = new Reservation();
+        reservation.setStartTime(LocalDateTime.of(2030, 1, 7, 10, 0));
+        reservation.setEndTime(LocalDateTime.of(2030, 1, 7, 11, 0));
+        reservation.setDescription("Point hebdomadaire");
+
+        ReservationPatch patch = objectMapper.readValue(
+                "{\"endTime\": \"2030-01-07T12:30:00\", \"room\": {\"id\": 4}}", ReservationPatch.class);
+        patch.applyTo(reservation, null, null);
+
+        assertEquals(LocalDateTime.of(2030, 1, 7, 10, 0), reservation.getStartTime());
+        assertEquals(LocalDateTime.of(2030, 1, 7, 12, 30), reservation.getEndTime());
+        assertEquals("Point hebdomadaire", reservation.getDescription());
+        assertEquals(4L, patch.getRoom().id());
+        assertNull(patch.getUser());
+    }
+
+    private static Room room() {
+        Room room = new Room();
+        room.setName("Salle A");
+        room.setCapacity(8);
+        room.setDescription("Projecteur");
+        return room;
+    }
+}
@@ -0,0 +1,164 @@
+package services;
+
+import com.example.MeetingMinder.MeetingMinderApplication;
+import com.example.MeetingMinder.model.Reservation;
+import com.example.MeetingMinder.model.Role;
+import com.example.MeetingMinder.model.Room;
+import com.example.MeetingMinder.model.User;
+import com.example.MeetingMinder.repository.RoleRepository;
+import com.example.MeetingMinder.repository.UserRepository;
+import com.example.MeetingMinder.service.ReservationService;
+import com.example.MeetingMinder.service.RoomService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(classes = MeetingMinderApplication.class, webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class OptimisticLockingTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2032, 3, 1, 9, 0);
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private RoomService roomService;
+
+    @Autowired
+    private ReservationService reservationService;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+
+    @Test
+    void testPatchRoomRequiresCurrentVersion() throws Exception {
+        // Créer une salle et lire son ETag
+        Room room = room("Room Locking A");
+        HttpResponse<String> read = send(HttpRequest.newBuilder(uri("/api/rooms/" + room.getId())).GET(), null);
+        String eTag = read.headers().firstValue("ETag").orElseThrow();
+        assertEquals("\"0\"", eTag);
+
+        // Une version périmée est refusée sans modifier la salle
+        HttpResponse<String> stale = patch("/api/rooms/" + room.getId(), "\"7\"", "{\"capacity\": 12}");
+        assertEquals(412, stale.statusCode());
+        assertEquals(8, roomService.findById(room.getId()).orElseThrow().getCapacity());
+
+        // La version courante est acceptée et la réponse porte la nouvelle version
+        HttpResponse<String> updated = patch("/api/rooms/" + room.getId(), eTag, "{\"capacity\": 12}");
+        assertEquals(200, updated.statusCode());
+        assertEquals("\"1\"", updated.headers().firstValue("ETag").orElseThrow());
+        assertEquals(12, roomService.findById(room.getId()).orElseThrow().getCapacity());
+
+        // Le second éditeur, qui avait lu la même version, est refusé
+        assertEquals(412, patch("/api/rooms/" + room.getId(), eTag, "{\"capacity\": 20}").statusCode());
+        assertEquals(12, roomService.findById(room.getId()).orElseThrow().getCapacity());
+    }
+
+    @Test
+    void testPutReservationRequiresCurrentVersion() throws Exception {
+        // Créer des données fictives pour le test
+        Room room = room("Room Locking B");
+        User user = user("user_locking");
+        Reservation reservation = new Reservation();
+        reservation.setStartTime(START);
+        reservation.setEndTime(START.plusHours(1));
+        reservation.setUser(user);
+        reservation.setRoom(room);
+        reservation = reservationService.save(reservation);
+        String path = "/api/reservations/" + reservation.getId();
+        String eTag = send(HttpRequest.newBuilder(uri(path)).GET(), null).headers().firstValue("ETag").orElseThrow();
+        String body = "{\"startTime\": \"2032-03-01T10:00:00\", \"endTime\": \"2032-03-01T11:00:00\", "
+                + "\"user\": {\"id\": " + user.getId() + "}, \"room\": {\"id\": " + room.getId() + "}}";
+
+        // Une modification de la salle change la version composite de la réservation
+        Room renovated = roomService.findById(room.getId()).orElseThrow();
+        renovated.setDescription("Rénovée");
+        roomService.save(renovated);
+        HttpResponse<String> stale = put(path, eTag, body);
+        assertEquals(412, stale.statusCode());
+        assertEquals(START, reservationService.findById(reservation.getId()).orElseThrow().getStartTime());
+
+        // Avec la version relue, la mise à jour passe
+        String current = send(HttpRequest.newBuilder(uri(path)).GET(), null).headers().firstValue("ETag").orElseThrow();
+        HttpResponse<String> updated = put(path, current, body);
+        assertEquals(200, updated.statusCode(), updated.body());
+        assertNotEquals(current, updated.headers().firstValue("ETag").orElseThrow());
+        assertEquals(START.plusHours(1), reservationService.findById(reservation.getId()).orElseThrow().getStartTime());
+    }
+
+    @Test
+    void testSaveOfStaleCopyIsRejected() {
+        // Deux éditeurs chargent la même version de la salle
+        Room room = room("Room Locking C");
+        Room first = copy(room);
+        Room second = copy(room);
+
+        // Le premier enregistre, le second écraserait sa modification
+        first.setCapacity(10);
+        roomService.save(first);
+        second.setCapacity(4);
+        assertThrows(ObjectOptimisticLockingFailureException.class, () -> roomService.save(second));
+        assertEquals(10, roomService.findById(room.getId()).orElseThrow().getCapacity());
+    }
+
+    private HttpResponse<String> patch(String path, String ifMatch, String body) throws Exception {
+        return send(HttpRequest.newBuilder(uri(path)).method("PATCH", HttpRequest.BodyPublishers.ofString(body)), ifMatch);
+    }
+
+    private HttpResponse<String> put(String path, String ifMatch, String body) throws Exception {
+        return send(HttpRequest.newBuilder(uri(path)).PUT(HttpRequest.BodyPublishers.ofString(body)), ifMatch);
+    }
+
+    private HttpResponse<String> send(HttpRequest.Builder request, String ifMatch) throws Exception {
+        request.header("Content-Type", "application/json");
+        if (ifMatch != null) {
+            request.header("If-Match", ifMatch);
+        }
+        return httpClient.send(request.build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+
+    private Room room(String name) {
+        Room room = new Room();
+        room.setName(name);
+        room.setCapacity(8);
+        return roomService.save(room);
+    }
+
+    private User user(String name) {
+        Role role = new Role();
+        role.setName("role_" + name);
+        User user = new User();
+        user.setName(name);
+        user.setPassword("password");
+        user.setRole(roleRepository.save(role));
+        return userRepository.save(user);
+    }
+
+    private static Room copy(Room room) {
+        Room copy = new Room();
+        copy.setId(room.getId());
+        copy.setName(room.getName());
+        copy.setCapacity(room.getCapacity());
+        copy.setVersion(room.getVersion());
+        return copy;
+    }
+}
@@ -0,0 +1,132 @@
+package services;
+
+import com.example.MeetingMinder.MeetingMinderApplication;
+import com.example.MeetingMinder.config.ReplicaRouting;
+import com.example.MeetingMinder.model.Room;
+import com.example.MeetingMinder.service.RoleService;
+import com.example.MeetingMinder.service.RoomService;
+import com.example.MeetingMinder.service.UserService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Deux bases H2 embarquées : la principale, dont le schéma est créé par Hibernate, et un réplica qui n'en reçoit que le schéma
+@SpringBootTest(classes = MeetingMinderApplication.class, webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {
+                "spring.datasource.url=jdbc:h2:mem:routing-primary;MODE=MySQL;DB_CLOSE_DELAY=-1",
+                "datasource.replicas.urls=" + ReadReplicaRoutingTest.REPLICA_URL
+        })
+class ReadReplicaRoutingTest {
+
+    static final String REPLICA_URL = "jdbc:h2:mem:routing-replica;MODE=MySQL;DB_CLOSE_DELAY=-1";
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private RoomService roomService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private RoleService roleService;
+
+    private final JdbcTemplate primary = new JdbcTemplate(
+            new DriverManagerDataSource("jdbc:h2:mem:routing-primary;MODE=MySQL;DB_CLOSE_DELAY=-1", "sa", ""));
+    private final JdbcTemplate replica = new JdbcTemplate(new DriverManagerDataSource(REPLICA_URL, "sa", ""));
+
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+
+    @BeforeEach
+    void copySchemaToReplica() {
+        if (replica.queryForObject("select count(*) from information_schema.tables where table_name = 'ROOMS'", Integer.class) > 0) {
+            return;
+        }
+        primary.queryForList("script nodata", String.class).stream()
+                .filter(statement -> !statement.startsWith("CREATE USER"))
+                .forEach(replica::execute);
+    }
+
+    @Test
+    void testReadOnlyTransactionsGoToReplica() {
+        // Une salle écrite par le service (base principale), une autre présente uniquement sur le réplica
+        Room written = new Room();
+        written.setName("Room Routing Primary");
+        written.setCapacity(4);
+        written = roomService.save(written);
+        replica.update("insert into rooms (id, name, capacity, version, updated_at) values (9001, 'Room Routing Replica', 6, 0, now())");
+
+        // Les listes sont lues sur le réplica, la lecture par ID reste sur la base principale
+        assertEquals(List.of("Room Routing Replica"), names(roomService.findAll(PageRequest.of(0, 100)).getContent()));
+        assertTrue(roomService.findById(written.getId()).isPresent());
+        assertTrue(roomService.findById(9001L).isEmpty());
+
+        // Lecture de ses propres écritures
+        List<Room> own = ReplicaRouting.onPrimary(() -> roomService.findAll(PageRequest.of(0, 100)).getContent());
+        assertTrue(names(own).contains("Room Routing Primary"));
+        assertFalse(names(own).contains("Room Routing Replica"));
+    }
+
+    @Test
+    void testUserAndRoleListingsGoToReplica() {
+        // Un rôle et un utilisateur présents uniquement sur le réplica
+        replica.update("insert into roles (id, name, version) values (9001, 'role_replica', 0)");
+        replica.update("insert into users (id, name, password, role_id, version) values (9001, 'user_replica', 'password', 9001, 0)");
+
+        assertTrue(roleService.findAll(PageRequest.of(0, 100)).getContent().stream().anyMatch(role -> role.getName().equals("role_replica")));
+        assertTrue(roleService.scroll(null, 100).content().stream().anyMatch(role -> role.getName().equals("role_replica")));
+        assertTrue(userService.findAll(PageRequest.of(0, 100)).getContent().stream().anyMatch(user -> user.getName().equals("user_replica")));
+        assertTrue(userService.scroll(null, 100).content().stream().anyMatch(user -> user.getName().equals("user_replica")));
+    }
+
+    @Test
+    void testClientReadsItsWritesAfterBooking() throws Exception {
+        replica.update("merge into rooms (id, name, capacity, version, updated_at) key (id) values (9002, 'Room Routing Lagging', 6, 0, now())");
+
+        // L'écriture dépose le cookie de lecture sur la base principale
+        HttpResponse<String> created = httpClient.send(HttpRequest.newBuilder(uri("/api/rooms"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("{\"name\": \"Room Routing Http\", \"capacity\": 8}"))
+                .build(), HttpResponse.BodyHandlers.ofString());
+        assertEquals(201, created.statusCode(), created.body());
+        String cookie = created.headers().firstValue("Set-Cookie").orElseThrow().split(";")[0];
+        assertTrue(cookie.startsWith("MM_PRIMARY_UNTIL="), cookie);
+
+        // Sans cookie, la liste vient du réplica (qui n'a pas encore reçu la salle)
+        String fromReplica = get(HttpRequest.newBuilder(uri("/api/rooms?size=100")));
+        assertTrue(fromReplica.contains("Room Routing Lagging"), fromReplica);
+        assertFalse(fromReplica.contains("Room Routing Http"), fromReplica);
+
+        // Avec le cookie ou l'en-tête, la salle créée est visible
+        assertTrue(get(HttpRequest.newBuilder(uri("/api/rooms?size=100")).header("Cookie", cookie)).contains("Room Routing Http"));
+        assertTrue(get(HttpRequest.newBuilder(uri("/api/rooms?size=100")).header("X-Read-Your-Writes", "true")).contains("Room Routing Http"));
+    }
+
+    private String get(HttpRequest.Builder request) throws Exception {
+        HttpResponse<String> response = httpClient.send(request.GET().build(), HttpResponse.BodyHandlers.ofString());
+        assertEquals(200, response.statusCode());
+        return response.body();
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+
+    private static List<String> names(List<Room> rooms) {
+        return rooms.stream().map(Room::getName).toList();
+    }
+}
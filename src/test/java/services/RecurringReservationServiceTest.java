@@ -0,0 +1,208 @@
+package services;
+
+import com.example.MeetingMinder.dto.ReservationOccurrence;
+import com.example.MeetingMinder.index.RecurrenceSlot;
+import com.example.MeetingMinder.index.ReservationIndex;
+import com.example.MeetingMinder.model.RecurrenceFrequency;
+import com.example.MeetingMinder.model.RecurringReservation;
+import com.example.MeetingMinder.model.ReservationSlot;
+import com.example.MeetingMinder.model.Room;
+import com.example.MeetingMinder.model.User;
+import com.example.MeetingMinder.repository.RecurringReservationRepository;
+import com.example.MeetingMinder.repository.ReservationRepository;
+import com.example.MeetingMinder.service.RecurringReservationService;
+import com.example.MeetingMinder.service.RoomLockStripes;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class RecurringReservationServiceTest {
+
+    // Lundi
+    private static final LocalDateTime MONDAY = LocalDateTime.of(2030, 1, 7, 10, 0);
+
+    @Mock
+    private RecurringReservationRepository recurringReservationRepository;
+
+    @Mock
+    private ReservationRepository reservationRepository;
+
+    @Spy
+    private ReservationIndex reservationIndex = new ReservationIndex();
+
+    @Spy
+    private RoomLockStripes roomLockStripes = new RoomLockStripes(16);
+
+    @InjectMocks
+    private RecurringReservationService recurringReservationService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(recurringReservationRepository.save(any(RecurringReservation.class))).thenAnswer(invocation -> {
+            RecurringReservation recurrence = invocation.getArgument(0);
+            if (recurrence.getId() == null) {
+                recurrence.setId(100L);
+            }
+            return recurrence;
+        });
+    }
+
+    @Test
+    void testFindOccurrencesExpandsOnlyTheRequestedWindow() {
+        // Motif hebdomadaire sans fin, une semaine sur deux
+        RecurringReservation recurrence = recurrence(1L, MONDAY, 60, RecurrenceFrequency.WEEKLY, 2, null);
+        when(recurringReservationRepository.findStartedBefore(eq(1L), any())).thenReturn(List.of(recurrence));
+
+        // Appeler la méthode à tester sur un mois, deux ans après la première occurrence
+        LocalDateTime from = MONDAY.plusYears(2).withDayOfMonth(1);
+        List<ReservationOccurrence> occurrences = recurringReservationService.findOccurrences(1L, from, from.plusMonths(1));
+
+        // Vérifier le résultat : uniquement les occurrences du mois, toutes un lundi à 10h
+        assertFalse(occurrences.isEmpty());
+        assertTrue(occurrences.size() <= 3);
+        for (ReservationOccurrence occurrence : occurrences) {
+            assertEquals(MONDAY.getDayOfWeek(), occurrence.startTime().getDayOfWeek());
+            assertEquals(MONDAY.toLocalTime(), occurrence.startTime().toLocalTime());
+            assertEquals(occurrence.startTime().plusHours(1), occurrence.endTime());
+            assertEquals(0, java.time.temporal.ChronoUnit.DAYS.between(MONDAY, occurrence.startTime()) % 14);
+            assertEquals(1L, occurrence.recurringReservationId());
+        }
+    }
+
+    @Test
+    void testFindOccurrencesStopsAtUntilDate() {
+        // Motif quotidien du lundi au jeudi inclus
+        RecurringReservation recurrence = recurrence(1L, MONDAY, 30, RecurrenceFrequency.DAILY, 1, MONDAY.toLocalDate().plusDays(3));
+        when(recurringReservationRepository.findStartedBefore(isNull(), any())).thenReturn(List.of(recurrence));
+
+        // Appeler la méthode à tester
+        List<ReservationOccurrence> occurrences = recurringReservationService.findOccurrences(null, MONDAY.minusDays(1), MONDAY.plusDays(7));
+
+        // Vérifier le résultat
+        assertEquals(4, occurrences.size());
+        assertEquals(MONDAY.plusDays(3), occurrences.get(3).startTime());
+    }
+
+    @Test
+    void testFindOccurrencesRejectsTooLongWindow() {
+        assertThrows(IllegalArgumentException.class,
+                () -> recurringReservationService.findOccurrences(1L, MONDAY, MONDAY.plusYears(2)));
+    }
+
+    @Test
+    void testSaveRejectsOccurrenceOverlappingReservation() {
+        // Réservation simple un lundi, trois semaines après le début du motif
+        when(reservationRepository.findSlotsByRoomIdFrom(eq(1L), any(), any())).thenReturn(List.of(
+                new ReservationSlot(5L, 1L, 1L, MONDAY.plusWeeks(3).plusMinutes(30), MONDAY.plusWeeks(3).plusHours(2))));
+        RecurringReservation recurrence = recurrence(null, MONDAY, 60, RecurrenceFrequency.WEEKLY, 1, null);
+
+        // Vérifier que le motif est refusé sans être enregistré
+        RuntimeException exception = assertThrows(RuntimeException.class, () -> recurringReservationService.save(recurrence));
+        assertEquals("La salle est déjà réservée pour certaines occurrences de la réservation récurrente.", exception.getMessage());
+        verify(recurringReservationRepository, never()).save(any(RecurringReservation.class));
+    }
+
+    @Test
+    void testSaveAcceptsReservationBetweenOccurrences() {
+        // Réservation simple un mardi : aucune occurrence du motif du lundi ne la chevauche
+        when(reservationRepository.findSlotsByRoomIdFrom(eq(1L), any(), any())).thenReturn(List.of(
+                new ReservationSlot(5L, 1L, 1L, MONDAY.plusWeeks(3).plusDays(1), MONDAY.plusWeeks(3).plusDays(1).plusHours(1))));
+        RecurringReservation recurrence = recurrence(null, MONDAY, 60, RecurrenceFrequency.WEEKLY, 1, null);
+
+        // Appeler la méthode à tester
+        RecurringReservation saved = recurringReservationService.save(recurrence);
+
+        // Vérifier le résultat : le motif est indexé et bloque désormais les lundis
+        assertEquals(100L, saved.getId());
+        assertTrue(reservationIndex.hasConflict(1L, MONDAY.plusWeeks(10), MONDAY.plusWeeks(10).plusMinutes(15), null));
+        assertFalse(reservationIndex.hasConflict(1L, MONDAY.plusWeeks(10).plusDays(1), MONDAY.plusWeeks(10).plusDays(1).plusHours(1), null));
+    }
+
+    @Test
+    void testSaveChecksOtherRecurrencesWithoutExpandingThem() {
+        // Motif existant : une semaine sur deux, le lundi
+        reservationIndex.putRecurrence(RecurrenceSlot.of(recurrence(1L, MONDAY, 60, RecurrenceFrequency.WEEKLY, 2, null)));
+
+        // Le lundi des semaines impaires est libre
+        RecurringReservation alternate = recurrence(null, MONDAY.plusWeeks(1), 60, RecurrenceFrequency.WEEKLY, 2, null);
+        assertEquals(100L, recurringReservationService.save(alternate).getId());
+
+        // Un motif quotidien chevauche forcément l'un des deux
+        RecurringReservation daily = recurrence(null, MONDAY.plusDays(1).plusMinutes(30), 60, RecurrenceFrequency.DAILY, 1, null);
+        assertThrows(RuntimeException.class, () -> recurringReservationService.save(daily));
+    }
+
+    @Test
+    void testSaveRejectsOccurrenceLongerThanInterval() {
+        RecurringReservation recurrence = recurrence(null, MONDAY, 25 * 60, RecurrenceFrequency.DAILY, 1, null);
+
+        assertThrows(IllegalArgumentException.class, () -> recurringReservationService.save(recurrence));
+        verify(reservationRepository, never()).findSlotsByRoomIdFrom(anyLong(), any(), any());
+    }
+
+    @Test
+    void testRecurrenceOverlapMatchesExpandedOccurrences() {
+        // Comparaison du calcul arithmétique avec l'énumération complète des occurrences, sur des motifs aléatoires bornés
+        Random random = new Random(42);
+        for (int i = 0; i < 2000; i++) {
+            RecurrenceSlot a = RecurrenceSlot.of(randomRecurrence(1L, random));
+            RecurrenceSlot b = RecurrenceSlot.of(randomRecurrence(2L, random));
+            assertEquals(overlapsByExpansion(a, b), a.overlaps(b), () -> a + " / " + b);
+            assertEquals(a.overlaps(b), b.overlaps(a));
+        }
+    }
+
+    private static RecurringReservation randomRecurrence(Long id, Random random) {
+        RecurrenceFrequency frequency = random.nextBoolean() ? RecurrenceFrequency.DAILY : RecurrenceFrequency.WEEKLY;
+        int interval = 1 + random.nextInt(4);
+        LocalDateTime start = MONDAY.plusDays(random.nextInt(60)).plusMinutes(30L * random.nextInt(20));
+        int maxMinutes = Math.min(frequency.getDays() * interval * 24 * 60 - 1, 3 * 24 * 60);
+        int minutes = 15 + random.nextInt(maxMinutes - 15);
+        return recurrence(id, start, minutes, frequency, interval, start.toLocalDate().plusDays(random.nextInt(200)));
+    }
+
+    private static boolean overlapsByExpansion(RecurrenceSlot a, RecurrenceSlot b) {
+        for (long i = 0; i <= a.lastIndex(); i++) {
+            for (long j = 0; j <= b.lastIndex(); j++) {
+                if (a.startOf(i) <= b.startOf(j) + b.duration() && a.startOf(i) + a.duration() >= b.startOf(j)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static RecurringReservation recurrence(Long id, LocalDateTime start, int minutes, RecurrenceFrequency frequency,
+                                                   int interval, LocalDate untilDate) {
+        User user = new User();
+        user.setId(1L);
+        Room room = new Room();
+        room.setId(1L);
+
+        RecurringReservation recurrence = new RecurringReservation();
+        recurrence.setId(id);
+        recurrence.setStartTime(start);
+        recurrence.setEndTime(start.plusMinutes(minutes));
+        recurrence.setFrequency(frequency);
+        recurrence.setRepeatInterval(interval);
+        recurrence.setUntilDate(untilDate);
+        recurrence.setUser(user);
+        recurrence.setRoom(room);
+        return recurrence;
+    }
+}
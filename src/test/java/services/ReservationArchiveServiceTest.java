@@ -0,0 +1,156 @@
+package services;
+
+import com.example.MeetingMinder.MeetingMinderApplication;
+import com.example.MeetingMinder.dto.ExportFormat;
+import com.example.MeetingMinder.dto.ReservationChangedEvent;
+import com.example.MeetingMinder.dto.UtilizationGranularity;
+import com.example.MeetingMinder.index.ReservationIndex;
+import com.example.MeetingMinder.model.ArchivedReservation;
+import com.example.MeetingMinder.model.Reservation;
+import com.example.MeetingMinder.model.Role;
+import com.example.MeetingMinder.model.Room;
+import com.example.MeetingMinder.model.User;
+import com.example.MeetingMinder.repository.ArchivedReservationRepository;
+import com.example.MeetingMinder.repository.ReservationRepository;
+import com.example.MeetingMinder.repository.RoleRepository;
+import com.example.MeetingMinder.repository.UserRepository;
+import com.example.MeetingMinder.service.ReservationArchiveService;
+import com.example.MeetingMinder.service.ReservationExportService;
+import com.example.MeetingMinder.service.ReservationService;
+import com.example.MeetingMinder.service.RoomService;
+import com.example.MeetingMinder.service.RoomUsageService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(classes = MeetingMinderApplication.class)
+@RecordApplicationEvents
+class ReservationArchiveServiceTest {
+
+    // Période passée propre à ce test : l'archivage porte sur toute la table
+    private static final LocalDateTime PAST = LocalDateTime.of(2000, 3, 6, 9, 0);
+    private static final LocalDateTime CUTOFF = LocalDateTime.of(2001, 1, 1, 0, 0);
+
+    @Autowired
+    private ReservationArchiveService reservationArchiveService;
+
+    @Autowired
+    private ReservationService reservationService;
+
+    @Autowired
+    private ReservationExportService reservationExportService;
+
+    @Autowired
+    private RoomUsageService roomUsageService;
+
+    @Autowired
+    private RoomService roomService;
+
+    @Autowired
+    private ReservationIndex reservationIndex;
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Autowired
+    private ArchivedReservationRepository archivedReservationRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ApplicationEvents applicationEvents;
+
+    @Test
+    void testEndedReservationsMoveToTheArchive() throws Exception {
+        // Créer des données fictives : deux réservations passées, une à venir
+        User user = user("user_archive");
+        Room room = room("Room Archive");
+        Reservation first = reservationService.save(reservation(user, room, PAST));
+        Reservation second = reservationService.save(reservation(user, room, PAST.plusDays(1)));
+        Reservation upcoming = reservationService.save(reservation(user, room, LocalDateTime.of(2035, 1, 8, 9, 0)));
+
+        assertTrue(reservationArchiveService.archiveEndedBefore(CUTOFF) >= 2);
+
+        // Vérifier le résultat : les réservations passées ont quitté la table et l'index, celle à venir est restée
+        assertFalse(reservationRepository.existsById(first.getId()));
+        assertFalse(reservationRepository.existsById(second.getId()));
+        assertTrue(reservationRepository.existsById(upcoming.getId()));
+        assertTrue(reservationIndex.find(first.getId()).isEmpty());
+        assertTrue(reservationIndex.find(upcoming.getId()).isPresent());
+
+        // Un événement par réservation archivée, avec sa salle et son créneau
+        List<ReservationChangedEvent> archivedEvents = applicationEvents.stream(ReservationChangedEvent.class)
+                .filter(event -> event.type() == ReservationChangedEvent.Type.ARCHIVED && event.roomId().equals(room.getId()))
+                .toList();
+        assertEquals(List.of(first.getId(), second.getId()), archivedEvents.stream().map(ReservationChangedEvent::reservationId).toList());
+        assertEquals(PAST, archivedEvents.get(0).startTime());
+
+        ArchivedReservation archived = archivedReservationRepository.findById(first.getId()).orElseThrow();
+        assertEquals(PAST, archived.getStartTime());
+        assertEquals(first.getVersion(), archived.getVersion());
+        assertNotNull(archived.getArchivedAt());
+
+        Page<ArchivedReservation> page = reservationArchiveService.findByPeriod(PAST, PAST.plusDays(7), PageRequest.of(0, 10));
+        assertEquals(2, page.getTotalElements());
+        assertEquals(first.getId(), page.getContent().get(0).getId());
+        assertEquals(room.getId(), page.getContent().get(0).getRoom().getId());
+
+        // L'historique reste compté dans l'occupation, recalcul compris, et exporté
+        LocalDate day = PAST.toLocalDate();
+        roomUsageService.awaitPendingUpdates();
+        assertEquals(60, roomUsageService.findRoomUtilization(room.getId(), day, day.plusDays(1), UtilizationGranularity.DAY)
+                .get(0).bookedMinutes());
+        roomUsageService.rebuild();
+        assertEquals(60, roomUsageService.findRoomUtilization(room.getId(), day, day.plusDays(1), UtilizationGranularity.DAY)
+                .get(0).bookedMinutes());
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        assertEquals(2, reservationExportService.export(PAST, PAST.plusDays(7), ExportFormat.CSV, out));
+        assertTrue(out.toString(StandardCharsets.UTF_8).contains("\r\n" + first.getId() + ","));
+
+        // Un second passage n'a plus rien à déplacer
+        assertEquals(0, reservationArchiveService.archiveEndedBefore(CUTOFF));
+    }
+
+    private Room room(String name) {
+        Room room = new Room();
+        room.setName(name);
+        room.setCapacity(6);
+        return roomService.save(room);
+    }
+
+    private User user(String name) {
+        Role role = new Role();
+        role.setName("role_" + name);
+        User user = new User();
+        user.setName(name);
+        user.setPassword("password");
+        user.setRole(roleRepository.save(role));
+        return userRepository.save(user);
+    }
+
+    private static Reservation reservation(User user, Room room, LocalDateTime start) {
+        Reservation reservation = new Reservation();
+        reservation.setStartTime(start);
+        reservation.setEndTime(start.plusHours(1));
+        reservation.setUser(user);
+        reservation.setRoom(room);
+        return reservation;
+    }
+}
@@ -0,0 +1,165 @@
+package services;
+
+import com.example.MeetingMinder.dto.ReservationBatchItemResult;
+import com.example.MeetingMinder.dto.ReservationBatchResult;
+import com.example.MeetingMinder.index.ReservationIndex;
+import com.example.MeetingMinder.model.Reservation;
+import com.example.MeetingMinder.model.ReservationSlot;
+import com.example.MeetingMinder.model.Room;
+import com.example.MeetingMinder.model.User;
+import com.example.MeetingMinder.repository.ReservationRepository;
+import com.example.MeetingMinder.repository.RoomRepository;
+import com.example.MeetingMinder.repository.UserRepository;
+import com.example.MeetingMinder.service.ReservationBatchService;
+import com.example.MeetingMinder.service.RoomLockStripes;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+class ReservationBatchServiceTest {
+
+    private static final LocalDateTime MONDAY = LocalDateTime.of(2030, 1, 7, 9, 0);
+
+    private ReservationRepository reservationRepository;
+    private RoomRepository roomRepository;
+    private UserRepository userRepository;
+    private ReservationIndex reservationIndex;
+    private ReservationBatchService reservationBatchService;
+
+    @BeforeEach
+    void setUp() {
+        reservationRepository = mock(ReservationRepository.class);
+        // Salles et utilisateurs existants : tous sauf l'identifiant 99
+        roomRepository = mock(RoomRepository.class);
+        userRepository = mock(UserRepository.class);
+        when(roomRepository.findExistingIds(any())).thenAnswer(invocation -> existing(invocation.getArgument(0)));
+        when(userRepository.findExistingIds(any())).thenAnswer(invocation -> existing(invocation.getArgument(0)));
+        reservationIndex = new ReservationIndex();
+        TransactionTemplate transactionTemplate = mock(TransactionTemplate.class);
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        reservationBatchService = new ReservationBatchService(reservationRepository, roomRepository, userRepository, reservationIndex,
+                new RoomLockStripes(16), Validation.buildDefaultValidatorFactory().getValidator(), transactionTemplate,
+                event -> { });
+    }
+
+    @Test
+    void testImportReportsEachItem() {
+        // Une réservation existe déjà dans la salle 1 de 9h à 10h
+        when(reservationRepository.findSlotsByRoomIdsBetween(any(), any(), any()))
+                .thenReturn(List.of(new ReservationSlot(100L, 1L, 1L, MONDAY, MONDAY.plusHours(1))));
+        AtomicLong sequence = new AtomicLong(500);
+        when(reservationRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<Reservation> saved = new ArrayList<>(invocation.getArgument(0));
+            saved.forEach(reservation -> reservation.setId(sequence.incrementAndGet()));
+            return saved;
+        });
+
+        List<Reservation> batch = List.of(
+                reservation(1L, MONDAY.plusHours(2), MONDAY.plusHours(3)),          // valide
+                reservation(1L, MONDAY.plusMinutes(30), MONDAY.plusMinutes(90)),    // conflit avec l'existant
+                reservation(1L, MONDAY.plusHours(2).plusMinutes(30), MONDAY.plusHours(4)), // conflit avec l'élément 0
+                reservation(2L, MONDAY.plusHours(1), MONDAY),                      // fin avant début
+                reservation(2L, MONDAY, MONDAY.plusHours(1)));                     // valide dans une autre salle
+
+        // Exécuter la méthode de service
+        ReservationBatchResult result = reservationBatchService.importReservations(batch);
+
+        // Vérifier le résultat
+        assertEquals(2, result.created());
+        assertEquals(3, result.rejected());
+        assertEquals(ReservationBatchItemResult.Status.CREATED, result.items().get(0).status());
+        assertEquals(ReservationBatchItemResult.Status.CONFLICT, result.items().get(1).status());
+        assertEquals(ReservationBatchItemResult.Status.CONFLICT, result.items().get(2).status());
+        assertEquals("Le créneau chevauche une autre réservation du lot.", result.items().get(2).message());
+        assertEquals(ReservationBatchItemResult.Status.INVALID, result.items().get(3).status());
+        assertEquals(ReservationBatchItemResult.Status.CREATED, result.items().get(4).status());
+
+        // Une seule requête de lecture et une seule écriture groupée
+        verify(reservationRepository, times(1)).findSlotsByRoomIdsBetween(any(), any(), any());
+        verify(reservationRepository, times(1)).saveAll(anyList());
+        verify(reservationRepository, never()).save(any(Reservation.class));
+
+        // L'index en mémoire connaît les réservations créées
+        assertTrue(reservationIndex.find(result.items().get(0).reservationId()).isPresent());
+        assertTrue(reservationIndex.find(result.items().get(4).reservationId()).isPresent());
+    }
+
+    @Test
+    void testUnknownRoomIsRejectedWithoutLosingTheBatch() {
+        when(reservationRepository.findSlotsByRoomIdsBetween(any(), any(), any())).thenReturn(List.of());
+        AtomicLong sequence = new AtomicLong(700);
+        when(reservationRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<Reservation> saved = new ArrayList<>(invocation.getArgument(0));
+            saved.forEach(reservation -> reservation.setId(sequence.incrementAndGet()));
+            return saved;
+        });
+
+        List<Reservation> batch = List.of(
+                reservation(1L, MONDAY, MONDAY.plusHours(1)),                      // valide
+                reservation(99L, MONDAY, MONDAY.plusHours(1)),                     // salle inconnue
+                reservation(2L, MONDAY, MONDAY.plusHours(1)));                     // valide
+        batch.get(2).getUser().setId(99L);                                          // utilisateur inconnu
+
+        // Exécuter la méthode de service
+        ReservationBatchResult result = reservationBatchService.importReservations(batch);
+
+        // Vérifier le résultat : seules les références inconnues sont rejetées, le reste du lot est enregistré
+        assertEquals(1, result.created());
+        assertEquals(ReservationBatchItemResult.Status.CREATED, result.items().get(0).status());
+        assertEquals(ReservationBatchItemResult.Status.INVALID, result.items().get(1).status());
+        assertEquals("La salle n'existe pas.", result.items().get(1).message());
+        assertEquals(ReservationBatchItemResult.Status.INVALID, result.items().get(2).status());
+        assertEquals("L'utilisateur n'existe pas.", result.items().get(2).message());
+        verify(reservationRepository, times(1)).saveAll(List.of(batch.get(0)));
+        verify(roomRepository, times(1)).findExistingIds(any());
+        verify(userRepository, times(1)).findExistingIds(any());
+    }
+
+    @Test
+    void testImportRejectsOversizedBatch() {
+        List<Reservation> batch = new ArrayList<>();
+        for (int i = 0; i <= 5000; i++) {
+            batch.add(reservation(1L, MONDAY.plusHours(i * 2L), MONDAY.plusHours(i * 2L + 1)));
+        }
+
+        // Exécuter la méthode de service et vérifier le rejet
+        assertThrows(IllegalArgumentException.class, () -> reservationBatchService.importReservations(batch));
+        verifyNoInteractions(reservationRepository);
+    }
+
+    private static Set<Long> existing(Set<Long> ids) {
+        Set<Long> found = new HashSet<>(ids);
+        found.remove(99L);
+        return found;
+    }
+
+    private static Reservation reservation(Long roomId, LocalDateTime start, LocalDateTime end) {
+        User user = new User();
+        user.setId(1L);
+
+        Room room = new Room();
+        room.setId(roomId);
+
+        Reservation reservation = new Reservation();
+        reservation.setStartTime(start);
+        reservation.setEndTime(end);
+        reservation.setUser(user);
+        reservation.setRoom(room);
+        return reservation;
+    }
+}
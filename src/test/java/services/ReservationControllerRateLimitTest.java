@@ -0,0 +1,80 @@
+package services;
+
+import com.example.MeetingMinder.controller.ReservationController;
+import com.example.MeetingMinder.dto.ReservationBatchResult;
+import com.example.MeetingMinder.model.Reservation;
+import com.example.MeetingMinder.model.User;
+import com.example.MeetingMinder.service.BookingRateLimiter;
+import com.example.MeetingMinder.service.BulkDeleteService;
+import com.example.MeetingMinder.service.ReservationBatchService;
+import com.example.MeetingMinder.service.ReservationExportService;
+import com.example.MeetingMinder.service.ReservationService;
+import com.example.MeetingMinder.service.RoomService;
+import com.example.MeetingMinder.service.UserService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+class ReservationControllerRateLimitTest {
+
+    private ReservationBatchService reservationBatchService;
+    private ReservationController reservationController;
+
+    @BeforeEach
+    void setUp() {
+        // 2 écritures en rafale par utilisateur et par client
+        reservationBatchService = mock(ReservationBatchService.class);
+        when(reservationBatchService.importReservations(anyList())).thenReturn(ReservationBatchResult.of(List.of()));
+        BookingRateLimiter bookingRateLimiter = new BookingRateLimiter(true, 2, 1, 2, 1, 100, new SimpleMeterRegistry());
+        reservationController = new ReservationController(mock(ReservationService.class), reservationBatchService,
+                mock(ReservationExportService.class), mock(RoomService.class), mock(UserService.class),
+                mock(BulkDeleteService.class), bookingRateLimiter);
+    }
+
+    @Test
+    void testBatchImportIsRateLimitedPerClient() {
+        // Deux lots passent, le troisième du même client est refusé avant l'import
+        reservationController.createReservations(List.of(), request("10.0.0.1"));
+        reservationController.createReservations(List.of(), request("10.0.0.1"));
+        assertThrows(BookingRateLimiter.LimitExceededException.class,
+                () -> reservationController.createReservations(List.of(), request("10.0.0.1")));
+        verify(reservationBatchService, times(2)).importReservations(anyList());
+
+        // La réponse est 429 avec Retry-After, comme pour une création unitaire
+        BookingRateLimiter.LimitExceededException ex = assertThrows(BookingRateLimiter.LimitExceededException.class,
+                () -> reservationController.createReservations(List.of(), request("10.0.0.1")));
+        assertEquals(429, reservationController.handleLimitExceeded(ex).getStatusCode().value());
+        assertNotNull(reservationController.handleLimitExceeded(ex).getHeaders().getFirst("Retry-After"));
+    }
+
+    @Test
+    void testBatchImportChargesEachUser() {
+        // Deux lots de l'utilisateur 1 depuis des clients différents épuisent ses jetons
+        reservationController.createReservations(List.of(reservation(1L), reservation(1L)), request("10.0.0.1"));
+        reservationController.createReservations(List.of(reservation(1L)), request("10.0.0.2"));
+        assertThrows(BookingRateLimiter.LimitExceededException.class,
+                () -> reservationController.createReservations(List.of(reservation(2L), reservation(1L)), request("10.0.0.3")));
+    }
+
+    private static ServletWebRequest request(String remoteAddress) {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setRemoteAddr(remoteAddress);
+        return new ServletWebRequest(request);
+    }
+
+    private static Reservation reservation(Long userId) {
+        User user = new User();
+        user.setId(userId);
+        Reservation reservation = new Reservation();
+        reservation.setUser(user);
+        return reservation;
+    }
+}
@@ -0,0 +1,162 @@
+package services;
+
+import com.example.MeetingMinder.MeetingMinderApplication;
+import com.example.MeetingMinder.dto.ReservationChangedEvent;
+import com.example.MeetingMinder.model.Reservation;
+import com.example.MeetingMinder.model.Role;
+import com.example.MeetingMinder.model.Room;
+import com.example.MeetingMinder.model.User;
+import com.example.MeetingMinder.repository.RoleRepository;
+import com.example.MeetingMinder.repository.UserRepository;
+import com.example.MeetingMinder.service.ReservationEventBroadcaster;
+import com.example.MeetingMinder.service.ReservationService;
+import com.example.MeetingMinder.service.RoomService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(classes = MeetingMinderApplication.class, webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@Timeout(30)
+class ReservationEventBroadcasterTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2031, 5, 5, 9, 0);
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ReservationService reservationService;
+
+    @Autowired
+    private RoomService roomService;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ReservationEventBroadcaster reservationEventBroadcaster;
+
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+
+    @Test
+    void testSubscribersReceiveEventsOfTheirRoomOnly() throws Exception {
+        // Créer des données fictives pour le test
+        Role role = new Role();
+        role.setName("role_events");
+        User user = new User();
+        user.setName("user_events");
+        user.setPassword("password");
+        user.setRole(roleRepository.save(role));
+        user = userRepository.save(user);
+        Room followed = room("Room Events A");
+        Room other = room("Room Events B");
+
+        // Ouvrir un flux pour la salle suivie et un flux pour toutes les salles
+        int subscribersBefore = reservationEventBroadcaster.subscriberCount();
+        Iterator<String> roomStream = open("/api/rooms/" + followed.getId() + "/events");
+        Iterator<String> allStream = open("/api/rooms/events");
+        assertEquals(":connected", roomStream.next());
+        assertEquals(":connected", allStream.next());
+        assertEquals(subscribersBefore + 2, reservationEventBroadcaster.subscriberCount());
+
+        // Réserver l'autre salle, puis la salle suivie
+        reservationService.save(reservation(user, other, START));
+        Reservation saved = reservationService.save(reservation(user, followed, START));
+
+        // Vérifier le résultat : le flux de toutes les salles reçoit les deux événements dans l'ordre,
+        // celui de la salle suivie uniquement le second
+        assertEquals("event:CREATED", nextField(allStream));
+        assertTrue(nextField(allStream).contains("\"roomId\":" + other.getId()));
+        assertEquals("event:CREATED", nextField(allStream));
+        assertTrue(nextField(allStream).contains("\"roomId\":" + followed.getId()));
+
+        assertEquals("event:CREATED", nextField(roomStream));
+        String data = nextField(roomStream);
+        assertTrue(data.contains("\"reservationId\":" + saved.getId()), data);
+        assertTrue(data.contains("\"startTime\":\"2031-05-05T09:00:00\""), data);
+    }
+
+    @Test
+    void testRoomIsForgottenWhenItsLastSubscriberLeaves() throws Exception {
+        Room room = room("Room Events C");
+        int roomsBefore = reservationEventBroadcaster.subscribedRoomCount();
+        HttpResponse<Stream<String>> response = httpClient.sendAsync(request("/api/rooms/" + room.getId() + "/events"),
+                HttpResponse.BodyHandlers.ofLines()).get(10, TimeUnit.SECONDS);
+        Iterator<String> stream = response.body().iterator();
+        assertEquals(":connected", stream.next());
+        assertEquals(roomsBefore + 1, reservationEventBroadcaster.subscribedRoomCount());
+
+        // Le client ferme le flux : la déconnexion est constatée à l'envoi suivant
+        response.body().close();
+        ReservationChangedEvent event = new ReservationChangedEvent(ReservationChangedEvent.Type.CREATED, 1L, room.getId(),
+                null, START, START.plusHours(1), LocalDateTime.now(), null);
+        while (reservationEventBroadcaster.subscribedRoomCount() > roomsBefore) {
+            reservationEventBroadcaster.onReservationChanged(event);
+            Thread.sleep(50);
+        }
+        assertEquals(roomsBefore, reservationEventBroadcaster.subscribedRoomCount());
+    }
+
+    @Test
+    void testUnknownRoomIsNotFound() throws Exception {
+        HttpResponse<Void> response = httpClient.send(request("/api/rooms/999999/events"), HttpResponse.BodyHandlers.discarding());
+
+        assertEquals(404, response.statusCode());
+    }
+
+    private Iterator<String> open(String path) throws Exception {
+        HttpResponse<Stream<String>> response = httpClient.sendAsync(request(path), HttpResponse.BodyHandlers.ofLines())
+                .get(10, TimeUnit.SECONDS);
+        assertEquals(200, response.statusCode());
+        assertTrue(response.headers().firstValue("Content-Type").orElseThrow().startsWith("text/event-stream"));
+        return response.body().iterator();
+    }
+
+    private HttpRequest request(String path) {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .timeout(Duration.ofSeconds(10))
+                .build();
+    }
+
+    // Ligne suivante du flux, en sautant les séparateurs d'événements et les heartbeats
+    private static String nextField(Iterator<String> stream) {
+        String line = stream.next();
+        while (line.isEmpty() || line.startsWith(":")) {
+            line = stream.next();
+        }
+        return line;
+    }
+
+    private Room room(String name) {
+        Room room = new Room();
+        room.setName(name);
+        room.setCapacity(6);
+        return roomService.save(room);
+    }
+
+    private static Reservation reservation(User user, Room room, LocalDateTime start) {
+        Reservation reservation = new Reservation();
+        reservation.setStartTime(start);
+        reservation.setEndTime(start.plusHours(1));
+        reservation.setUser(user);
+        reservation.setRoom(room);
+        return reservation;
+    }
+}
@@ -0,0 +1,132 @@
+package services;
+
+import com.example.MeetingMinder.MeetingMinderApplication;
+import com.example.MeetingMinder.dto.ExportFormat;
+import com.example.MeetingMinder.model.Reservation;
+import com.example.MeetingMinder.model.Role;
+import com.example.MeetingMinder.model.Room;
+import com.example.MeetingMinder.model.User;
+import com.example.MeetingMinder.repository.ArchivedReservationRepository;
+import com.example.MeetingMinder.repository.ReservationRepository;
+import com.example.MeetingMinder.service.ReservationExportService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.ContextConfiguration;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest
+@ContextConfiguration(classes = MeetingMinderApplication.class)
+class ReservationExportServiceTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2030, 1, 1, 8, 0);
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Autowired
+    private ArchivedReservationRepository archivedReservationRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private ReservationExportService reservationExportService;
+
+    @BeforeEach
+    void setUp() {
+        ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        reservationExportService = new ReservationExportService(reservationRepository, archivedReservationRepository, objectMapper);
+
+        // Créer des données fictives : 5 réservations d'une heure, dont une avec une description à échapper
+        Role role = new Role();
+        role.setName("role_export");
+        entityManager.persist(role);
+
+        User user = new User();
+        user.setName("user_export");
+        user.setPassword("password");
+        user.setRole(role);
+        entityManager.persist(user);
+
+        Room room = new Room();
+        room.setName("Room Export");
+        room.setCapacity(10);
+        entityManager.persist(room);
+
+        for (int i = 0; i < 5; i++) {
+            Reservation reservation = new Reservation();
+            reservation.setStartTime(START.plusHours(i));
+            reservation.setEndTime(START.plusHours(i).plusMinutes(30));
+            reservation.setDescription(i == 0 ? "Point \"équipe\", salle 1" : "Réunion " + i);
+            reservation.setUser(user);
+            reservation.setRoom(room);
+            entityManager.persist(reservation);
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void testExportNdjsonWritesOneLinePerReservationInRange() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Exporter les 3 premières heures (fin exclue)
+        long count = reservationExportService.export(START, START.plusHours(3), ExportFormat.NDJSON, out);
+
+        // Vérifier le résultat
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(3, count);
+        assertEquals(3, lines.length);
+        assertTrue(lines[0].contains("\"startTime\":\"2030-01-01T08:00:00\""));
+        assertTrue(lines[2].contains("\"roomName\":\"Room Export\""));
+        assertTrue(lines[2].contains("\"userName\":\"user_export\""));
+    }
+
+    @Test
+    void testExportNdjsonFlushesOnlyOnce() throws Exception {
+        AtomicInteger flushes = new AtomicInteger();
+        ByteArrayOutputStream out = new ByteArrayOutputStream() {
+            @Override
+            public void flush() {
+                flushes.incrementAndGet();
+            }
+        };
+
+        // Exporter toute la plage
+        long count = reservationExportService.export(START, START.plusHours(5), ExportFormat.NDJSON, out);
+
+        // Vérifier qu'aucun flush n'a lieu ligne par ligne
+        assertTrue(count > 1);
+        assertEquals(1, flushes.get());
+    }
+
+    @Test
+    void testExportCsvEscapesValues() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Exporter toute la période
+        long count = reservationExportService.export(START, START.plusDays(1), ExportFormat.CSV, out);
+
+        // Vérifier le résultat : en-tête, puis une ligne par réservation avec la description échappée
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\r\n");
+        assertEquals(5, count);
+        assertEquals(6, lines.length);
+        assertEquals("id,startTime,endTime,description,roomId,roomName,userId,userName", lines[0]);
+        assertTrue(lines[1].contains(",2030-01-01T08:00:00,2030-01-01T08:30:00,\"Point \"\"équipe\"\", salle 1\","));
+        assertTrue(lines[5].contains(",2030-01-01T12:00:00,2030-01-01T12:30:00,Réunion 4,"));
+        assertTrue(lines[5].endsWith(",user_export"));
+    }
+}
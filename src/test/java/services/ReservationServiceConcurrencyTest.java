@@ -0,0 +1,182 @@
+package services;
+
+import com.example.MeetingMinder.index.ReservationIndex;
+import com.example.MeetingMinder.model.Reservation;
+import com.example.MeetingMinder.model.Room;
+import com.example.MeetingMinder.model.User;
+import com.example.MeetingMinder.repository.ReservationRepository;
+import com.example.MeetingMinder.service.ReservationService;
+import com.example.MeetingMinder.service.RoomLockStripes;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Random;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class ReservationServiceConcurrencyTest {
+
+    private static final int THREADS = 64;
+    private static final int ROOMS = 8;
+    private static final int SLOTS_PER_ROOM = 25;
+    private static final int ATTEMPTS_PER_SLOT = 16;
+    private static final LocalDateTime FIRST_SLOT = LocalDateTime.of(2030, 3, 4, 8, 0);
+
+    private ReservationRepository reservationRepository;
+    private ReservationService reservationService;
+
+    // Lignes "validées" en base, visibles par la requête de conflit
+    private final Queue<Reservation> committed = new ConcurrentLinkedQueue<>();
+    private final AtomicLong sequence = new AtomicLong();
+
+    @BeforeEach
+    void setUp() {
+        reservationRepository = mock(ReservationRepository.class);
+        ReservationIndex reservationIndex = new ReservationIndex();
+        reservationIndex.load(List.of());
+        reservationService = new ReservationService(reservationRepository, reservationIndex, new RoomLockStripes(64),
+                new SimpleMeterRegistry(), event -> { });
+
+        // Simuler une base lente : la fenêtre entre vérification et insertion est volontairement élargie
+        when(reservationRepository.existsConflict(any(), any(), any(), any())).thenAnswer(invocation -> {
+            Long roomId = invocation.getArgument(0);
+            LocalDateTime startTime = invocation.getArgument(1);
+            LocalDateTime endTime = invocation.getArgument(2);
+            Thread.yield();
+            return committed.stream().anyMatch(r -> r.getRoom().getId().equals(roomId)
+                    && !r.getStartTime().isAfter(endTime) && !r.getEndTime().isBefore(startTime));
+        });
+        when(reservationRepository.save(any(Reservation.class))).thenAnswer(invocation -> {
+            Reservation reservation = invocation.getArgument(0);
+            Thread.yield();
+            reservation.setId(sequence.incrementAndGet());
+            committed.add(reservation);
+            return reservation;
+        });
+    }
+
+    @Test
+    void testNoDoubleBookingUnderContention() throws Exception {
+        // Chaque créneau de chaque salle est demandé ATTEMPTS_PER_SLOT fois, dans un ordre mélangé
+        List<Reservation> requests = new ArrayList<>();
+        for (int attempt = 0; attempt < ATTEMPTS_PER_SLOT; attempt++) {
+            for (long roomId = 1; roomId <= ROOMS; roomId++) {
+                for (int slot = 0; slot < SLOTS_PER_ROOM; slot++) {
+                    // Les créneaux se décalent légèrement pour produire des chevauchements partiels
+                    LocalDateTime start = FIRST_SLOT.plusHours(slot * 2L).plusMinutes(attempt % 3 * 10L);
+                    requests.add(reservation(roomId, start, start.plusHours(1)));
+                }
+            }
+        }
+        Collections.shuffle(requests, new Random(42));
+
+        AtomicInteger accepted = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        CountDownLatch startSignal = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (Reservation request : requests) {
+                futures.add(executor.submit(() -> {
+                    startSignal.await();
+                    try {
+                        reservationService.save(request);
+                        accepted.incrementAndGet();
+                    } catch (RuntimeException e) {
+                        rejected.incrementAndGet();
+                    }
+                    return null;
+                }));
+            }
+            startSignal.countDown();
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // Vérifier qu'aucune salle n'a deux réservations qui se chevauchent
+        Map<Long, List<Reservation>> byRoom = committed.stream()
+                .collect(Collectors.groupingBy(r -> r.getRoom().getId()));
+        for (List<Reservation> roomReservations : byRoom.values()) {
+            roomReservations.sort(Comparator.comparing(Reservation::getStartTime));
+            for (int i = 1; i < roomReservations.size(); i++) {
+                assertTrue(roomReservations.get(i).getStartTime().isAfter(roomReservations.get(i - 1).getEndTime()),
+                        "Double réservation détectée dans la salle " + roomReservations.get(i).getRoom().getId());
+            }
+        }
+
+        // Chaque créneau de deux heures accueille exactement une réservation
+        assertEquals(ROOMS * SLOTS_PER_ROOM, accepted.get());
+        assertEquals(requests.size() - accepted.get(), rejected.get());
+        assertEquals(accepted.get(), committed.size());
+    }
+
+    @Test
+    void testDifferentRoomsBookInParallel() throws Exception {
+        CountDownLatch room1InSave = new CountDownLatch(1);
+        CountDownLatch releaseRoom1 = new CountDownLatch(1);
+        when(reservationRepository.save(any(Reservation.class))).thenAnswer(invocation -> {
+            Reservation reservation = invocation.getArgument(0);
+            if (reservation.getRoom().getId() == 1L) {
+                // La salle 1 reste bloquée en pleine insertion
+                room1InSave.countDown();
+                assertTrue(releaseRoom1.await(10, TimeUnit.SECONDS));
+            }
+            reservation.setId(sequence.incrementAndGet());
+            return reservation;
+        });
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<Reservation> room1 = executor.submit(() -> reservationService.save(reservation(1L, FIRST_SLOT, FIRST_SLOT.plusHours(1))));
+            assertTrue(room1InSave.await(10, TimeUnit.SECONDS));
+
+            // La salle 2 est réservée pendant que la salle 1 détient son verrou
+            Future<Reservation> room2 = executor.submit(() -> reservationService.save(reservation(2L, FIRST_SLOT, FIRST_SLOT.plusHours(1))));
+            assertNotNull(room2.get(10, TimeUnit.SECONDS).getId());
+            assertFalse(room1.isDone());
+
+            releaseRoom1.countDown();
+            assertNotNull(room1.get(10, TimeUnit.SECONDS).getId());
+        } finally {
+            releaseRoom1.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    private static Reservation reservation(Long roomId, LocalDateTime start, LocalDateTime end) {
+        User user = new User();
+        user.setId(1L);
+
+        Room room = new Room();
+        room.setId(roomId);
+
+        Reservation reservation = new Reservation();
+        reservation.setStartTime(start);
+        reservation.setEndTime(end);
+        reservation.setUser(user);
+        reservation.setRoom(room);
+        return reservation;
+    }
+}
@@ -1,19 +1,29 @@
 package services;
 
+import com.example.MeetingMinder.dto.ReservationChangedEvent;
+import com.example.MeetingMinder.index.ReservationIndex;
 import com.example.MeetingMinder.model.Reservation;
+import com.example.MeetingMinder.model.ReservationSlot;
 import com.example.MeetingMinder.model.Room;
 import com.example.MeetingMinder.model.User;
 import com.example.MeetingMinder.repository.ReservationRepository;
 import com.example.MeetingMinder.service.ReservationService;
+import com.example.MeetingMinder.service.RoomLockStripes;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 
 import java.time.LocalDateTime;
 import java.util.Arrays;
@@ -22,6 +32,7 @@ import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.*;
 
 class ReservationServiceTest {
@@ -29,6 +40,18 @@ class ReservationServiceTest {
     @Mock
     private ReservationRepository reservationRepository;
 
+    @Spy
+    private ReservationIndex reservationIndex = new ReservationIndex();
+
+    @Spy
+    private RoomLockStripes roomLockStripes = new RoomLockStripes(16);
+
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private ReservationService reservationService;
 
@@ -64,8 +87,8 @@ class ReservationServiceTest {
         Page<Reservation> page = new PageImpl<>(reservations);
         Pageable pageable = PageRequest.of(0, 2);
 
-        // Configurer le comportement du mock
-        when(reservationRepository.findAll(pageable)).thenReturn(page);
+        // Configurer le comportement du mock (sans tri demandé, les lignes sont triées par identifiant)
+        when(reservationRepository.findAll(PageRequest.of(0, 2, Sort.by("id")))).thenReturn(page);
 
         // Exécuter la méthode de service
         Page<Reservation> result = reservationService.findAll(pageable);
@@ -130,12 +153,68 @@ class ReservationServiceTest {
     }
 
     @Test
-    void testDeleteAll() {
-        // Exécuter la méthode de service
-        reservationService.deleteAll();
+    void testSaveRejectsConflictFromIndexWithoutDatabase() {
+        // Créer des données fictives pour le test
+        LocalDateTime start = LocalDateTime.of(2030, 1, 10, 9, 0);
+        reservationIndex.load(List.of(new ReservationSlot(1L, 1L, 1L, start, start.plusHours(1))));
 
-        // Vérifier l'interaction avec le mock
-        verify(reservationRepository, times(1)).deleteAll();
+        User user = new User();
+        user.setId(2L);
+
+        Room room = new Room();
+        room.setId(1L);
+
+        Reservation reservation = new Reservation();
+        reservation.setStartTime(start.plusMinutes(30));
+        reservation.setEndTime(start.plusHours(2));
+        reservation.setUser(user);
+        reservation.setRoom(room);
+
+        // Exécuter la méthode de service et vérifier le rejet
+        assertThrows(RuntimeException.class, () -> reservationService.save(reservation));
+
+        // Vérifier que la base n'a pas été interrogée
+        verify(reservationRepository, never()).existsConflict(anyLong(), any(), any(), any());
+        verify(reservationRepository, never()).save(any(Reservation.class));
+        assertEquals(1.0, meterRegistry.get("reservation.conflict.checks")
+                .tags("source", "index", "result", "conflict").counter().count());
+    }
+
+    @Test
+    void testUpdateDoesNotConflictWithItself() {
+        // Créer des données fictives pour le test
+        LocalDateTime start = LocalDateTime.of(2030, 1, 10, 9, 0);
+        reservationIndex.load(List.of(new ReservationSlot(1L, 1L, 1L, start, start.plusHours(1))));
+
+        User user = new User();
+        user.setId(1L);
+
+        Room room = new Room();
+        room.setId(1L);
+
+        Reservation reservation = new Reservation();
+        reservation.setId(1L);
+        reservation.setStartTime(start.plusMinutes(15));
+        reservation.setEndTime(start.plusHours(1));
+        reservation.setUser(user);
+        reservation.setRoom(room);
+
+        // Configurer le comportement du mock
+        when(reservationRepository.save(any(Reservation.class))).thenReturn(reservation);
+
+        // Exécuter la méthode de service
+        reservationService.save(reservation);
+
+        // Vérifier que l'index reflète le nouveau créneau
+        assertEquals(start.plusMinutes(15), reservationIndex.find(1L).orElseThrow().startTime());
+        assertFalse(reservationIndex.hasConflict(1L, start, start.plusMinutes(10), null));
+
+        // Vérifier l'événement publié pour les abonnés de la salle
+        ArgumentCaptor<ReservationChangedEvent> event = ArgumentCaptor.forClass(ReservationChangedEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertEquals(ReservationChangedEvent.Type.UPDATED, event.getValue().type());
+        assertEquals(1L, event.getValue().roomId());
+        assertEquals(start.plusMinutes(15), event.getValue().startTime());
     }
 
     @Test
@@ -145,5 +224,6 @@ class ReservationServiceTest {
 
         // Vérifier l'interaction avec le mock
         verify(reservationRepository, times(1)).deleteById(1L);
+        assertTrue(reservationIndex.find(1L).isEmpty());
     }
 }
@@ -3,6 +3,7 @@ package services;
 import com.example.MeetingMinder.model.Role;
 import com.example.MeetingMinder.repository.RoleRepository;
 import com.example.MeetingMinder.service.RoleService;
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
@@ -14,11 +15,13 @@ import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 
+import java.sql.SQLException;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
@@ -106,8 +109,9 @@ class RoleServiceTest {
         role.setId(1L);
         role.setName("Admin");
 
-        // Configurer le comportement du mock pour lancer une exception
-        when(roleRepository.save(any(Role.class))).thenThrow(new DataIntegrityViolationException("Role already exists"));
+        // Configurer le comportement du mock pour lancer une violation de l'index unique
+        ConstraintViolationException cause = new ConstraintViolationException("Duplicate entry", new SQLException(), ConstraintViolationException.ConstraintKind.UNIQUE, "name");
+        when(roleRepository.save(any(Role.class))).thenThrow(new DataIntegrityViolationException("Role already exists", cause));
 
         // Exécuter la méthode de service et vérifier l'exception
         RuntimeException thrown = assertThrows(RuntimeException.class, () -> roleService.save(role));
@@ -115,12 +119,19 @@ class RoleServiceTest {
     }
 
     @Test
-    void testDeleteAll() {
-        // Exécuter la méthode de service
-        roleService.deleteAll();
+    void testSaveRethrowsOtherIntegrityViolations() {
+        // Créer des données fictives pour le test
+        Role role = new Role();
+        role.setName("Admin");
 
-        // Vérifier l'interaction avec le mock
-        verify(roleRepository, times(1)).deleteAll();
+        // Configurer le comportement du mock pour lancer une violation qui n'est pas un doublon
+        ConstraintViolationException cause = new ConstraintViolationException("Column cannot be null", new SQLException(), ConstraintViolationException.ConstraintKind.OTHER, null);
+        DataIntegrityViolationException violation = new DataIntegrityViolationException("Null name", cause);
+        when(roleRepository.save(any(Role.class))).thenThrow(violation);
+
+        // Exécuter la méthode de service et vérifier que l'exception remonte inchangée
+        DataIntegrityViolationException thrown = assertThrows(DataIntegrityViolationException.class, () -> roleService.save(role));
+        assertSame(violation, thrown);
     }
 
     @Test
@@ -0,0 +1,154 @@
+package services;
+
+import com.example.MeetingMinder.MeetingMinderApplication;
+import com.example.MeetingMinder.index.DaySchedule;
+import com.example.MeetingMinder.model.RecurrenceFrequency;
+import com.example.MeetingMinder.model.RecurringReservation;
+import com.example.MeetingMinder.model.Reservation;
+import com.example.MeetingMinder.model.Role;
+import com.example.MeetingMinder.model.Room;
+import com.example.MeetingMinder.model.User;
+import com.example.MeetingMinder.repository.RoleRepository;
+import com.example.MeetingMinder.repository.UserRepository;
+import com.example.MeetingMinder.service.RecurringReservationService;
+import com.example.MeetingMinder.service.ReservationService;
+import com.example.MeetingMinder.service.RoomScheduleService;
+import com.example.MeetingMinder.service.RoomService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(classes = MeetingMinderApplication.class, webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class RoomScheduleServiceTest {
+
+    // Jours proches de la date du jour : conservés en mémoire
+    private static final LocalDate DAY = LocalDate.now().plusDays(10);
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private RoomScheduleService roomScheduleService;
+
+    @Autowired
+    private ReservationService reservationService;
+
+    @Autowired
+    private RecurringReservationService recurringReservationService;
+
+    @Autowired
+    private RoomService roomService;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+
+    @Test
+    void testSnapshotFollowsReservationChanges() {
+        // Créer des données fictives et charger les deux jours en mémoire avant toute réservation
+        User user = user("user_schedule");
+        Room room = room("Room Schedule A");
+        assertEquals(0, roomScheduleService.daySchedule(room.getId(), DAY).size());
+        assertEquals(0, roomScheduleService.daySchedule(room.getId(), DAY.plusDays(1)).size());
+
+        // Deux réservations, enregistrées dans le désordre : l'instantané est trié par début
+        Reservation afternoon = reservationService.save(reservation(user, room, DAY.atTime(14, 0)));
+        Reservation morning = reservationService.save(reservation(user, room, DAY.atTime(9, 0)));
+        DaySchedule schedule = roomScheduleService.daySchedule(room.getId(), DAY);
+        assertEquals(2, schedule.size());
+        assertEquals(morning.getId(), schedule.id(0));
+        assertEquals(afternoon.getId(), schedule.id(1));
+        assertEquals(user.getId(), schedule.userId(0));
+        assertEquals(DAY.atTime(9, 0), DaySchedule.toDateTime(schedule.startMinute(0)));
+        assertSame(schedule, roomScheduleService.daySchedule(room.getId(), DAY));
+
+        // Déplacement au lendemain : retirée d'un jour, ajoutée à l'autre
+        afternoon.setStartTime(DAY.plusDays(1).atTime(10, 0));
+        afternoon.setEndTime(DAY.plusDays(1).atTime(11, 0));
+        reservationService.save(afternoon);
+        assertFalse(roomScheduleService.daySchedule(room.getId(), DAY).contains(afternoon.getId()));
+        assertTrue(roomScheduleService.daySchedule(room.getId(), DAY.plusDays(1)).contains(afternoon.getId()));
+
+        // Suppression
+        reservationService.deleteById(morning.getId());
+        assertEquals(0, roomScheduleService.daySchedule(room.getId(), DAY).size());
+
+        // Les instantanés tenus à jour sont identiques à ceux reconstruits depuis l'index
+        DaySchedule updated = roomScheduleService.daySchedule(room.getId(), DAY.plusDays(1));
+        roomScheduleService.removeRoom(room.getId());
+        assertEquals(updated, roomScheduleService.daySchedule(room.getId(), DAY.plusDays(1)));
+    }
+
+    @Test
+    void testScheduleEndpoint() throws Exception {
+        // Une réservation simple et une réservation récurrente quotidienne dans la salle
+        User user = user("user_schedule_http");
+        Room room = room("Room Schedule B");
+        Reservation reservation = reservationService.save(reservation(user, room, DAY.atTime(9, 0)));
+        RecurringReservation recurrence = new RecurringReservation();
+        recurrence.setStartTime(DAY.minusDays(3).atTime(16, 0));
+        recurrence.setEndTime(DAY.minusDays(3).atTime(17, 0));
+        recurrence.setFrequency(RecurrenceFrequency.DAILY);
+        recurrence.setUntilDate(DAY.plusDays(3));
+        recurrence.setUser(user);
+        recurrence.setRoom(room);
+        recurrence = recurringReservationService.save(recurrence);
+
+        HttpResponse<String> response = get("/api/rooms/" + room.getId() + "/schedule?date=" + DAY);
+        assertEquals(200, response.statusCode());
+        String body = response.body();
+        assertTrue(body.contains("\"date\":\"" + DAY + "\""), body);
+        assertTrue(body.contains("{\"id\":" + reservation.getId() + ",\"userId\":" + user.getId()
+                + ",\"startTime\":\"" + DAY + "T09:00:00\",\"endTime\":\"" + DAY + "T10:00:00\"}"), body);
+        assertTrue(body.contains("{\"recurringReservationId\":" + recurrence.getId() + ",\"userId\":" + user.getId()
+                + ",\"startTime\":\"" + DAY + "T16:00:00\",\"endTime\":\"" + DAY + "T17:00:00\"}"), body);
+
+        assertEquals(404, get("/api/rooms/999999/schedule?date=" + DAY).statusCode());
+        assertEquals(400, get("/api/rooms/" + room.getId() + "/schedule?date=demain").statusCode());
+    }
+
+    private HttpResponse<String> get(String path) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path)).GET().build();
+        return httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private Room room(String name) {
+        Room room = new Room();
+        room.setName(name);
+        room.setCapacity(6);
+        return roomService.save(room);
+    }
+
+    private User user(String name) {
+        Role role = new Role();
+        role.setName("role_" + name);
+        User user = new User();
+        user.setName(name);
+        user.setPassword("password");
+        user.setRole(roleRepository.save(role));
+        return userRepository.save(user);
+    }
+
+    private static Reservation reservation(User user, Room room, LocalDateTime start) {
+        Reservation reservation = new Reservation();
+        reservation.setStartTime(start);
+        reservation.setEndTime(start.plusHours(1));
+        reservation.setUser(user);
+        reservation.setRoom(room);
+        return reservation;
+    }
+}
@@ -1,18 +1,27 @@
 package services;
 
+import com.example.MeetingMinder.dto.ReservationChangedEvent;
+import com.example.MeetingMinder.index.ReservationIndex;
+import com.example.MeetingMinder.index.RoomAvailabilityIndex;
+import com.example.MeetingMinder.model.ReservationSlot;
 import com.example.MeetingMinder.model.Room;
 import com.example.MeetingMinder.repository.RoomRepository;
+import com.example.MeetingMinder.service.RoomScheduleService;
 import com.example.MeetingMinder.service.RoomService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 
+import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
@@ -27,6 +36,18 @@ class RoomServiceTest {
     @Mock
     private RoomRepository roomRepository;
 
+    @Mock
+    private RoomScheduleService roomScheduleService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Spy
+    private ReservationIndex reservationIndex = new ReservationIndex();
+
+    @Spy
+    private RoomAvailabilityIndex roomAvailabilityIndex = new RoomAvailabilityIndex(reservationIndex);
+
     @InjectMocks
     private RoomService roomService;
 
@@ -54,8 +75,8 @@ class RoomServiceTest {
         Page<Room> page = new PageImpl<>(rooms);
         Pageable pageable = PageRequest.of(0, 2);
 
-        // Configurer le comportement du mock
-        when(roomRepository.findAll(pageable)).thenReturn(page);
+        // Configurer le comportement du mock (sans tri demandé, les lignes sont triées par identifiant)
+        when(roomRepository.findAll(PageRequest.of(0, 2, Sort.by("id")))).thenReturn(page);
 
         // Exécuter la méthode de service
         Page<Room> result = roomService.findAll(pageable);
@@ -114,20 +135,59 @@ class RoomServiceTest {
     }
 
     @Test
-    void testDeleteAll() {
+    void testFindAvailable() {
+        // Créer des données fictives pour le test
+        Room small = new Room();
+        small.setId(1L);
+        small.setName("Room A");
+        small.setCapacity(4);
+
+        Room medium = new Room();
+        medium.setId(2L);
+        medium.setName("Room B");
+        medium.setCapacity(12);
+
+        Room large = new Room();
+        large.setId(3L);
+        large.setName("Room C");
+        large.setCapacity(30);
+
+        Room busy = new Room();
+        busy.setId(4L);
+        busy.setName("Room D");
+        busy.setCapacity(20);
+
+        LocalDateTime start = LocalDateTime.of(2030, 5, 6, 14, 0);
+        roomAvailabilityIndex.load(List.of(large, small, busy, medium));
+        reservationIndex.load(List.of(new ReservationSlot(1L, 4L, 1L, start.minusMinutes(30), start.plusMinutes(30))));
+
         // Exécuter la méthode de service
-        roomService.deleteAll();
+        List<Room> result = roomService.findAvailable(10, start, start.plusHours(1), 10);
 
-        // Vérifier l'interaction avec le mock
-        verify(roomRepository, times(1)).deleteAll();
+        // Vérifier le résultat : la salle trop petite et la salle occupée sont exclues
+        assertEquals(List.of("Room B", "Room C"), result.stream().map(Room::getName).toList());
+        verifyNoInteractions(roomRepository);
     }
 
     @Test
     void testDeleteById() {
+        // Une réservation dans la salle supprimée, une autre dans une autre salle
+        LocalDateTime start = LocalDateTime.of(2030, 1, 7, 9, 0);
+        reservationIndex.load(List.of(new ReservationSlot(7L, 1L, 1L, start, start.plusHours(1)),
+                new ReservationSlot(8L, 2L, 1L, start, start.plusHours(1))));
+
         // Exécuter la méthode de service
         roomService.deleteById(1L);
 
         // Vérifier l'interaction avec le mock
         verify(roomRepository, times(1)).deleteById(1L);
+        verify(reservationIndex, times(1)).removeRoom(1L);
+        verify(roomScheduleService, times(1)).removeRoom(1L);
+        // La réservation supprimée en cascade est publiée, l'autre reste dans l'index
+        verify(eventPublisher, times(1)).publishEvent(argThat((Object event) -> event instanceof ReservationChangedEvent changed
+                && changed.type() == ReservationChangedEvent.Type.DELETED && changed.reservationId().equals(7L)));
+        verifyNoMoreInteractions(eventPublisher);
+        assertTrue(reservationIndex.find(7L).isEmpty());
+        assertTrue(reservationIndex.find(8L).isPresent());
     }
 }
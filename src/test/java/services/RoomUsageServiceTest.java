@@ -0,0 +1,185 @@
+package services;
+
+import com.example.MeetingMinder.MeetingMinderApplication;
+import com.example.MeetingMinder.dto.ReservationChangedEvent;
+import com.example.MeetingMinder.dto.RoomUtilization;
+import com.example.MeetingMinder.dto.UtilizationBucket;
+import com.example.MeetingMinder.dto.UtilizationGranularity;
+import com.example.MeetingMinder.model.Reservation;
+import com.example.MeetingMinder.model.Role;
+import com.example.MeetingMinder.model.Room;
+import com.example.MeetingMinder.model.User;
+import com.example.MeetingMinder.repository.ReservationRepository;
+import com.example.MeetingMinder.repository.RoleRepository;
+import com.example.MeetingMinder.repository.UserRepository;
+import com.example.MeetingMinder.service.ReservationService;
+import com.example.MeetingMinder.service.RoomService;
+import com.example.MeetingMinder.service.RoomUsageService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(classes = MeetingMinderApplication.class)
+class RoomUsageServiceTest {
+
+    // Lundi
+    private static final LocalDate MONDAY = LocalDate.of(2033, 1, 10);
+
+    @Autowired
+    private RoomUsageService roomUsageService;
+
+    @Autowired
+    private ReservationService reservationService;
+
+    @Autowired
+    private RoomService roomService;
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void testRollupsFollowReservationChanges() {
+        // Créer des données fictives pour le test
+        User user = user("user_usage_a");
+        Room room = room("Room Usage A");
+        Room other = room("Room Usage B");
+        Reservation morning = reservationService.save(reservation(user, room, MONDAY.atTime(9, 30), MONDAY.atTime(11, 0)));
+        // À cheval sur minuit : compte dans les deux jours
+        Reservation night = reservationService.save(reservation(user, room, MONDAY.atTime(23, 0), MONDAY.plusDays(1).atTime(1, 0)));
+        roomUsageService.awaitPendingUpdates();
+
+        // Vérifier le résultat par heure et par jour
+        List<UtilizationBucket> hours = roomUsageService.findRoomUtilization(room.getId(), MONDAY, MONDAY.plusDays(1), UtilizationGranularity.HOUR);
+        assertEquals(24, hours.size());
+        assertEquals(30, hours.get(9).bookedMinutes());
+        assertEquals(50.0, hours.get(9).occupancyPercent());
+        assertEquals(60, hours.get(10).bookedMinutes());
+        assertEquals(0, hours.get(11).bookedMinutes());
+        assertEquals(60, hours.get(23).bookedMinutes());
+
+        List<UtilizationBucket> days = roomUsageService.findRoomUtilization(room.getId(), MONDAY, MONDAY.plusDays(2), UtilizationGranularity.DAY);
+        assertEquals(150, days.get(0).bookedMinutes());
+        assertEquals(2, days.get(0).bookingCount());
+        assertEquals(60, days.get(1).bookedMinutes());
+        assertEquals(1, days.get(1).bookingCount());
+
+        // Déplacer la réservation du matin dans l'autre salle, supprimer celle de la nuit
+        morning.setRoom(other);
+        reservationService.save(morning);
+        reservationService.deleteById(night.getId());
+        roomUsageService.awaitPendingUpdates();
+
+        days = roomUsageService.findRoomUtilization(room.getId(), MONDAY, MONDAY.plusDays(2), UtilizationGranularity.DAY);
+        assertEquals(0, days.get(0).bookedMinutes());
+        assertEquals(0, days.get(1).bookingCount());
+        List<UtilizationBucket> otherDays = roomUsageService.findRoomUtilization(other.getId(), MONDAY, MONDAY.plusDays(1), UtilizationGranularity.DAY);
+        assertEquals(90, otherDays.get(0).bookedMinutes());
+        assertEquals(1, otherDays.get(0).bookingCount());
+    }
+
+    @Test
+    void testWeeksAndTotalsOverThePeriod() {
+        // Trois réservations de deux heures, un lundi, un dimanche et le lundi suivant
+        User user = user("user_usage_b");
+        Room room = room("Room Usage C");
+        LocalDate sunday = MONDAY.plusWeeks(2).plusDays(6);
+        reservationService.save(reservation(user, room, MONDAY.plusWeeks(2).atTime(8, 0), MONDAY.plusWeeks(2).atTime(10, 0)));
+        reservationService.save(reservation(user, room, sunday.atTime(8, 0), sunday.atTime(10, 0)));
+        reservationService.save(reservation(user, room, sunday.plusDays(1).atTime(8, 0), sunday.plusDays(1).atTime(10, 0)));
+        roomUsageService.awaitPendingUpdates();
+
+        // Période commencée un mercredi : la première semaine est limitée à la période
+        LocalDate from = MONDAY.plusWeeks(1).plusDays(2);
+        List<UtilizationBucket> weeks = roomUsageService.findRoomUtilization(room.getId(), from, sunday.plusDays(2), UtilizationGranularity.WEEK);
+        assertEquals(3, weeks.size());
+        assertEquals(from.atStartOfDay(), weeks.get(0).start());
+        assertEquals(0, weeks.get(0).bookedMinutes());
+        assertEquals(MONDAY.plusWeeks(2).atStartOfDay(), weeks.get(1).start());
+        assertEquals(240, weeks.get(1).bookedMinutes());
+        assertEquals(2, weeks.get(1).bookingCount());
+        assertEquals(120, weeks.get(2).bookedMinutes());
+
+        // Totaux : 360 minutes sur 10 jours ouverts 24 heures
+        List<RoomUtilization> totals = roomUsageService.findUtilization(MONDAY.plusWeeks(2), MONDAY.plusWeeks(2).plusDays(10));
+        RoomUtilization utilization = totals.stream().filter(total -> total.roomId().equals(room.getId())).findFirst().orElseThrow();
+        assertEquals(360, utilization.bookedMinutes());
+        assertEquals(3, utilization.bookingCount());
+        assertEquals(2.5, utilization.occupancyPercent());
+
+        // Le recalcul complet donne les mêmes agrégats
+        roomUsageService.rebuild();
+        assertEquals(weeks, roomUsageService.findRoomUtilization(room.getId(), from, sunday.plusDays(2), UtilizationGranularity.WEEK));
+    }
+
+    @Test
+    void testLostUpdateIsReconciled() {
+        User user = user("user_usage_c");
+        Room room = room("Room Usage D");
+        LocalDate day = MONDAY.plusWeeks(5);
+        Reservation reservation = reservationService.save(reservation(user, room, day.atTime(8, 0), day.atTime(9, 0)));
+        roomUsageService.awaitPendingUpdates();
+        assertEquals(60, roomUsageService.findRoomUtilization(room.getId(), day, day.plusDays(1), UtilizationGranularity.DAY)
+                .get(0).bookedMinutes());
+
+        // Suppression dont la mise à jour est perdue : événement invalide, rejeté par le thread des agrégats
+        reservationRepository.deleteById(reservation.getId());
+        roomUsageService.onReservationChanged(new ReservationChangedEvent(ReservationChangedEvent.Type.DELETED,
+                reservation.getId(), room.getId(), null, null, null, LocalDateTime.now(), null));
+        roomUsageService.awaitPendingUpdates();
+        assertTrue(roomUsageService.isStale());
+        assertEquals(60, roomUsageService.findRoomUtilization(room.getId(), day, day.plusDays(1), UtilizationGranularity.DAY)
+                .get(0).bookedMinutes());
+
+        // La vérification périodique recalcule les agrégats
+        roomUsageService.reconcile();
+        assertFalse(roomUsageService.isStale());
+        assertEquals(0, roomUsageService.findRoomUtilization(room.getId(), day, day.plusDays(1), UtilizationGranularity.DAY)
+                .get(0).bookedMinutes());
+    }
+
+    @Test
+    void testWindowIsLimited() {
+        assertThrows(IllegalArgumentException.class, () ->
+                roomUsageService.findRoomUtilization(1L, MONDAY, MONDAY.plusDays(32), UtilizationGranularity.HOUR));
+        assertThrows(IllegalArgumentException.class, () -> roomUsageService.findUtilization(MONDAY, MONDAY.plusDays(367)));
+        assertThrows(IllegalArgumentException.class, () -> roomUsageService.findUtilization(MONDAY, MONDAY));
+    }
+
+    private Room room(String name) {
+        Room room = new Room();
+        room.setName(name);
+        room.setCapacity(6);
+        return roomService.save(room);
+    }
+
+    private User user(String name) {
+        Role role = new Role();
+        role.setName("role_" + name);
+        User user = new User();
+        user.setName(name);
+        user.setPassword("password");
+        user.setRole(roleRepository.save(role));
+        return userRepository.save(user);
+    }
+
+    private static Reservation reservation(User user, Room room, LocalDateTime start, LocalDateTime end) {
+        Reservation reservation = new Reservation();
+        reservation.setStartTime(start);
+        reservation.setEndTime(end);
+        reservation.setUser(user);
+        reservation.setRoom(room);
+        return reservation;
+    }
+}
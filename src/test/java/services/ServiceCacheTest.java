@@ -0,0 +1,108 @@
+package services;
+
+import com.example.MeetingMinder.MeetingMinderApplication;
+import com.example.MeetingMinder.config.CacheConfig;
+import com.example.MeetingMinder.controller.RoomController;
+import com.example.MeetingMinder.dto.BulkDeleteTarget;
+import com.example.MeetingMinder.dto.RoomPatch;
+import com.example.MeetingMinder.model.Room;
+import com.example.MeetingMinder.repository.RoomRepository;
+import com.example.MeetingMinder.service.BulkDeleteService;
+import com.example.MeetingMinder.service.RoomService;
+import com.github.benmanes.caffeine.cache.Cache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.*;
+
+@SpringBootTest(classes = MeetingMinderApplication.class)
+class ServiceCacheTest {
+
+    @SpyBean
+    private RoomRepository roomRepository;
+
+    @Autowired
+    private RoomService roomService;
+
+    @Autowired
+    private BulkDeleteService bulkDeleteService;
+
+    @Autowired
+    private RoomController roomController;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    private Cache<Object, Object> roomsCache;
+
+    @BeforeEach
+    void setUp() {
+        bulkDeleteService.run(BulkDeleteTarget.ROOMS);
+        roomsCache = ((CaffeineCache) cacheManager.getCache(CacheConfig.ROOMS)).getNativeCache();
+    }
+
+    @Test
+    void testFindByIdIsCachedAndInvalidatedOnSave() {
+        // Créer des données fictives pour le test
+        Room room = new Room();
+        room.setName("Room Cache");
+        room.setCapacity(8);
+        Long id = roomService.save(room).getId();
+        long hitsBefore = roomsCache.stats().hitCount();
+
+        // Deux lectures : une seule requête, un succès de cache
+        roomService.findById(id);
+        roomService.findById(id);
+        verify(roomRepository, times(1)).findById(id);
+        assertEquals(hitsBefore + 1, roomsCache.stats().hitCount());
+
+        // Une sauvegarde invalide l'entrée : la lecture suivante retourne la nouvelle capacité
+        Room updated = roomService.findById(id).orElseThrow();
+        updated.setCapacity(12);
+        roomService.save(updated);
+        assertEquals(12, roomService.findById(id).orElseThrow().getCapacity());
+        verify(roomRepository, times(2)).findById(id);
+    }
+
+    @Test
+    void testFailedUpdateLeavesCachedRoomUnchanged() {
+        // Deux salles ; la seconde est lue et mise en cache
+        Room taken = new Room();
+        taken.setName("Room Cache Taken");
+        taken.setCapacity(4);
+        roomService.save(taken);
+        Room room = new Room();
+        room.setName("Room Cache Original");
+        room.setCapacity(8);
+        Long id = roomService.save(room).getId();
+        Room cached = roomService.findById(id).orElseThrow();
+
+        // Mise à jour vers un nom déjà pris, par PUT puis par PATCH : la sauvegarde échoue
+        Room details = new Room();
+        details.setName("Room Cache Taken");
+        details.setCapacity(20);
+        assertThrows(DataIntegrityViolationException.class, () -> roomController.updateRoom(id, details, webRequest()));
+        RoomPatch patch = new RoomPatch();
+        patch.setName("Room Cache Taken");
+        assertThrows(DataIntegrityViolationException.class, () -> roomController.partialUpdateRoom(id, patch, webRequest()));
+
+        // L'instance mise en cache n'a jamais porté la modification
+        assertEquals("Room Cache Original", cached.getName());
+        assertEquals(8, cached.getCapacity());
+        assertEquals("Room Cache Original", roomService.findById(id).orElseThrow().getName());
+    }
+
+    private static ServletWebRequest webRequest() {
+        return new ServletWebRequest(new MockHttpServletRequest());
+    }
+}
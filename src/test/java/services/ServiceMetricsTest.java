@@ -0,0 +1,59 @@
+package services;
+
+import com.example.MeetingMinder.MeetingMinderApplication;
+import com.example.MeetingMinder.config.QueryCountInspector;
+import com.example.MeetingMinder.model.Room;
+import com.example.MeetingMinder.repository.RoomRepository;
+import com.example.MeetingMinder.service.RoomService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(classes = MeetingMinderApplication.class)
+class ServiceMetricsTest {
+
+    @Autowired
+    private RoomService roomService;
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void testServiceMethodsAreTimed() {
+        // Exécuter une méthode de service
+        roomService.existsByName("Room Metrics");
+
+        // Vérifier le résultat : un timer par classe et par méthode
+        Timer timer = meterRegistry.get("service.calls")
+                .tag("class", RoomService.class.getName())
+                .tag("method", "existsByName")
+                .timer();
+        assertTrue(timer.count() >= 1);
+    }
+
+    @Test
+    void testQueriesAreCountedPerThread() {
+        // Créer des données fictives pour le test
+        Room room = new Room();
+        room.setName("Room Queries");
+        room.setCapacity(4);
+        Long id = roomRepository.save(room).getId();
+
+        // Compter les requêtes SQL d'une lecture
+        QueryCountInspector.start();
+        roomRepository.findById(id);
+        int queries = QueryCountInspector.stop();
+
+        // Vérifier le résultat
+        assertEquals(1, queries);
+        assertEquals(0, QueryCountInspector.stop());
+    }
+}
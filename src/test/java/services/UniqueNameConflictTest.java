@@ -0,0 +1,80 @@
+package services;
+
+import com.example.MeetingMinder.MeetingMinderApplication;
+import com.example.MeetingMinder.model.Role;
+import com.example.MeetingMinder.model.Room;
+import com.example.MeetingMinder.service.RoleService;
+import com.example.MeetingMinder.service.RoomService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(classes = MeetingMinderApplication.class, webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class UniqueNameConflictTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private RoomService roomService;
+
+    @Autowired
+    private RoleService roleService;
+
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+
+    @Test
+    void testDuplicateRoomNameIsRejectedByTheDatabase() throws Exception {
+        // Créer une salle, puis une seconde avec le même nom
+        String body = "{\"name\": \"Room Unique A\", \"capacity\": 6}";
+        assertEquals(201, send("POST", "/api/rooms", body).statusCode());
+        assertEquals(409, send("POST", "/api/rooms", body).statusCode());
+
+        // Renommer une autre salle avec le nom déjà pris : refusé, la salle garde son nom
+        Room other = new Room();
+        other.setName("Room Unique B");
+        other.setCapacity(4);
+        other = roomService.save(other);
+        HttpResponse<String> renamed = send("PATCH", "/api/rooms/" + other.getId(), "{\"name\": \"Room Unique A\"}");
+        assertEquals(409, renamed.statusCode());
+        assertEquals("Ce nom est déjà utilisé.", renamed.body());
+        assertEquals("Room Unique B", roomService.findById(other.getId()).orElseThrow().getName());
+
+        // Un nom libre est accepté
+        assertEquals(200, send("PATCH", "/api/rooms/" + other.getId(), "{\"name\": \"Room Unique C\"}").statusCode());
+    }
+
+    @Test
+    void testDuplicateRoleNameIsRejectedByTheDatabase() throws Exception {
+        // Créer un rôle, puis un second avec le même nom
+        String body = "{\"name\": \"role_unique_a\"}";
+        assertEquals(201, send("POST", "/api/roles", body).statusCode());
+        assertEquals(409, send("POST", "/api/roles", body).statusCode());
+
+        // Renommer un autre rôle avec le nom déjà pris, par PUT puis par PATCH : refusé, le rôle garde son nom
+        Role other = new Role();
+        other.setName("role_unique_b");
+        other = roleService.save(other);
+        HttpResponse<String> replaced = send("PUT", "/api/roles/" + other.getId(), body);
+        assertEquals(409, replaced.statusCode());
+        assertEquals("Ce nom est déjà utilisé.", replaced.body());
+        assertEquals(409, send("PATCH", "/api/roles/" + other.getId(), body).statusCode());
+        assertEquals("role_unique_b", roleService.findById(other.getId()).orElseThrow().getName());
+    }
+
+    private HttpResponse<String> send(String method, String path, String body) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .header("Content-Type", "application/json")
+                .method(method, HttpRequest.BodyPublishers.ofString(body))
+                .build();
+        return httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+}
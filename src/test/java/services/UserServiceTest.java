@@ -1,5 +1,6 @@
 package services;
 
+import com.example.MeetingMinder.index.ReservationIndex;
 import com.example.MeetingMinder.model.User;
 import com.example.MeetingMinder.repository.UserRepository;
 import com.example.MeetingMinder.service.UserService;
@@ -8,6 +9,8 @@ import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
@@ -27,6 +30,12 @@ class UserServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Spy
+    private ReservationIndex reservationIndex = new ReservationIndex();
+
     @InjectMocks
     private UserService userService;
 
@@ -101,15 +110,6 @@ class UserServiceTest {
         assertEquals("John Doe", result.getName());
     }
 
-    @Test
-    public void testDeleteAll() {
-        // Exécuter la méthode de service
-        userService.deleteAll();
-
-        // Vérifier l'interaction avec le mock
-        verify(userRepository, times(1)).deleteAll();
-    }
-
     @Test
     public void testDeleteById() {
         // Exécuter la méthode de service